@@ -0,0 +1,31 @@
+package com.swaggerdocs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "swaggerdocs.admission")
+public class AdmissionConfig {
+    private boolean enabled = true;
+    /**
+     * Synchronous submissions processed at once; the rest wait for a slot.
+     */
+    private int maxConcurrent = 4;
+    /**
+     * Submissions waiting for a slot across all teams.
+     */
+    private int maxQueued = 32;
+    /**
+     * Submissions of one team waiting for a slot.
+     */
+    private int maxQueuedPerTeam = 8;
+    /**
+     * Longest a submission waits for a slot, and the estimated wait above
+     * which it is refused straight away.
+     */
+    private Duration maxWait = Duration.ofSeconds(10);
+}
@@ -0,0 +1,19 @@
+package com.swaggerdocs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "swaggerdocs.batch")
+public class BatchConfig {
+    /**
+     * Submissions accepted in one batch; larger batches are refused before the rest is read.
+     */
+    private int maxSubmissions = 500;
+    /**
+     * Threads checking the submissions of a batch; 0 uses the number of available processors.
+     */
+    private int parallelism = 0;
+}
@@ -0,0 +1,43 @@
+package com.swaggerdocs.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "swaggerdocs.bulkheads")
+public class BulkheadConfig {
+    /**
+     * Submissions: validation, diff, commit and push.
+     */
+    private Pool submission = new Pool(8, 64, Duration.ofSeconds(60));
+    /**
+     * Dry runs, diffs, patches and schema graphs.
+     */
+    private Pool analysis = new Pool(4, 32, Duration.ofSeconds(30));
+    /**
+     * Lookups of one app, spec or slice, and writing all streamed bodies.
+     */
+    private Pool read = new Pool(16, 256, Duration.ofSeconds(10));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Pool {
+        private int threads;
+        /**
+         * Requests waiting for a thread; beyond that they are refused with 503.
+         */
+        private int queueCapacity;
+        /**
+         * Time from accepting the request to its response, queueing included.
+         * Work still running then is not interrupted and keeps its slot.
+         */
+        private Duration timeout;
+    }
+}
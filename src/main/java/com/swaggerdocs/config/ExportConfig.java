@@ -0,0 +1,19 @@
+package com.swaggerdocs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "swaggerdocs.export")
+public class ExportConfig {
+    private boolean enabled = true;
+    private String path;
+    /**
+     * Cache lifetime of exported files; bundles are per version and never change.
+     */
+    private Duration maxAge = Duration.ofDays(365);
+}
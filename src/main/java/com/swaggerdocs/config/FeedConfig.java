@@ -0,0 +1,36 @@
+package com.swaggerdocs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "swaggerdocs.feed")
+public class FeedConfig {
+    /**
+     * Recent events kept in memory; older gaps are replayed from the catalog.
+     */
+    private int bufferSize = 1024;
+    /**
+     * Interval of keep-alive comments on idle streams, which also detect gone clients.
+     */
+    private Duration heartbeat = Duration.ofSeconds(15);
+    /**
+     * Lifetime of one stream; clients reconnect with Last-Event-ID.
+     */
+    private Duration streamTimeout = Duration.ofMinutes(30);
+    private Duration maxPollTimeout = Duration.ofSeconds(60);
+    /**
+     * Threads finding the events due to streams and polls; writes to stream
+     * clients run on threads of their own.
+     */
+    private int threads = 2;
+    /**
+     * Events queued for one stream; a client further behind is disconnected
+     * and resumes with Last-Event-ID.
+     */
+    private int subscriberBuffer = 256;
+}
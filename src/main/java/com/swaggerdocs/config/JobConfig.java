@@ -0,0 +1,34 @@
+package com.swaggerdocs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "swaggerdocs.jobs")
+public class JobConfig {
+    /**
+     * Directory holding accepted submissions until processed, and job results.
+     */
+    private String path;
+    /**
+     * Jobs queued or running at once; further async submissions are refused.
+     */
+    private int queueCapacity = 100;
+    private int threads = 2;
+    /**
+     * Finished jobs kept for status lookups, newest first.
+     */
+    private int maxFinished = 1000;
+    /**
+     * Age after which finished job results are removed.
+     */
+    private Duration retention = Duration.ofDays(1);
+    /**
+     * How often results older than the retention are looked for.
+     */
+    private Duration sweepInterval = Duration.ofMinutes(10);
+}
@@ -0,0 +1,19 @@
+package com.swaggerdocs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "swaggerdocs.lint")
+public class LintConfig {
+    /**
+     * Directory of rule set files (*.yaml, *.yml, *.json); defaults to .lint in the storage directory.
+     */
+    private String directory;
+    /**
+     * How often the directory is checked for changes; 0 disables hot reload.
+     */
+    private long reloadIntervalMs = 5000;
+}
@@ -0,0 +1,21 @@
+package com.swaggerdocs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "swaggerdocs.portal")
+public class PortalConfig {
+    private CacheConfig cache = new CacheConfig();
+
+    @Data
+    public static class CacheConfig {
+        private boolean enabled = true;
+        /**
+         * Rendered pages kept, each with its gzip variant; least recently used go first.
+         */
+        private int maxEntries = 256;
+    }
+}
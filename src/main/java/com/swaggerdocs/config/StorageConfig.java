@@ -9,4 +9,5 @@ import org.springframework.context.annotation.Configuration;
 @ConfigurationProperties(prefix = "swaggerdocs.storage")
 public class StorageConfig {
     private String path;
+    private int specCacheSize = 256;
 }
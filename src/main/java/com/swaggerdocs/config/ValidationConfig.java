@@ -0,0 +1,43 @@
+package com.swaggerdocs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "swaggerdocs.validation")
+public class ValidationConfig {
+    /**
+     * Weight overrides by rule category; rules not listed keep their default weight.
+     */
+    private Map<String, Integer> weights = new LinkedHashMap<>();
+    private ParallelConfig parallel = new ParallelConfig();
+    private RescoreConfig rescore = new RescoreConfig();
+
+    @Data
+    public static class ParallelConfig {
+        private boolean enabled = true;
+        /**
+         * Minimum number of schemas plus path items before a spec is split across threads.
+         */
+        private int threshold = 2000;
+        private int sliceSize = 256;
+        /**
+         * Worker threads; 0 uses the number of available processors.
+         */
+        private int parallelism = 0;
+    }
+
+    @Data
+    public static class RescoreConfig {
+        /**
+         * Background threads used to re-score the catalog; kept low so rescoring
+         * does not compete with request handling.
+         */
+        private int threads = 2;
+    }
+}
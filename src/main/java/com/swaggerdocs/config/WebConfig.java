@@ -0,0 +1,31 @@
+package com.swaggerdocs.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.nio.file.Path;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ExportConfig exportConfig;
+
+    /**
+     * Static doc bundles live under version directories and never change, so
+     * they are served straight from disk and may be cached for good.
+     */
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        if (!exportConfig.isEnabled() || exportConfig.getPath() == null) {
+            return;
+        }
+        String location = Path.of(exportConfig.getPath()).toAbsolutePath().toUri().toString();
+        registry.addResourceHandler("/static-docs/**")
+                .addResourceLocations(location.endsWith("/") ? location : location + "/")
+                .setCacheControl(CacheControl.maxAge(exportConfig.getMaxAge()).cachePublic().immutable());
+    }
+}
@@ -0,0 +1,53 @@
+package com.swaggerdocs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "swaggerdocs.webhooks")
+public class WebhookConfig {
+    private List<TargetConfig> targets = new ArrayList<>();
+    /**
+     * Directory holding batches that failed or did not fit the queue, until delivered.
+     */
+    private String spoolPath;
+    /**
+     * Events queued in memory per target; beyond that they go to the spool,
+     * or are dropped without one. Also caps the events of retries held in
+     * memory when a batch cannot be spooled.
+     */
+    private int queueCapacity = 1000;
+    private int batchSize = 50;
+    /**
+     * How long the first event of a batch waits for others to join it.
+     */
+    private Duration batchDelay = Duration.ofMillis(500);
+    private int maxAttempts = 8;
+    private Duration initialBackoff = Duration.ofSeconds(1);
+    private Duration maxBackoff = Duration.ofMinutes(5);
+    private Duration timeout = Duration.ofSeconds(10);
+    /**
+     * Delivery threads of each target; a slow target only holds up its own.
+     */
+    private int threads = 2;
+
+    @Data
+    public static class TargetConfig {
+        private String name;
+        private String url;
+        /**
+         * Teams whose apps are reported; empty reports all teams.
+         */
+        private List<String> teams = new ArrayList<>();
+        /**
+         * Signs each request body with HMAC-SHA256 when set.
+         */
+        private String secret;
+    }
+}
@@ -0,0 +1,20 @@
+package com.swaggerdocs.controller;
+
+import com.swaggerdocs.model.AdmissionStats;
+import com.swaggerdocs.service.SubmissionAdmissionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admission")
+@RequiredArgsConstructor
+public class AdmissionController {
+
+    private final SubmissionAdmissionService admissionService;
+
+    @GetMapping("/stats")
+    public ResponseEntity<AdmissionStats> getStats() {
+        return ResponseEntity.ok(admissionService.getStats());
+    }
+}
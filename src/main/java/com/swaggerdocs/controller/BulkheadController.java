@@ -0,0 +1,21 @@
+package com.swaggerdocs.controller;
+
+import com.swaggerdocs.model.BulkheadStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/bulkheads")
+@RequiredArgsConstructor
+public class BulkheadController {
+
+    private final Bulkheads bulkheads;
+
+    @GetMapping("/stats")
+    public ResponseEntity<List<BulkheadStats>> getStats() {
+        return ResponseEntity.ok(bulkheads.getStats());
+    }
+}
@@ -0,0 +1,308 @@
+package com.swaggerdocs.controller;
+
+import com.swaggerdocs.config.BulkheadConfig;
+import com.swaggerdocs.config.WorkerThreads;
+import com.swaggerdocs.model.BulkheadStats;
+import jakarta.annotation.PreDestroy;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Separate thread pools for submissions, dry runs and diff work, and cheap
+ * lookups, so slow commits or a burst of diffs cannot take the threads the
+ * others need. Handlers hand their work to a pool and answer with a
+ * {@link DeferredResult}, which frees the container thread until the result
+ * is ready. Each pool takes as many requests as it has threads and queue
+ * slots; requests beyond that are refused with 503 before leaving the
+ * container thread.
+ *
+ * A request not answered within the pool's timeout gets 503, or whatever the
+ * handler answers for late work, but the work itself is not interrupted: a
+ * commit half done is finished, and its slot is only given back when the
+ * work ends, so the pool never runs more than its threads.
+ *
+ * Submissions that go through admission control only enter the pool once
+ * they are admitted, so a queued submission holds neither a container
+ * thread nor a pool slot.
+ *
+ * Streamed bodies are written after their handler returns, from the default
+ * async executor. That is the read pool, and each body takes one of its slots
+ * before it is queued.
+ */
+@Component
+public class Bulkheads implements WebMvcConfigurer {
+
+    private final Compartment submission;
+    private final Compartment analysis;
+    private final Compartment read;
+
+    public Bulkheads(BulkheadConfig config, WorkerThreads workerThreads) {
+        this.submission = new Compartment("submission", config.getSubmission(), workerThreads);
+        this.analysis = new Compartment("analysis", config.getAnalysis(), workerThreads);
+        this.read = new Compartment("read", config.getRead(), workerThreads);
+    }
+
+    public <T> DeferredResult<T> submission(Callable<T> work) {
+        return submission.task(work, null);
+    }
+
+    /**
+     * Like {@link #submission(Callable)}; a request that times out is
+     * answered with {@code whenLate} applied to the work still running.
+     */
+    public <T> DeferredResult<T> submission(Callable<T> work, Function<CompletableFuture<T>, T> whenLate) {
+        return submission.task(work, whenLate);
+    }
+
+    /**
+     * Like {@link #submission(Callable, Function)} for work that has to be
+     * admitted first: it enters the pool once {@code admission} completes,
+     * and what admission yields is closed when the work ends or the pool
+     * refuses it. A failed admission fails the request with its error.
+     */
+    public <T> DeferredResult<T> submission(CompletableFuture<? extends AutoCloseable> admission, Callable<T> work,
+                                            Function<CompletableFuture<T>, T> whenLate) {
+        return submission.task(admission, work, whenLate);
+    }
+
+    public <T> DeferredResult<T> analysis(Callable<T> work) {
+        return analysis.task(work, null);
+    }
+
+    public <T> DeferredResult<T> read(Callable<T> work) {
+        return read.task(work, null);
+    }
+
+    public List<BulkheadStats> getStats() {
+        return List.of(submission.stats(), analysis.stats(), read.stats());
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(read.executor);
+        configurer.setDefaultTimeout(read.timeout.toMillis());
+        configurer.registerCallableInterceptors(read.admission());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        submission.pool.shutdownNow();
+        analysis.pool.shutdownNow();
+        read.pool.shutdownNow();
+    }
+
+    private static final class Compartment {
+
+        private final String name;
+        private final Duration timeout;
+        private final int queueCapacity;
+        private final ThreadPoolExecutor pool;
+        private final AsyncTaskExecutor executor;
+        /**
+         * Requests running or queued; the executor queue itself is unbounded.
+         */
+        private final Semaphore admitted;
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder timedOut = new LongAdder();
+        private final String ticketAttribute;
+
+        Compartment(String name, BulkheadConfig.Pool config, WorkerThreads workerThreads) {
+            this.name = name;
+            this.timeout = config.getTimeout();
+            this.queueCapacity = Math.max(0, config.getQueueCapacity());
+            int threads = Math.max(1, config.getThreads());
+            this.pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(), workerThreads.factory(name + "-bulkhead-"));
+            this.executor = new TaskExecutorAdapter(pool);
+            this.admitted = new Semaphore(threads + queueCapacity);
+            this.ticketAttribute = Bulkheads.class.getName() + "." + name;
+        }
+
+        <T> DeferredResult<T> task(Callable<T> work, Function<CompletableFuture<T>, T> whenLate) {
+            admit();
+            return defer(execute(work), whenLate);
+        }
+
+        <T> DeferredResult<T> task(CompletableFuture<? extends AutoCloseable> admission, Callable<T> work,
+                                   Function<CompletableFuture<T>, T> whenLate) {
+            // Runs on the thread that grants admission, which only queues the work
+            CompletableFuture<T> outcome = admission.thenCompose(slot -> {
+                try {
+                    admit();
+                    return execute(() -> {
+                        try (slot) {
+                            return work.call();
+                        }
+                    });
+                } catch (TaskRejectedException e) {
+                    try {
+                        slot.close();
+                    } catch (Exception closeError) {
+                        e.addSuppressed(closeError);
+                    }
+                    throw e;
+                }
+            });
+            return defer(outcome, whenLate);
+        }
+
+        /**
+         * Runs admitted work on the pool; the slot is given back when it ends.
+         */
+        private <T> CompletableFuture<T> execute(Callable<T> work) {
+            CompletableFuture<T> outcome = new CompletableFuture<>();
+            try {
+                pool.execute(() -> {
+                    try {
+                        outcome.complete(work.call());
+                    } catch (Throwable e) {
+                        outcome.completeExceptionally(e);
+                    } finally {
+                        admitted.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                admitted.release();
+                throw new TaskRejectedException("The " + name + " bulkhead is shut down", e);
+            }
+            return outcome;
+        }
+
+        private <T> DeferredResult<T> defer(CompletableFuture<T> outcome, Function<CompletableFuture<T>, T> whenLate) {
+            DeferredResult<T> result = new DeferredResult<>(timeout.toMillis());
+            result.onTimeout(() -> {
+                timedOut.increment();
+                if (whenLate != null) {
+                    result.setResult(whenLate.apply(outcome));
+                } else {
+                    result.setErrorResult(new AsyncRequestTimeoutException());
+                }
+            });
+            outcome.whenComplete((value, error) -> {
+                if (error instanceof CompletionException && error.getCause() != null) {
+                    result.setErrorResult(error.getCause());
+                } else if (error != null) {
+                    result.setErrorResult(error);
+                } else {
+                    result.setResult(value);
+                }
+            });
+            return result;
+        }
+
+        private void admit() {
+            if (!admitted.tryAcquire()) {
+                rejected.increment();
+                throw new TaskRejectedException("The " + name + " bulkhead is full");
+            }
+        }
+
+        /**
+         * Admission for the callables Spring runs on this pool, streamed
+         * bodies above all: the slot is taken on the container thread before
+         * the body is queued, and given back when the body has been written,
+         * or when the request completes without it ever starting.
+         */
+        CallableProcessingInterceptor admission() {
+            return new CallableProcessingInterceptor() {
+                @Override
+                public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                    admit();
+                    request.setAttribute(ticketAttribute, new Ticket(), RequestAttributes.SCOPE_REQUEST);
+                }
+
+                @Override
+                public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+                    if (!ticket(request).start()) {
+                        throw new AsyncRequestTimeoutException();
+                    }
+                }
+
+                @Override
+                public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+                    ticket(request).finish();
+                }
+
+                @Override
+                public <T> Object handleTimeout(NativeWebRequest request, Callable<T> task) {
+                    timedOut.increment();
+                    return RESULT_NONE;
+                }
+
+                @Override
+                public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                    ticket(request).abandon();
+                }
+            };
+        }
+
+        private Ticket ticket(NativeWebRequest request) {
+            return (Ticket) request.getAttribute(ticketAttribute, RequestAttributes.SCOPE_REQUEST);
+        }
+
+        BulkheadStats stats() {
+            return BulkheadStats.builder()
+                    .name(name)
+                    .threads(pool.getMaximumPoolSize())
+                    .activeThreads(pool.getActiveCount())
+                    .queued(pool.getQueue().size())
+                    .queueCapacity(queueCapacity)
+                    .completed(pool.getCompletedTaskCount())
+                    .rejected(rejected.sum())
+                    .timedOut(timedOut.sum())
+                    .build();
+        }
+
+        /**
+         * The slot of one streamed body, given back exactly once: by the body
+         * if it started, otherwise when its request completes.
+         */
+        private final class Ticket {
+
+            private static final int WAITING = 0;
+            private static final int RUNNING = 1;
+            private static final int DONE = 2;
+
+            private final AtomicInteger state = new AtomicInteger(WAITING);
+
+            boolean start() {
+                return state.compareAndSet(WAITING, RUNNING);
+            }
+
+            void finish() {
+                if (state.getAndSet(DONE) != DONE) {
+                    admitted.release();
+                }
+            }
+
+            void abandon() {
+                if (state.compareAndSet(WAITING, DONE)) {
+                    admitted.release();
+                }
+            }
+        }
+    }
+}
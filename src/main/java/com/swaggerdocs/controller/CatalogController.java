@@ -0,0 +1,64 @@
+package com.swaggerdocs.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swaggerdocs.service.GitStorageService;
+import com.swaggerdocs.service.ReleaseReportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/catalog")
+@RequiredArgsConstructor
+public class CatalogController {
+
+    private final GitStorageService gitStorageService;
+    private final ReleaseReportService releaseReportService;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping("/tags/{tagName}")
+    public ResponseEntity<Map<String, String>> createTag(@PathVariable String tagName) {
+        log.info("Tagging catalog as {}", tagName);
+        String version = gitStorageService.createTag(tagName);
+        return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("tag", tagName, "version", version));
+    }
+
+    @GetMapping("/tags")
+    public ResponseEntity<List<String>> listTags() {
+        return ResponseEntity.ok(gitStorageService.listTags());
+    }
+
+    /**
+     * Streams one NDJSON line per app as its diff against the baseline completes.
+     */
+    @GetMapping(value = "/tags/{tagName}/report", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> releaseReport(@PathVariable String tagName) {
+        if (!gitStorageService.tagExists(tagName)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        StreamingResponseBody body = out -> releaseReportService.generateReport(tagName, entry -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(entry));
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
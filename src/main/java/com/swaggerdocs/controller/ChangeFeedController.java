@@ -0,0 +1,182 @@
+package com.swaggerdocs.controller;
+
+import com.swaggerdocs.config.FeedConfig;
+import com.swaggerdocs.model.ChangeEvent;
+import com.swaggerdocs.service.ChangeFeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The change feed as a Server-Sent Events stream, resumable with
+ * {@code Last-Event-ID}, and as a long poll for clients that cannot keep a
+ * stream open. Without an id both start at the newest event; an id of 0
+ * replays the whole catalog.
+ */
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+public class ChangeFeedController {
+
+    static final String EVENT_NAME = "swagger-saved";
+
+    private final ChangeFeedService changeFeedService;
+    private final FeedConfig feedConfig;
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventIdHeader,
+                             @RequestParam(required = false) Long lastEventId) {
+        long cursor = lastEventIdHeader != null ? lastEventIdHeader
+                : lastEventId != null ? lastEventId : changeFeedService.getLatestId();
+        SseEmitter emitter = new SseEmitter(feedConfig.getStreamTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, cursor);
+        emitter.onCompletion(() -> changeFeedService.unregister(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> changeFeedService.unregister(subscriber));
+        changeFeedService.register(subscriber);
+        changeFeedService.wake(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Answers at once when there are events after {@code after}, otherwise
+     * waits for the next save up to {@code timeout} (ISO-8601) and answers
+     * with an empty list if none comes.
+     */
+    @GetMapping
+    public DeferredResult<List<ChangeEvent>> poll(@RequestParam(required = false) Long after,
+                                                  @RequestParam(required = false) Duration timeout) {
+        Duration max = feedConfig.getMaxPollTimeout();
+        if (timeout != null && (timeout.isNegative() || timeout.compareTo(max) > 0)) {
+            throw new IllegalArgumentException("timeout must be between PT0S and " + max);
+        }
+        long cursor = after != null ? after : changeFeedService.getLatestId();
+        DeferredResult<List<ChangeEvent>> result =
+                new DeferredResult<>((timeout != null ? timeout : max).toMillis(), List.of());
+        List<ChangeEvent> ready = changeFeedService.eventsAfter(cursor);
+        if (!ready.isEmpty()) {
+            result.setResult(ready);
+            return result;
+        }
+
+        Runnable waiter = () -> {
+            if (!result.isSetOrExpired()) {
+                List<ChangeEvent> events = changeFeedService.eventsAfter(cursor);
+                if (!events.isEmpty()) {
+                    result.setResult(events);
+                }
+            }
+        };
+        result.onCompletion(() -> changeFeedService.unregister(waiter));
+        changeFeedService.register(waiter);
+        // A save between the check above and registering would otherwise wait for the next one
+        changeFeedService.wake(waiter);
+        return result;
+    }
+
+    /**
+     * Queues the events after its cursor whenever woken; only one thread
+     * queues at a time and a wake-up meanwhile runs it again. The writes to
+     * the client happen on a delivery thread of its own, so a client that
+     * stops reading holds up nobody else. A client more than
+     * {@code subscriber-buffer} events behind is disconnected and resumes
+     * with {@code Last-Event-ID}.
+     */
+    private class Subscriber implements Runnable {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> outbox;
+        private final AtomicBoolean running = new AtomicBoolean();
+        private final AtomicBoolean pending = new AtomicBoolean();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile boolean dropped;
+        /** Newest event queued. */
+        private volatile long cursor;
+
+        Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.outbox = new ArrayBlockingQueue<>(Math.max(1, feedConfig.getSubscriberBuffer()));
+            this.cursor = cursor;
+        }
+
+        @Override
+        public void run() {
+            pending.set(true);
+            while (pending.get() && running.compareAndSet(false, true)) {
+                try {
+                    pending.set(false);
+                    enqueue();
+                } finally {
+                    running.set(false);
+                }
+            }
+        }
+
+        private void enqueue() {
+            if (dropped) {
+                return;
+            }
+            List<ChangeEvent> events = changeFeedService.eventsAfter(cursor);
+            if (events.isEmpty()) {
+                // Only idle streams need keep-alives
+                if (outbox.isEmpty()) {
+                    outbox.offer(SseEmitter.event().comment("keep-alive"));
+                }
+            }
+            for (ChangeEvent event : events) {
+                SseEmitter.SseEventBuilder message = SseEmitter.event()
+                        .id(String.valueOf(event.getId()))
+                        .name(EVENT_NAME)
+                        .data(event, MediaType.APPLICATION_JSON);
+                if (!outbox.offer(message)) {
+                    drop(new IOException("Client fell more than " + feedConfig.getSubscriberBuffer() + " events behind"));
+                    return;
+                }
+                cursor = Math.max(cursor, event.getId());
+            }
+            if (sending.compareAndSet(false, true)) {
+                changeFeedService.deliver(this::send);
+            }
+        }
+
+        private void send() {
+            try {
+                do {
+                    SseEmitter.SseEventBuilder message;
+                    while (!dropped && (message = outbox.poll()) != null) {
+                        emitter.send(message);
+                    }
+                    sending.set(false);
+                    // Something queued after the last poll but before the flag was cleared
+                } while (!dropped && !outbox.isEmpty() && sending.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException e) {
+                // Client gone or stream already completed
+                drop(e);
+            }
+        }
+
+        /**
+         * Stops delivery; the emitter is completed on a delivery thread, as it
+         * stays locked while a write to a stalled client is blocked.
+         */
+        private void drop(Exception error) {
+            dropped = true;
+            changeFeedService.unregister(this);
+            outbox.clear();
+            changeFeedService.deliver(() -> emitter.completeWithError(error));
+        }
+    }
+}
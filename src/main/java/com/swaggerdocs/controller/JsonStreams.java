@@ -0,0 +1,90 @@
+package com.swaggerdocs.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes collections to the response while they are produced, through one
+ * {@link JsonGenerator} on the response stream: a JSON array, or one document
+ * per line when the client prefers NDJSON. Nothing is held beyond the
+ * generator and container buffers, so a slow client blocks the producer
+ * instead of the body piling up in memory.
+ */
+@Component
+@RequiredArgsConstructor
+public class JsonStreams {
+
+    @FunctionalInterface
+    public interface Producer<T> {
+        void produce(Consumer<T> sink) throws IOException;
+    }
+
+    private final ObjectMapper objectMapper;
+
+    public <T> ResponseEntity<StreamingResponseBody> respond(String accept, ResponseEntity.BodyBuilder response,
+                                                             Producer<T> producer) {
+        boolean lines = prefersNdjson(accept);
+        return response
+                .contentType(lines ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(out -> write(producer, lines, out));
+    }
+
+    private <T> void write(Producer<T> producer, boolean lines, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // Lines are terminated explicitly, not separated by the default root separator
+            generator.setRootValueSeparator(null);
+            // One writer for all items; flushing is left to the buffers, not done per item
+            ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            try (SequenceWriter sequence = lines ? writer.writeValues(generator) : writer.writeValuesAsArray(generator)) {
+                producer.produce(item -> {
+                    try {
+                        sequence.write(item);
+                        if (lines) {
+                            generator.writeRaw('\n');
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * The first of the accepted types that either format satisfies decides; JSON otherwise.
+     */
+    static boolean prefersNdjson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        try {
+            for (MediaType type : MediaType.parseMediaTypes(accept)) {
+                if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                    return false;
+                }
+                if (type.isCompatibleWith(MediaType.APPLICATION_NDJSON)) {
+                    return true;
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,40 @@
+package com.swaggerdocs.controller;
+
+import com.swaggerdocs.model.LintRuleStats;
+import com.swaggerdocs.validation.lint.LintRuleLoader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/lint")
+@RequiredArgsConstructor
+public class LintController {
+
+    private final LintRuleLoader lintRuleLoader;
+
+    /**
+     * Loaded lint rules with match, violation and timing counters, slowest first.
+     */
+    @GetMapping("/rules")
+    public ResponseEntity<List<LintRuleStats>> listRules() {
+        return ResponseEntity.ok(sortedStats());
+    }
+
+    @PostMapping("/rules/reload")
+    public ResponseEntity<List<LintRuleStats>> reload() {
+        log.info("Reloading lint rules on request");
+        lintRuleLoader.reload();
+        return ResponseEntity.ok(sortedStats());
+    }
+
+    private List<LintRuleStats> sortedStats() {
+        return lintRuleLoader.getRuleSet().stats().stream()
+                .sorted((a, b) -> Long.compare(b.getTotalMicros(), a.getTotalMicros()))
+                .toList();
+    }
+}
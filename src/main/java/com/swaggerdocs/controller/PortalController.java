@@ -1,51 +1,119 @@
 package com.swaggerdocs.controller;
 
+import com.swaggerdocs.model.CatalogPage;
+import com.swaggerdocs.model.CatalogQuery;
+import com.swaggerdocs.model.TagSummary;
+import com.swaggerdocs.service.SpecSliceService;
+import com.swaggerdocs.service.StaticExportService;
 import com.swaggerdocs.service.SwaggerService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.List;
+import java.util.Optional;
 
 @Controller
 @RequiredArgsConstructor
 public class PortalController {
 
+    private static final int PAGE_SIZE = 24;
+    private static final int LAZY_TAG_OPERATIONS = 200;
+
     private final SwaggerService swaggerService;
+    private final SpecSliceService specSliceService;
+    private final StaticExportService staticExportService;
 
     @GetMapping("/")
-    public String index(Model model) {
-        model.addAttribute("apps", swaggerService.listApps());
+    public String index(@RequestParam(defaultValue = "0") int page,
+                        @RequestParam(required = false) String sort,
+                        @RequestParam(required = false) String team,
+                        @RequestParam(required = false) String environment,
+                        Model model) {
+        CatalogPage catalog = swaggerService.listApps(CatalogQuery.builder()
+                .page(Math.max(page, 0))
+                .size(PAGE_SIZE)
+                .sort(sort)
+                .team(team)
+                .environment(environment)
+                .build());
+        // Filters carried over by the page links
+        String filters = UriComponentsBuilder.newInstance()
+                .queryParamIfPresent("sort", Optional.ofNullable(sort).filter(s -> !s.isBlank()))
+                .queryParamIfPresent("team", Optional.ofNullable(team).filter(t -> !t.isBlank()))
+                .queryParamIfPresent("environment", Optional.ofNullable(environment).filter(e -> !e.isBlank()))
+                .build()
+                .encode()
+                .getQuery();
+
+        model.addAttribute("apps", catalog.getItems());
+        model.addAttribute("catalog", catalog);
+        model.addAttribute("sort", sort);
+        model.addAttribute("team", team);
+        model.addAttribute("environment", environment);
+        model.addAttribute("filters", filters != null ? "&" + filters : "");
         return "index";
     }
 
+    /**
+     * Specs above {@value #LAZY_TAG_OPERATIONS} operations open on their first
+     * tag and load one tag at a time; an empty {@code tag} loads everything.
+     */
     @GetMapping("/docs/{appName}")
     public String docs(@PathVariable String appName,
                       @RequestParam(defaultValue = "swagger-ui") String view,
                       @RequestParam(required = false) String version,
+                      @RequestParam(required = false) String tag,
+                      HttpServletRequest request,
                       Model model) {
-        return swaggerService.getApp(appName)
+        return swaggerService.getSummary(appName)
                 .map(info -> {
+                    if (info.getQuality() == null || info.getStats() == null) {
+                        // Still being scored or indexed; render again next time
+                        request.setAttribute(PortalPageCache.UNCACHEABLE, true);
+                    }
+                    List<TagSummary> tags = specSliceService.getTags(appName, version).orElse(List.of());
+                    int operations = tags.stream().mapToInt(TagSummary::getOperations).sum();
+                    String selectedTag = tag;
+                    if (selectedTag == null && operations > LAZY_TAG_OPERATIONS && !tags.isEmpty()) {
+                        selectedTag = tags.get(0).getName();
+                    }
+
                     model.addAttribute("appName", appName);
                     model.addAttribute("info", info);
                     model.addAttribute("view", view);
                     model.addAttribute("selectedVersion", version);
+                    model.addAttribute("tags", tags);
+                    model.addAttribute("selectedTag", selectedTag == null || selectedTag.isEmpty() ? null : selectedTag);
                     return "docs";
                 })
                 .orElse("redirect:/");
     }
 
+    /**
+     * Sends clients to the static bundle of the current version, or to the
+     * portal while that bundle is still being written.
+     */
+    @GetMapping("/static-docs/{appName}")
+    public String staticDocs(@PathVariable String appName) {
+        return staticExportService.getLatestVersion(appName)
+                .map(version -> "redirect:/static-docs/" + appName + "/" + version + "/" + StaticExportService.INDEX)
+                .orElse("redirect:/docs/" + appName);
+    }
+
     @GetMapping("/docs/{appName}/history")
     public String history(@PathVariable String appName, Model model) {
-        return swaggerService.getApp(appName)
-                .map(info -> {
-                    model.addAttribute("appName", appName);
-                    model.addAttribute("info", info);
-                    model.addAttribute("versions", swaggerService.getVersionHistory(appName));
-                    return "history";
-                })
-                .orElse("redirect:/");
+        if (!swaggerService.hasApp(appName)) {
+            return "redirect:/";
+        }
+        model.addAttribute("appName", appName);
+        model.addAttribute("versions", swaggerService.getVersionHistory(appName));
+        return "history";
     }
 
     @GetMapping("/docs/{appName}/diff")
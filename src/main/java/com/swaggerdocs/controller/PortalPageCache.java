@@ -0,0 +1,178 @@
+package com.swaggerdocs.controller;
+
+import com.swaggerdocs.config.PortalConfig;
+import com.swaggerdocs.event.SwaggerSavedEvent;
+import com.swaggerdocs.service.QualityService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UriUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the HTML of the portal pages rendered by {@link PortalController}, so
+ * repeated views skip both the controller and Thymeleaf.
+ *
+ * Pages are keyed by path and query string, which name the template and its
+ * view, version, tag and catalog parameters. Each entry remembers the
+ * generation it was rendered at. The pages of one app under {@code /docs/}
+ * only depend on that app: their generation is the version of its last save
+ * plus the revision of its own catalog score. The index lists every app, so
+ * its generation is the number of saves seen plus the catalog score revision.
+ * An entry whose generation has moved on is treated as a miss and rendered
+ * again, so a save only invalidates the index and the saved app's pages. The
+ * gzip variant is compressed once when the page is stored. Pages that still
+ * show pending results mark the request with {@link #UNCACHEABLE} and are not
+ * stored.
+ */
+@Component
+public class PortalPageCache extends OncePerRequestFilter {
+
+    public static final String UNCACHEABLE = PortalPageCache.class.getName() + ".UNCACHEABLE";
+
+    private static final String DOCS = "/docs/";
+
+    private final QualityService qualityService;
+    private final PortalConfig.CacheConfig config;
+    private final AtomicLong saves = new AtomicLong();
+    private final Map<String, String> appVersions = new ConcurrentHashMap<>();
+    private final Map<String, Page> pages;
+
+    public PortalPageCache(QualityService qualityService, PortalConfig portalConfig) {
+        this.qualityService = qualityService;
+        this.config = portalConfig.getCache();
+        int maxEntries = config.getMaxEntries();
+        this.pages = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Page> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    @EventListener
+    public void onSaved(SwaggerSavedEvent event) {
+        if (event.result() != null && event.result().getVersion() != null) {
+            appVersions.put(event.appName(), event.result().getVersion());
+        }
+        saves.incrementAndGet();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!config.isEnabled() || !"GET".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.equals("/") && !path.startsWith(DOCS);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getRequestURI() + "?" + (request.getQueryString() != null ? request.getQueryString() : "");
+        boolean gzip = acceptsGzip(request);
+        // Read before rendering, so a save during the render leaves the stored page stale
+        Generation generation = generation(request);
+
+        Page page = pages.get(key);
+        if (page != null && page.generation().equals(generation)) {
+            write(response, page.contentType(), gzip ? page.gzipped() : page.html(), gzip);
+            return;
+        }
+
+        ContentCachingResponseWrapper rendered = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, rendered);
+        String contentType = rendered.getContentType();
+        if (rendered.getStatus() != HttpStatus.OK.value() || request.getAttribute(UNCACHEABLE) != null
+                || contentType == null || !MediaType.TEXT_HTML.isCompatibleWith(MediaType.parseMediaType(contentType))) {
+            rendered.copyBodyToResponse();
+            return;
+        }
+
+        byte[] html = rendered.getContentAsByteArray();
+        page = new Page(generation, contentType, html, gzip(html));
+        pages.put(key, page);
+        write(response, contentType, gzip ? page.gzipped() : html, gzip);
+    }
+
+    private Generation generation(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith(DOCS)) {
+            return new Generation(saves.get(), null, qualityService.getCatalogRevision());
+        }
+        int end = path.indexOf('/', DOCS.length());
+        String appName = UriUtils.decode(path.substring(DOCS.length(), end < 0 ? path.length() : end), StandardCharsets.UTF_8);
+        return new Generation(0, appVersions.get(appName), qualityService.getScoreRevision(appName));
+    }
+
+    private static void write(HttpServletResponse response, String contentType, byte[] body, boolean gzip)
+            throws IOException {
+        response.setContentType(contentType);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    static boolean acceptsGzip(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (accept == null) {
+            return false;
+        }
+        for (String coding : accept.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            if (parts.length < 2 || !parts[1].trim().startsWith("q=")) {
+                return true;
+            }
+            try {
+                return Double.parseDouble(parts[1].trim().substring(2)) > 0;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] html) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(html.length / 4 + 64);
+        try (GZIPOutputStream zip = new GZIPOutputStream(out)) {
+            zip.write(html);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Saves seen for the index; the app's last saved version for its own pages.
+     */
+    private record Generation(long saves, String version, long scores) {
+    }
+
+    private record Page(Generation generation, String contentType, byte[] html, byte[] gzipped) {
+    }
+}
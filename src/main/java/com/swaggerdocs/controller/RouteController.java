@@ -0,0 +1,30 @@
+package com.swaggerdocs.controller;
+
+import com.swaggerdocs.model.RouteConflict;
+import com.swaggerdocs.model.RouteMatch;
+import com.swaggerdocs.service.RouteService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/routes")
+@RequiredArgsConstructor
+public class RouteController {
+
+    private final RouteService routeService;
+
+    @GetMapping
+    public ResponseEntity<List<RouteMatch>> lookup(
+            @RequestParam String path,
+            @RequestParam(required = false) String method) {
+        return ResponseEntity.ok(routeService.lookup(method, path));
+    }
+
+    @GetMapping("/conflicts")
+    public ResponseEntity<List<RouteConflict>> getConflicts() {
+        return ResponseEntity.ok(routeService.findAllConflicts());
+    }
+}
@@ -0,0 +1,34 @@
+package com.swaggerdocs.controller;
+
+import com.swaggerdocs.model.SchemaMatch;
+import com.swaggerdocs.model.SharedSchema;
+import com.swaggerdocs.service.SchemaIndexService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/schemas")
+@RequiredArgsConstructor
+public class SchemaController {
+
+    private final SchemaIndexService schemaIndexService;
+
+    @GetMapping("/{appName}/{schemaName}/similar")
+    public ResponseEntity<List<SchemaMatch>> findSimilar(
+            @PathVariable String appName,
+            @PathVariable String schemaName,
+            @RequestParam(defaultValue = "0.6") double minSimilarity,
+            @RequestParam(defaultValue = "50") int limit) {
+        return schemaIndexService.findSimilar(appName, schemaName, minSimilarity, limit)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/shared")
+    public ResponseEntity<List<SharedSchema>> findShared(@RequestParam(defaultValue = "2") int minApps) {
+        return ResponseEntity.ok(schemaIndexService.findShared(minApps));
+    }
+}
@@ -0,0 +1,34 @@
+package com.swaggerdocs.controller;
+
+import com.swaggerdocs.model.SearchIndexStats;
+import com.swaggerdocs.model.SearchResult;
+import com.swaggerdocs.service.SearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private static final int MAX_LIMIT = 200;
+
+    private final SearchService searchService;
+
+    @GetMapping
+    public ResponseEntity<List<SearchResult>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) String team,
+            @RequestParam(required = false) String kind,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(searchService.search(q, team, kind, Math.min(limit, MAX_LIMIT)));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<SearchIndexStats> getStats() {
+        return ResponseEntity.ok(searchService.stats());
+    }
+}
@@ -1,17 +1,48 @@
 package com.swaggerdocs.controller;
 
-import com.swaggerdocs.model.SwaggerEntry;
-import com.swaggerdocs.model.SwaggerInfo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.swaggerdocs.config.BatchConfig;
+import com.swaggerdocs.model.BatchResult;
+import com.swaggerdocs.model.CatalogPage;
+import com.swaggerdocs.model.CatalogQuery;
+import com.swaggerdocs.model.SchemaReferenceGraph;
+import com.swaggerdocs.model.SubmissionJob;
 import com.swaggerdocs.model.SwaggerSubmission;
+import com.swaggerdocs.model.TagSummary;
 import com.swaggerdocs.model.ValidationResult;
+import com.swaggerdocs.service.JsonPatchService;
+import com.swaggerdocs.service.SchemaGraphService;
+import com.swaggerdocs.service.SpecSliceService;
+import com.swaggerdocs.service.SubmissionAdmissionService;
+import com.swaggerdocs.service.SubmissionJobService;
 import com.swaggerdocs.service.SwaggerService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 @Slf4j
 @RestController
@@ -19,56 +50,297 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SwaggerController {
 
+    private static final String JSON_PATCH_VALUE = "application/json-patch+json";
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final SwaggerService swaggerService;
+    private final JsonPatchService jsonPatchService;
+    private final SchemaGraphService schemaGraphService;
+    private final SpecSliceService specSliceService;
+    private final SubmissionJobService submissionJobService;
+    private final SubmissionAdmissionService admissionService;
+    private final BatchConfig batchConfig;
+    private final Bulkheads bulkheads;
+    private final JsonStreams jsonStreams;
+    private final ObjectMapper objectMapper;
 
+    /**
+     * Processes the submission before answering, once admitted (429 when the
+     * submission queue is full), or with {@code async=true}
+     * (or {@code Prefer: respond-async}) stores it and answers 202 with a job
+     * to poll at the {@code Location} header. A submission still running when
+     * the request times out also answers 202, with a job that follows it.
+     */
     @PostMapping
-    public ResponseEntity<ValidationResult> submitSwagger(@Valid @RequestBody SwaggerSubmission submission) {
+    public DeferredResult<ResponseEntity<?>> submitSwagger(@Valid @RequestBody SwaggerSubmission submission,
+                                                           @RequestParam(defaultValue = "false") boolean async,
+                                                           @RequestHeader(value = "Prefer", required = false) String prefer) {
         log.info("Received swagger submission for app: {}", submission.getAppName());
-        ValidationResult result = swaggerService.processSubmission(submission);
-        return ResponseEntity.ok(result);
+        boolean respondAsync = async || prefer != null && prefer.toLowerCase(Locale.ROOT).contains("respond-async");
+        if (respondAsync) {
+            return bulkheads.submission(() -> accepted(submissionJobService.submit(submission)));
+        }
+        return admitted(submission.getTeam(), 1,
+                () -> ResponseEntity.ok(swaggerService.processSubmission(submission)),
+                running -> accepted(submissionJobService.track(submission.getAppName(),
+                        running.thenApply(response -> (ValidationResult) response.getBody()))));
+    }
+
+    /**
+     * Stores many submissions, sent as a JSON array or as NDJSON, in one
+     * commit. Submissions are checked one by one: 200 when all were saved,
+     * 207 when some failed, 422 when none was saved. The batch is admitted as
+     * one submission per item, up to all slots, queued under its team, so a
+     * batch mixing teams is refused. A batch above the size limit is refused
+     * before the rest of it is read.
+     */
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public DeferredResult<ResponseEntity<?>> submitBatch(InputStream body) throws IOException {
+        List<SwaggerSubmission> submissions = readSubmissions(body, batchConfig.getMaxSubmissions());
+        log.info("Received batch of {} swagger submissions", submissions.size());
+        String team = teamOf(submissions);
+        return admitted(team, submissions.size(), () -> {
+            BatchResult result = swaggerService.processBatch(submissions);
+            HttpStatus status = result.getFailed() == 0 ? HttpStatus.OK
+                    : result.getSaved() > 0 ? HttpStatus.MULTI_STATUS
+                    : HttpStatus.UNPROCESSABLE_ENTITY;
+            return ResponseEntity.status(status).body(result);
+        }, running -> accepted(submissionJobService.trackBatch(
+                running.thenApply(response -> (BatchResult) response.getBody()))));
     }
 
+    @GetMapping("/jobs/{jobId}")
+    public DeferredResult<ResponseEntity<SubmissionJob>> getJob(@PathVariable String jobId) {
+        return bulkheads.read(() -> submissionJobService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build()));
+    }
+
+    @PostMapping("/validate")
+    public DeferredResult<ResponseEntity<ValidationResult>> validateSwagger(
+            @Valid @RequestBody SwaggerSubmission submission,
+            @RequestParam(required = false) Integer minScore) {
+        // Nothing is written, so dry runs queue with the other analysis work
+        return bulkheads.analysis(() -> {
+            ValidationResult result = swaggerService.validateSubmission(submission, minScore);
+            if ("FAILED_QUALITY_GATE".equals(result.getStatus())) {
+                return ResponseEntity.unprocessableEntity().body(result);
+            }
+            return ResponseEntity.ok(result);
+        });
+    }
+
+    /**
+     * Lists the catalog sorted by app name unless {@code sort} says otherwise.
+     * Without {@code size} every match is returned; the number of matches is
+     * always in the {@code X-Total-Count} header. Entries are written as they
+     * are serialized, as a JSON array or NDJSON depending on {@code Accept}.
+     */
     @GetMapping
-    public ResponseEntity<List<SwaggerEntry>> listApps() {
-        return ResponseEntity.ok(swaggerService.listApps());
+    public ResponseEntity<StreamingResponseBody> listApps(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String team,
+            @RequestParam(required = false) String environment,
+            @RequestParam(required = false) Integer minScore,
+            @RequestParam(required = false) Integer maxScore,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant updatedSince) {
+        CatalogPage result = swaggerService.listApps(CatalogQuery.builder()
+                .page(page)
+                .size(size != null ? Math.min(size, MAX_PAGE_SIZE) : null)
+                .sort(sort)
+                .team(team)
+                .environment(environment)
+                .minScore(minScore)
+                .maxScore(maxScore)
+                .updatedSince(updatedSince)
+                .build());
+        return jsonStreams.respond(accept,
+                ResponseEntity.ok().header(TOTAL_COUNT_HEADER, String.valueOf(result.getTotal())),
+                result.getItems()::forEach);
     }
 
+    /**
+     * With {@code fields}, only those members are loaded and returned, e.g.
+     * {@code fields=metadata,quality} to skip the spec body.
+     */
     @GetMapping("/{appName}")
-    public ResponseEntity<SwaggerInfo> getApp(@PathVariable String appName) {
-        return swaggerService.getApp(appName)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public DeferredResult<ResponseEntity<?>> getApp(
+            @PathVariable String appName,
+            @RequestParam(required = false) Set<String> fields) {
+        return bulkheads.read(() -> {
+            if (fields == null) {
+                return swaggerService.getApp(appName)
+                        .map(ResponseEntity::ok)
+                        .orElse(ResponseEntity.notFound().build());
+            }
+            return swaggerService.getApp(appName, fields)
+                    .map(info -> {
+                        ObjectNode body = objectMapper.valueToTree(info);
+                        body.retain(fields);
+                        return ResponseEntity.ok(body);
+                    })
+                    .orElse(ResponseEntity.notFound().build());
+        });
     }
 
+    /**
+     * Returns the stored spec, or with one of {@code tag}, {@code pathPrefix}
+     * or {@code pointer} a self-contained slice of it.
+     */
     @GetMapping("/{appName}/raw")
-    public ResponseEntity<?> getRawSwagger(
+    public DeferredResult<ResponseEntity<?>> getRawSwagger(
             @PathVariable String appName,
-            @RequestParam(required = false) String version) {
-        if (version != null && !version.isEmpty()) {
-            return swaggerService.getSwaggerAtVersion(appName, version)
+            @RequestParam(required = false) String version,
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) String pathPrefix,
+            @RequestParam(required = false) String pointer) {
+        return bulkheads.read(() -> {
+            // Empty selectors, as links render unset parameters, mean the whole spec
+            if (StringUtils.hasLength(tag) || StringUtils.hasLength(pathPrefix) || StringUtils.hasLength(pointer)) {
+                return specSliceService.slice(appName, version, emptyToNull(tag), emptyToNull(pathPrefix), emptyToNull(pointer))
+                        .map(ResponseEntity::ok)
+                        .orElse(ResponseEntity.notFound().build());
+            }
+            if (version != null && !version.isEmpty()) {
+                return swaggerService.getSwaggerAtVersion(appName, version)
+                        .map(ResponseEntity::ok)
+                        .orElse(ResponseEntity.notFound().build());
+            }
+            return swaggerService.getCurrentSwagger(appName)
                     .map(ResponseEntity::ok)
                     .orElse(ResponseEntity.notFound().build());
-        }
-        return swaggerService.getApp(appName)
-                .map(info -> ResponseEntity.ok(info.getSwagger()))
-                .orElse(ResponseEntity.notFound().build());
+        });
+    }
+
+    @GetMapping("/{appName}/tags")
+    public DeferredResult<ResponseEntity<List<TagSummary>>> getTags(
+            @PathVariable String appName,
+            @RequestParam(required = false) String version) {
+        return bulkheads.read(() -> specSliceService.getTags(appName, version)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build()));
     }
 
+    /**
+     * Streams versions newest first while the history is walked.
+     */
     @GetMapping("/{appName}/versions")
-    public ResponseEntity<List<String>> getVersionHistory(@PathVariable String appName) {
-        var versions = swaggerService.getVersionHistory(appName);
-        if (versions.isEmpty()) {
+    public ResponseEntity<StreamingResponseBody> getVersionHistory(
+            @PathVariable String appName,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        if (!swaggerService.hasApp(appName)) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(versions);
+        return jsonStreams.respond(accept, ResponseEntity.ok(),
+                sink -> swaggerService.forEachVersion(appName, sink));
     }
 
     @GetMapping("/{appName}/diff")
-    public ResponseEntity<?> compareVersions(
+    public DeferredResult<ResponseEntity<StreamingResponseBody>> compareVersions(
+            @PathVariable String appName,
+            @RequestParam String from,
+            @RequestParam(defaultValue = "current") String to,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return bulkheads.analysis(() -> {
+            // Impact annotation needs the whole change list, so only its serialization streams
+            var changes = swaggerService.compareVersions(appName, from, to);
+            return jsonStreams.respond(accept, ResponseEntity.ok(), changes::forEach);
+        });
+    }
+
+    @GetMapping("/{appName}/schema-graph")
+    public DeferredResult<ResponseEntity<SchemaReferenceGraph>> getSchemaGraph(
+            @PathVariable String appName,
+            @RequestParam(required = false) String version) {
+        return bulkheads.analysis(() -> schemaGraphService.getGraph(appName, version)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build()));
+    }
+
+    @GetMapping(value = "/{appName}/patch", produces = JSON_PATCH_VALUE)
+    public DeferredResult<ResponseEntity<StreamingResponseBody>> getPatch(
             @PathVariable String appName,
             @RequestParam String from,
             @RequestParam(defaultValue = "current") String to) {
-        var changes = swaggerService.compareVersions(appName, from, to);
-        return ResponseEntity.ok(changes);
+        return bulkheads.analysis(() -> {
+            var source = swaggerService.resolveVersion(appName, from);
+            var target = swaggerService.resolveVersion(appName, to);
+            if (source.isEmpty() || target.isEmpty()) {
+                return ResponseEntity.notFound().<StreamingResponseBody>build();
+            }
+
+            StreamingResponseBody body = out -> jsonPatchService.writePatch(source.get(), target.get(), out);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(JSON_PATCH_VALUE))
+                    .body(body);
+        });
+    }
+
+    /**
+     * Asks for an admission slot, so the per-team queue and its Retry-After
+     * estimate decide who waits, and hands the work to the submission
+     * bulkhead once the slot is granted. The request thread returns at once;
+     * the bulkhead gives the slot back when the work ends.
+     */
+    private <T> DeferredResult<T> admitted(String team, int slots, Callable<T> work,
+                                           Function<CompletableFuture<T>, T> whenLate) {
+        return bulkheads.submission(admissionService.acquire(team, slots), work, whenLate);
+    }
+
+    /**
+     * The one team a batch is admitted under. A batch holding several would
+     * bypass the queue share and turns of all but one, so it is refused;
+     * items without a team fail their own checks.
+     */
+    private static String teamOf(List<SwaggerSubmission> submissions) {
+        String team = null;
+        for (SwaggerSubmission submission : submissions) {
+            if (submission == null || submission.getTeam() == null || submission.getTeam().isBlank()) {
+                continue;
+            }
+            if (team == null) {
+                team = submission.getTeam();
+            } else if (!team.equalsIgnoreCase(submission.getTeam())) {
+                throw new IllegalArgumentException("Batch mixes teams " + team + " and " + submission.getTeam()
+                        + "; submit each team's specs in a batch of its own");
+            }
+        }
+        return team;
+    }
+
+    private static ResponseEntity<SubmissionJob> accepted(SubmissionJob job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/swaggers/jobs/" + job.getId()))
+                .body(job);
+    }
+
+    /**
+     * Reads the submissions one at a time: the elements of a top-level array,
+     * or the documents of an NDJSON stream. Stops at the first submission
+     * beyond {@code max}.
+     */
+    private List<SwaggerSubmission> readSubmissions(InputStream body, int max) throws IOException {
+        List<SwaggerSubmission> submissions = new ArrayList<>();
+        try (MappingIterator<SwaggerSubmission> values = objectMapper.readerFor(SwaggerSubmission.class).readValues(body)) {
+            while (values.hasNextValue()) {
+                if (submissions.size() == max) {
+                    throw new IllegalArgumentException("Batch holds more than " + max
+                            + " submissions, at most " + max + " are accepted");
+                }
+                submissions.add(values.nextValue());
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed batch at submission " + (submissions.size() + 1)
+                    + ": " + e.getOriginalMessage());
+        }
+        return submissions;
+    }
+
+    private static String emptyToNull(String value) {
+        return StringUtils.hasLength(value) ? value : null;
     }
 }
@@ -0,0 +1,53 @@
+package com.swaggerdocs.controller;
+
+import com.swaggerdocs.model.QualityStats;
+import com.swaggerdocs.model.TrendPoint;
+import com.swaggerdocs.service.TrendService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/trends")
+@RequiredArgsConstructor
+public class TrendController {
+
+    private static final Duration DEFAULT_WINDOW = Duration.ofDays(30);
+
+    private final TrendService trendService;
+
+    @GetMapping("/apps/{appName}")
+    public ResponseEntity<List<TrendPoint>> getAppTrend(
+            @PathVariable String appName,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        if (!trendService.hasApp(appName)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(trendService.getAppTrend(appName,
+                from != null ? from : Instant.EPOCH, to != null ? to : Instant.now()));
+    }
+
+    @GetMapping("/teams")
+    public ResponseEntity<List<QualityStats>> getTeamStats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        Instant end = to != null ? to : Instant.now();
+        return ResponseEntity.ok(trendService.getTeamStats(from != null ? from : end.minus(DEFAULT_WINDOW), end));
+    }
+
+    @GetMapping("/teams/{team}")
+    public ResponseEntity<List<QualityStats>> getTeamTrend(
+            @PathVariable String team,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "P1D") Duration bucket) {
+        Instant end = to != null ? to : Instant.now();
+        return ResponseEntity.ok(trendService.getTeamTrend(team, from != null ? from : end.minus(DEFAULT_WINDOW), end, bucket));
+    }
+}
@@ -0,0 +1,22 @@
+package com.swaggerdocs.controller;
+
+import com.swaggerdocs.model.WebhookStats;
+import com.swaggerdocs.service.WebhookService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/webhooks")
+@RequiredArgsConstructor
+public class WebhookController {
+
+    private final WebhookService webhookService;
+
+    @GetMapping("/stats")
+    public ResponseEntity<List<WebhookStats>> getStats() {
+        return ResponseEntity.ok(webhookService.getStats());
+    }
+}
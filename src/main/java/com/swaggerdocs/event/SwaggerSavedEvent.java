@@ -0,0 +1,15 @@
+package com.swaggerdocs.event;
+
+import com.swaggerdocs.model.SwaggerMetadata;
+import com.swaggerdocs.model.ValidationResult;
+
+/**
+ * Published after a submission has been stored and the in-memory indexes
+ * have been updated, so listeners see the new version everywhere.
+ */
+public record SwaggerSavedEvent(SwaggerMetadata metadata, ValidationResult result) {
+
+    public String appName() {
+        return metadata.getAppName();
+    }
+}
@@ -0,0 +1,8 @@
+package com.swaggerdocs.exception;
+
+public class JobQueueFullException extends RuntimeException {
+
+    public JobQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.swaggerdocs.exception;
+
+public class SubmissionRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public SubmissionRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
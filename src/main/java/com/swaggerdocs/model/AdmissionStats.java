@@ -0,0 +1,29 @@
+package com.swaggerdocs.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Admission counters of synchronous submissions. Latency is the moving
+ * average of processing time once admitted, which drives the wait estimate.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdmissionStats {
+    private int maxConcurrent;
+    private int inFlight;
+    private int queued;
+    private Map<String, Integer> queuedByTeam;
+    private long admitted;
+    private long rejectedQueueFull;
+    private long rejectedTeamQueueFull;
+    private long rejectedWaitTooLong;
+    private Map<String, Long> rejectedByTeam;
+    private long averageLatencyMs;
+}
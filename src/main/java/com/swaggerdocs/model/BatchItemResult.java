@@ -0,0 +1,23 @@
+package com.swaggerdocs.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResult {
+    private int index;
+    private String appName;
+    private Status status;
+    private ValidationResult result;
+    private String error;
+
+    public enum Status {
+        SAVED,
+        FAILED
+    }
+}
@@ -0,0 +1,22 @@
+package com.swaggerdocs.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResult {
+    /**
+     * The one commit holding every saved submission; null when none was saved.
+     */
+    private String version;
+    private int saved;
+    private int failed;
+    private List<BatchItemResult> items;
+}
@@ -0,0 +1,18 @@
+package com.swaggerdocs.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlobRevision {
+    private String appName;
+    private String blobId;
+    private Instant commitTime;
+}
@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -13,6 +15,7 @@ public class BreakingChange {
     private ChangeType type;
     private String path;
     private String description;
+    private List<String> affectedOperations;
 
     public enum ChangeType {
         ENDPOINT_REMOVED,
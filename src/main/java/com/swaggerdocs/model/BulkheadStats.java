@@ -0,0 +1,25 @@
+package com.swaggerdocs.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Saturation of one bulkhead: busy threads, queued requests, and requests
+ * refused because the queue was full or answered 503 after the timeout.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkheadStats {
+    private String name;
+    private int threads;
+    private int activeThreads;
+    private int queued;
+    private int queueCapacity;
+    private long completed;
+    private long rejected;
+    private long timedOut;
+}
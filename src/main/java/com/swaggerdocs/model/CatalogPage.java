@@ -0,0 +1,20 @@
+package com.swaggerdocs.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogPage {
+    private List<SwaggerEntry> items;
+    private int page;
+    private int size;
+    private int total;
+    private int totalPages;
+}
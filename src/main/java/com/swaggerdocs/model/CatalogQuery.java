@@ -0,0 +1,28 @@
+package com.swaggerdocs.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Filters, sort order and page of a catalog listing. Unset filters match
+ * everything; {@code sort} is a field name optionally followed by
+ * {@code ,asc} or {@code ,desc}; without a size the page holds every match.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogQuery {
+    private String team;
+    private String environment;
+    private Integer minScore;
+    private Integer maxScore;
+    private Instant updatedSince;
+    private String sort;
+    private int page;
+    private Integer size;
+}
@@ -0,0 +1,28 @@
+package com.swaggerdocs.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One committed submission in the change feed. Replayed events are rebuilt
+ * from the catalog for saves no longer held in memory; they carry the app's
+ * current state and no breaking change count.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEvent {
+    private long id;
+    private String appName;
+    private String team;
+    private String version;
+    private Integer qualityScore;
+    private Integer breakingChanges;
+    private Instant updatedAt;
+    private boolean replayed;
+}
@@ -0,0 +1,26 @@
+package com.swaggerdocs.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Evaluation counters of one lint rule since its rule set was last loaded.
+ * Selector matching is shared by all rules in the single traversal, so the
+ * time reported is the time spent in the rule's functions.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LintRuleStats {
+    private String name;
+    private String source;
+    private List<String> given;
+    private long matches;
+    private long violations;
+    private long totalMicros;
+}
@@ -0,0 +1,28 @@
+package com.swaggerdocs.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Aggregate of quality samples, either for a team over a window or for one
+ * time bucket of a team's series.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QualityStats {
+    private String team;
+    private Instant start;
+    private int apps;
+    private int samples;
+    private double average;
+    private int min;
+    private int p50;
+    private int p90;
+    private int max;
+}
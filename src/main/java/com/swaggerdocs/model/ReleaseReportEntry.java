@@ -0,0 +1,26 @@
+package com.swaggerdocs.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReleaseReportEntry {
+    private String appName;
+    private Status status;
+    private int breakingChanges;
+    private String message;
+
+    public enum Status {
+        UNCHANGED,
+        CHANGED,
+        BREAKING,
+        ADDED,
+        REMOVED,
+        FAILED
+    }
+}
@@ -0,0 +1,28 @@
+package com.swaggerdocs.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A route of one app that another app also claims. {@code CONFLICT} means
+ * both declare the same template; {@code OVERLAP} means some requests match
+ * both, for example {@code /orders/{id}} and {@code /orders/export}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteConflict {
+    private ConflictType type;
+    private String method;
+    private String template;
+    private String otherApp;
+    private String otherTemplate;
+
+    public enum ConflictType {
+        CONFLICT,
+        OVERLAP
+    }
+}
@@ -0,0 +1,24 @@
+package com.swaggerdocs.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * A route template matching a concrete request, with the values of its path
+ * parameters. Matches are ordered by precedence: literal segments win over
+ * parameters, from left to right.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteMatch {
+    private String appName;
+    private String method;
+    private String template;
+    private Map<String, String> parameters;
+}
@@ -0,0 +1,22 @@
+package com.swaggerdocs.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A schema of some app compared to a reference schema. Similarity is the
+ * Jaccard index of their flattened property names and types; identical
+ * schemas have the same structural fingerprint.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchemaMatch {
+    private String appName;
+    private String schemaName;
+    private double similarity;
+    private boolean identical;
+}
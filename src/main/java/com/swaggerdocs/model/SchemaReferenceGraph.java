@@ -0,0 +1,50 @@
+package com.swaggerdocs.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reverse reference graph of a spec version: for every schema, the schemas
+ * that reference it directly and the operations that use it directly.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchemaReferenceGraph {
+    private Map<String, List<String>> referencedBy;
+    private Map<String, List<String>> operations;
+
+    /**
+     * Collects the operations reaching the schema directly or through other
+     * schemas. Only the affected part of the graph is visited.
+     */
+    public Set<String> affectedOperations(String schemaName) {
+        Set<String> result = new LinkedHashSet<>();
+        Set<String> visited = new HashSet<>();
+        var queue = new ArrayDeque<String>();
+        queue.add(schemaName);
+        visited.add(schemaName);
+
+        while (!queue.isEmpty()) {
+            String schema = queue.poll();
+            result.addAll(operations.getOrDefault(schema, Collections.emptyList()));
+            for (String parent : referencedBy.getOrDefault(schema, Collections.emptyList())) {
+                if (visited.add(parent)) {
+                    queue.add(parent);
+                }
+            }
+        }
+        return result;
+    }
+}
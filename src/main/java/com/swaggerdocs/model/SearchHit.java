@@ -0,0 +1,20 @@
+package com.swaggerdocs.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One element of a spec that matched a search: a path, operation, tag,
+ * schema, property, summary or description.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHit {
+    private String kind;
+    private String location;
+    private String text;
+}
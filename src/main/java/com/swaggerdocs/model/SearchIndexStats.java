@@ -0,0 +1,22 @@
+package com.swaggerdocs.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Size of the search index. The byte count is an estimate of the retained
+ * heap based on 64-bit JVM object layouts with compressed references.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchIndexStats {
+    private int apps;
+    private int terms;
+    private long postings;
+    private long hits;
+    private long estimatedBytes;
+}
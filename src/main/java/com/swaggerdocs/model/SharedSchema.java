@@ -0,0 +1,21 @@
+package com.swaggerdocs.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A schema structure defined by more than one app, possibly under different names.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SharedSchema {
+    private String fingerprint;
+    private int apps;
+    private List<SchemaMatch> schemas;
+}
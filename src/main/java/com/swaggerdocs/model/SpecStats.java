@@ -0,0 +1,18 @@
+package com.swaggerdocs.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpecStats {
+    private String specVersion;
+    private int paths;
+    private int operations;
+    private int schemas;
+    private int tags;
+}
@@ -14,6 +14,7 @@ import java.time.Instant;
 public class SwaggerEntry {
     private String appName;
     private String team;
+    private String environment;
     private String version;
     private int qualityScore;
     private boolean hasBreakingChanges;
@@ -16,5 +16,6 @@ public class SwaggerInfo {
     private JsonNode swagger;
     private SwaggerMetadata metadata;
     private QualityScore quality;
+    private SpecStats stats;
     private List<String> versions;
 }
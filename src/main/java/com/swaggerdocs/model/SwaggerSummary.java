@@ -0,0 +1,24 @@
+package com.swaggerdocs.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * What the docs pages show about an app, without the spec itself.
+ * {@code versions} holds the most recent versions only.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SwaggerSummary {
+    private String appName;
+    private SwaggerMetadata metadata;
+    private QualityScore quality;
+    private SpecStats stats;
+    private List<String> versions;
+}
@@ -16,5 +16,6 @@ public class ValidationResult {
     private String version;
     private QualityScore quality;
     private List<BreakingChange> breakingChanges;
+    private List<RouteConflict> routeConflicts;
     private String viewUrl;
 }
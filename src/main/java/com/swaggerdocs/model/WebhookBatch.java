@@ -0,0 +1,21 @@
+package com.swaggerdocs.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Body of one webhook request. The id stays the same across retries, so
+ * receivers can discard duplicates.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebhookBatch {
+    private String id;
+    private List<WebhookEvent> events;
+}
@@ -0,0 +1,22 @@
+package com.swaggerdocs.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebhookEvent {
+    private String appName;
+    private String team;
+    private String version;
+    private List<BreakingChange> breakingChanges;
+    private String viewUrl;
+    private Instant occurredAt;
+}
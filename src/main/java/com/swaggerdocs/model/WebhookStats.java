@@ -0,0 +1,29 @@
+package com.swaggerdocs.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Delivery counters of one webhook target. Latency runs from the save to the
+ * receiver's acknowledgement; request time is the last successful HTTP call.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebhookStats {
+    private String name;
+    private String url;
+    private int queueDepth;
+    private int spooledBatches;
+    private long deliveredEvents;
+    private long deliveredBatches;
+    private long failedAttempts;
+    private long droppedEvents;
+    private long averageLatencyMs;
+    private long maxLatencyMs;
+    private long lastRequestMs;
+    private String lastError;
+}
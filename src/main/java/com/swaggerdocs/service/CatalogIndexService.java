@@ -0,0 +1,303 @@
+package com.swaggerdocs.service;
+
+import com.swaggerdocs.model.CatalogPage;
+import com.swaggerdocs.model.CatalogQuery;
+import com.swaggerdocs.model.SwaggerEntry;
+import com.swaggerdocs.model.SwaggerMetadata;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Sorted in-memory view of the app catalog behind the paged listings.
+ *
+ * Entries are loaded from the stored metadata once at startup and replaced on
+ * every save. Reads go to an immutable snapshot holding the entries pre-sorted
+ * by every sort key in both directions, for the whole catalog and per team.
+ * A query picks the array for its team and sort order, narrows it by binary
+ * search when the score or date filter is on the sort key, and only copies out
+ * the requested page. The snapshot is rebuilt on the first read after a save or
+ * a change of catalog scores. Each entry carries the app's current version:
+ * saves bring their own, and the first read finds those of apps not saved since
+ * startup in one walk of the history.
+ */
+@Service
+public class CatalogIndexService {
+
+    enum SortKey {
+        NAME("name", Comparator.comparing(SwaggerEntry::getAppName)),
+        TEAM("team", Comparator.comparing(SwaggerEntry::getTeam,
+                Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))),
+        SCORE("score", Comparator.comparingInt(SwaggerEntry::getQualityScore)),
+        UPDATED_AT("updatedAt", Comparator.comparing(SwaggerEntry::getUpdatedAt,
+                Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        private final String field;
+        private final Comparator<SwaggerEntry> order;
+
+        SortKey(String field, Comparator<SwaggerEntry> order) {
+            this.field = field;
+            this.order = order;
+        }
+
+        /**
+         * Ties are broken by app name ascending in both directions.
+         */
+        Comparator<SwaggerEntry> comparator(boolean descending) {
+            Comparator<SwaggerEntry> primary = descending ? order.reversed() : order;
+            return primary.thenComparing(SwaggerEntry::getAppName);
+        }
+
+        static SortKey parse(String field) {
+            for (SortKey key : values()) {
+                if (key.field.equalsIgnoreCase(field)) {
+                    return key;
+                }
+            }
+            throw new IllegalArgumentException("Unknown sort field: " + field
+                    + " (expected name, team, score or updatedAt)");
+        }
+    }
+
+    private static final SwaggerEntry[][] EMPTY_VIEW = buildView(List.of());
+
+    private final GitStorageService gitStorageService;
+    private final QualityService qualityService;
+    private final Map<String, SwaggerEntry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong revision = new AtomicLong();
+
+    private volatile Snapshot snapshot = new Snapshot(-1, -1, EMPTY_VIEW, Map.of());
+    // Guarded by this
+    private boolean versionsResolved;
+
+    public CatalogIndexService(GitStorageService gitStorageService, QualityService qualityService) {
+        this.gitStorageService = gitStorageService;
+        this.qualityService = qualityService;
+    }
+
+    @PostConstruct
+    public void init() {
+        for (SwaggerEntry entry : gitStorageService.listApps()) {
+            entries.put(entry.getAppName(), entry);
+        }
+        revision.incrementAndGet();
+    }
+
+    public void update(SwaggerMetadata metadata, String version) {
+        entries.put(metadata.getAppName(), SwaggerEntry.builder()
+                .appName(metadata.getAppName())
+                .team(metadata.getTeam())
+                .environment(metadata.getEnvironment())
+                .version(version)
+                .qualityScore(metadata.getQualityScore())
+                .updatedAt(metadata.getUpdatedAt())
+                .build());
+        revision.incrementAndGet();
+    }
+
+    public CatalogPage query(CatalogQuery query) {
+        if (query.getPage() < 0) {
+            throw new IllegalArgumentException("page must not be negative");
+        }
+        if (query.getSize() != null && query.getSize() < 1) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        boolean descending = false;
+        SortKey sortKey = SortKey.NAME;
+        if (query.getSort() != null && !query.getSort().isBlank()) {
+            String[] parts = query.getSort().split(",", 2);
+            sortKey = SortKey.parse(parts[0].trim());
+            if (parts.length > 1) {
+                String direction = parts[1].trim();
+                if (!direction.equalsIgnoreCase("asc") && !direction.equalsIgnoreCase("desc")) {
+                    throw new IllegalArgumentException("Unknown sort direction: " + direction);
+                }
+                descending = direction.equalsIgnoreCase("desc");
+            }
+        }
+
+        Snapshot current = snapshot();
+        SwaggerEntry[][] view = query.getTeam() == null || query.getTeam().isBlank()
+                ? current.all()
+                : current.byTeam().getOrDefault(query.getTeam().toLowerCase(Locale.ROOT), EMPTY_VIEW);
+        SwaggerEntry[] sorted = view[slot(sortKey, descending)];
+
+        int from = 0;
+        int to = sorted.length;
+        Integer min = query.getMinScore();
+        Integer max = query.getMaxScore();
+        Instant since = query.getUpdatedSince();
+        if (sortKey == SortKey.SCORE) {
+            if (descending) {
+                if (max != null) from = firstIndex(sorted, from, to, e -> e.getQualityScore() <= max);
+                if (min != null) to = firstIndex(sorted, from, to, e -> e.getQualityScore() < min);
+            } else {
+                if (min != null) from = firstIndex(sorted, from, to, e -> e.getQualityScore() >= min);
+                if (max != null) to = firstIndex(sorted, from, to, e -> e.getQualityScore() > max);
+            }
+        } else if (sortKey == SortKey.UPDATED_AT && since != null) {
+            // Entries without a date sort first ascending and last descending
+            if (descending) {
+                to = firstIndex(sorted, from, to, e -> e.getUpdatedAt() == null || e.getUpdatedAt().isBefore(since));
+            } else {
+                from = firstIndex(sorted, from, to, e -> e.getUpdatedAt() != null && !e.getUpdatedAt().isBefore(since));
+            }
+        }
+
+        int size = query.getSize() != null ? query.getSize() : Math.max(1, to - from);
+        long offset = (long) query.getPage() * size;
+        List<SwaggerEntry> items = new ArrayList<>(Math.min(size, to - from));
+        int total = 0;
+        for (int i = from; i < to; i++) {
+            SwaggerEntry entry = sorted[i];
+            if (!matches(entry, query)) {
+                continue;
+            }
+            if (total >= offset && items.size() < size) {
+                items.add(entry);
+            }
+            total++;
+        }
+
+        return CatalogPage.builder()
+                .items(items)
+                .page(query.getPage())
+                .size(size)
+                .total(total)
+                .totalPages((total + size - 1) / size)
+                .build();
+    }
+
+    private static boolean matches(SwaggerEntry entry, CatalogQuery query) {
+        if (query.getEnvironment() != null && !query.getEnvironment().isBlank()
+                && !query.getEnvironment().equalsIgnoreCase(entry.getEnvironment())) {
+            return false;
+        }
+        if (query.getMinScore() != null && entry.getQualityScore() < query.getMinScore()) {
+            return false;
+        }
+        if (query.getMaxScore() != null && entry.getQualityScore() > query.getMaxScore()) {
+            return false;
+        }
+        return query.getUpdatedSince() == null
+                || entry.getUpdatedAt() != null && !entry.getUpdatedAt().isBefore(query.getUpdatedSince());
+    }
+
+    /**
+     * First index in [from, to) at which the predicate holds, for a predicate
+     * that is false up to some point of the array and true from there on.
+     */
+    private static int firstIndex(SwaggerEntry[] sorted, int from, int to, Predicate<SwaggerEntry> predicate) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (predicate.test(sorted[mid])) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current.revision() == revision.get() && current.scoresRevision() == qualityService.getCatalogRevision()) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            // Read the revisions before the entries, so a concurrent change forces another rebuild
+            long entriesRevision = revision.get();
+            long scoresRevision = qualityService.getCatalogRevision();
+            if (current.revision() == entriesRevision && current.scoresRevision() == scoresRevision) {
+                return current;
+            }
+            if (!versionsResolved) {
+                resolveVersions();
+            }
+
+            // Copies, so published entries never change under a reader
+            List<SwaggerEntry> copies = new ArrayList<>(entries.size());
+            for (SwaggerEntry entry : entries.values()) {
+                copies.add(copy(entry));
+            }
+            qualityService.applyCatalogScores(copies);
+
+            Map<String, List<SwaggerEntry>> teams = new HashMap<>();
+            for (SwaggerEntry entry : copies) {
+                if (entry.getTeam() != null) {
+                    teams.computeIfAbsent(entry.getTeam().toLowerCase(Locale.ROOT), t -> new ArrayList<>()).add(entry);
+                }
+            }
+            Map<String, SwaggerEntry[][]> byTeam = new HashMap<>(teams.size() * 2);
+            teams.forEach((team, members) -> byTeam.put(team, buildView(members)));
+
+            current = new Snapshot(entriesRevision, scoresRevision, buildView(copies), byTeam);
+            snapshot = current;
+            return current;
+        }
+    }
+
+    /**
+     * Fills in the versions of entries loaded at startup. Entries updated in
+     * the meantime already carry theirs and are left alone.
+     */
+    private void resolveVersions() {
+        gitStorageService.getHeadVersions().forEach((appName, version) ->
+                entries.computeIfPresent(appName, (name, entry) -> {
+                    if (entry.getVersion() != null) {
+                        return entry;
+                    }
+                    SwaggerEntry resolved = copy(entry);
+                    resolved.setVersion(version);
+                    return resolved;
+                }));
+        versionsResolved = true;
+    }
+
+    private static SwaggerEntry copy(SwaggerEntry entry) {
+        return SwaggerEntry.builder()
+                .appName(entry.getAppName())
+                .team(entry.getTeam())
+                .environment(entry.getEnvironment())
+                .version(entry.getVersion())
+                .qualityScore(entry.getQualityScore())
+                .hasBreakingChanges(entry.isHasBreakingChanges())
+                .updatedAt(entry.getUpdatedAt())
+                .build();
+    }
+
+    private static SwaggerEntry[][] buildView(List<SwaggerEntry> members) {
+        SwaggerEntry[] base = members.toArray(new SwaggerEntry[0]);
+        SwaggerEntry[][] view = new SwaggerEntry[SortKey.values().length * 2][];
+        for (SortKey key : SortKey.values()) {
+            for (boolean descending : new boolean[]{false, true}) {
+                SwaggerEntry[] sorted = base.clone();
+                Arrays.sort(sorted, key.comparator(descending));
+                view[slot(key, descending)] = sorted;
+            }
+        }
+        return view;
+    }
+
+    private static int slot(SortKey key, boolean descending) {
+        return key.ordinal() * 2 + (descending ? 1 : 0);
+    }
+
+    private record Snapshot(long revision, long scoresRevision,
+                            SwaggerEntry[][] all, Map<String, SwaggerEntry[][]> byTeam) {
+    }
+}
@@ -0,0 +1,195 @@
+package com.swaggerdocs.service;
+
+import com.swaggerdocs.config.FeedConfig;
+import com.swaggerdocs.config.WorkerThreads;
+import com.swaggerdocs.event.SwaggerSavedEvent;
+import com.swaggerdocs.model.CatalogQuery;
+import com.swaggerdocs.model.ChangeEvent;
+import com.swaggerdocs.model.SwaggerEntry;
+import com.swaggerdocs.model.SwaggerMetadata;
+import jakarta.annotation.PreDestroy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feed of committed submissions for clients that would otherwise poll the
+ * catalog.
+ *
+ * Saves are appended to a fixed ring of recent events. Event ids are the
+ * save time in epoch milliseconds, bumped where needed to stay strictly
+ * increasing, so they keep their meaning across restarts. A reader asking for
+ * events after an id older than the ring (evicted, or from before a restart)
+ * first gets one replayed event per app updated since then, rebuilt from the
+ * catalog index with the app's current version, then the ring.
+ *
+ * The saving thread only appends and hands one wake-up to the feed threads.
+ * Listeners (open streams and waiting polls) are run there, one task each, and
+ * also on every heartbeat so idle streams can send keep-alives. Listeners must
+ * not block: writes to a client go through {@link #deliver}, which runs them
+ * on a thread of their own.
+ */
+@Service
+public class ChangeFeedService {
+
+    private final CatalogIndexService catalogIndexService;
+    private final ChangeEvent[] ring;
+    private final ScheduledExecutorService executor;
+    private final ExecutorService deliveryExecutor;
+    private final Set<Runnable> listeners = ConcurrentHashMap.newKeySet();
+
+    // Guarded by this
+    private long appended;
+    private long lastId;
+    /** Newest id not held in the ring: the last evicted event, or the start time. */
+    private long horizon;
+
+    public ChangeFeedService(CatalogIndexService catalogIndexService, FeedConfig config, WorkerThreads workerThreads) {
+        this.catalogIndexService = catalogIndexService;
+        this.ring = new ChangeEvent[Math.max(1, config.getBufferSize())];
+        this.horizon = System.currentTimeMillis();
+        this.lastId = horizon;
+        var threadFactory = new CustomizableThreadFactory("change-feed-");
+        threadFactory.setDaemon(true);
+        this.executor = Executors.newScheduledThreadPool(Math.max(1, config.getThreads()), threadFactory);
+        // One thread per client being written to, so a client with a full TCP window only stalls itself
+        this.deliveryExecutor = Executors.newCachedThreadPool(workerThreads.factory("change-feed-delivery-"));
+        long heartbeat = config.getHeartbeat().toMillis();
+        executor.scheduleAtFixedRate(this::wakeAll, heartbeat, heartbeat, TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener
+    public void onSaved(SwaggerSavedEvent event) {
+        SwaggerMetadata metadata = event.metadata();
+        append(ChangeEvent.builder()
+                .appName(metadata.getAppName())
+                .team(metadata.getTeam())
+                .version(event.result().getVersion())
+                .qualityScore(event.result().getQuality() != null ? event.result().getQuality().getScore() : null)
+                .breakingChanges(event.result().getBreakingChanges() != null ? event.result().getBreakingChanges().size() : 0)
+                .updatedAt(metadata.getUpdatedAt())
+                .build());
+        executor.execute(this::wakeAll);
+    }
+
+    synchronized ChangeEvent append(ChangeEvent event) {
+        long time = event.getUpdatedAt() != null ? event.getUpdatedAt().toEpochMilli() : System.currentTimeMillis();
+        long id = Math.max(lastId + 1, time);
+        event.setId(id);
+        int slot = (int) (appended % ring.length);
+        if (ring[slot] != null) {
+            horizon = ring[slot].getId();
+        }
+        ring[slot] = event;
+        appended++;
+        lastId = id;
+        return event;
+    }
+
+    public synchronized long getLatestId() {
+        return lastId;
+    }
+
+    /**
+     * Events after the given id, oldest first. Replayed events come first
+     * when part of the range is no longer held in memory.
+     */
+    public List<ChangeEvent> eventsAfter(long id) {
+        List<ChangeEvent> buffered = new ArrayList<>();
+        long gapEnd;
+        synchronized (this) {
+            gapEnd = horizon;
+            int held = (int) Math.min(appended, ring.length);
+            for (long i = appended - held; i < appended; i++) {
+                ChangeEvent event = ring[(int) (i % ring.length)];
+                if (event.getId() > id) {
+                    buffered.add(event);
+                }
+            }
+        }
+        if (id >= gapEnd) {
+            return buffered;
+        }
+
+        // Apps saved again since are covered by their buffered events
+        Set<String> bufferedApps = new HashSet<>();
+        buffered.forEach(event -> bufferedApps.add(event.getAppName()));
+        List<ChangeEvent> events = new ArrayList<>();
+        List<SwaggerEntry> updated = catalogIndexService.query(CatalogQuery.builder()
+                .updatedSince(Instant.ofEpochMilli(id + 1))
+                .sort("updatedAt")
+                .build()).getItems();
+        for (SwaggerEntry entry : updated) {
+            if (bufferedApps.contains(entry.getAppName())) {
+                continue;
+            }
+            events.add(ChangeEvent.builder()
+                    .id(entry.getUpdatedAt().toEpochMilli())
+                    .appName(entry.getAppName())
+                    .team(entry.getTeam())
+                    .version(entry.getVersion())
+                    .qualityScore(entry.getQualityScore())
+                    .updatedAt(entry.getUpdatedAt())
+                    .replayed(true)
+                    .build());
+        }
+        events.addAll(buffered);
+        return events;
+    }
+
+    /**
+     * Registers a listener run on the feed threads after every save and on
+     * every heartbeat. Listeners should not block for long.
+     */
+    public void register(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    public void unregister(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Runs one listener on the feed threads, e.g. to catch up right after registering.
+     */
+    public void wake(Runnable listener) {
+        try {
+            executor.execute(listener);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+        }
+    }
+
+    /**
+     * Runs a blocking write to one client off the feed threads.
+     */
+    public void deliver(Runnable delivery) {
+        try {
+            deliveryExecutor.execute(delivery);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+        }
+    }
+
+    private void wakeAll() {
+        listeners.forEach(this::wake);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        deliveryExecutor.shutdownNow();
+    }
+}
@@ -5,32 +5,71 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.swaggerdocs.config.GitRemoteConfig;
 import com.swaggerdocs.config.StorageConfig;
 import com.swaggerdocs.exception.GitSyncException;
+import com.swaggerdocs.model.BlobRevision;
 import com.swaggerdocs.model.SwaggerEntry;
 import com.swaggerdocs.model.SwaggerMetadata;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.api.errors.RefAlreadyExistsException;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevSort;
+import org.eclipse.jgit.revwalk.RevWalk;
 import org.eclipse.jgit.transport.CredentialsProvider;
+import org.eclipse.jgit.transport.RefSpec;
 import org.eclipse.jgit.transport.UsernamePasswordCredentialsProvider;
+import org.eclipse.jgit.treewalk.EmptyTreeIterator;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
+import org.eclipse.jgit.treewalk.filter.PathSuffixFilter;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
 public class GitStorageService {
 
+    private static final String SWAGGER_FILE = "swagger.json";
+    private static final String METADATA_FILE = "metadata.json";
+    private static final String CACHE_DIR = ".cache";
+    private static final int DEFAULT_SPEC_CACHE_SIZE = 256;
+
     private final String storagePath;
     private final ObjectMapper objectMapper;
     private final GitRemoteConfig remoteConfig;
+    private final Map<String, JsonNode> specCache;
+    private final Map<String, String> headBlobIds = new ConcurrentHashMap<>();
+    /**
+     * One writer at a time for the working tree, index, commits and pushes;
+     * submission jobs of different apps save concurrently. A lock rather than a monitor: it is held across disk and network I/O,
+     * and virtual threads waiting for it must not pin their carriers.
+     */
+    private final ReentrantLock writeLock = new ReentrantLock();
 
     private Git git;
     private Path storageDir;
@@ -41,18 +80,34 @@ public class GitStorageService {
         this.storagePath = config.getPath();
         this.objectMapper = objectMapper;
         this.remoteConfig = remoteConfig;
+        this.specCache = createSpecCache(config.getSpecCacheSize());
     }
 
     public GitStorageService(String storagePath, ObjectMapper objectMapper) {
         this.storagePath = storagePath;
         this.objectMapper = objectMapper;
         this.remoteConfig = new GitRemoteConfig(); // disabled by default
+        this.specCache = createSpecCache(DEFAULT_SPEC_CACHE_SIZE);
     }
 
     public GitStorageService(String storagePath, ObjectMapper objectMapper, GitRemoteConfig remoteConfig) {
         this.storagePath = storagePath;
         this.objectMapper = objectMapper;
         this.remoteConfig = remoteConfig;
+        this.specCache = createSpecCache(DEFAULT_SPEC_CACHE_SIZE);
+    }
+
+    /**
+     * Parsed specs keyed by git blob id. Blobs are immutable, so entries never
+     * go stale; the map is only bounded to keep memory in check.
+     */
+    private static Map<String, JsonNode> createSpecCache(int maxEntries) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, JsonNode> eldest) {
+                return size() > maxEntries;
+            }
+        });
     }
 
     @PostConstruct
@@ -66,6 +121,7 @@ public class GitStorageService {
             } else {
                 initializeLocal();
             }
+            excludeCacheDir();
         } catch (IOException | GitAPIException e) {
             throw new RuntimeException("Failed to initialize Git storage", e);
         }
@@ -123,39 +179,99 @@ public class GitStorageService {
         }
     }
 
-    public String save(String appName, JsonNode swagger, SwaggerMetadata metadata) {
+    /**
+     * Keeps derived data written under the storage root out of commits and pulls.
+     */
+    private void excludeCacheDir() throws IOException {
+        Path exclude = storageDir.resolve(".git").resolve("info").resolve("exclude");
+        String pattern = "/" + CACHE_DIR + "/";
+        if (Files.exists(exclude) && Files.readAllLines(exclude).contains(pattern)) {
+            return;
+        }
+        Files.createDirectories(exclude.getParent());
+        Files.writeString(exclude, pattern + System.lineSeparator(),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Returns a directory for derived, rebuildable data (scores, indexes),
+     * creating it if needed. It lives next to the app directories but is never committed.
+     */
+    public Path getCacheDir(String name) {
         try {
-            Path appDir = storageDir.resolve(appName);
-            Files.createDirectories(appDir);
+            Path dir = storageDir.resolve(CACHE_DIR).resolve(name);
+            Files.createDirectories(dir);
+            return dir;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create cache directory " + name, e);
+        }
+    }
 
-            Path swaggerFile = appDir.resolve("swagger.json");
-            objectMapper.writerWithDefaultPrettyPrinter()
-                    .writeValue(swaggerFile.toFile(), swagger);
+    /**
+     * One app's spec and metadata to store, as part of a {@link #saveAll} commit.
+     */
+    public record SpecWrite(String appName, JsonNode swagger, SwaggerMetadata metadata) {
+    }
 
-            Path metadataFile = appDir.resolve("metadata.json");
-            objectMapper.writerWithDefaultPrettyPrinter()
-                    .writeValue(metadataFile.toFile(), metadata);
+    public String save(String appName, JsonNode swagger, SwaggerMetadata metadata) {
+        return saveAll(List.of(new SpecWrite(appName, swagger, metadata)));
+    }
 
-            git.add().addFilepattern(appName).call();
+    /**
+     * Stores several apps in a single commit, pushed once. Returns the
+     * abbreviated commit id, which is the new version of every app written.
+     */
+    public String saveAll(List<SpecWrite> writes) {
+        if (writes.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to save");
+        }
+        String subject = writes.size() == 1 ? writes.get(0).appName() : writes.size() + " apps";
+        writeLock.lock();
+        try {
+            var add = git.add();
+            String sourceCommit = null;
+            for (SpecWrite write : writes) {
+                Path appDir = storageDir.resolve(write.appName());
+                Files.createDirectories(appDir);
+
+                Path swaggerFile = appDir.resolve(SWAGGER_FILE);
+                objectMapper.writerWithDefaultPrettyPrinter()
+                        .writeValue(swaggerFile.toFile(), write.swagger());
+
+                Path metadataFile = appDir.resolve(METADATA_FILE);
+                objectMapper.writerWithDefaultPrettyPrinter()
+                        .writeValue(metadataFile.toFile(), write.metadata());
+
+                add.addFilepattern(write.appName());
+                if (sourceCommit == null) {
+                    sourceCommit = write.metadata().getCommitHash();
+                }
+            }
+            add.call();
 
             String commitMessage = String.format("Update %s - %s",
-                    appName,
-                    metadata.getCommitHash() != null ? metadata.getCommitHash() : "manual");
+                    subject,
+                    sourceCommit != null ? sourceCommit : "manual");
 
             RevCommit commit = git.commit().setMessage(commitMessage).call();
+            for (SpecWrite write : writes) {
+                blobIdAt(commit, write.appName()).ifPresent(blobId -> headBlobIds.put(write.appName(), blobId));
+            }
 
-            log.info("Saved swagger for {} at version {}", appName, commit.getId().abbreviate(7).name());
+            log.info("Saved swagger for {} at version {}", subject, commit.getId().abbreviate(7).name());
 
             pushWithRetry();
 
             return commit.getId().abbreviate(7).name();
 
         } catch (IOException | GitAPIException e) {
-            throw new RuntimeException("Failed to save swagger for " + appName, e);
+            throw new RuntimeException("Failed to save swagger for " + subject, e);
+        } finally {
+            writeLock.unlock();
         }
     }
 
-    private void pushWithRetry() {
+    private void pushWithRetry(RefSpec... refSpecs) {
         if (remoteConfig == null || !remoteConfig.isConfigured()) {
             return;
         }
@@ -165,9 +281,11 @@ public class GitStorageService {
 
         for (int attempt = 1; attempt <= maxAttempts; attempt++) {
             try {
-                git.push()
-                        .setCredentialsProvider(credentialsProvider)
-                        .call();
+                var push = git.push().setCredentialsProvider(credentialsProvider);
+                if (refSpecs.length > 0) {
+                    push.setRefSpecs(refSpecs);
+                }
+                push.call();
                 log.info("Successfully pushed to remote");
                 return;
             } catch (GitAPIException e) {
@@ -191,7 +309,7 @@ public class GitStorageService {
 
     public Optional<JsonNode> getSwagger(String appName) {
         try {
-            Path swaggerFile = storageDir.resolve(appName).resolve("swagger.json");
+            Path swaggerFile = storageDir.resolve(appName).resolve(SWAGGER_FILE);
             if (Files.exists(swaggerFile)) {
                 return Optional.of(objectMapper.readTree(swaggerFile.toFile()));
             }
@@ -203,7 +321,7 @@ public class GitStorageService {
 
     public Optional<SwaggerMetadata> getMetadata(String appName) {
         try {
-            Path metadataFile = storageDir.resolve(appName).resolve("metadata.json");
+            Path metadataFile = storageDir.resolve(appName).resolve(METADATA_FILE);
             if (Files.exists(metadataFile)) {
                 return Optional.of(objectMapper.readValue(metadataFile.toFile(), SwaggerMetadata.class));
             }
@@ -228,6 +346,7 @@ public class GitStorageService {
                             entries.add(SwaggerEntry.builder()
                                     .appName(meta.getAppName())
                                     .team(meta.getTeam())
+                                    .environment(meta.getEnvironment())
                                     .version(meta.getVersion())
                                     .qualityScore(meta.getQualityScore())
                                     .updatedAt(meta.getUpdatedAt())
@@ -241,34 +360,284 @@ public class GitStorageService {
     }
 
     public Optional<JsonNode> getSwaggerAtVersion(String appName, String commitHash) {
+        return getBlobId(appName, commitHash).flatMap(this::getSwaggerByBlobId);
+    }
+
+    /**
+     * Resolves the blob id of an app's swagger.json at the given revision
+     * (commit hash, tag name or HEAD). HEAD lookups are served from memory;
+     * only {@link #save} moves HEAD and it updates the entry of the saved app.
+     */
+    public Optional<String> getBlobId(String appName, String revision) {
+        if (Constants.HEAD.equals(revision)) {
+            // computeIfAbsent is atomic per key, so a lookup racing a save cannot overwrite the new id
+            return Optional.ofNullable(headBlobIds.computeIfAbsent(appName,
+                    name -> resolveBlobId(name, Constants.HEAD).orElse(null)));
+        }
+        return resolveBlobId(appName, revision);
+    }
+
+    /**
+     * Returns the parsed spec of the app's latest commit, from the blob cache
+     * when it has been read before.
+     */
+    public Optional<JsonNode> getCurrentSwagger(String appName) {
+        return getBlobId(appName, Constants.HEAD).flatMap(this::getSwaggerByBlobId);
+    }
+
+    /**
+     * The full id of the commit a revision (commit hash, tag name or HEAD) points to.
+     */
+    public Optional<String> getCommitId(String revision) {
         try {
-            var commitId = git.getRepository().resolve(commitHash);
+            return Optional.ofNullable(git.getRepository().resolve(revision + "^{commit}")).map(ObjectId::name);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to resolve " + revision, e);
+        }
+    }
+
+    private Optional<String> resolveBlobId(String appName, String revision) {
+        try {
+            Repository repository = git.getRepository();
+            var commitId = repository.resolve(revision + "^{commit}");
             if (commitId == null) {
                 return Optional.empty();
             }
+            return blobIdAt(repository.parseCommit(commitId), appName);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to resolve " + appName + " at " + revision, e);
+        }
+    }
 
-            var treeWalk = org.eclipse.jgit.treewalk.TreeWalk.forPath(
-                    git.getRepository(),
-                    appName + "/swagger.json",
-                    git.getRepository().parseCommit(commitId).getTree()
-            );
-
+    private Optional<String> blobIdAt(RevCommit commit, String appName) throws IOException {
+        try (var treeWalk = TreeWalk.forPath(git.getRepository(), appName + "/" + SWAGGER_FILE, commit.getTree())) {
             if (treeWalk == null) {
                 return Optional.empty();
             }
+            return Optional.of(treeWalk.getObjectId(0).name());
+        }
+    }
+
+    /**
+     * Returns the swagger.json blob id of every app at the given revision,
+     * collected in a single walk of the commit tree.
+     */
+    public Map<String, String> getBlobIds(String revision) {
+        Map<String, String> blobIds = new LinkedHashMap<>();
+        try {
+            Repository repository = git.getRepository();
+            var commitId = repository.resolve(revision + "^{commit}");
+            if (commitId == null) {
+                return blobIds;
+            }
 
-            var loader = git.getRepository().open(treeWalk.getObjectId(0));
-            return Optional.of(objectMapper.readTree(loader.getBytes()));
+            try (var treeWalk = new TreeWalk(repository)) {
+                treeWalk.addTree(repository.parseCommit(commitId).getTree());
+                treeWalk.setRecursive(true);
+                treeWalk.setFilter(PathSuffixFilter.create("/" + SWAGGER_FILE));
+                while (treeWalk.next()) {
+                    if (treeWalk.getDepth() == 1) {
+                        String path = treeWalk.getPathString();
+                        blobIds.put(path.substring(0, path.indexOf('/')), treeWalk.getObjectId(0).name());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to list swagger blobs at " + revision, e);
+        }
+        return blobIds;
+    }
 
+    public Optional<JsonNode> getSwaggerByBlobId(String blobId) {
+        JsonNode cached = specCache.get(blobId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        try {
+            var loader = git.getRepository().open(ObjectId.fromString(blobId));
+            JsonNode swagger = objectMapper.readTree(loader.getBytes());
+            specCache.put(blobId, swagger);
+            return Optional.of(swagger);
+        } catch (MissingObjectException e) {
+            return Optional.empty();
         } catch (IOException e) {
-            throw new RuntimeException("Failed to get swagger at version " + commitHash, e);
+            throw new RuntimeException("Failed to read swagger blob " + blobId, e);
         }
     }
 
+    public Optional<SwaggerMetadata> getMetadataByBlobId(String blobId) {
+        try {
+            var loader = git.getRepository().open(ObjectId.fromString(blobId));
+            return Optional.of(objectMapper.readValue(loader.getBytes(), SwaggerMetadata.class));
+        } catch (MissingObjectException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read metadata blob " + blobId, e);
+        }
+    }
+
+    /**
+     * Lists every change to an app's metadata.json reachable from the given
+     * revision, oldest first. History is walked once, diffing each commit
+     * against its first parent, so no blob is read.
+     */
+    public List<BlobRevision> getMetadataRevisions(String revision) {
+        List<BlobRevision> revisions = new ArrayList<>();
+        try {
+            Repository repository = git.getRepository();
+            var commitId = repository.resolve(revision + "^{commit}");
+            if (commitId == null) {
+                return revisions;
+            }
+
+            try (var revWalk = new RevWalk(repository); var treeWalk = new TreeWalk(repository)) {
+                revWalk.sort(RevSort.TOPO);
+                revWalk.sort(RevSort.REVERSE, true);
+                revWalk.markStart(revWalk.parseCommit(commitId));
+                treeWalk.setRecursive(true);
+                treeWalk.setFilter(AndTreeFilter.create(PathSuffixFilter.create("/" + METADATA_FILE), TreeFilter.ANY_DIFF));
+
+                for (RevCommit commit : revWalk) {
+                    treeWalk.reset();
+                    treeWalk.addTree(commit.getTree());
+                    if (commit.getParentCount() > 0) {
+                        treeWalk.addTree(revWalk.parseCommit(commit.getParent(0)).getTree());
+                    } else {
+                        treeWalk.addTree(new EmptyTreeIterator());
+                    }
+
+                    while (treeWalk.next()) {
+                        if (treeWalk.getDepth() != 1 || treeWalk.getFileMode(0) == FileMode.MISSING) continue;
+                        String path = treeWalk.getPathString();
+                        revisions.add(BlobRevision.builder()
+                                .appName(path.substring(0, path.indexOf('/')))
+                                .blobId(treeWalk.getObjectId(0).name())
+                                .commitTime(Instant.ofEpochSecond(commit.getCommitTime()))
+                                .build());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to walk metadata history at " + revision, e);
+        }
+        return revisions;
+    }
+
+    /**
+     * The version (abbreviated commit id) that last changed each app's
+     * swagger.json, for every app present at HEAD. History is walked once,
+     * newest first, and no further back than the oldest of those commits.
+     */
+    public Map<String, String> getHeadVersions() {
+        Map<String, String> versions = new HashMap<>();
+        Set<String> apps = getBlobIds(Constants.HEAD).keySet();
+        if (apps.isEmpty()) {
+            return versions;
+        }
+        try {
+            Repository repository = git.getRepository();
+            try (var revWalk = new RevWalk(repository); var treeWalk = new TreeWalk(repository)) {
+                revWalk.markStart(revWalk.parseCommit(repository.resolve(Constants.HEAD + "^{commit}")));
+                treeWalk.setRecursive(true);
+                treeWalk.setFilter(AndTreeFilter.create(PathSuffixFilter.create("/" + SWAGGER_FILE), TreeFilter.ANY_DIFF));
+
+                for (RevCommit commit : revWalk) {
+                    treeWalk.reset();
+                    treeWalk.addTree(commit.getTree());
+                    if (commit.getParentCount() > 0) {
+                        treeWalk.addTree(revWalk.parseCommit(commit.getParent(0)).getTree());
+                    } else {
+                        treeWalk.addTree(new EmptyTreeIterator());
+                    }
+
+                    while (treeWalk.next()) {
+                        if (treeWalk.getDepth() != 1 || treeWalk.getFileMode(0) == FileMode.MISSING) continue;
+                        String path = treeWalk.getPathString();
+                        String appName = path.substring(0, path.indexOf('/'));
+                        if (apps.contains(appName)) {
+                            versions.putIfAbsent(appName, commit.getId().abbreviate(7).name());
+                        }
+                    }
+                    if (versions.size() == apps.size()) {
+                        break;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to walk versions at HEAD", e);
+        }
+        return versions;
+    }
+
+    /**
+     * Tags the current state of the whole catalog so it can later be used as a
+     * baseline. The tag is pushed along with regular commits when remote sync is on.
+     */
+    public String createTag(String tagName) {
+        if (!Repository.isValidRefName(Constants.R_TAGS + tagName)) {
+            throw new IllegalArgumentException("Invalid tag name: " + tagName);
+        }
+        writeLock.lock();
+        try {
+            var head = git.getRepository().resolve(Constants.HEAD + "^{commit}");
+            if (head == null) {
+                throw new IllegalArgumentException("Cannot tag an empty catalog");
+            }
+
+            git.tag()
+                    .setName(tagName)
+                    .setObjectId(git.getRepository().parseCommit(head))
+                    .setAnnotated(true)
+                    .setMessage("Catalog snapshot " + tagName)
+                    .call();
+
+            log.info("Tagged catalog at {} as {}", head.abbreviate(7).name(), tagName);
+
+            pushWithRetry(new RefSpec(Constants.R_TAGS + tagName));
+
+            return head.abbreviate(7).name();
+        } catch (RefAlreadyExistsException e) {
+            throw new IllegalArgumentException("Tag already exists: " + tagName);
+        } catch (IOException | GitAPIException e) {
+            throw new RuntimeException("Failed to create tag " + tagName, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public boolean tagExists(String tagName) {
+        try {
+            return git.getRepository().exactRef(Constants.R_TAGS + tagName) != null;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to look up tag " + tagName, e);
+        }
+    }
+
+    public List<String> listTags() {
+        List<String> tags = new ArrayList<>();
+        try {
+            for (Ref ref : git.tagList().call()) {
+                tags.add(Repository.shortenRefName(ref.getName()));
+            }
+        } catch (GitAPIException e) {
+            throw new RuntimeException("Failed to list tags", e);
+        }
+        return tags;
+    }
+
     public List<String> getVersionHistory(String appName) {
         List<String> versions = new ArrayList<>();
+        forEachVersion(appName, versions::add);
+        return versions;
+    }
+
+    /**
+     * The newest {@code limit} versions, walking no further back in history.
+     */
+    public List<String> getVersionHistory(String appName, int limit) {
+        List<String> versions = new ArrayList<>(limit);
         try {
-            var logs = git.log().addPath(appName + "/swagger.json").call();
+            var logs = git.log().addPath(appName + "/" + SWAGGER_FILE).setMaxCount(limit).call();
             for (RevCommit commit : logs) {
                 versions.add(commit.getId().abbreviate(7).name());
             }
@@ -277,4 +646,23 @@ public class GitStorageService {
         }
         return versions;
     }
+
+    /**
+     * Hands out the versions of an app newest first while the history is
+     * walked, so callers can stream them without collecting the whole log.
+     */
+    public void forEachVersion(String appName, Consumer<? super String> action) {
+        try {
+            var logs = git.log().addPath(appName + "/" + SWAGGER_FILE).call();
+            for (RevCommit commit : logs) {
+                action.accept(commit.getId().abbreviate(7).name());
+            }
+        } catch (GitAPIException e) {
+            throw new RuntimeException("Failed to get version history for " + appName, e);
+        }
+    }
+
+    public boolean exists(String appName) {
+        return getBlobId(appName, Constants.HEAD).isPresent();
+    }
 }
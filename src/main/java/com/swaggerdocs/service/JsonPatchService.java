@@ -0,0 +1,133 @@
+package com.swaggerdocs.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Produces RFC 6902 JSON Patch documents between two spec versions.
+ *
+ * Objects are compared key by key and arrays position by position, so every
+ * node of both documents is visited at most once and no LCS is computed.
+ * Operations are written straight to a {@link JsonGenerator} as they are found.
+ */
+@Service
+@RequiredArgsConstructor
+public class JsonPatchService {
+
+    private final ObjectMapper objectMapper;
+
+    public void writePatch(JsonNode source, JsonNode target, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            writePatch(source, target, generator);
+        }
+    }
+
+    private void writePatch(JsonNode source, JsonNode target, JsonGenerator generator) throws IOException {
+        generator.writeStartArray();
+        diff(new StringBuilder(), source, target, generator);
+        generator.writeEndArray();
+        generator.flush();
+    }
+
+    /**
+     * The pointer builder is shared across the whole walk: each level appends its
+     * token and truncates it again on the way back up.
+     */
+    private void diff(StringBuilder pointer, JsonNode source, JsonNode target, JsonGenerator generator) throws IOException {
+        if (source.isObject() && target.isObject()) {
+            diffObjects(pointer, source, target, generator);
+        } else if (source.isArray() && target.isArray()) {
+            diffArrays(pointer, source, target, generator);
+        } else if (!source.equals(target)) {
+            writeOperation(generator, "replace", pointer, target);
+        }
+    }
+
+    private void diffObjects(StringBuilder pointer, JsonNode source, JsonNode target, JsonGenerator generator) throws IOException {
+        int length = pointer.length();
+
+        Iterator<Map.Entry<String, JsonNode>> sourceFields = source.fields();
+        while (sourceFields.hasNext()) {
+            var field = sourceFields.next();
+            appendToken(pointer, field.getKey());
+            JsonNode targetValue = target.get(field.getKey());
+
+            if (targetValue == null) {
+                writeOperation(generator, "remove", pointer, null);
+            } else {
+                diff(pointer, field.getValue(), targetValue, generator);
+            }
+            pointer.setLength(length);
+        }
+
+        Iterator<Map.Entry<String, JsonNode>> targetFields = target.fields();
+        while (targetFields.hasNext()) {
+            var field = targetFields.next();
+            if (!source.has(field.getKey())) {
+                appendToken(pointer, field.getKey());
+                writeOperation(generator, "add", pointer, field.getValue());
+                pointer.setLength(length);
+            }
+        }
+    }
+
+    private void diffArrays(StringBuilder pointer, JsonNode source, JsonNode target, JsonGenerator generator) throws IOException {
+        int length = pointer.length();
+        int common = Math.min(source.size(), target.size());
+
+        for (int i = 0; i < common; i++) {
+            pointer.append('/').append(i);
+            diff(pointer, source.get(i), target.get(i), generator);
+            pointer.setLength(length);
+        }
+
+        // Remove from the end so earlier indices stay valid while the patch is applied
+        for (int i = source.size() - 1; i >= common; i--) {
+            pointer.append('/').append(i);
+            writeOperation(generator, "remove", pointer, null);
+            pointer.setLength(length);
+        }
+
+        for (int i = common; i < target.size(); i++) {
+            pointer.append('/').append(i);
+            writeOperation(generator, "add", pointer, target.get(i));
+            pointer.setLength(length);
+        }
+    }
+
+    private void writeOperation(JsonGenerator generator, String op, CharSequence path, JsonNode value) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("op", op);
+        generator.writeStringField("path", path.toString());
+        if (value != null) {
+            generator.writeFieldName("value");
+            generator.writeTree(value);
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Appends a key as a JSON Pointer reference token, escaped per RFC 6901.
+     */
+    private void appendToken(StringBuilder pointer, String key) {
+        pointer.append('/');
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c == '~') {
+                pointer.append("~0");
+            } else if (c == '/') {
+                pointer.append("~1");
+            } else {
+                pointer.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.swaggerdocs.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swaggerdocs.config.ValidationConfig;
+import com.swaggerdocs.model.QualityScore;
+import com.swaggerdocs.model.SwaggerEntry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.lib.Constants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Owns quality scores for stored specs. Scores are computed at ingest or in the
+ * background, persisted per swagger blob under the current rules version, and
+ * only ever read on request paths.
+ *
+ * On startup the catalog is re-scored against the heads of all apps; blobs
+ * already scored under the current rules version are read back from disk, so
+ * a restart is cheap and a rules change re-scores everything exactly once.
+ */
+@Slf4j
+@Service
+public class QualityService {
+
+    private static final String CACHE_NAME = "quality";
+    private static final int SCORE_CACHE_SIZE = 1024;
+
+    private final GitStorageService gitStorageService;
+    private final ValidationService validationService;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService executor;
+    private final Map<String, QualityScore> scoreCache;
+    private final Set<String> scheduled = ConcurrentHashMap.newKeySet();
+    private final AtomicReference<Map<String, CatalogScore>> catalog = new AtomicReference<>(Map.of());
+    private final AtomicReference<CompletableFuture<Void>> refresh = new AtomicReference<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong catalogRevision = new AtomicLong();
+    private final AtomicLong scoreRevision = new AtomicLong();
+    private final ReentrantLock rulesLock = new ReentrantLock();
+
+    private Path root;
+    private volatile Path scoreDir;
+
+    @Autowired
+    public QualityService(GitStorageService gitStorageService, ValidationService validationService,
+                          ObjectMapper objectMapper, ValidationConfig config) {
+        this.gitStorageService = gitStorageService;
+        this.validationService = validationService;
+        this.objectMapper = objectMapper;
+        var threadFactory = new CustomizableThreadFactory("quality-rescore-");
+        threadFactory.setDaemon(true);
+        threadFactory.setThreadPriority(Thread.MIN_PRIORITY);
+        this.executor = Executors.newFixedThreadPool(Math.max(1, config.getRescore().getThreads()), threadFactory);
+        this.scoreCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, QualityScore> eldest) {
+                return size() > SCORE_CACHE_SIZE;
+            }
+        });
+    }
+
+    @PostConstruct
+    public void init() {
+        root = gitStorageService.getCacheDir(CACHE_NAME);
+        scoreDir = createScoreDir(validationService.getRulesVersion());
+        refreshCatalog().thenRun(this::removeStaleVersions);
+    }
+
+    private Path createScoreDir(String rulesVersion) {
+        try {
+            return Files.createDirectories(root.resolve(rulesVersion));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create quality score directory", e);
+        }
+    }
+
+    /**
+     * Returns the score directory of the current rules version. Rules can change
+     * at runtime (lint rule sets reload); the first access after a change
+     * switches directories and re-scores the catalog once the running refresh is done.
+     */
+    private Path scoreDir() {
+        String version = validationService.getRulesVersion();
+        Path dir = scoreDir;
+        if (dir.getFileName().toString().equals(version)) {
+            return dir;
+        }
+        // Creates a directory while held, so a lock, not a monitor that would pin a virtual thread
+        rulesLock.lock();
+        try {
+            if (!scoreDir.getFileName().toString().equals(version)) {
+                log.info("Quality rules changed to version {}, re-scoring catalog", version);
+                scoreDir = createScoreDir(version);
+                CompletableFuture<Void> running = refresh.get();
+                CompletableFuture<Void> previous = running != null
+                        ? running.exceptionally(error -> null)
+                        : CompletableFuture.completedFuture(null);
+                previous.thenCompose(ignored -> refreshCatalog()).thenRun(this::removeStaleVersions);
+            }
+            return scoreDir;
+        } finally {
+            rulesLock.unlock();
+        }
+    }
+
+    /**
+     * Persists a score computed at ingest for the app's current head.
+     */
+    public void record(String appName, QualityScore quality) {
+        gitStorageService.getBlobId(appName, Constants.HEAD).ifPresent(blobId -> {
+            store(scoreDir(), blobId, quality);
+            long seq = sequence.incrementAndGet();
+            catalog.updateAndGet(current -> {
+                Map<String, CatalogScore> next = new HashMap<>(current);
+                next.put(appName, new CatalogScore(blobId, quality.getScore(), seq, scoreRevision.incrementAndGet()));
+                return Collections.unmodifiableMap(next);
+            });
+            catalogRevision.incrementAndGet();
+        });
+    }
+
+    /**
+     * Returns the persisted score of the app's current head. If it has not been
+     * scored yet, scoring is scheduled in the background and nothing is returned.
+     */
+    public Optional<QualityScore> getQuality(String appName) {
+        return gitStorageService.getBlobId(appName, Constants.HEAD).flatMap(blobId -> {
+            Optional<QualityScore> quality = load(blobId);
+            if (quality.isEmpty()) {
+                schedule(appName, blobId);
+            }
+            return quality;
+        });
+    }
+
+    /**
+     * Overrides the scores frozen in app metadata with the catalog snapshot for
+     * the current rules version, where one is available.
+     */
+    public List<SwaggerEntry> applyCatalogScores(List<SwaggerEntry> entries) {
+        scoreDir();
+        Map<String, CatalogScore> snapshot = catalog.get();
+        for (SwaggerEntry entry : entries) {
+            CatalogScore score = snapshot.get(entry.getAppName());
+            if (score != null) {
+                entry.setQualityScore(score.score());
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Changes whenever a catalog score does, so derived views know when to refresh.
+     */
+    public long getCatalogRevision() {
+        return catalogRevision.get();
+    }
+
+    /**
+     * Changes whenever the app's catalog score is set again, by a submission or
+     * a re-score, so views of a single app know when to refresh.
+     */
+    public long getScoreRevision(String appName) {
+        CatalogScore score = catalog.get().get(appName);
+        return score != null ? score.revision() : 0;
+    }
+
+    /**
+     * Scores the heads of all apps on the background pool and swaps the catalog
+     * snapshot in once every app is done. Scores recorded while the refresh ran
+     * are newer and win over its results. Only one refresh runs at a time.
+     */
+    public CompletableFuture<Void> refreshCatalog() {
+        CompletableFuture<Void> running = refresh.get();
+        if (running != null && !running.isDone()) {
+            return running;
+        }
+
+        var result = new CompletableFuture<Void>();
+        if (!refresh.compareAndSet(running, result)) {
+            return refresh.get();
+        }
+
+        long startSeq = sequence.get();
+        Map<String, String> heads = gitStorageService.getBlobIds(Constants.HEAD);
+        List<CompletableFuture<Map.Entry<String, CatalogScore>>> tasks = new ArrayList<>(heads.size());
+        heads.forEach((appName, blobId) -> tasks.add(CompletableFuture.supplyAsync(
+                () -> Map.entry(appName, new CatalogScore(blobId, scoreOf(appName, blobId), startSeq, 0)), executor)));
+
+        CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).whenComplete((ignored, error) -> {
+            if (error != null) {
+                log.warn("Catalog re-scoring failed: {}", error.getMessage());
+                result.completeExceptionally(error);
+                return;
+            }
+            catalog.updateAndGet(current -> {
+                Map<String, CatalogScore> next = new HashMap<>(current);
+                for (var task : tasks) {
+                    var entry = task.join();
+                    CatalogScore existing = current.get(entry.getKey());
+                    if (existing == null || existing.seq() <= startSeq) {
+                        next.put(entry.getKey(), entry.getValue().withRevision(scoreRevision.incrementAndGet()));
+                    }
+                }
+                return Collections.unmodifiableMap(next);
+            });
+            catalogRevision.incrementAndGet();
+            log.info("Re-scored {} apps under rules version {}", tasks.size(), validationService.getRulesVersion());
+            result.complete(null);
+        });
+        return result;
+    }
+
+    private int scoreOf(String appName, String blobId) {
+        Optional<QualityScore> stored = load(blobId);
+        if (stored.isPresent()) {
+            return stored.get().getScore();
+        }
+        return compute(appName, blobId).map(QualityScore::getScore).orElse(0);
+    }
+
+    private void schedule(String appName, String blobId) {
+        if (scheduled.add(blobId)) {
+            executor.execute(() -> {
+                try {
+                    compute(appName, blobId);
+                } finally {
+                    scheduled.remove(blobId);
+                }
+            });
+        }
+    }
+
+    private Optional<QualityScore> compute(String appName, String blobId) {
+        try {
+            Path dir = scoreDir();
+            return gitStorageService.getSwaggerByBlobId(blobId).map(swagger -> {
+                QualityScore quality = validationService.calculateQuality(swagger);
+                store(dir, blobId, quality);
+                return quality;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to score {} ({}): {}", appName, blobId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private Optional<QualityScore> load(String blobId) {
+        Path dir = scoreDir();
+        QualityScore cached = scoreCache.get(cacheKey(dir, blobId));
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Path file = dir.resolve(blobId + ".json");
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try {
+            QualityScore quality = objectMapper.readValue(file.toFile(), QualityScore.class);
+            scoreCache.put(cacheKey(dir, blobId), quality);
+            return Optional.of(quality);
+        } catch (IOException e) {
+            log.warn("Discarding unreadable quality score {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void store(Path dir, String blobId, QualityScore quality) {
+        scoreCache.put(cacheKey(dir, blobId), quality);
+        try {
+            // Write then rename so concurrent readers never see a partial file
+            Path temp = Files.createTempFile(dir, blobId, ".tmp");
+            objectMapper.writeValue(temp.toFile(), quality);
+            Files.move(temp, dir.resolve(blobId + ".json"), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to persist quality score for blob {}: {}", blobId, e.getMessage());
+        }
+    }
+
+    private String cacheKey(Path dir, String blobId) {
+        return dir.getFileName() + "/" + blobId;
+    }
+
+    private void removeStaleVersions() {
+        Path current = scoreDir;
+        try (var versions = Files.list(root)) {
+            versions.filter(dir -> !dir.equals(current)).forEach(dir -> {
+                try {
+                    FileSystemUtils.deleteRecursively(dir);
+                    log.info("Removed quality scores of previous rules version {}", dir.getFileName());
+                } catch (IOException e) {
+                    log.warn("Failed to remove {}: {}", dir, e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            log.warn("Failed to clean up previous quality scores: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private record CatalogScore(String blobId, int score, long seq, long revision) {
+
+        CatalogScore withRevision(long revision) {
+            return new CatalogScore(blobId, score, seq, revision);
+        }
+    }
+}
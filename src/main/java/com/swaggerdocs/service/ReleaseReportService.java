@@ -0,0 +1,133 @@
+package com.swaggerdocs.service;
+
+import com.swaggerdocs.model.ReleaseReportEntry;
+import com.swaggerdocs.model.ReleaseReportEntry.Status;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.lib.Constants;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Diffs every app's current head against a tagged catalog snapshot.
+ */
+@Slf4j
+@Service
+public class ReleaseReportService {
+
+    private static final int DIFF_CACHE_SIZE = 1024;
+
+    private final GitStorageService gitStorageService;
+    private final DiffService diffService;
+    private final ExecutorService executor;
+    private final Map<String, Integer> diffCache;
+
+    public ReleaseReportService(GitStorageService gitStorageService, DiffService diffService) {
+        this.gitStorageService = gitStorageService;
+        this.diffService = diffService;
+        var threadFactory = new CustomizableThreadFactory("release-report-");
+        threadFactory.setDaemon(true);
+        this.executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), threadFactory);
+        this.diffCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+                return size() > DIFF_CACHE_SIZE;
+            }
+        });
+    }
+
+    /**
+     * Streams one entry per app to the sink as soon as it is known. Apps whose
+     * swagger blob is identical to the baseline are reported without parsing;
+     * the others are diffed in parallel and emitted in completion order.
+     * The sink is always invoked from the calling thread; if it throws, the
+     * diffs that have not started yet are cancelled.
+     */
+    public void generateReport(String baselineTag, Consumer<ReleaseReportEntry> sink) {
+        if (!gitStorageService.tagExists(baselineTag)) {
+            throw new IllegalArgumentException("Unknown baseline tag: " + baselineTag);
+        }
+
+        Map<String, String> baseline = gitStorageService.getBlobIds(baselineTag);
+        Map<String, String> head = gitStorageService.getBlobIds(Constants.HEAD);
+
+        var completion = new ExecutorCompletionService<ReleaseReportEntry>(executor);
+        List<Future<ReleaseReportEntry>> diffs = new ArrayList<>();
+
+        try {
+            for (var entry : head.entrySet()) {
+                String appName = entry.getKey();
+                String headBlob = entry.getValue();
+                String baselineBlob = baseline.get(appName);
+
+                if (baselineBlob == null) {
+                    sink.accept(entry(appName, Status.ADDED, 0, null));
+                } else if (baselineBlob.equals(headBlob)) {
+                    sink.accept(entry(appName, Status.UNCHANGED, 0, null));
+                } else {
+                    diffs.add(completion.submit(() -> diffApp(appName, baselineBlob, headBlob)));
+                }
+            }
+
+            for (String appName : baseline.keySet()) {
+                if (!head.containsKey(appName)) {
+                    sink.accept(entry(appName, Status.REMOVED, 0, "App removed since " + baselineTag));
+                }
+            }
+
+            for (int pending = diffs.size(); pending > 0; pending--) {
+                sink.accept(completion.take().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Release report interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Release report failed", e.getCause());
+        } finally {
+            // A report that stops early, say because the client went away, leaves no diffs behind on the shared pool
+            diffs.forEach(diff -> diff.cancel(false));
+        }
+    }
+
+    private ReleaseReportEntry diffApp(String appName, String baselineBlob, String headBlob) {
+        try {
+            Integer count = diffCache.get(baselineBlob + ".." + headBlob);
+            if (count == null) {
+                var oldSwagger = gitStorageService.getSwaggerByBlobId(baselineBlob).orElse(null);
+                var newSwagger = gitStorageService.getSwaggerByBlobId(headBlob).orElse(null);
+                count = diffService.findBreakingChanges(oldSwagger, newSwagger).size();
+                diffCache.put(baselineBlob + ".." + headBlob, count);
+            }
+            return entry(appName, count > 0 ? Status.BREAKING : Status.CHANGED, count, null);
+        } catch (RuntimeException e) {
+            log.warn("Failed to diff {} against baseline: {}", appName, e.getMessage());
+            return entry(appName, Status.FAILED, 0, e.getMessage());
+        }
+    }
+
+    private ReleaseReportEntry entry(String appName, Status status, int breakingChanges, String message) {
+        return ReleaseReportEntry.builder()
+                .appName(appName)
+                .status(status)
+                .breakingChanges(breakingChanges)
+                .message(message)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
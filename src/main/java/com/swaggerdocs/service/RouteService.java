@@ -0,0 +1,299 @@
+package com.swaggerdocs.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.swaggerdocs.model.RouteConflict;
+import com.swaggerdocs.model.RouteConflict.ConflictType;
+import com.swaggerdocs.model.RouteMatch;
+import com.swaggerdocs.util.OpenApiVersionDetector;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Which app owns which route, across the current spec of every app.
+ *
+ * Route templates (base path plus path, with {@code {param}} segments) are
+ * compiled into one trie keyed by path segment; every node holds the owners
+ * of the templates ending there, per method. A concrete request is resolved by
+ * walking its segments, trying literal children before the parameter child,
+ * so the first match is the one a router picks. A save removes the app's old
+ * routes and adds its new ones; lookups never lock. Built and kept up to
+ * date by {@link SpecIndexer}.
+ */
+@Service
+public class RouteService implements SpecIndex {
+
+    private static final Set<String> HTTP_METHODS = Set.of(
+            "get", "post", "put", "patch", "delete", "head", "options", "trace"
+    );
+
+    private final Node root = new Node();
+    private final Map<String, List<Route>> routesByApp = new ConcurrentHashMap<>();
+
+    @Override
+    public void index(String appName, String team, JsonNode swagger) {
+        publish(appName, routesOf(appName, swagger), true);
+    }
+
+    @Override
+    public void indexIfAbsent(String appName, String team, JsonNode swagger) {
+        if (!routesByApp.containsKey(appName)) {
+            publish(appName, routesOf(appName, swagger), false);
+        }
+    }
+
+    private synchronized void publish(String appName, List<Route> routes, boolean replace) {
+        List<Route> previous = routesByApp.get(appName);
+        if (previous != null && !replace) {
+            return;
+        }
+        // Add before removing so a concurrent lookup never misses a route kept by the new spec
+        for (Route route : routes) {
+            Node node = root;
+            for (String segment : route.segments()) {
+                node = isParameter(segment) ? node.parameterChild() : node.literalChild(segment);
+            }
+            node.owners.computeIfAbsent(route.method(), method -> new ConcurrentHashMap<>()).put(appName, route);
+        }
+        if (previous != null) {
+            Set<Route> kept = new HashSet<>(routes);
+            for (Route route : previous) {
+                if (!kept.contains(route)) {
+                    remove(root, route, 0);
+                }
+            }
+        }
+        routesByApp.put(appName, routes);
+    }
+
+    private boolean remove(Node node, Route route, int depth) {
+        if (depth == route.segments().length) {
+            Map<String, Route> owners = node.owners.get(route.method());
+            if (owners != null && owners.remove(route.appName(), route) && owners.isEmpty()) {
+                node.owners.remove(route.method());
+            }
+        } else {
+            String segment = route.segments()[depth];
+            Node child = isParameter(segment) ? node.parameter : node.literals.get(segment);
+            if (child != null && remove(child, route, depth + 1)) {
+                if (isParameter(segment)) {
+                    node.parameter = null;
+                } else {
+                    node.literals.remove(segment);
+                }
+            }
+        }
+        return node != root && node.isEmpty();
+    }
+
+    /**
+     * Resolves a concrete request path to the routes that serve it, in
+     * precedence order. With no method, routes of every method match.
+     */
+    public List<RouteMatch> lookup(String method, String path) {
+        String[] segments = segments(stripQuery(path));
+        String wanted = method != null && !method.isBlank() ? method.toLowerCase(Locale.ROOT) : null;
+        List<RouteMatch> matches = new ArrayList<>();
+        lookup(root, segments, 0, wanted, matches);
+        return matches;
+    }
+
+    private void lookup(Node node, String[] segments, int depth, String method, List<RouteMatch> matches) {
+        if (depth == segments.length) {
+            node.owners.forEach((routeMethod, owners) -> {
+                if (method == null || method.equals(routeMethod)) {
+                    owners.values().forEach(route -> matches.add(toMatch(route, segments)));
+                }
+            });
+            return;
+        }
+        Node literal = node.literals.get(segments[depth]);
+        if (literal != null) {
+            lookup(literal, segments, depth + 1, method, matches);
+        }
+        Node parameter = node.parameter;
+        if (parameter != null) {
+            lookup(parameter, segments, depth + 1, method, matches);
+        }
+    }
+
+    /**
+     * Returns the routes of a spec that other apps already claim, either with
+     * the same template or with templates matching some of the same requests.
+     */
+    public List<RouteConflict> findConflicts(String appName, JsonNode swagger) {
+        return findConflicts(routesOf(appName, swagger));
+    }
+
+    /**
+     * Returns every route claimed by more than one app, each pair reported once.
+     */
+    public List<RouteConflict> findAllConflicts() {
+        List<RouteConflict> conflicts = new ArrayList<>();
+        routesByApp.forEach((appName, routes) -> findConflicts(routes).stream()
+                .filter(conflict -> appName.compareTo(conflict.getOtherApp()) < 0)
+                .forEach(conflicts::add));
+        return conflicts;
+    }
+
+    private List<RouteConflict> findConflicts(List<Route> routes) {
+        List<RouteConflict> conflicts = new ArrayList<>();
+        for (Route route : routes) {
+            overlapping(root, route, 0, true, conflicts);
+        }
+        return conflicts;
+    }
+
+    private void overlapping(Node node, Route route, int depth, boolean exact, List<RouteConflict> conflicts) {
+        String[] segments = route.segments();
+        if (depth == segments.length) {
+            Map<String, Route> owners = node.owners.get(route.method());
+            if (owners != null) {
+                owners.values().stream()
+                        .filter(other -> !other.appName().equals(route.appName()))
+                        .forEach(other -> conflicts.add(RouteConflict.builder()
+                                .type(exact ? ConflictType.CONFLICT : ConflictType.OVERLAP)
+                                .method(route.method().toUpperCase(Locale.ROOT))
+                                .template(route.template())
+                                .otherApp(other.appName())
+                                .otherTemplate(other.template())
+                                .build()));
+            }
+            return;
+        }
+
+        String segment = segments[depth];
+        Node parameter = node.parameter;
+        if (isParameter(segment)) {
+            if (parameter != null) {
+                overlapping(parameter, route, depth + 1, exact, conflicts);
+            }
+            for (Node literal : node.literals.values()) {
+                overlapping(literal, route, depth + 1, false, conflicts);
+            }
+        } else {
+            Node literal = node.literals.get(segment);
+            if (literal != null) {
+                overlapping(literal, route, depth + 1, exact, conflicts);
+            }
+            if (parameter != null) {
+                overlapping(parameter, route, depth + 1, false, conflicts);
+            }
+        }
+    }
+
+    private static RouteMatch toMatch(Route route, String[] segments) {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        for (int i = 0; i < segments.length; i++) {
+            String segment = route.segments()[i];
+            if (isParameter(segment)) {
+                parameters.put(segment.substring(1, segment.length() - 1), segments[i]);
+            }
+        }
+        return RouteMatch.builder()
+                .appName(route.appName())
+                .method(route.method().toUpperCase(Locale.ROOT))
+                .template(route.template())
+                .parameters(parameters)
+                .build();
+    }
+
+    private static List<Route> routesOf(String appName, JsonNode swagger) {
+        List<Route> routes = new ArrayList<>();
+        JsonNode paths = swagger.get("paths");
+        if (paths == null) {
+            return routes;
+        }
+        String basePath = basePath(swagger);
+        paths.fields().forEachRemaining(pathEntry -> {
+            String template = basePath + pathEntry.getKey();
+            String[] segments = segments(template);
+            pathEntry.getValue().fieldNames().forEachRemaining(method -> {
+                if (HTTP_METHODS.contains(method)) {
+                    routes.add(new Route(appName, method, template, segments));
+                }
+            });
+        });
+        return routes;
+    }
+
+    /**
+     * The path prefix every route of the spec is served under: basePath for
+     * Swagger 2.0, the path of the first server URL for OpenAPI 3.
+     */
+    static String basePath(JsonNode swagger) {
+        String base;
+        if (OpenApiVersionDetector.isSwagger2(swagger)) {
+            base = swagger.path("basePath").asText("");
+        } else {
+            base = swagger.path("servers").path(0).path("url").asText("");
+            int scheme = base.indexOf("://");
+            if (scheme >= 0) {
+                int slash = base.indexOf('/', scheme + 3);
+                base = slash >= 0 ? base.substring(slash) : "";
+            }
+        }
+        while (base.endsWith("/")) {
+            base = base.substring(0, base.length() - 1);
+        }
+        return base.isEmpty() || base.startsWith("/") ? base : "/" + base;
+    }
+
+    private static String[] segments(String path) {
+        return path.isEmpty() || path.equals("/")
+                ? new String[0]
+                : (path.startsWith("/") ? path.substring(1) : path).split("/+");
+    }
+
+    private static String stripQuery(String path) {
+        int query = path.indexOf('?');
+        return query >= 0 ? path.substring(0, query) : path;
+    }
+
+    private static boolean isParameter(String segment) {
+        return segment.length() > 2 && segment.charAt(0) == '{' && segment.charAt(segment.length() - 1) == '}';
+    }
+
+    private record Route(String appName, String method, String template, String[] segments) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Route route && appName.equals(route.appName)
+                    && method.equals(route.method) && template.equals(route.template);
+        }
+
+        @Override
+        public int hashCode() {
+            return (appName.hashCode() * 31 + method.hashCode()) * 31 + template.hashCode();
+        }
+    }
+
+    private static final class Node {
+
+        private final Map<String, Node> literals = new ConcurrentHashMap<>();
+        private final Map<String, Map<String, Route>> owners = new ConcurrentHashMap<>();
+        private volatile Node parameter;
+
+        Node literalChild(String segment) {
+            return literals.computeIfAbsent(segment, key -> new Node());
+        }
+
+        Node parameterChild() {
+            if (parameter == null) {
+                parameter = new Node();
+            }
+            return parameter;
+        }
+
+        boolean isEmpty() {
+            return owners.isEmpty() && literals.isEmpty() && parameter == null;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.swaggerdocs.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.swaggerdocs.model.BreakingChange;
+import com.swaggerdocs.model.BreakingChange.ChangeType;
+import com.swaggerdocs.model.SchemaReferenceGraph;
+import com.swaggerdocs.util.OpenApiVersionDetector;
+import org.eclipse.jgit.lib.Constants;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Builds and caches schema reference graphs, one per swagger blob.
+ */
+@Service
+public class SchemaGraphService {
+
+    private static final int GRAPH_CACHE_SIZE = 256;
+    private static final Set<String> HTTP_METHODS = Set.of(
+            "get", "post", "put", "patch", "delete", "head", "options"
+    );
+
+    private final GitStorageService gitStorageService;
+    private final Map<String, SchemaReferenceGraph> graphCache;
+
+    public SchemaGraphService(GitStorageService gitStorageService) {
+        this.gitStorageService = gitStorageService;
+        this.graphCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SchemaReferenceGraph> eldest) {
+                return size() > GRAPH_CACHE_SIZE;
+            }
+        });
+    }
+
+    public Optional<SchemaReferenceGraph> getGraph(String appName, String version) {
+        return gitStorageService.getBlobId(appName, toRevision(version)).flatMap(blobId -> {
+            SchemaReferenceGraph cached = graphCache.get(blobId);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+            return gitStorageService.getSwaggerByBlobId(blobId).map(swagger -> cache(blobId, build(swagger)));
+        });
+    }
+
+    /**
+     * Fills {@code affectedOperations} on removed schemas and properties, using
+     * the graph of the version they were removed from. Nothing is resolved or
+     * built unless such a change is present.
+     */
+    public void annotateImpact(List<BreakingChange> changes, String appName, String oldVersion, JsonNode oldSwagger) {
+        if (oldSwagger == null || changes.stream().noneMatch(c -> c.getType() == ChangeType.RESPONSE_FIELD_REMOVED)) {
+            return;
+        }
+
+        SchemaReferenceGraph graph = gitStorageService.getBlobId(appName, toRevision(oldVersion))
+                .map(blobId -> {
+                    SchemaReferenceGraph cached = graphCache.get(blobId);
+                    return cached != null ? cached : cache(blobId, build(oldSwagger));
+                })
+                .orElseGet(() -> build(oldSwagger));
+        String prefix = OpenApiVersionDetector.getSchemaPathPrefix(oldSwagger);
+
+        for (BreakingChange change : changes) {
+            if (change.getType() != ChangeType.RESPONSE_FIELD_REMOVED || !change.getPath().startsWith(prefix)) {
+                continue;
+            }
+            String schemaPath = change.getPath().substring(prefix.length());
+            int slash = schemaPath.indexOf('/');
+            String schemaName = slash >= 0 ? schemaPath.substring(0, slash) : schemaPath;
+            change.setAffectedOperations(new ArrayList<>(graph.affectedOperations(schemaName)));
+        }
+    }
+
+    public SchemaReferenceGraph build(JsonNode swagger) {
+        var builder = new GraphBuilder(swagger);
+
+        JsonNode schemas = OpenApiVersionDetector.getSchemas(swagger);
+        if (schemas != null) {
+            schemas.fields().forEachRemaining(entry -> {
+                for (String target : builder.schemaRefs(entry.getValue())) {
+                    builder.referencedBy.computeIfAbsent(target, k -> new LinkedHashSet<>()).add(entry.getKey());
+                }
+            });
+        }
+
+        JsonNode paths = swagger.get("paths");
+        if (paths != null) {
+            paths.fields().forEachRemaining(pathEntry -> {
+                JsonNode pathItem = pathEntry.getValue();
+                Set<String> shared = builder.schemaRefs(pathItem.get("parameters"));
+
+                pathItem.fields().forEachRemaining(methodEntry -> {
+                    if (!HTTP_METHODS.contains(methodEntry.getKey().toLowerCase())) return;
+
+                    String operation = methodEntry.getKey().toUpperCase() + " " + pathEntry.getKey();
+                    Set<String> targets = new LinkedHashSet<>(shared);
+                    targets.addAll(builder.schemaRefs(methodEntry.getValue()));
+                    for (String target : targets) {
+                        builder.operations.computeIfAbsent(target, k -> new LinkedHashSet<>()).add(operation);
+                    }
+                });
+            });
+        }
+
+        return SchemaReferenceGraph.builder()
+                .referencedBy(toLists(builder.referencedBy))
+                .operations(toLists(builder.operations))
+                .build();
+    }
+
+    private SchemaReferenceGraph cache(String blobId, SchemaReferenceGraph graph) {
+        graphCache.put(blobId, graph);
+        return graph;
+    }
+
+    private String toRevision(String version) {
+        return version == null || version.isEmpty() || version.equals("current") ? Constants.HEAD : version;
+    }
+
+    private Map<String, List<String>> toLists(Map<String, Set<String>> map) {
+        Map<String, List<String>> result = new LinkedHashMap<>();
+        map.forEach((key, values) -> result.put(key, List.copyOf(values)));
+        return result;
+    }
+
+    /**
+     * Collects schema references from a subtree. References to other component
+     * kinds (parameters, responses, request bodies) are followed, and what they
+     * reach is memoized so shared components are only walked once.
+     */
+    private static final class GraphBuilder {
+        private final JsonNode swagger;
+        private final String schemaRefPrefix;
+        private final Map<String, Set<String>> referencedBy = new LinkedHashMap<>();
+        private final Map<String, Set<String>> operations = new LinkedHashMap<>();
+        private final Map<String, Set<String>> componentRefs = new HashMap<>();
+
+        private GraphBuilder(JsonNode swagger) {
+            this.swagger = swagger;
+            this.schemaRefPrefix = "#/" + OpenApiVersionDetector.getSchemaPathPrefix(swagger);
+        }
+
+        private Set<String> schemaRefs(JsonNode node) {
+            Set<String> refs = new LinkedHashSet<>();
+            collect(node, refs);
+            return refs;
+        }
+
+        private void collect(JsonNode node, Set<String> refs) {
+            if (node == null) return;
+
+            if (node.isObject()) {
+                JsonNode ref = node.get("$ref");
+                if (ref != null && ref.isTextual()) {
+                    addRef(ref.asText(), refs);
+                }
+                node.elements().forEachRemaining(child -> {
+                    if (child.isContainerNode()) collect(child, refs);
+                });
+            } else if (node.isArray()) {
+                node.elements().forEachRemaining(child -> collect(child, refs));
+            }
+        }
+
+        private void addRef(String ref, Set<String> refs) {
+            if (ref.startsWith(schemaRefPrefix)) {
+                refs.add(ref.substring(schemaRefPrefix.length()));
+            } else if (ref.startsWith("#/")) {
+                Set<String> reached = componentRefs.get(ref);
+                if (reached == null) {
+                    // Mark as in progress first so cyclic component references terminate
+                    componentRefs.put(ref, Collections.emptySet());
+                    reached = new LinkedHashSet<>();
+                    JsonNode target = swagger.at(ref.substring(1));
+                    collect(target.isMissingNode() ? null : target, reached);
+                    componentRefs.put(ref, reached);
+                }
+                refs.addAll(reached);
+            }
+        }
+    }
+}
@@ -0,0 +1,359 @@
+package com.swaggerdocs.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.swaggerdocs.model.SchemaMatch;
+import com.swaggerdocs.model.SharedSchema;
+import com.swaggerdocs.util.OpenApiVersionDetector;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Structural index of the schemas of every app's current spec, to find the
+ * copies of a DTO across services.
+ *
+ * Each schema gets a fingerprint of its canonical structure (types, formats,
+ * enums, required flags and properties, ignoring descriptions and examples;
+ * references count by target name), indexed for identical matches. For
+ * similar matches, the flattened {@code property:type} features are reduced
+ * to a MinHash signature and bucketed by bands (locality-sensitive hashing),
+ * so a query only compares against schemas sharing a bucket. Built and kept
+ * up to date by {@link SpecIndexer}.
+ */
+@Service
+public class SchemaIndexService implements SpecIndex {
+
+    private static final int MAX_DEPTH = 16;
+    private static final int BANDS = 16;
+    private static final int ROWS = 2;
+    private static final long[] SEEDS = new long[BANDS * ROWS];
+
+    static {
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < SEEDS.length; i++) {
+            seed = mix(seed + 0x9E3779B97F4A7C15L);
+            SEEDS[i] = seed;
+        }
+    }
+
+    private final Map<String, List<SchemaEntry>> entriesByApp = new ConcurrentHashMap<>();
+    private final Map<Long, Set<SchemaEntry>> byFingerprint = new ConcurrentHashMap<>();
+    private final Map<Long, Set<SchemaEntry>> buckets = new ConcurrentHashMap<>();
+
+    @Override
+    public void index(String appName, String team, JsonNode swagger) {
+        publish(appName, entriesOf(appName, swagger), true);
+    }
+
+    @Override
+    public void indexIfAbsent(String appName, String team, JsonNode swagger) {
+        if (!entriesByApp.containsKey(appName)) {
+            publish(appName, entriesOf(appName, swagger), false);
+        }
+    }
+
+    private synchronized void publish(String appName, List<SchemaEntry> entries, boolean replace) {
+        List<SchemaEntry> previous = entriesByApp.get(appName);
+        if (previous != null && !replace) {
+            return;
+        }
+        for (SchemaEntry entry : entries) {
+            byFingerprint.computeIfAbsent(entry.fingerprint(), key -> ConcurrentHashMap.newKeySet()).add(entry);
+            for (long band : entry.bands()) {
+                buckets.computeIfAbsent(band, key -> ConcurrentHashMap.newKeySet()).add(entry);
+            }
+        }
+        entriesByApp.put(appName, entries);
+        if (previous != null) {
+            for (SchemaEntry entry : previous) {
+                remove(byFingerprint, entry.fingerprint(), entry);
+                for (long band : entry.bands()) {
+                    remove(buckets, band, entry);
+                }
+            }
+        }
+    }
+
+    private static void remove(Map<Long, Set<SchemaEntry>> index, long key, SchemaEntry entry) {
+        index.computeIfPresent(key, (k, entries) -> {
+            entries.remove(entry);
+            return entries.isEmpty() ? null : entries;
+        });
+    }
+
+    /**
+     * Finds schemas of other apps identical or similar to the given schema,
+     * most similar first. Empty if the app or schema is not indexed.
+     */
+    public Optional<List<SchemaMatch>> findSimilar(String appName, String schemaName, double minSimilarity, int limit) {
+        if (minSimilarity < 0 || minSimilarity > 1) {
+            throw new IllegalArgumentException("minSimilarity must be between 0 and 1");
+        }
+        SchemaEntry reference = entriesByApp.getOrDefault(appName, List.of()).stream()
+                .filter(entry -> entry.schemaName().equals(schemaName))
+                .findFirst()
+                .orElse(null);
+        if (reference == null) {
+            return Optional.empty();
+        }
+
+        Set<SchemaEntry> candidates = new HashSet<>(byFingerprint.getOrDefault(reference.fingerprint(), Set.of()));
+        for (long band : reference.bands()) {
+            candidates.addAll(buckets.getOrDefault(band, Set.of()));
+        }
+
+        List<SchemaMatch> matches = new ArrayList<>();
+        for (SchemaEntry candidate : candidates) {
+            if (candidate.appName().equals(appName)) {
+                continue;
+            }
+            boolean identical = candidate.fingerprint() == reference.fingerprint();
+            double similarity = identical ? 1.0 : jaccard(reference.features(), candidate.features());
+            if (similarity >= minSimilarity) {
+                matches.add(SchemaMatch.builder()
+                        .appName(candidate.appName())
+                        .schemaName(candidate.schemaName())
+                        .similarity(similarity)
+                        .identical(identical)
+                        .build());
+            }
+        }
+        matches.sort(Comparator.comparingDouble(SchemaMatch::getSimilarity).reversed()
+                .thenComparing(SchemaMatch::isIdentical, Comparator.reverseOrder())
+                .thenComparing(SchemaMatch::getAppName)
+                .thenComparing(SchemaMatch::getSchemaName));
+        return Optional.of(matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches);
+    }
+
+    /**
+     * Returns the schema structures defined by at least {@code minApps} apps,
+     * most widely copied first.
+     */
+    public List<SharedSchema> findShared(int minApps) {
+        List<SharedSchema> shared = new ArrayList<>();
+        byFingerprint.forEach((fingerprint, entries) -> {
+            Set<String> apps = new TreeSet<>();
+            entries.forEach(entry -> apps.add(entry.appName()));
+            if (apps.size() < Math.max(2, minApps)) {
+                return;
+            }
+            shared.add(SharedSchema.builder()
+                    .fingerprint(String.format("%016x", fingerprint))
+                    .apps(apps.size())
+                    .schemas(entries.stream()
+                            .map(entry -> SchemaMatch.builder()
+                                    .appName(entry.appName())
+                                    .schemaName(entry.schemaName())
+                                    .similarity(1.0)
+                                    .identical(true)
+                                    .build())
+                            .sorted(Comparator.comparing(SchemaMatch::getAppName).thenComparing(SchemaMatch::getSchemaName))
+                            .toList())
+                    .build());
+        });
+        shared.sort(Comparator.comparingInt(SharedSchema::getApps).reversed()
+                .thenComparing(SharedSchema::getFingerprint));
+        return shared;
+    }
+
+    private static List<SchemaEntry> entriesOf(String appName, JsonNode swagger) {
+        List<SchemaEntry> entries = new ArrayList<>();
+        JsonNode schemas = OpenApiVersionDetector.getSchemas(swagger);
+        if (schemas == null) {
+            return entries;
+        }
+        schemas.fields().forEachRemaining(entry -> {
+            JsonNode schema = entry.getValue();
+            var shape = new StringBuilder();
+            canonical(schema, shape, 0);
+
+            Set<String> features = new TreeSet<>();
+            flatten(schema, "", features, 0);
+            if (features.isEmpty()) {
+                // Schemas without properties (enums, aliases) compare by their whole shape
+                features.add(shape.toString());
+            }
+            long[] hashes = features.stream().mapToLong(SchemaIndexService::hash).sorted().distinct().toArray();
+
+            entries.add(new SchemaEntry(appName, entry.getKey(), hash(shape.toString()), hashes, bands(hashes)));
+        });
+        return entries;
+    }
+
+    /**
+     * Appends an order-independent description of the schema's structure.
+     */
+    private static void canonical(JsonNode schema, StringBuilder out, int depth) {
+        if (schema == null || !schema.isObject()) {
+            out.append('_');
+            return;
+        }
+        if (depth > MAX_DEPTH) {
+            out.append('…');
+            return;
+        }
+        if (schema.has("$ref")) {
+            out.append("ref(").append(refName(schema.get("$ref").asText())).append(')');
+            return;
+        }
+
+        out.append('{').append(schema.path("type").asText("any"));
+        if (schema.has("format")) {
+            out.append('|').append(schema.get("format").asText());
+        }
+        if (schema.has("enum")) {
+            Set<String> values = new TreeSet<>();
+            schema.get("enum").forEach(value -> values.add(value.asText()));
+            out.append("|enum").append(values);
+        }
+        for (String composition : new String[]{"allOf", "oneOf", "anyOf"}) {
+            JsonNode parts = schema.get(composition);
+            if (parts != null && parts.isArray()) {
+                Set<String> shapes = new TreeSet<>();
+                parts.forEach(part -> {
+                    var partShape = new StringBuilder();
+                    canonical(part, partShape, depth + 1);
+                    shapes.add(partShape.toString());
+                });
+                out.append('|').append(composition).append(shapes);
+            }
+        }
+        if (schema.has("items")) {
+            out.append("|items:");
+            canonical(schema.get("items"), out, depth + 1);
+        }
+        if (schema.path("additionalProperties").isObject()) {
+            out.append("|values:");
+            canonical(schema.get("additionalProperties"), out, depth + 1);
+        }
+
+        JsonNode properties = schema.get("properties");
+        if (properties != null && properties.isObject()) {
+            Set<String> required = new HashSet<>();
+            schema.path("required").forEach(name -> required.add(name.asText()));
+            Map<String, JsonNode> sorted = new TreeMap<>();
+            properties.fields().forEachRemaining(field -> sorted.put(field.getKey(), field.getValue()));
+            sorted.forEach((name, property) -> {
+                out.append('|').append(name).append(required.contains(name) ? "!" : "").append(':');
+                canonical(property, out, depth + 1);
+            });
+        }
+        out.append('}');
+    }
+
+    /**
+     * Collects one {@code path:type} feature per property, descending into
+     * inline objects and array items.
+     */
+    private static void flatten(JsonNode schema, String prefix, Set<String> features, int depth) {
+        if (schema == null || !schema.isObject() || depth > MAX_DEPTH) {
+            return;
+        }
+        JsonNode properties = schema.get("properties");
+        if (properties != null && properties.isObject()) {
+            properties.fields().forEachRemaining(field -> {
+                String path = prefix + field.getKey();
+                JsonNode property = field.getValue();
+                features.add(path + ":" + typeOf(property));
+                flatten(property, path + ".", features, depth + 1);
+                flatten(property.get("items"), path + "[].", features, depth + 1);
+            });
+        }
+    }
+
+    private static String typeOf(JsonNode property) {
+        if (property.has("$ref")) {
+            return "ref(" + refName(property.get("$ref").asText()) + ")";
+        }
+        String type = property.path("type").asText("any");
+        if (type.equals("array") && property.has("items")) {
+            return "array<" + typeOf(property.get("items")) + ">";
+        }
+        return property.has("format") ? type + "|" + property.get("format").asText() : type;
+    }
+
+    private static String refName(String ref) {
+        return ref.substring(ref.lastIndexOf('/') + 1);
+    }
+
+    private static long[] bands(long[] features) {
+        long[] signature = new long[SEEDS.length];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (long feature : features) {
+            for (int i = 0; i < SEEDS.length; i++) {
+                signature[i] = Math.min(signature[i], mix(feature ^ SEEDS[i]));
+            }
+        }
+        long[] bands = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long key = band;
+            for (int row = 0; row < ROWS; row++) {
+                key = mix(key * 31 + signature[band * ROWS + row]);
+            }
+            bands[band] = key;
+        }
+        return bands;
+    }
+
+    private static double jaccard(long[] a, long[] b) {
+        int i = 0;
+        int j = 0;
+        int shared = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) shared / (a.length + b.length - shared);
+    }
+
+    private static long hash(String value) {
+        // FNV-1a over UTF-8, finished with a 64-bit mix
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    private record SchemaEntry(String appName, String schemaName, long fingerprint, long[] features, long[] bands) {
+
+        // Entries are only ever looked up as themselves
+        @Override
+        public boolean equals(Object other) {
+            return this == other;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+}
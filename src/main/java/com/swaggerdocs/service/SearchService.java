@@ -0,0 +1,392 @@
+package com.swaggerdocs.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.swaggerdocs.model.SearchHit;
+import com.swaggerdocs.model.SearchIndexStats;
+import com.swaggerdocs.model.SearchResult;
+import com.swaggerdocs.util.OpenApiVersionDetector;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over the current spec of every app: paths, operation ids,
+ * tags, summaries, descriptions, schema and property names.
+ *
+ * Terms are lower-cased words; identifiers are also indexed by their camelCase
+ * parts, so "getCustomerById" is found by "customer". Every app is an immutable
+ * document holding its hits and, per term, the hits containing it. The term
+ * dictionary is sorted, so a prefix query is a range scan. A save swaps in the
+ * app's new document and only touches the terms that changed; queries never lock.
+ *
+ * Built and kept up to date by {@link SpecIndexer}.
+ */
+@Service
+public class SearchService implements SpecIndex {
+
+    private static final Set<String> HTTP_METHODS = Set.of(
+            "get", "post", "put", "patch", "delete", "head", "options", "trace"
+    );
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int MAX_TEXT_LENGTH = 160;
+    private static final int MAX_SCHEMA_DEPTH = 8;
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern CAMEL_BOUNDARY = Pattern.compile("(?<=[\\p{Ll}\\p{N}])(?=\\p{Lu})|(?<=\\p{Lu})(?=\\p{Lu}\\p{Ll})");
+
+    // Approximate retained sizes on a 64-bit JVM with compressed references
+    private static final int TERM_BYTES = 160;
+    private static final int POSTING_BYTES = 40;
+    private static final int DOCUMENT_BYTES = 96;
+    private static final int HIT_BYTES = 28;
+    private static final int DOCUMENT_TERM_BYTES = 56;
+
+    enum Kind {
+        PATH(5), OPERATION(4), TAG(3), SCHEMA(3), PROPERTY(2), SUMMARY(2), DESCRIPTION(1);
+
+        private final int weight;
+
+        Kind(int weight) {
+            this.weight = weight;
+        }
+
+        static Kind parse(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown search kind: " + value);
+            }
+        }
+    }
+
+    private final ConcurrentSkipListMap<String, Map<String, Document>> terms = new ConcurrentSkipListMap<>();
+    private final Map<String, Document> documents = new ConcurrentHashMap<>();
+
+    @Override
+    public void index(String appName, String team, JsonNode swagger) {
+        publish(parse(appName, team, swagger), true);
+    }
+
+    @Override
+    public void indexIfAbsent(String appName, String team, JsonNode swagger) {
+        if (!documents.containsKey(appName)) {
+            publish(parse(appName, team, swagger), false);
+        }
+    }
+
+    private synchronized void publish(Document document, boolean replace) {
+        String appName = document.appName();
+        Document previous = documents.get(appName);
+        if (previous != null && !replace) {
+            return;
+        }
+
+        documents.put(appName, document);
+        for (String term : document.termHits().keySet()) {
+            terms.computeIfAbsent(term, key -> new ConcurrentHashMap<>()).put(appName, document);
+        }
+        if (previous != null) {
+            for (String term : previous.termHits().keySet()) {
+                if (!document.termHits().containsKey(term)) {
+                    terms.computeIfPresent(term, (key, apps) -> {
+                        apps.remove(appName);
+                        return apps.isEmpty() ? null : apps;
+                    });
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds apps with elements containing every term of the query. A term
+     * ending in {@code *} matches as a prefix. Results are ranked by the
+     * number and kind of matching elements.
+     *
+     * @param team  only apps of this team, or all when null
+     * @param kind  only elements of this kind (path, operation, tag, schema,
+     *              property, summary, description), or all when null
+     */
+    public List<SearchResult> search(String query, String team, String kind, int limit) {
+        List<Clause> clauses = parseQuery(query);
+        if (clauses.isEmpty()) {
+            throw new IllegalArgumentException("Query must contain a term of at least " + MIN_TERM_LENGTH + " characters");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        Kind kindFilter = kind != null && !kind.isBlank() ? Kind.parse(kind) : null;
+
+        Map<Document, BitSet> matches = null;
+        for (Clause clause : clauses) {
+            Map<Document, BitSet> clauseMatches = match(clause, team);
+            if (matches == null) {
+                matches = clauseMatches;
+            } else {
+                matches.entrySet().removeIf(entry -> {
+                    BitSet other = clauseMatches.get(entry.getKey());
+                    if (other == null) {
+                        return true;
+                    }
+                    entry.getValue().and(other);
+                    return entry.getValue().isEmpty();
+                });
+            }
+            if (matches.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        // Rank on the bitsets and only materialize the hits of the results returned
+        List<Candidate> candidates = new ArrayList<>();
+        matches.forEach((document, bits) -> {
+            if (kindFilter != null) {
+                for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+                    if (document.hits()[i].kind() != kindFilter) {
+                        bits.clear(i);
+                    }
+                }
+            }
+            int score = 0;
+            for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+                score += document.hits()[i].kind().weight;
+            }
+            if (score > 0) {
+                candidates.add(new Candidate(document, bits, score));
+            }
+        });
+
+        candidates.sort(Comparator.comparingInt(Candidate::score).reversed()
+                .thenComparing(candidate -> candidate.document().appName()));
+        return candidates.stream().limit(limit).map(Candidate::toResult).toList();
+    }
+
+    private Map<Document, BitSet> match(Clause clause, String team) {
+        // Documents are compared by identity: a concurrent save replaces, never mutates them
+        Map<Document, BitSet> result = new IdentityHashMap<>();
+        Map<String, Map<String, Document>> matchingTerms = clause.prefix()
+                ? terms.subMap(clause.term(), true, clause.term() + Character.MAX_VALUE, false)
+                : single(clause.term());
+
+        matchingTerms.forEach((term, apps) -> {
+            for (Document document : apps.values()) {
+                if (team != null && !team.equalsIgnoreCase(document.team())) {
+                    continue;
+                }
+                int[] hits = document.termHits().get(term);
+                if (hits == null) {
+                    continue;
+                }
+                BitSet bits = result.computeIfAbsent(document, d -> new BitSet(d.hits().length));
+                for (int hit : hits) {
+                    bits.set(hit);
+                }
+            }
+        });
+        return result;
+    }
+
+    private Map<String, Map<String, Document>> single(String term) {
+        Map<String, Document> apps = terms.get(term);
+        return apps != null ? Map.of(term, apps) : Map.of();
+    }
+
+    public SearchIndexStats stats() {
+        long postings = 0;
+        long bytes = 0;
+        for (var entry : terms.entrySet()) {
+            postings += entry.getValue().size();
+            bytes += TERM_BYTES + stringBytes(entry.getKey());
+        }
+        bytes += postings * POSTING_BYTES;
+
+        long hits = 0;
+        for (Document document : documents.values()) {
+            hits += document.hits().length;
+            bytes += DOCUMENT_BYTES + 4L * document.hits().length;
+            for (Hit hit : document.hits()) {
+                bytes += HIT_BYTES + stringBytes(hit.location()) + stringBytes(hit.text());
+            }
+            for (var entry : document.termHits().entrySet()) {
+                bytes += DOCUMENT_TERM_BYTES + stringBytes(entry.getKey()) + 4L * entry.getValue().length;
+            }
+        }
+
+        return SearchIndexStats.builder()
+                .apps(documents.size())
+                .terms(terms.size())
+                .postings(postings)
+                .hits(hits)
+                .estimatedBytes(bytes)
+                .build();
+    }
+
+    private static long stringBytes(String value) {
+        // String header plus its byte[] (one byte per char for Latin-1 content), 8-byte aligned
+        return 24 + ((16 + value.length() + 7) & ~7);
+    }
+
+    private static Document parse(String appName, String team, JsonNode swagger) {
+        var builder = new DocumentBuilder();
+
+        JsonNode info = swagger.get("info");
+        if (info != null) {
+            builder.add(Kind.DESCRIPTION, "info", info.path("title").asText(null));
+            builder.add(Kind.DESCRIPTION, "info", info.path("description").asText(null));
+        }
+        for (JsonNode tag : swagger.path("tags")) {
+            builder.add(Kind.TAG, "tags", tag.path("name").asText(null));
+        }
+
+        JsonNode paths = swagger.get("paths");
+        if (paths != null) {
+            paths.fields().forEachRemaining(pathEntry -> {
+                String path = pathEntry.getKey();
+                builder.add(Kind.PATH, path, path);
+                pathEntry.getValue().fields().forEachRemaining(methodEntry -> {
+                    if (!HTTP_METHODS.contains(methodEntry.getKey())) {
+                        return;
+                    }
+                    JsonNode operation = methodEntry.getValue();
+                    String location = methodEntry.getKey().toUpperCase(Locale.ROOT) + " " + path;
+                    builder.add(Kind.OPERATION, location, operation.path("operationId").asText(null));
+                    for (JsonNode tag : operation.path("tags")) {
+                        builder.add(Kind.TAG, location, tag.asText(null));
+                    }
+                    builder.add(Kind.SUMMARY, location, operation.path("summary").asText(null));
+                    builder.add(Kind.DESCRIPTION, location, operation.path("description").asText(null));
+                });
+            });
+        }
+
+        JsonNode schemas = OpenApiVersionDetector.getSchemas(swagger);
+        if (schemas != null) {
+            String prefix = OpenApiVersionDetector.getSchemaPathPrefix(swagger);
+            schemas.fields().forEachRemaining(entry -> {
+                String location = prefix + entry.getKey();
+                builder.add(Kind.SCHEMA, location, entry.getKey());
+                addSchema(builder, location, entry.getValue(), 0);
+            });
+        }
+
+        return builder.build(appName, team);
+    }
+
+    private static void addSchema(DocumentBuilder builder, String location, JsonNode schema, int depth) {
+        if (schema == null || !schema.isObject() || depth > MAX_SCHEMA_DEPTH) {
+            return;
+        }
+        builder.add(Kind.DESCRIPTION, location, schema.path("description").asText(null));
+        JsonNode properties = schema.get("properties");
+        if (properties != null) {
+            properties.fields().forEachRemaining(entry -> {
+                String propertyLocation = location + "/properties/" + entry.getKey();
+                builder.add(Kind.PROPERTY, propertyLocation, entry.getKey());
+                addSchema(builder, propertyLocation, entry.getValue(), depth + 1);
+            });
+        }
+        addSchema(builder, location + "/items", schema.get("items"), depth + 1);
+    }
+
+    private static List<Clause> parseQuery(String query) {
+        List<Clause> clauses = new ArrayList<>();
+        if (query == null) {
+            return clauses;
+        }
+        for (String piece : query.trim().split("\\s+")) {
+            boolean prefix = piece.endsWith("*");
+            List<String> words = new ArrayList<>();
+            for (String word : WORD_SEPARATOR.split(prefix ? piece.substring(0, piece.length() - 1) : piece)) {
+                if (word.length() >= MIN_TERM_LENGTH) {
+                    words.add(word.toLowerCase(Locale.ROOT));
+                }
+            }
+            for (int i = 0; i < words.size(); i++) {
+                clauses.add(new Clause(words.get(i), prefix && i == words.size() - 1));
+            }
+        }
+        return clauses;
+    }
+
+    private record Clause(String term, boolean prefix) {
+    }
+
+    private record Candidate(Document document, BitSet bits, int score) {
+
+        SearchResult toResult() {
+            List<Hit> hits = new ArrayList<>(bits.cardinality());
+            bits.stream().forEach(i -> hits.add(document.hits()[i]));
+            hits.sort(Comparator.comparingInt((Hit hit) -> hit.kind().weight).reversed());
+            return SearchResult.builder()
+                    .appName(document.appName())
+                    .team(document.team())
+                    .score(score)
+                    .hits(hits.stream().map(Hit::toSearchHit).toList())
+                    .build();
+        }
+    }
+
+    private record Hit(Kind kind, String location, String text) {
+
+        SearchHit toSearchHit() {
+            return SearchHit.builder()
+                    .kind(kind.name().toLowerCase(Locale.ROOT))
+                    .location(location)
+                    .text(text)
+                    .build();
+        }
+    }
+
+    private record Document(String appName, String team, Hit[] hits, Map<String, int[]> termHits) {
+    }
+
+    private static final class DocumentBuilder {
+
+        private final List<Hit> hits = new ArrayList<>();
+        private final Map<String, List<Integer>> termHits = new LinkedHashMap<>();
+
+        void add(Kind kind, String location, String text) {
+            if (text == null || text.isBlank()) {
+                return;
+            }
+            int index = hits.size();
+            hits.add(new Hit(kind, location, text.length() > MAX_TEXT_LENGTH ? text.substring(0, MAX_TEXT_LENGTH) : text));
+
+            for (String word : WORD_SEPARATOR.split(text)) {
+                addTerm(word, index);
+                String[] parts = CAMEL_BOUNDARY.split(word);
+                if (parts.length > 1) {
+                    for (String part : parts) {
+                        addTerm(part, index);
+                    }
+                }
+            }
+        }
+
+        private void addTerm(String word, int index) {
+            if (word.length() < MIN_TERM_LENGTH) {
+                return;
+            }
+            List<Integer> indexes = termHits.computeIfAbsent(word.toLowerCase(Locale.ROOT), term -> new ArrayList<>(2));
+            if (indexes.isEmpty() || indexes.get(indexes.size() - 1) != index) {
+                indexes.add(index);
+            }
+        }
+
+        Document build(String appName, String team) {
+            Map<String, int[]> compact = new HashMap<>(termHits.size() * 4 / 3 + 1);
+            termHits.forEach((term, indexes) -> compact.put(term, indexes.stream().mapToInt(Integer::intValue).toArray()));
+            return new Document(appName, team, hits.toArray(Hit[]::new), compact);
+        }
+    }
+}
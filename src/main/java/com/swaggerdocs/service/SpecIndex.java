@@ -0,0 +1,21 @@
+package com.swaggerdocs.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * An in-memory index over the current spec of every app. {@link SpecIndexer}
+ * builds all indexes from the catalog on startup and feeds them every save.
+ */
+public interface SpecIndex {
+
+    /**
+     * Replaces the entries of the app with those of its newly saved spec.
+     */
+    void index(String appName, String team, JsonNode swagger);
+
+    /**
+     * Indexes the spec read while building the index, unless the app has
+     * already been indexed from a save, which is newer.
+     */
+    void indexIfAbsent(String appName, String team, JsonNode swagger);
+}
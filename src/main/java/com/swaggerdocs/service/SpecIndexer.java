@@ -0,0 +1,79 @@
+package com.swaggerdocs.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.swaggerdocs.model.SwaggerMetadata;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.lib.Constants;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Keeps every {@link SpecIndex} in step with the catalog. On startup, after
+ * storage has synced with the remote, the head of every app is read once and
+ * handed to all indexes in the background; afterwards each save is.
+ */
+@Slf4j
+@Service
+public class SpecIndexer {
+
+    private final GitStorageService gitStorageService;
+    private final List<SpecIndex> indexes;
+    private final ExecutorService executor;
+
+    private volatile CompletableFuture<Void> build = CompletableFuture.completedFuture(null);
+
+    public SpecIndexer(GitStorageService gitStorageService, List<SpecIndex> indexes) {
+        this.gitStorageService = gitStorageService;
+        this.indexes = indexes;
+        var threadFactory = new CustomizableThreadFactory("spec-index-");
+        threadFactory.setDaemon(true);
+        this.executor = Executors.newSingleThreadExecutor(threadFactory);
+    }
+
+    @PostConstruct
+    public void init() {
+        build = CompletableFuture.runAsync(this::rebuild, executor);
+    }
+
+    public CompletableFuture<Void> awaitBuild() {
+        return build;
+    }
+
+    public void index(String appName, String team, JsonNode swagger) {
+        for (SpecIndex index : indexes) {
+            index.index(appName, team, swagger);
+        }
+    }
+
+    private void rebuild() {
+        long start = System.nanoTime();
+        Map<String, String> heads = gitStorageService.getBlobIds(Constants.HEAD);
+        heads.forEach((appName, blobId) -> {
+            try {
+                gitStorageService.getSwaggerByBlobId(blobId).ifPresent(swagger -> {
+                    String team = gitStorageService.getMetadata(appName).map(SwaggerMetadata::getTeam).orElse(null);
+                    for (SpecIndex index : indexes) {
+                        index.indexIfAbsent(appName, team, swagger);
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.warn("Failed to index {}: {}", appName, e.getMessage());
+            }
+        });
+        log.info("Indexed {} apps into {} indexes in {} ms",
+                heads.size(), indexes.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
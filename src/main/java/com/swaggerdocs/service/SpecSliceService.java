@@ -0,0 +1,357 @@
+package com.swaggerdocs.service;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.swaggerdocs.model.TagSummary;
+import org.eclipse.jgit.lib.Constants;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Cuts self-contained sub-specs out of stored specs: the operations of one tag,
+ * the paths under a prefix, or the node at a JSON Pointer, together with every
+ * component they reference directly or through other components. The other
+ * top-level members (info, servers, security) are kept so a slice renders on
+ * its own.
+ *
+ * Slices share subtrees with the cached spec instead of copying them, and are
+ * cached per blob and selector, so each one is cut at most once.
+ */
+@Service
+public class SpecSliceService {
+
+    /** Tag of operations without tags, as Swagger UI groups them. */
+    public static final String UNTAGGED = "default";
+
+    private static final int SLICE_CACHE_SIZE = 512;
+    private static final int TAG_CACHE_SIZE = 256;
+    private static final Set<String> HTTP_METHODS = Set.of(
+            "get", "post", "put", "patch", "delete", "head", "options", "trace"
+    );
+    // Top-level members holding paths or reusable definitions; only the selected parts are kept
+    private static final Set<String> SELECTED_MEMBERS = Set.of(
+            "paths", "components", "definitions", "parameters", "responses"
+    );
+    private static final JsonPointer SECURITY_SCHEMES = JsonPointer.compile("/components/securitySchemes");
+
+    private enum Kind { TAG, PATH_PREFIX, POINTER }
+
+    private record Selector(Kind kind, String value) {
+        String key() {
+            return kind + "\0" + value;
+        }
+    }
+
+    private final GitStorageService gitStorageService;
+    private final Map<String, Optional<JsonNode>> sliceCache;
+    private final Map<String, List<TagSummary>> tagCache;
+
+    public SpecSliceService(GitStorageService gitStorageService) {
+        this.gitStorageService = gitStorageService;
+        this.sliceCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Optional<JsonNode>> eldest) {
+                return size() > SLICE_CACHE_SIZE;
+            }
+        });
+        this.tagCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<TagSummary>> eldest) {
+                return size() > TAG_CACHE_SIZE;
+            }
+        });
+    }
+
+    /**
+     * Returns the slice picked by exactly one of the selectors, or nothing if
+     * the app, the version or any matching content does not exist.
+     */
+    public Optional<JsonNode> slice(String appName, String version, String tag, String pathPrefix, String pointer) {
+        Selector selector = toSelector(tag, pathPrefix, pointer);
+        return gitStorageService.getBlobId(appName, toRevision(version)).flatMap(blobId -> {
+            String key = blobId + "\0" + selector.key();
+            Optional<JsonNode> cached = sliceCache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            Optional<JsonNode> slice = gitStorageService.getSwaggerByBlobId(blobId).flatMap(spec -> build(spec, selector));
+            sliceCache.put(key, slice);
+            return slice;
+        });
+    }
+
+    /**
+     * Tags of a spec with their operation counts: declared tags in declaration
+     * order, then undeclared ones as first used, then {@value #UNTAGGED}.
+     */
+    public Optional<List<TagSummary>> getTags(String appName, String version) {
+        return gitStorageService.getBlobId(appName, toRevision(version)).flatMap(blobId -> {
+            List<TagSummary> cached = tagCache.get(blobId);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+            return gitStorageService.getSwaggerByBlobId(blobId).map(spec -> {
+                List<TagSummary> tags = summarizeTags(spec);
+                tagCache.put(blobId, tags);
+                return tags;
+            });
+        });
+    }
+
+    private Selector toSelector(String tag, String pathPrefix, String pointer) {
+        int count = (tag != null ? 1 : 0) + (pathPrefix != null ? 1 : 0) + (pointer != null ? 1 : 0);
+        if (count != 1) {
+            throw new IllegalArgumentException("Exactly one of tag, pathPrefix or pointer must be given");
+        }
+        if (tag != null) {
+            return new Selector(Kind.TAG, tag);
+        }
+        if (pathPrefix != null) {
+            if (!pathPrefix.startsWith("/")) {
+                throw new IllegalArgumentException("pathPrefix must start with /");
+            }
+            return new Selector(Kind.PATH_PREFIX, pathPrefix);
+        }
+        if (pointer.isEmpty() || !pointer.startsWith("/")) {
+            throw new IllegalArgumentException("pointer must be a non-empty JSON Pointer");
+        }
+        return new Selector(Kind.POINTER, pointer);
+    }
+
+    private Optional<JsonNode> build(JsonNode spec, Selector selector) {
+        ObjectNode selected = JsonNodeFactory.instance.objectNode();
+        if (selector.kind() == Kind.POINTER) {
+            JsonPointer pointer = JsonPointer.compile(selector.value());
+            if (spec.at(pointer).isMissingNode()) {
+                return Optional.empty();
+            }
+            copyAt(spec, selected, pointer);
+            followReferences(spec, selected, spec.at(pointer));
+        } else {
+            ObjectNode paths = selectPaths(spec.get("paths"), selector);
+            if (paths.isEmpty()) {
+                return Optional.empty();
+            }
+            selected.set("paths", paths);
+            followReferences(spec, selected, paths);
+        }
+
+        if (!spec.at(SECURITY_SCHEMES).isMissingNode()) {
+            copyAt(spec, selected, SECURITY_SCHEMES);
+        }
+
+        // Same member order as the source
+        ObjectNode result = JsonNodeFactory.instance.objectNode();
+        spec.fields().forEachRemaining(member -> {
+            String name = member.getKey();
+            if (name.equals("tags")) {
+                ArrayNode tags = usedTags(member.getValue(), selected.get("paths"));
+                if (!tags.isEmpty()) {
+                    result.set(name, tags);
+                }
+            } else if (name.equals("paths") && !selected.has(name)) {
+                result.putObject(name);
+            } else if (SELECTED_MEMBERS.contains(name)) {
+                if (selected.has(name)) {
+                    result.set(name, selected.get(name));
+                }
+            } else {
+                result.set(name, member.getValue());
+            }
+        });
+        return Optional.of(result);
+    }
+
+    private ObjectNode selectPaths(JsonNode paths, Selector selector) {
+        ObjectNode selected = JsonNodeFactory.instance.objectNode();
+        if (paths == null || !paths.isObject()) {
+            return selected;
+        }
+        paths.fields().forEachRemaining(entry -> {
+            String path = entry.getKey();
+            JsonNode pathItem = entry.getValue();
+            if (selector.kind() == Kind.PATH_PREFIX) {
+                if (underPrefix(path, selector.value())) {
+                    selected.set(path, pathItem);
+                }
+                return;
+            }
+
+            ObjectNode item = JsonNodeFactory.instance.objectNode();
+            boolean matched = false;
+            var fields = pathItem.fields();
+            while (fields.hasNext()) {
+                var field = fields.next();
+                if (!HTTP_METHODS.contains(field.getKey().toLowerCase())) {
+                    // Shared parameters, summary, servers
+                    item.set(field.getKey(), field.getValue());
+                } else if (operationTags(field.getValue()).contains(selector.value())) {
+                    item.set(field.getKey(), field.getValue());
+                    matched = true;
+                }
+            }
+            if (matched) {
+                selected.set(path, item);
+            }
+        });
+        return selected;
+    }
+
+    private static boolean underPrefix(String path, String prefix) {
+        return prefix.endsWith("/")
+                ? path.startsWith(prefix)
+                : path.equals(prefix) || path.startsWith(prefix + "/");
+    }
+
+    /**
+     * Adds the target of every local reference under {@code start}, and of every
+     * reference in those targets, at its original location.
+     */
+    private void followReferences(JsonNode spec, ObjectNode selected, JsonNode start) {
+        Set<String> seen = new HashSet<>();
+        Deque<JsonNode> pending = new ArrayDeque<>();
+        pending.push(start);
+        while (!pending.isEmpty()) {
+            JsonNode node = pending.pop();
+            if (node.isObject()) {
+                JsonNode ref = node.get("$ref");
+                if (ref != null && ref.isTextual() && ref.asText().startsWith("#/") && seen.add(ref.asText())) {
+                    JsonPointer pointer;
+                    try {
+                        pointer = JsonPointer.compile(ref.asText().substring(1));
+                    } catch (IllegalArgumentException e) {
+                        pointer = null;
+                    }
+                    JsonNode target = pointer != null ? spec.at(pointer) : null;
+                    if (target != null && !target.isMissingNode()) {
+                        copyAt(spec, selected, pointer);
+                        pending.push(target);
+                    }
+                }
+            }
+            if (node.isContainerNode()) {
+                node.elements().forEachRemaining(child -> {
+                    if (child.isContainerNode()) pending.push(child);
+                });
+            }
+        }
+    }
+
+    /**
+     * Places the source node at {@code pointer} into the sparse copy, creating
+     * the objects on the way. Nodes of the source are never modified: where the
+     * copy already holds the source subtree itself, everything below is present.
+     */
+    private static void copyAt(JsonNode spec, ObjectNode copy, JsonPointer pointer) {
+        JsonNode source = spec;
+        ObjectNode into = copy;
+        JsonPointer at = pointer;
+        while (true) {
+            String name = at.getMatchingProperty();
+            JsonNode child = source.get(name);
+            JsonPointer tail = at.tail();
+            JsonNode existing = into.get(name);
+            if (existing == child) {
+                return;
+            }
+            if (tail.matches() || !child.isObject()) {
+                // Arrays on the way are taken whole
+                into.set(name, child);
+                return;
+            }
+            into = existing instanceof ObjectNode partial ? partial : into.putObject(name);
+            source = child;
+            at = tail;
+        }
+    }
+
+    private ArrayNode usedTags(JsonNode declared, JsonNode paths) {
+        Set<String> used = new HashSet<>();
+        if (paths != null) {
+            paths.elements().forEachRemaining(pathItem -> pathItem.fields().forEachRemaining(field -> {
+                if (HTTP_METHODS.contains(field.getKey().toLowerCase())) {
+                    used.addAll(operationTags(field.getValue()));
+                }
+            }));
+        }
+        ArrayNode tags = JsonNodeFactory.instance.arrayNode();
+        if (declared != null && declared.isArray()) {
+            declared.forEach(tag -> {
+                if (used.contains(tag.path("name").asText())) {
+                    tags.add(tag);
+                }
+            });
+        }
+        return tags;
+    }
+
+    private List<TagSummary> summarizeTags(JsonNode spec) {
+        Map<String, TagSummary> tags = new LinkedHashMap<>();
+        JsonNode declared = spec.get("tags");
+        if (declared != null && declared.isArray()) {
+            declared.forEach(tag -> {
+                String name = tag.path("name").asText(null);
+                if (name != null) {
+                    tags.putIfAbsent(name, TagSummary.builder()
+                            .name(name)
+                            .description(tag.path("description").asText(null))
+                            .build());
+                }
+            });
+        }
+        int untagged = 0;
+        JsonNode paths = spec.get("paths");
+        if (paths != null && paths.isObject()) {
+            for (JsonNode pathItem : paths) {
+                var fields = pathItem.fields();
+                while (fields.hasNext()) {
+                    var field = fields.next();
+                    if (!HTTP_METHODS.contains(field.getKey().toLowerCase())) {
+                        continue;
+                    }
+                    JsonNode operationTags = field.getValue().get("tags");
+                    if (operationTags == null || !operationTags.isArray() || operationTags.isEmpty()) {
+                        untagged++;
+                        continue;
+                    }
+                    for (JsonNode tag : operationTags) {
+                        TagSummary summary = tags.computeIfAbsent(tag.asText(),
+                                name -> TagSummary.builder().name(name).build());
+                        summary.setOperations(summary.getOperations() + 1);
+                    }
+                }
+            }
+        }
+        if (untagged > 0) {
+            tags.put(UNTAGGED, TagSummary.builder().name(UNTAGGED).operations(untagged).build());
+        }
+        return List.copyOf(tags.values());
+    }
+
+    private static Set<String> operationTags(JsonNode operation) {
+        JsonNode tags = operation.get("tags");
+        if (tags == null || !tags.isArray() || tags.isEmpty()) {
+            return Set.of(UNTAGGED);
+        }
+        Set<String> names = new LinkedHashSet<>();
+        tags.forEach(tag -> names.add(tag.asText()));
+        return names;
+    }
+
+    private String toRevision(String version) {
+        return version == null || version.isEmpty() || version.equals("current") ? Constants.HEAD : version;
+    }
+}
@@ -0,0 +1,69 @@
+package com.swaggerdocs.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.swaggerdocs.model.SpecStats;
+import com.swaggerdocs.util.OpenApiVersionDetector;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Size figures of the current spec of every app, so pages describing an app
+ * never need its spec body. Built and kept up to date by {@link SpecIndexer}.
+ */
+@Service
+public class SpecStatsService implements SpecIndex {
+
+    private static final Set<String> HTTP_METHODS = Set.of(
+            "get", "post", "put", "patch", "delete", "head", "options", "trace"
+    );
+
+    private final Map<String, SpecStats> stats = new ConcurrentHashMap<>();
+
+    @Override
+    public void index(String appName, String team, JsonNode swagger) {
+        stats.put(appName, measure(swagger));
+    }
+
+    @Override
+    public void indexIfAbsent(String appName, String team, JsonNode swagger) {
+        if (!stats.containsKey(appName)) {
+            // A save racing this keeps its own, newer figures
+            stats.putIfAbsent(appName, measure(swagger));
+        }
+    }
+
+    public Optional<SpecStats> getStats(String appName) {
+        return Optional.ofNullable(stats.get(appName));
+    }
+
+    private SpecStats measure(JsonNode swagger) {
+        int paths = 0;
+        int operations = 0;
+        JsonNode pathsNode = swagger.get("paths");
+        if (pathsNode != null && pathsNode.isObject()) {
+            for (JsonNode pathItem : pathsNode) {
+                paths++;
+                var fields = pathItem.fieldNames();
+                while (fields.hasNext()) {
+                    if (HTTP_METHODS.contains(fields.next().toLowerCase())) {
+                        operations++;
+                    }
+                }
+            }
+        }
+        JsonNode schemas = OpenApiVersionDetector.getSchemas(swagger);
+        JsonNode tags = swagger.get("tags");
+
+        return SpecStats.builder()
+                .specVersion(OpenApiVersionDetector.getVersionString(swagger))
+                .paths(paths)
+                .operations(operations)
+                .schemas(schemas != null ? schemas.size() : 0)
+                .tags(tags != null && tags.isArray() ? tags.size() : 0)
+                .build();
+    }
+}
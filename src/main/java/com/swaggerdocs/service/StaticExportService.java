@@ -0,0 +1,224 @@
+package com.swaggerdocs.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swaggerdocs.config.ExportConfig;
+import com.swaggerdocs.event.SwaggerSavedEvent;
+import com.swaggerdocs.model.SwaggerEntry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+import org.webjars.WebJarAssetLocator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Writes a static documentation bundle for every stored version, so heavily
+ * read docs can be served as plain files instead of through the portal.
+ *
+ * Each bundle is {@code <app>/<version>/index.html} with the spec inlined,
+ * plus the spec itself as {@code spec.json}. The Swagger UI assets are copied
+ * once from the webjar into {@code assets/} and shared by all bundles through
+ * relative links, so the export directory can be served or copied as a whole.
+ * Bundles are built on a background thread after the save has returned, and
+ * are staged in a temporary directory and moved into place, so a bundle is
+ * either complete or absent. Versions are commits, so a bundle never changes
+ * once written.
+ */
+@Slf4j
+@Service
+public class StaticExportService {
+
+    public static final String INDEX = "index.html";
+    public static final String SPEC = "spec.json";
+    private static final String WEBJAR = "swagger-ui";
+    private static final List<String> ASSETS = List.of("swagger-ui.css", "swagger-ui-bundle.js");
+
+    private final GitStorageService gitStorageService;
+    private final ITemplateEngine templateEngine;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Path root;
+    private final ExecutorService executor;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    private volatile String assets;
+
+    public StaticExportService(GitStorageService gitStorageService, ITemplateEngine templateEngine,
+                               ObjectMapper objectMapper, ExportConfig config) {
+        this.gitStorageService = gitStorageService;
+        this.templateEngine = templateEngine;
+        this.objectMapper = objectMapper;
+        this.enabled = config.isEnabled();
+        this.root = config.getPath() != null ? Path.of(config.getPath()) : null;
+        var threadFactory = new CustomizableThreadFactory("static-export-");
+        threadFactory.setDaemon(true);
+        threadFactory.setThreadPriority(Thread.MIN_PRIORITY);
+        this.executor = Executors.newSingleThreadExecutor(threadFactory);
+    }
+
+    /**
+     * Exports the current version of apps stored before the export existed.
+     */
+    @PostConstruct
+    public void init() {
+        if (isEnabled()) {
+            executor.execute(() -> {
+                for (SwaggerEntry entry : gitStorageService.listApps()) {
+                    gitStorageService.getVersionHistory(entry.getAppName(), 1)
+                            .forEach(version -> schedule(entry.getAppName(), version));
+                }
+            });
+        }
+    }
+
+    @EventListener
+    public void onSaved(SwaggerSavedEvent event) {
+        schedule(event.appName(), event.result().getVersion());
+    }
+
+    public boolean isEnabled() {
+        return enabled && root != null;
+    }
+
+    /**
+     * Queues the export of one version; completes at once when it is already
+     * exported or queued.
+     */
+    public CompletableFuture<Void> schedule(String appName, String version) {
+        String key = appName + "/" + version;
+        if (!isEnabled() || isExported(appName, version) || !pending.add(key)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> {
+            try {
+                export(appName, version);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Static export of {} at {} failed: {}", appName, version, e.getMessage());
+            } finally {
+                pending.remove(key);
+            }
+        }, executor);
+    }
+
+    public boolean isExported(String appName, String version) {
+        return isEnabled() && Files.isRegularFile(root.resolve(appName).resolve(version).resolve(INDEX));
+    }
+
+    /**
+     * The newest version of an app whose bundle is on disk. When the newest
+     * version has no bundle yet it is queued and nothing is returned, so callers
+     * fall back to the portal instead of sending clients to an older version.
+     */
+    public Optional<String> getLatestVersion(String appName) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        List<String> head = gitStorageService.getVersionHistory(appName, 1);
+        if (head.isEmpty()) {
+            return Optional.empty();
+        }
+        String version = head.get(0);
+        if (isExported(appName, version)) {
+            return Optional.of(version);
+        }
+        schedule(appName, version);
+        return Optional.empty();
+    }
+
+    private void export(String appName, String version) throws IOException {
+        Path target = root.resolve(appName).resolve(version);
+        if (Files.exists(target.resolve(INDEX))) {
+            return;
+        }
+        Optional<JsonNode> swagger = gitStorageService.getSwaggerAtVersion(appName, version);
+        if (swagger.isEmpty()) {
+            log.warn("Static export skipped: {} has no spec at {}", appName, version);
+            return;
+        }
+        long start = System.nanoTime();
+        String specJson = objectMapper.writeValueAsString(swagger.get());
+
+        Context context = new Context();
+        context.setVariable("appName", appName);
+        context.setVariable("version", version);
+        context.setVariable("title", swagger.get().path("info").path("title").asText(appName));
+        context.setVariable("assets", "../../" + assets());
+        // '<' only occurs inside JSON strings, where the escape keeps "</script>" from closing the element
+        context.setVariable("specJson", specJson.replace("<", "\\u003c"));
+        String html = templateEngine.process("export", context);
+
+        Files.createDirectories(target.getParent());
+        Path staging = Files.createTempDirectory(target.getParent(), "." + version + "-");
+        try {
+            Files.writeString(staging.resolve(INDEX), html, StandardCharsets.UTF_8);
+            Files.writeString(staging.resolve(SPEC), specJson, StandardCharsets.UTF_8);
+            Files.move(staging, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            FileSystemUtils.deleteRecursively(staging);
+        }
+        log.info("Exported static docs for {} at {} in {}ms", appName, version, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Copies the Swagger UI assets out of the webjar on first use and returns
+     * their directory relative to the export root.
+     */
+    private String assets() throws IOException {
+        if (assets != null) {
+            return assets;
+        }
+        WebJarAssetLocator locator = new WebJarAssetLocator();
+        String directory = null;
+        for (String asset : ASSETS) {
+            String fullPath = locator.getFullPathExact(WEBJAR, asset);
+            if (fullPath == null) {
+                throw new IllegalStateException("Webjar asset not found: " + WEBJAR + "/" + asset);
+            }
+            // META-INF/resources/webjars/swagger-ui/<version>/<asset> -> assets/swagger-ui/<version>
+            directory = "assets/" + fullPath.substring(WebJarAssetLocator.WEBJARS_PATH_PREFIX.length() + 1,
+                    fullPath.length() - asset.length() - 1);
+            Path file = root.resolve(directory).resolve(asset);
+            if (Files.exists(file)) {
+                continue;
+            }
+            Files.createDirectories(file.getParent());
+            Path staging = Files.createTempFile(file.getParent(), "." + asset, null);
+            try (InputStream in = getClass().getClassLoader().getResourceAsStream(fullPath)) {
+                if (in == null) {
+                    throw new UncheckedIOException(new IOException("Cannot read " + fullPath));
+                }
+                Files.copy(in, staging, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(staging, file, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(staging);
+            }
+        }
+        assets = directory;
+        return directory;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
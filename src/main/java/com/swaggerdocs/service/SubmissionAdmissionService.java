@@ -0,0 +1,343 @@
+package com.swaggerdocs.service;
+
+import com.swaggerdocs.config.AdmissionConfig;
+import com.swaggerdocs.exception.SubmissionRejectedException;
+import com.swaggerdocs.model.AdmissionStats;
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admission control for synchronous submissions, so a burst of pipelines
+ * cannot tie up the request threads portal reads need.
+ *
+ * At most {@code max-concurrent} submissions are processed at once. The others
+ * wait in one queue per team, and each freed slot goes to the next team in
+ * turn, so a team submitting hundreds of specs delays another team by at most
+ * one submission per slot. A submission is refused at once when the queue or
+ * the team's share of it is full, or when its wait, estimated from the moving
+ * average of processing time, exceeds {@code max-wait}; one still waiting
+ * after {@code max-wait} is refused then. Refusals carry the estimated time
+ * until a slot would be free. Nothing blocks while it waits: a waiter is a
+ * future, completed when its slot is granted or failed by a timer after
+ * {@code max-wait}, so a queued request holds no thread.
+ *
+ * A batch takes one slot per submission, up to all of them, as its checks
+ * run in parallel. While the waiter whose turn it is needs more slots than
+ * are free, the waiters behind it keep waiting too, so a batch is not
+ * starved by single submissions.
+ */
+@Service
+public class SubmissionAdmissionService {
+
+    /**
+     * Weight of the latest submission in the moving average of processing time.
+     */
+    private static final double LATENCY_WEIGHT = 0.2;
+
+    private final AdmissionConfig config;
+    private final ScheduledExecutorService timer;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, ArrayDeque<Waiter>> waiting = new HashMap<>();
+    private final ArrayDeque<String> turns = new ArrayDeque<>();
+    private final Map<String, Long> rejectedByTeam = new HashMap<>();
+    private int inFlight;
+    private int queued;
+    private long admitted;
+    private long rejectedQueueFull;
+    private long rejectedTeamQueueFull;
+    private long rejectedWaitTooLong;
+    private double averageLatencyNanos;
+
+    public SubmissionAdmissionService(AdmissionConfig config) {
+        this.config = config;
+        var threadFactory = new CustomizableThreadFactory("admission-timer-");
+        threadFactory.setDaemon(true);
+        this.timer = Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    /**
+     * Asks for a processing slot; the permit must be closed once the
+     * submission is done.
+     *
+     * @return a future completed with the permit when a slot is free, or
+     *         failed with {@link SubmissionRejectedException} when none can
+     *         be had within {@code max-wait}
+     */
+    public CompletableFuture<Permit> acquire(String team) {
+        return acquire(team, 1);
+    }
+
+    /**
+     * Asks for {@code slots} processing slots at once, at most
+     * {@code max-concurrent}, for work that counts as that many submissions.
+     * Cancelling the future gives up the place in the queue, or the slots if
+     * they were already granted.
+     *
+     * @return a future completed with the permit when the slots are free, or
+     *         failed with {@link SubmissionRejectedException} when they cannot
+     *         be had within {@code max-wait}
+     */
+    public CompletableFuture<Permit> acquire(String team, int slots) {
+        if (!config.isEnabled()) {
+            return CompletableFuture.completedFuture(new Permit(false, 0, 0));
+        }
+        String key = team == null ? "" : team.toLowerCase(Locale.ROOT);
+        int weight = Math.max(1, Math.min(slots, config.getMaxConcurrent()));
+        long maxWaitNanos = config.getMaxWait().toNanos();
+        Waiter waiter;
+        lock.lock();
+        try {
+            if (inFlight + weight <= config.getMaxConcurrent() && queued == 0) {
+                inFlight += weight;
+                return CompletableFuture.completedFuture(admit(weight));
+            }
+            ArrayDeque<Waiter> line = waiting.get(key);
+            int lineSize = line == null ? 0 : line.size();
+            if (queued >= config.getMaxQueued()) {
+                rejectedQueueFull++;
+                return CompletableFuture.failedFuture(
+                        reject(key, "Submission queue is full (" + queued + " waiting)", queued + 1));
+            }
+            if (lineSize >= config.getMaxQueuedPerTeam()) {
+                rejectedTeamQueueFull++;
+                return CompletableFuture.failedFuture(reject(key,
+                        "Too many submissions of team " + team + " waiting (" + lineSize + ")", lineSize + 1));
+            }
+            // Turns alternate between teams, so a team is only behind its own line and one per other team
+            int teams = turns.size() + (line == null ? 1 : 0);
+            int position = Math.min(queued + 1, (lineSize + 1) * teams) + weight - 1;
+            if (estimatedWaitNanos(position) > maxWaitNanos) {
+                rejectedWaitTooLong++;
+                return CompletableFuture.failedFuture(
+                        reject(key, "Estimated wait for a submission slot exceeds " + config.getMaxWait(), position));
+            }
+
+            waiter = new Waiter(key, weight);
+            if (line == null) {
+                line = new ArrayDeque<>();
+                waiting.put(key, line);
+                turns.add(key);
+            }
+            line.add(waiter);
+            queued++;
+            waiter.expiry = timer.schedule(() -> expire(waiter), maxWaitNanos, TimeUnit.NANOSECONDS);
+        } finally {
+            lock.unlock();
+        }
+        waiter.admitted.whenComplete((permit, error) -> {
+            if (error instanceof CancellationException) {
+                abandon(waiter);
+            }
+        });
+        return waiter.admitted;
+    }
+
+    public AdmissionStats getStats() {
+        lock.lock();
+        try {
+            Map<String, Integer> queuedByTeam = new TreeMap<>();
+            waiting.forEach((team, line) -> queuedByTeam.put(team, line.size()));
+            return AdmissionStats.builder()
+                    .maxConcurrent(config.getMaxConcurrent())
+                    .inFlight(inFlight)
+                    .queued(queued)
+                    .queuedByTeam(queuedByTeam)
+                    .admitted(admitted)
+                    .rejectedQueueFull(rejectedQueueFull)
+                    .rejectedTeamQueueFull(rejectedTeamQueueFull)
+                    .rejectedWaitTooLong(rejectedWaitTooLong)
+                    .rejectedByTeam(new TreeMap<>(rejectedByTeam))
+                    .averageLatencyMs(TimeUnit.NANOSECONDS.toMillis((long) averageLatencyNanos))
+                    .build();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Permit admit(int weight) {
+        admitted++;
+        return new Permit(true, weight, System.nanoTime());
+    }
+
+    private void release(Permit permit) {
+        List<Waiter> ready = new ArrayList<>();
+        lock.lock();
+        try {
+            if (permit.closed) {
+                return;
+            }
+            permit.closed = true;
+            long elapsed = System.nanoTime() - permit.admittedAt;
+            averageLatencyNanos = averageLatencyNanos == 0
+                    ? elapsed
+                    : averageLatencyNanos + LATENCY_WEIGHT * (elapsed - averageLatencyNanos);
+            inFlight -= permit.weight;
+            admitWaiting(ready);
+        } finally {
+            lock.unlock();
+        }
+        grant(ready);
+    }
+
+    /**
+     * Refuses a waiter still queued after {@code max-wait}.
+     */
+    private void expire(Waiter waiter) {
+        List<Waiter> ready = new ArrayList<>();
+        SubmissionRejectedException rejection;
+        lock.lock();
+        try {
+            if (waiter.permit != null || !dequeue(waiter, ready)) {
+                return;
+            }
+            rejectedWaitTooLong++;
+            rejection = reject(waiter.team, "No submission slot free within " + config.getMaxWait(), queued + 1);
+        } finally {
+            lock.unlock();
+        }
+        grant(ready);
+        waiter.admitted.completeExceptionally(rejection);
+    }
+
+    /**
+     * Takes a cancelled waiter out of the queue, or gives back its slots if
+     * they had been granted already.
+     */
+    private void abandon(Waiter waiter) {
+        List<Waiter> ready = new ArrayList<>();
+        lock.lock();
+        try {
+            if (waiter.permit == null) {
+                waiter.expiry.cancel(false);
+                dequeue(waiter, ready);
+            }
+        } finally {
+            lock.unlock();
+        }
+        grant(ready);
+        if (waiter.permit != null) {
+            waiter.permit.close();
+        }
+    }
+
+    /**
+     * Hands free slots to the first waiters of the next teams in turn, as
+     * long as the one whose turn it is fits. The waiters are told once the
+     * lock is released, as what they do next may give slots back.
+     */
+    private void admitWaiting(List<Waiter> ready) {
+        while (!turns.isEmpty()) {
+            String team = turns.peek();
+            ArrayDeque<Waiter> line = waiting.get(team);
+            Waiter next = line.peek();
+            if (inFlight + next.weight > config.getMaxConcurrent()) {
+                return;
+            }
+            turns.poll();
+            line.poll();
+            queued--;
+            if (line.isEmpty()) {
+                waiting.remove(team);
+            } else {
+                turns.add(team);
+            }
+            inFlight += next.weight;
+            next.permit = admit(next.weight);
+            next.expiry.cancel(false);
+            ready.add(next);
+        }
+    }
+
+    private void grant(List<Waiter> ready) {
+        for (Waiter waiter : ready) {
+            if (!waiter.admitted.complete(waiter.permit)) {
+                // Cancelled meanwhile; nobody will close it
+                waiter.permit.close();
+            }
+        }
+    }
+
+    private boolean dequeue(Waiter waiter, List<Waiter> ready) {
+        ArrayDeque<Waiter> line = waiting.get(waiter.team);
+        if (line == null || !line.remove(waiter)) {
+            return false;
+        }
+        queued--;
+        if (line.isEmpty()) {
+            waiting.remove(waiter.team);
+            turns.remove(waiter.team);
+        }
+        // It may have held up smaller waiters that fit
+        admitWaiting(ready);
+        return true;
+    }
+
+    private SubmissionRejectedException reject(String team, String message, int position) {
+        rejectedByTeam.merge(team, 1L, Long::sum);
+        long retryAfter = Math.max(1, (long) Math.ceil(estimatedWaitNanos(position) / 1e9));
+        return new SubmissionRejectedException(message, retryAfter);
+    }
+
+    private long estimatedWaitNanos(int position) {
+        return (long) (position * averageLatencyNanos / config.getMaxConcurrent());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+
+    private static final class Waiter {
+
+        private final String team;
+        private final int weight;
+        private final CompletableFuture<Permit> admitted = new CompletableFuture<>();
+        private ScheduledFuture<?> expiry;
+        private Permit permit;
+
+        Waiter(String team, int weight) {
+            this.team = team;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Processing slots, given back on close.
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final boolean counted;
+        private final int weight;
+        private final long admittedAt;
+        private boolean closed;
+
+        private Permit(boolean counted, int weight, long admittedAt) {
+            this.counted = counted;
+            this.weight = weight;
+            this.admittedAt = admittedAt;
+        }
+
+        @Override
+        public void close() {
+            if (counted) {
+                release(this);
+            }
+        }
+    }
+}
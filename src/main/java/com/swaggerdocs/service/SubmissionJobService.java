@@ -0,0 +1,355 @@
+package com.swaggerdocs.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swaggerdocs.config.JobConfig;
+import com.swaggerdocs.config.WorkerThreads;
+import com.swaggerdocs.exception.JobQueueFullException;
+import com.swaggerdocs.model.BatchResult;
+import com.swaggerdocs.model.SubmissionJob;
+import com.swaggerdocs.model.SwaggerSubmission;
+import com.swaggerdocs.model.ValidationResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Runs submissions in the background for clients that do not want to wait
+ * for validation, diff, commit and push.
+ *
+ * An accepted submission is written and synced to the jobs directory before
+ * its id is handed out, so it survives a restart: unfinished jobs are queued
+ * again on startup, in submission order. Jobs of one app run one after the
+ * other in submission order, chained on the app's last job; jobs of different
+ * apps run in parallel on the worker pool. At most {@code queue-capacity}
+ * jobs are queued or running; beyond that submissions are refused. A job
+ * interrupted by a crash runs again, so it may be applied twice. Results
+ * are stored next to the jobs and served from disk once they leave memory,
+ * until a periodic sweep removes them after {@code retention}.
+ *
+ * Synchronous submissions that outlive their request are followed as jobs
+ * too, so their clients can still learn the outcome; as they are already
+ * running, they are neither stored for a restart nor counted against the
+ * queue.
+ */
+@Slf4j
+@Service
+public class SubmissionJobService {
+
+    private static final String PENDING_SUFFIX = ".job.json";
+    private static final String RESULT_SUFFIX = ".result.json";
+
+    private final SwaggerService swaggerService;
+    private final ObjectMapper objectMapper;
+    private final JobConfig config;
+    private final Path directory;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService sweeper;
+    private final Map<String, SubmissionJob> active = new ConcurrentHashMap<>();
+    private final Map<String, SubmissionJob> finished;
+    private final Map<String, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    public SubmissionJobService(SwaggerService swaggerService, ObjectMapper objectMapper, JobConfig config,
+                                WorkerThreads workerThreads) {
+        this.swaggerService = swaggerService;
+        this.objectMapper = objectMapper;
+        this.config = config;
+        this.directory = Path.of(config.getPath());
+        int maxFinished = config.getMaxFinished();
+        this.finished = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SubmissionJob> eldest) {
+                // Only leaves memory; the result file is still served until it expires
+                return size() > maxFinished;
+            }
+        });
+        this.workers = Executors.newFixedThreadPool(Math.max(1, config.getThreads()),
+                workerThreads.factory("submission-job-"));
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(workerThreads.factory("submission-job-sweep-"));
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(directory);
+        List<PendingJob> pending = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(PENDING_SUFFIX)).toList()) {
+                try {
+                    pending.add(objectMapper.readValue(file.toFile(), PendingJob.class));
+                } catch (IOException e) {
+                    log.warn("Skipping unreadable job file {}: {}", file, e.getMessage());
+                }
+            }
+        }
+        pending.sort(Comparator.comparingLong(PendingJob::sequence));
+        for (PendingJob job : pending) {
+            sequence.accumulateAndGet(job.sequence() + 1, Math::max);
+            outstanding.incrementAndGet();
+            active.put(job.id(), queued(job));
+            enqueue(job);
+        }
+        if (!pending.isEmpty()) {
+            log.info("Resumed {} unfinished submission jobs", pending.size());
+        }
+
+        long interval = Math.max(1, config.getSweepInterval().toMillis());
+        sweeper.scheduleWithFixedDelay(this::removeExpired, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stores the submission and queues it; the returned job is queued and
+     * its id can be polled with {@link #getJob}.
+     */
+    public SubmissionJob submit(SwaggerSubmission submission) {
+        if (outstanding.incrementAndGet() > config.getQueueCapacity()) {
+            outstanding.decrementAndGet();
+            throw new JobQueueFullException("Submission queue is full (" + config.getQueueCapacity()
+                    + " jobs); retry later or submit synchronously");
+        }
+        PendingJob job = new PendingJob(sequence.getAndIncrement(), UUID.randomUUID().toString(),
+                Instant.now(), submission);
+        try {
+            writeDurably(directory.resolve(job.id() + PENDING_SUFFIX), job);
+        } catch (IOException e) {
+            outstanding.decrementAndGet();
+            throw new UncheckedIOException("Failed to store submission job for " + submission.getAppName(), e);
+        }
+        SubmissionJob queued = queued(job);
+        active.put(job.id(), queued);
+        enqueue(job);
+        log.info("Queued submission job {} for app {}", job.id(), submission.getAppName());
+        return queued;
+    }
+
+    /**
+     * Follows a submission already running for a request that gave up
+     * waiting; the returned job is running and finishes with it.
+     */
+    public SubmissionJob track(String appName, CompletableFuture<ValidationResult> running) {
+        return follow(appName, running, SubmissionJob.SubmissionJobBuilder::result);
+    }
+
+    /**
+     * Follows a batch already running for a request that gave up waiting.
+     */
+    public SubmissionJob trackBatch(CompletableFuture<BatchResult> running) {
+        return follow(null, running, SubmissionJob.SubmissionJobBuilder::batch);
+    }
+
+    public Optional<SubmissionJob> getJob(String id) {
+        SubmissionJob job = active.get(id);
+        if (job == null) {
+            job = finished.get(id);
+        }
+        if (job != null) {
+            return Optional.of(job);
+        }
+        try {
+            // Ids are UUIDs; anything else cannot name a job file
+            UUID.fromString(id);
+            Path file = directory.resolve(id + RESULT_SUFFIX);
+            if (Files.exists(file)) {
+                return Optional.of(objectMapper.readValue(file.toFile(), SubmissionJob.class));
+            }
+        } catch (IllegalArgumentException | IOException e) {
+            return Optional.empty();
+        }
+        return Optional.empty();
+    }
+
+    private void enqueue(PendingJob job) {
+        String appName = job.submission().getAppName();
+        // handle rather than then: the next job runs however the previous one ended
+        CompletableFuture<Void> next = tails.compute(appName, (app, tail) ->
+                (tail != null ? tail : CompletableFuture.<Void>completedFuture(null))
+                        .handleAsync((ignored, e) -> {
+                            run(job);
+                            return null;
+                        }, workers));
+        // Outside compute: a job that is already done would remove its own tail inside the update
+        next.whenComplete((ignored, e) -> tails.remove(appName, next));
+    }
+
+    private <T> SubmissionJob follow(String appName, CompletableFuture<T> running,
+                                     BiConsumer<SubmissionJob.SubmissionJobBuilder, T> outcome) {
+        String id = UUID.randomUUID().toString();
+        Instant now = Instant.now();
+        SubmissionJob job = SubmissionJob.builder()
+                .id(id)
+                .appName(appName)
+                .status(SubmissionJob.Status.RUNNING)
+                .submittedAt(now)
+                .startedAt(now)
+                .build();
+        active.put(id, job);
+        running.whenComplete((value, e) -> {
+            SubmissionJob.SubmissionJobBuilder done = SubmissionJob.builder()
+                    .id(id)
+                    .appName(appName)
+                    .status(e == null ? SubmissionJob.Status.SUCCEEDED : SubmissionJob.Status.FAILED)
+                    .submittedAt(now)
+                    .startedAt(now)
+                    .finishedAt(Instant.now())
+                    .error(e == null ? null : errorMessage(e));
+            if (value != null) {
+                outcome.accept(done, value);
+            }
+            finish(done.build());
+        });
+        log.info("Following timed-out submission of {} as job {}", appName != null ? appName : "a batch", id);
+        return job;
+    }
+
+    private void run(PendingJob job) {
+        Instant started = Instant.now();
+        active.put(job.id(), SubmissionJob.builder()
+                .id(job.id())
+                .appName(job.submission().getAppName())
+                .status(SubmissionJob.Status.RUNNING)
+                .submittedAt(job.submittedAt())
+                .startedAt(started)
+                .build());
+        ValidationResult result = null;
+        String error = null;
+        try {
+            result = swaggerService.processSubmission(job.submission());
+        } catch (Throwable e) {
+            if (workers.isShutdown()) {
+                // Cut short by shutdown: the job file stays and the job runs again on the next start
+                log.info("Submission job {} interrupted by shutdown", job.id());
+                return;
+            }
+            error = errorMessage(e);
+            log.warn("Submission job {} for {} failed: {}", job.id(), job.submission().getAppName(), error);
+        }
+        SubmissionJob done = SubmissionJob.builder()
+                .id(job.id())
+                .appName(job.submission().getAppName())
+                .status(error == null ? SubmissionJob.Status.SUCCEEDED : SubmissionJob.Status.FAILED)
+                .submittedAt(job.submittedAt())
+                .startedAt(started)
+                .finishedAt(Instant.now())
+                .result(result)
+                .error(error)
+                .build();
+        finish(done);
+        deleteQuietly(directory.resolve(job.id() + PENDING_SUFFIX));
+        outstanding.decrementAndGet();
+    }
+
+    private void finish(SubmissionJob done) {
+        try {
+            objectMapper.writeValue(directory.resolve(done.getId() + RESULT_SUFFIX).toFile(), done);
+        } catch (IOException e) {
+            log.warn("Failed to store result of submission job {}: {}", done.getId(), e.getMessage());
+        }
+        finished.put(done.getId(), done);
+        active.remove(done.getId());
+    }
+
+    /**
+     * Removes the results that are older than the retention, from memory and
+     * from disk, whether or not they were still in memory.
+     */
+    private void removeExpired() {
+        Instant expiry = Instant.now().minus(config.getRetention());
+        try (Stream<Path> files = Files.list(directory)) {
+            finished.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(expiry));
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(RESULT_SUFFIX)).toList()) {
+                try {
+                    if (Files.getLastModifiedTime(file).toInstant().isBefore(expiry)) {
+                        Files.delete(file);
+                    }
+                } catch (IOException e) {
+                    log.warn("Failed to remove expired job result {}: {}", file, e.getMessage());
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Thrown out of a scheduled task, it would cancel the later sweeps
+            log.warn("Failed to sweep expired job results: {}", e.getMessage());
+        }
+    }
+
+    private static String errorMessage(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause.getMessage() != null ? cause.getMessage() : cause.toString();
+    }
+
+    private SubmissionJob queued(PendingJob job) {
+        return SubmissionJob.builder()
+                .id(job.id())
+                .appName(job.submission().getAppName())
+                .status(SubmissionJob.Status.QUEUED)
+                .submittedAt(job.submittedAt())
+                .build();
+    }
+
+    /**
+     * Writes through a temporary file that is synced before it is moved into
+     * place, so an accepted job is on disk in full or not at all.
+     */
+    private void writeDurably(Path file, Object value) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(value);
+        Path staging = Files.createTempFile(directory, ".job", null);
+        try {
+            try (FileChannel channel = FileChannel.open(staging, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(staging, file, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(staging);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete job file {}: {}", file, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private record PendingJob(long sequence, String id, Instant submittedAt, SwaggerSubmission submission) {
+    }
+}
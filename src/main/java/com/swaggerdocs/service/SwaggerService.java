@@ -1,31 +1,88 @@
 package com.swaggerdocs.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.swaggerdocs.config.BatchConfig;
+import com.swaggerdocs.event.SwaggerSavedEvent;
 import com.swaggerdocs.model.*;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class SwaggerService {
 
+    public static final Set<String> APP_FIELDS = Set.of("swagger", "metadata", "quality", "stats", "versions");
+    private static final int RECENT_VERSIONS = 5;
+
     private final GitStorageService gitStorageService;
     private final ValidationService validationService;
     private final DiffService diffService;
+    private final SchemaGraphService schemaGraphService;
+    private final QualityService qualityService;
+    private final TrendService trendService;
+    private final SpecIndexer specIndexer;
+    private final RouteService routeService;
+    private final CatalogIndexService catalogIndexService;
+    private final SpecStatsService specStatsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final int maxBatchSubmissions;
+    private final ExecutorService batchExecutor;
     private final String baseUrl;
 
     public SwaggerService(
             GitStorageService gitStorageService,
             ValidationService validationService,
             DiffService diffService,
+            SchemaGraphService schemaGraphService,
+            QualityService qualityService,
+            TrendService trendService,
+            SpecIndexer specIndexer,
+            RouteService routeService,
+            CatalogIndexService catalogIndexService,
+            SpecStatsService specStatsService,
+            ApplicationEventPublisher eventPublisher,
+            Validator validator,
+            BatchConfig batchConfig,
             @Value("${swaggerdocs.base-url:http://localhost:8080}") String baseUrl) {
         this.gitStorageService = gitStorageService;
         this.validationService = validationService;
         this.diffService = diffService;
+        this.schemaGraphService = schemaGraphService;
+        this.qualityService = qualityService;
+        this.trendService = trendService;
+        this.specIndexer = specIndexer;
+        this.routeService = routeService;
+        this.catalogIndexService = catalogIndexService;
+        this.specStatsService = specStatsService;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.maxBatchSubmissions = batchConfig.getMaxSubmissions();
+        int parallelism = batchConfig.getParallelism() > 0
+                ? batchConfig.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        var threadFactory = new CustomizableThreadFactory("batch-check-");
+        threadFactory.setDaemon(true);
+        this.batchExecutor = Executors.newFixedThreadPool(parallelism, threadFactory);
         this.baseUrl = baseUrl;
     }
 
@@ -34,7 +91,102 @@ public class SwaggerService {
         log.info("Processing swagger submission for app: {}", appName);
 
         var previousSwagger = gitStorageService.getSwagger(appName).orElse(null);
+        Checks checks = check(submission, previousSwagger);
+        SwaggerMetadata metadata = metadataOf(submission, checks);
+
+        String version = gitStorageService.save(appName, submission.getSwagger(), metadata);
+        return publish(submission, metadata, checks, version);
+    }
+
+    /**
+     * Stores a batch of submissions as one commit with one push. Each
+     * submission stands alone: a constraint violation, an app repeated in the
+     * batch or a failing check marks only that item failed, and the others are
+     * still saved. Checks run in parallel on the batch pool; indexing and
+     * events follow in submission order once the commit is written.
+     */
+    public BatchResult processBatch(List<SwaggerSubmission> submissions) {
+        if (submissions.isEmpty()) {
+            throw new IllegalArgumentException("Batch holds no submissions");
+        }
+        if (submissions.size() > maxBatchSubmissions) {
+            throw new IllegalArgumentException("Batch holds " + submissions.size()
+                    + " submissions, at most " + maxBatchSubmissions + " are accepted");
+        }
+        log.info("Processing batch of {} swagger submissions", submissions.size());
+
+        BatchItemResult[] items = new BatchItemResult[submissions.size()];
+        List<Future<Checks>> pending = new ArrayList<>(submissions.size());
+        Set<String> appNames = new HashSet<>();
+        for (int i = 0; i < submissions.size(); i++) {
+            SwaggerSubmission submission = submissions.get(i);
+            String error = violations(submission);
+            if (error == null && !appNames.add(submission.getAppName())) {
+                error = "appName " + submission.getAppName() + " appears more than once in the batch";
+            }
+            if (error != null) {
+                items[i] = failed(i, submission, error);
+                pending.add(null);
+                continue;
+            }
+            pending.add(batchExecutor.submit(() ->
+                    check(submission, gitStorageService.getSwagger(submission.getAppName()).orElse(null))));
+        }
+
+        List<Integer> saved = new ArrayList<>();
+        List<Checks> savedChecks = new ArrayList<>();
+        List<GitStorageService.SpecWrite> writes = new ArrayList<>();
+        try {
+            for (int i = 0; i < submissions.size(); i++) {
+                if (pending.get(i) == null) {
+                    continue;
+                }
+                SwaggerSubmission submission = submissions.get(i);
+                try {
+                    Checks checks = pending.get(i).get();
+                    saved.add(i);
+                    savedChecks.add(checks);
+                    writes.add(new GitStorageService.SpecWrite(
+                            submission.getAppName(), submission.getSwagger(), metadataOf(submission, checks)));
+                } catch (ExecutionException e) {
+                    log.warn("Batch submission for {} failed its checks: {}", submission.getAppName(), e.getCause().getMessage());
+                    items[i] = failed(i, submission, e.getCause().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            pending.forEach(future -> {
+                if (future != null) {
+                    future.cancel(true);
+                }
+            });
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Batch interrupted", e);
+        }
+
+        String version = writes.isEmpty() ? null : gitStorageService.saveAll(writes);
+        for (int n = 0; n < saved.size(); n++) {
+            int i = saved.get(n);
+            SwaggerSubmission submission = submissions.get(i);
+            items[i] = BatchItemResult.builder()
+                    .index(i)
+                    .appName(submission.getAppName())
+                    .status(BatchItemResult.Status.SAVED)
+                    .result(publish(submission, writes.get(n).metadata(), savedChecks.get(n), version))
+                    .build();
+        }
+        log.info("Batch processed: version={}, saved={}, failed={}",
+                version, saved.size(), submissions.size() - saved.size());
+
+        return BatchResult.builder()
+                .version(version)
+                .saved(saved.size())
+                .failed(submissions.size() - saved.size())
+                .items(List.of(items))
+                .build();
+    }
 
+    private Checks check(SwaggerSubmission submission, JsonNode previousSwagger) {
+        String appName = submission.getAppName();
         QualityScore quality = validationService.calculateQuality(submission.getSwagger());
         log.debug("Quality score for {}: {}", appName, quality.getScore());
 
@@ -42,50 +194,181 @@ public class SwaggerService {
                 previousSwagger,
                 submission.getSwagger()
         );
+        schemaGraphService.annotateImpact(breakingChanges, appName, "current", previousSwagger);
+        List<RouteConflict> routeConflicts = routeService.findConflicts(appName, submission.getSwagger());
+        return new Checks(quality, breakingChanges, routeConflicts);
+    }
 
-        SwaggerMetadata metadata = SwaggerMetadata.builder()
-                .appName(appName)
+    private static SwaggerMetadata metadataOf(SwaggerSubmission submission, Checks checks) {
+        return SwaggerMetadata.builder()
+                .appName(submission.getAppName())
                 .team(submission.getTeam())
                 .environment(submission.getEnvironment())
                 .commitHash(submission.getMetadata() != null ? submission.getMetadata().getCommitHash() : null)
                 .branch(submission.getMetadata() != null ? submission.getMetadata().getBranch() : null)
                 .pipelineUrl(submission.getMetadata() != null ? submission.getMetadata().getPipelineUrl() : null)
                 .updatedAt(Instant.now())
-                .qualityScore(quality.getScore())
+                .qualityScore(checks.quality().getScore())
                 .build();
+    }
 
-        String version = gitStorageService.save(appName, submission.getSwagger(), metadata);
+    /**
+     * Brings the indexes up to date with a stored submission and announces it.
+     */
+    private ValidationResult publish(SwaggerSubmission submission, SwaggerMetadata metadata, Checks checks, String version) {
+        String appName = submission.getAppName();
+        qualityService.record(appName, checks.quality());
+        trendService.record(metadata);
+        catalogIndexService.update(metadata, version);
+        specIndexer.index(appName, submission.getTeam(), submission.getSwagger());
 
-        String status = breakingChanges.isEmpty() ? "ACCEPTED" : "ACCEPTED_WITH_WARNINGS";
-        log.info("Swagger {} processed: status={}, version={}, breakingChanges={}",
-                appName, status, version, breakingChanges.size());
+        String status = checks.breakingChanges().isEmpty() && checks.routeConflicts().isEmpty()
+                ? "ACCEPTED" : "ACCEPTED_WITH_WARNINGS";
+        log.info("Swagger {} processed: status={}, version={}, breakingChanges={}, routeConflicts={}",
+                appName, status, version, checks.breakingChanges().size(), checks.routeConflicts().size());
 
-        return ValidationResult.builder()
+        ValidationResult result = ValidationResult.builder()
                 .status(status)
                 .version(version)
+                .quality(checks.quality())
+                .breakingChanges(checks.breakingChanges())
+                .routeConflicts(checks.routeConflicts())
+                .viewUrl(baseUrl + "/docs/" + appName)
+                .build();
+        eventPublisher.publishEvent(new SwaggerSavedEvent(metadata, result));
+        return result;
+    }
+
+    /**
+     * The constraint violations of a submission in the form of request
+     * validation errors, or null when there are none.
+     */
+    private String violations(SwaggerSubmission submission) {
+        if (submission == null) {
+            return "submission is null";
+        }
+        Set<ConstraintViolation<SwaggerSubmission>> violations = validator.validate(submission);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static BatchItemResult failed(int index, SwaggerSubmission submission, String error) {
+        return BatchItemResult.builder()
+                .index(index)
+                .appName(submission != null ? submission.getAppName() : null)
+                .status(BatchItemResult.Status.FAILED)
+                .error(error)
+                .build();
+    }
+
+    /**
+     * Runs the submission checks against the current version without storing
+     * anything. The baseline comes from the in-memory blob caches, so repeated
+     * checks of the same app do not touch git. Below {@code minScore} the
+     * result fails the quality gate.
+     */
+    public ValidationResult validateSubmission(SwaggerSubmission submission, Integer minScore) {
+        if (minScore != null && (minScore < 0 || minScore > 100)) {
+            throw new IllegalArgumentException("minScore must be between 0 and 100");
+        }
+        String appName = submission.getAppName();
+        var currentSwagger = gitStorageService.getCurrentSwagger(appName).orElse(null);
+
+        QualityScore quality = validationService.calculateQuality(submission.getSwagger());
+        List<BreakingChange> breakingChanges = diffService.findBreakingChanges(
+                currentSwagger,
+                submission.getSwagger()
+        );
+        schemaGraphService.annotateImpact(breakingChanges, appName, "current", currentSwagger);
+        List<RouteConflict> routeConflicts = routeService.findConflicts(appName, submission.getSwagger());
+
+        String status;
+        if (minScore != null && quality.getScore() < minScore) {
+            status = "FAILED_QUALITY_GATE";
+        } else {
+            status = breakingChanges.isEmpty() && routeConflicts.isEmpty() ? "VALID" : "VALID_WITH_WARNINGS";
+        }
+        log.debug("Dry-run validation of {}: status={}, score={}, breakingChanges={}",
+                appName, status, quality.getScore(), breakingChanges.size());
+
+        return ValidationResult.builder()
+                .status(status)
                 .quality(quality)
                 .breakingChanges(breakingChanges)
-                .viewUrl(baseUrl + "/docs/" + appName)
+                .routeConflicts(routeConflicts)
                 .build();
     }
 
     public List<SwaggerEntry> listApps() {
-        return gitStorageService.listApps();
+        return listApps(CatalogQuery.builder().build()).getItems();
+    }
+
+    public CatalogPage listApps(CatalogQuery query) {
+        return catalogIndexService.query(query);
     }
 
     public Optional<SwaggerInfo> getApp(String appName) {
-        return gitStorageService.getSwagger(appName).map(swagger -> {
-            var metadata = gitStorageService.getMetadata(appName).orElse(null);
-            var quality = validationService.calculateQuality(swagger);
-            var versions = gitStorageService.getVersionHistory(appName);
-
-            return SwaggerInfo.builder()
-                    .swagger(swagger)
-                    .metadata(metadata)
-                    .quality(quality)
-                    .versions(versions)
-                    .build();
-        });
+        return getApp(appName, APP_FIELDS);
+    }
+
+    /**
+     * Loads only the requested parts of {@link SwaggerInfo}; the others stay null.
+     * The spec comes from the blob cache and stats from the stats index.
+     */
+    public Optional<SwaggerInfo> getApp(String appName, Set<String> fields) {
+        for (String field : fields) {
+            if (!APP_FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Unknown field: " + field + " (expected one of " + APP_FIELDS + ")");
+            }
+        }
+        if (!gitStorageService.exists(appName)) {
+            return Optional.empty();
+        }
+
+        var info = new SwaggerInfo();
+        if (fields.contains("swagger")) {
+            info.setSwagger(gitStorageService.getCurrentSwagger(appName).orElse(null));
+        }
+        if (fields.contains("metadata")) {
+            info.setMetadata(gitStorageService.getMetadata(appName).orElse(null));
+        }
+        if (fields.contains("quality")) {
+            // Never scored inline; a spec not scored yet is queued and shows as pending
+            info.setQuality(qualityService.getQuality(appName).orElse(null));
+        }
+        if (fields.contains("stats")) {
+            info.setStats(specStatsService.getStats(appName).orElse(null));
+        }
+        if (fields.contains("versions")) {
+            info.setVersions(gitStorageService.getVersionHistory(appName));
+        }
+        return Optional.of(info);
+    }
+
+    /**
+     * Everything the docs pages show, without parsing the spec or walking the
+     * whole history.
+     */
+    public Optional<SwaggerSummary> getSummary(String appName) {
+        if (!gitStorageService.exists(appName)) {
+            return Optional.empty();
+        }
+        return Optional.of(SwaggerSummary.builder()
+                .appName(appName)
+                .metadata(gitStorageService.getMetadata(appName).orElse(null))
+                .quality(qualityService.getQuality(appName).orElse(null))
+                .stats(specStatsService.getStats(appName).orElse(null))
+                .versions(gitStorageService.getVersionHistory(appName, RECENT_VERSIONS))
+                .build());
+    }
+
+    public Optional<com.fasterxml.jackson.databind.JsonNode> getCurrentSwagger(String appName) {
+        return gitStorageService.getCurrentSwagger(appName);
     }
 
     public Optional<com.fasterxml.jackson.databind.JsonNode> getSwaggerAtVersion(String appName, String version) {
@@ -93,15 +376,40 @@ public class SwaggerService {
     }
 
     public List<BreakingChange> compareVersions(String appName, String fromVersion, String toVersion) {
-        var fromSwagger = gitStorageService.getSwaggerAtVersion(appName, fromVersion).orElse(null);
-        var toSwagger = toVersion.equals("current")
-            ? gitStorageService.getSwagger(appName).orElse(null)
-            : gitStorageService.getSwaggerAtVersion(appName, toVersion).orElse(null);
+        var fromSwagger = resolveVersion(appName, fromVersion).orElse(null);
+        var toSwagger = resolveVersion(appName, toVersion).orElse(null);
+
+        var changes = diffService.findBreakingChanges(fromSwagger, toSwagger);
+        schemaGraphService.annotateImpact(changes, appName, fromVersion, fromSwagger);
+        return changes;
+    }
 
-        return diffService.findBreakingChanges(fromSwagger, toSwagger);
+    /**
+     * Resolves a stored spec by commit hash, or the latest one for "current".
+     */
+    public Optional<com.fasterxml.jackson.databind.JsonNode> resolveVersion(String appName, String version) {
+        return version.equals("current")
+            ? gitStorageService.getSwagger(appName)
+            : gitStorageService.getSwaggerAtVersion(appName, version);
     }
 
     public List<String> getVersionHistory(String appName) {
         return gitStorageService.getVersionHistory(appName);
     }
+
+    public void forEachVersion(String appName, Consumer<? super String> action) {
+        gitStorageService.forEachVersion(appName, action);
+    }
+
+    public boolean hasApp(String appName) {
+        return gitStorageService.exists(appName);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchExecutor.shutdownNow();
+    }
+
+    private record Checks(QualityScore quality, List<BreakingChange> breakingChanges, List<RouteConflict> routeConflicts) {
+    }
 }
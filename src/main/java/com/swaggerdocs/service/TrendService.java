@@ -0,0 +1,531 @@
+package com.swaggerdocs.service;
+
+import com.swaggerdocs.model.BlobRevision;
+import com.swaggerdocs.model.QualityStats;
+import com.swaggerdocs.model.SwaggerMetadata;
+import com.swaggerdocs.model.TrendPoint;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.lib.Constants;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only quality time series, one per app.
+ *
+ * In memory every app holds two primitive columns (timestamps and scores)
+ * kept in time order, so a window is two binary searches and a scan. On disk,
+ * new samples are appended to a row log that is compacted into immutable
+ * columnar segments of {@value #SEGMENT_ROWS} rows. Scores are 0-100, which
+ * lets aggregates use a 101-slot histogram instead of sorting.
+ *
+ * The first start against an existing catalog backfills the series from the
+ * scores recorded in every historical metadata.json, read in parallel in the
+ * background up to the commit that was current at the first start. That commit
+ * is saved before the scan, so a backfill cut short is run again against the
+ * same bound. Backfilled rows go to segments of their own, which only count
+ * once the completion marker is written.
+ */
+@Slf4j
+@Service
+public class TrendService {
+
+    private static final String CACHE_NAME = "trends";
+    private static final String TAIL_FILE = "tail.log";
+    private static final String BACKFILL_MARKER = "backfill.done";
+    private static final String BACKFILL_PENDING = "backfill.pending";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String BACKFILL_PREFIX = "backfill-";
+    private static final int SEGMENT_MAGIC = 0x51545331;
+    private static final int SEGMENT_ROWS = 4096;
+    private static final int BACKFILL_BATCH = 256;
+    private static final int MAX_BUCKETS = 10_000;
+    private static final String UNASSIGNED_TEAM = "unassigned";
+
+    private final GitStorageService gitStorageService;
+    private final ExecutorService executor;
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+    private final List<Row> tail = new ArrayList<>();
+    /**
+     * Guards the tail and the files; a lock rather than a monitor, as it is
+     * held across file writes and a virtual thread must not pin its carrier.
+     */
+    private final ReentrantLock tailLock = new ReentrantLock();
+
+    private Path dir;
+    private int nextSegment;
+    private volatile CompletableFuture<Void> backfill = CompletableFuture.completedFuture(null);
+
+    public TrendService(GitStorageService gitStorageService) {
+        this.gitStorageService = gitStorageService;
+        var threadFactory = new CustomizableThreadFactory("trend-backfill-");
+        threadFactory.setDaemon(true);
+        this.executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), threadFactory);
+    }
+
+    @PostConstruct
+    public void init() {
+        dir = gitStorageService.getCacheDir(CACHE_NAME);
+        boolean backfilled = Files.exists(dir.resolve(BACKFILL_MARKER));
+        Optional<String> head = Optional.empty();
+        try {
+            if (!backfilled) {
+                // Left by a backfill that stopped before its marker was written
+                deleteSegments(BACKFILL_PREFIX);
+                head = backfillBound();
+            }
+            loadSegments(SEGMENT_PREFIX);
+            if (backfilled) {
+                loadSegments(BACKFILL_PREFIX);
+            }
+            loadTail();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load quality trends", e);
+        }
+
+        if (!backfilled) {
+            Optional<String> bound = head;
+            backfill = CompletableFuture
+                    .supplyAsync(() -> bound.map(gitStorageService::getMetadataRevisions).orElse(List.of()), executor)
+                    .thenCompose(this::backfill)
+                    .whenComplete((ignored, error) -> {
+                        if (error != null) {
+                            log.warn("Quality trend backfill failed: {}", error.getMessage());
+                        }
+                    });
+        }
+    }
+
+    public CompletableFuture<Void> awaitBackfill() {
+        return backfill;
+    }
+
+    public void record(SwaggerMetadata metadata) {
+        Instant timestamp = metadata.getUpdatedAt() != null ? metadata.getUpdatedAt() : Instant.now();
+        var row = new Row(metadata.getAppName(), teamOf(metadata), timestamp.toEpochMilli(), metadata.getQualityScore());
+        tailLock.lock();
+        try {
+            appendToTail(row);
+            tail.add(row);
+            if (tail.size() >= SEGMENT_ROWS) {
+                compact();
+            }
+        } catch (IOException e) {
+            log.warn("Failed to persist quality sample for {}: {}", row.app(), e.getMessage());
+        } finally {
+            tailLock.unlock();
+        }
+        add(row);
+    }
+
+    public boolean hasApp(String appName) {
+        return series.containsKey(appName);
+    }
+
+    public List<TrendPoint> getAppTrend(String appName, Instant from, Instant to) {
+        Series appSeries = series.get(appName);
+        if (appSeries == null) {
+            return List.of();
+        }
+        List<TrendPoint> points = new ArrayList<>();
+        appSeries.forEach(from.toEpochMilli(), to.toEpochMilli(), (timestamp, score) ->
+                points.add(TrendPoint.builder().timestamp(Instant.ofEpochMilli(timestamp)).score(score).build()));
+        return points;
+    }
+
+    /**
+     * Aggregates every sample in the window per team, grouping apps by their current team.
+     */
+    public List<QualityStats> getTeamStats(Instant from, Instant to) {
+        Map<String, Histogram> byTeam = new TreeMap<>();
+        series.values().forEach(appSeries -> {
+            Histogram histogram = byTeam.computeIfAbsent(appSeries.team, k -> new Histogram());
+            if (appSeries.forEach(from.toEpochMilli(), to.toEpochMilli(), histogram::add) > 0) {
+                histogram.apps++;
+            }
+        });
+
+        List<QualityStats> stats = new ArrayList<>();
+        byTeam.forEach((team, histogram) -> {
+            if (histogram.samples > 0) {
+                QualityStats teamStats = histogram.toStats();
+                teamStats.setTeam(team);
+                stats.add(teamStats);
+            }
+        });
+        return stats;
+    }
+
+    /**
+     * Aggregates a team's samples per time bucket; empty buckets are left out.
+     */
+    public List<QualityStats> getTeamTrend(String team, Instant from, Instant to, Duration bucket) {
+        long start = from.toEpochMilli();
+        long width = bucket.toMillis();
+        if (width <= 0) {
+            throw new IllegalArgumentException("Bucket must be positive");
+        }
+        if ((to.toEpochMilli() - start) / width >= MAX_BUCKETS) {
+            throw new IllegalArgumentException("Too many buckets; use a wider bucket or a shorter window");
+        }
+
+        Map<Long, Histogram> buckets = new TreeMap<>();
+        series.values().forEach(appSeries -> {
+            if (!appSeries.team.equals(team)) return;
+            Map<Long, Boolean> seen = new HashMap<>();
+            appSeries.forEach(start, to.toEpochMilli(), (timestamp, score) -> {
+                long index = (timestamp - start) / width;
+                Histogram histogram = buckets.computeIfAbsent(index, k -> new Histogram());
+                histogram.add(timestamp, score);
+                if (seen.put(index, Boolean.TRUE) == null) {
+                    histogram.apps++;
+                }
+            });
+        });
+
+        List<QualityStats> trend = new ArrayList<>(buckets.size());
+        buckets.forEach((index, histogram) -> {
+            QualityStats stats = histogram.toStats();
+            stats.setTeam(team);
+            stats.setStart(Instant.ofEpochMilli(start + index * width));
+            trend.add(stats);
+        });
+        return trend;
+    }
+
+    private CompletableFuture<Void> backfill(List<BlobRevision> revisions) {
+        log.info("Backfilling quality trends from {} metadata revisions", revisions.size());
+        List<CompletableFuture<List<Row>>> batches = new ArrayList<>();
+        for (int i = 0; i < revisions.size(); i += BACKFILL_BATCH) {
+            var batch = revisions.subList(i, Math.min(i + BACKFILL_BATCH, revisions.size()));
+            batches.add(CompletableFuture.supplyAsync(() -> readRows(batch), executor));
+        }
+
+        return CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new)).thenRunAsync(() -> {
+            List<Row> rows = new ArrayList<>(revisions.size());
+            batches.forEach(batch -> rows.addAll(batch.join()));
+            rows.sort(Comparator.comparingLong(Row::timestamp));
+            try {
+                for (int i = 0; i < rows.size(); i += SEGMENT_ROWS) {
+                    writeSegment(rows.subList(i, Math.min(i + SEGMENT_ROWS, rows.size())),
+                            dir.resolve(segmentName(BACKFILL_PREFIX, i / SEGMENT_ROWS)));
+                }
+                // The segments only count from here on
+                writeMarker(BACKFILL_MARKER, Instant.now().toString());
+                Files.deleteIfExists(dir.resolve(BACKFILL_PENDING));
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to persist quality trend backfill", e);
+            }
+            rows.forEach(this::add);
+            log.info("Backfilled {} quality samples", rows.size());
+        }, executor);
+    }
+
+    /**
+     * The last commit the backfill scans. Samples recorded after it are in the
+     * tail or the segments, so a backfill run again after a restart must stop at
+     * the commit the first attempt saw, not at the current HEAD.
+     */
+    private Optional<String> backfillBound() throws IOException {
+        Path pending = dir.resolve(BACKFILL_PENDING);
+        if (Files.exists(pending)) {
+            String commitId = Files.readString(pending).trim();
+            if (!commitId.isEmpty()) {
+                return Optional.of(commitId);
+            }
+        }
+        Optional<String> head = gitStorageService.getCommitId(Constants.HEAD);
+        if (head.isPresent()) {
+            writeMarker(BACKFILL_PENDING, head.get());
+        }
+        return head;
+    }
+
+    private void writeMarker(String name, String content) throws IOException {
+        Path temp = dir.resolve(name + ".tmp");
+        Files.writeString(temp, content);
+        Files.move(temp, dir.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private List<Row> readRows(List<BlobRevision> revisions) {
+        List<Row> rows = new ArrayList<>(revisions.size());
+        for (BlobRevision revision : revisions) {
+            Optional<SwaggerMetadata> metadata;
+            try {
+                metadata = gitStorageService.getMetadataByBlobId(revision.getBlobId());
+            } catch (RuntimeException e) {
+                log.warn("Skipping unreadable metadata of {} ({}): {}",
+                        revision.getAppName(), revision.getBlobId(), e.getMessage());
+                continue;
+            }
+            metadata.ifPresent(meta -> {
+                Instant timestamp = meta.getUpdatedAt() != null ? meta.getUpdatedAt() : revision.getCommitTime();
+                rows.add(new Row(revision.getAppName(), teamOf(meta), timestamp.toEpochMilli(), meta.getQualityScore()));
+            });
+        }
+        return rows;
+    }
+
+    private void add(Row row) {
+        Series appSeries = series.computeIfAbsent(row.app(), k -> new Series());
+        appSeries.add(row.timestamp(), row.score(), row.team());
+    }
+
+    private String teamOf(SwaggerMetadata metadata) {
+        return metadata.getTeam() != null && !metadata.getTeam().isBlank() ? metadata.getTeam() : UNASSIGNED_TEAM;
+    }
+
+    private void appendToTail(Row row) throws IOException {
+        try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(dir.resolve(TAIL_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)))) {
+            out.writeUTF(row.app());
+            out.writeUTF(row.team());
+            out.writeLong(row.timestamp());
+            out.writeByte(row.score());
+        }
+    }
+
+    private void loadTail() throws IOException {
+        Path file = dir.resolve(TAIL_FILE);
+        if (!Files.exists(file)) {
+            return;
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        var in = new DataInputStream(new ByteArrayInputStream(bytes));
+        int valid = 0;
+        try {
+            while (in.available() > 0) {
+                tail.add(new Row(in.readUTF(), in.readUTF(), in.readLong(), in.readUnsignedByte()));
+                valid = bytes.length - in.available();
+            }
+        } catch (EOFException e) {
+            // A write was cut short; drop the partial row so later appends stay readable
+            log.warn("Truncating partial quality sample at the end of {}", file);
+            try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(valid);
+            }
+        }
+        tail.forEach(this::add);
+    }
+
+    private void compact() throws IOException {
+        writeSegment(tail, dir.resolve(segmentName(SEGMENT_PREFIX, nextSegment++)));
+        tail.clear();
+        Files.deleteIfExists(dir.resolve(TAIL_FILE));
+    }
+
+    /**
+     * Segment layout: magic, row count, app table (name and latest team), then
+     * the app reference, timestamp and score columns.
+     */
+    private void writeSegment(List<Row> rows, Path file) throws IOException {
+        Map<String, Integer> appRefs = new LinkedHashMap<>();
+        Map<String, String> teams = new HashMap<>();
+        for (Row row : rows) {
+            appRefs.putIfAbsent(row.app(), appRefs.size());
+            teams.put(row.app(), row.team());
+        }
+
+        Path temp = dir.resolve(file.getFileName() + ".tmp");
+        try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(SEGMENT_MAGIC);
+            out.writeInt(rows.size());
+            out.writeInt(appRefs.size());
+            for (String app : appRefs.keySet()) {
+                out.writeUTF(app);
+                out.writeUTF(teams.get(app));
+            }
+            for (Row row : rows) out.writeInt(appRefs.get(row.app()));
+            for (Row row : rows) out.writeLong(row.timestamp());
+            for (Row row : rows) out.writeByte(row.score());
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String segmentName(String prefix, int index) {
+        return String.format("%s%06d.bin", prefix, index);
+    }
+
+    private List<Path> listSegments(String prefix) throws IOException {
+        try (var files = Files.list(dir)) {
+            return files.filter(f -> {
+                String name = f.getFileName().toString();
+                return name.startsWith(prefix) && name.endsWith(".bin");
+            }).sorted().toList();
+        }
+    }
+
+    private void deleteSegments(String prefix) throws IOException {
+        for (Path segment : listSegments(prefix)) {
+            Files.delete(segment);
+        }
+    }
+
+    private void loadSegments(String prefix) throws IOException {
+        for (Path segment : listSegments(prefix)) {
+            try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment)))) {
+                if (in.readInt() != SEGMENT_MAGIC) {
+                    log.warn("Ignoring unrecognized trend segment {}", segment);
+                    continue;
+                }
+                int rowCount = in.readInt();
+                String[] apps = new String[in.readInt()];
+                String[] teams = new String[apps.length];
+                for (int i = 0; i < apps.length; i++) {
+                    apps[i] = in.readUTF();
+                    teams[i] = in.readUTF();
+                }
+                int[] refs = new int[rowCount];
+                long[] timestamps = new long[rowCount];
+                for (int i = 0; i < rowCount; i++) refs[i] = in.readInt();
+                for (int i = 0; i < rowCount; i++) timestamps[i] = in.readLong();
+                for (int i = 0; i < rowCount; i++) {
+                    series.computeIfAbsent(apps[refs[i]], k -> new Series())
+                            .add(timestamps[i], in.readUnsignedByte(), teams[refs[i]]);
+                }
+            }
+            if (prefix.equals(SEGMENT_PREFIX)) {
+                String name = segment.getFileName().toString();
+                int index = Integer.parseInt(name.substring(prefix.length(), name.length() - ".bin".length()));
+                nextSegment = Math.max(nextSegment, index + 1);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private record Row(String app, String team, long timestamp, int score) {
+        private Row {
+            score = Math.max(0, Math.min(100, score));
+        }
+    }
+
+    @FunctionalInterface
+    private interface SampleConsumer {
+        void accept(long timestamp, int score);
+    }
+
+    /**
+     * One app's samples as parallel primitive arrays, sorted by timestamp.
+     * The team is the one of the most recent sample.
+     */
+    private static final class Series {
+        private long[] timestamps = new long[8];
+        private byte[] scores = new byte[8];
+        private int size;
+        private long teamTimestamp = Long.MIN_VALUE;
+        private volatile String team = UNASSIGNED_TEAM;
+
+        synchronized void add(long timestamp, int score, String sampleTeam) {
+            if (size == timestamps.length) {
+                timestamps = Arrays.copyOf(timestamps, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            // Samples almost always arrive in order; backfilled history may interleave
+            int pos = size;
+            while (pos > 0 && timestamps[pos - 1] > timestamp) pos--;
+            System.arraycopy(timestamps, pos, timestamps, pos + 1, size - pos);
+            System.arraycopy(scores, pos, scores, pos + 1, size - pos);
+            timestamps[pos] = timestamp;
+            scores[pos] = (byte) score;
+            size++;
+
+            if (timestamp >= teamTimestamp) {
+                teamTimestamp = timestamp;
+                team = sampleTeam;
+            }
+        }
+
+        synchronized int forEach(long from, long to, SampleConsumer consumer) {
+            int count = 0;
+            for (int i = lowerBound(from); i < size && timestamps[i] <= to; i++, count++) {
+                consumer.accept(timestamps[i], scores[i]);
+            }
+            return count;
+        }
+
+        private int lowerBound(long timestamp) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (timestamps[mid] < timestamp) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+    }
+
+    private static final class Histogram {
+        private final int[] counts = new int[101];
+        private int samples;
+        private long sum;
+        private int apps;
+
+        void add(long timestamp, int score) {
+            counts[score]++;
+            samples++;
+            sum += score;
+        }
+
+        QualityStats toStats() {
+            return QualityStats.builder()
+                    .apps(apps)
+                    .samples(samples)
+                    .average(Math.round(sum * 100.0 / samples) / 100.0)
+                    .min(percentile(0))
+                    .p50(percentile(50))
+                    .p90(percentile(90))
+                    .max(percentile(100))
+                    .build();
+        }
+
+        /**
+         * Nearest-rank percentile.
+         */
+        private int percentile(int percent) {
+            long rank = Math.max(1, (long) Math.ceil(percent / 100.0 * samples));
+            long seen = 0;
+            for (int score = 0; score < counts.length; score++) {
+                seen += counts[score];
+                if (seen >= rank) {
+                    return score;
+                }
+            }
+            return 100;
+        }
+    }
+}
@@ -1,32 +1,90 @@
 package com.swaggerdocs.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.swaggerdocs.config.ValidationConfig;
 import com.swaggerdocs.model.QualityScore;
 import com.swaggerdocs.model.QualityScore.QualityIssue;
 import com.swaggerdocs.util.OpenApiVersionDetector;
+import com.swaggerdocs.validation.DescriptionsRule;
+import com.swaggerdocs.validation.ExamplesRule;
+import com.swaggerdocs.validation.MetadataRule;
+import com.swaggerdocs.validation.ParallelSpecWalker;
+import com.swaggerdocs.validation.QualityRule;
+import com.swaggerdocs.validation.ResponsesRule;
+import com.swaggerdocs.validation.RuleVisitor;
+import com.swaggerdocs.validation.SchemasRule;
+import com.swaggerdocs.validation.SpecContext;
+import com.swaggerdocs.validation.SpecWalker;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ForkJoinPool;
 
 @Slf4j
 @Service
 public class ValidationService {
 
-    private static final int WEIGHT_DESCRIPTIONS = 25;
-    private static final int WEIGHT_EXAMPLES = 20;
-    private static final int WEIGHT_RESPONSES = 20;
-    private static final int WEIGHT_SCHEMAS = 20;
-    private static final int WEIGHT_METADATA = 15;
+    private final List<QualityRule> rules;
+    private final int[] weights;
+    private final int totalWeight;
+    private volatile RulesVersion rulesVersion;
+    private final boolean parallelizable;
+    private final int parallelThreshold;
+    private final int sliceSize;
+    private final ForkJoinPool pool;
+
+    public ValidationService() {
+        this(List.of(new DescriptionsRule(), new ExamplesRule(), new ResponsesRule(),
+                new SchemasRule(), new MetadataRule()), new ValidationConfig());
+    }
+
+    @Autowired
+    public ValidationService(List<QualityRule> rules, ValidationConfig config) {
+        this.rules = new ArrayList<>(rules);
+        ServiceLoader.load(QualityRule.class).forEach(this.rules::add);
+
+        Map<String, Integer> overrides = config.getWeights();
+        this.weights = new int[this.rules.size()];
+        int sum = 0;
+        for (int i = 0; i < this.rules.size(); i++) {
+            QualityRule rule = this.rules.get(i);
+            weights[i] = overrides.getOrDefault(rule.category(), rule.defaultWeight());
+            sum += weights[i];
+        }
+        this.totalWeight = sum;
+
+        ValidationConfig.ParallelConfig parallel = config.getParallel();
+        this.parallelizable = parallel.isEnabled() && this.rules.stream().allMatch(QualityRule::isParallelizable);
+        this.parallelThreshold = parallel.getThreshold();
+        this.sliceSize = parallel.getSliceSize();
+        int parallelism = parallel.getParallelism() > 0
+                ? parallel.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        // A dedicated pool keeps validation from competing with the common pool
+        this.pool = this.parallelizable ? new ForkJoinPool(parallelism) : null;
+
+        log.info("Loaded {} quality rules: {} (rules version {})", this.rules.size(),
+                this.rules.stream().map(QualityRule::category).toList(), getRulesVersion());
+    }
 
     public QualityScore calculateQuality(JsonNode swagger) {
         List<QualityIssue> issues = new ArrayList<>();
 
-        var specVersion = OpenApiVersionDetector.detectVersion(swagger);
+        var context = new SpecContext(swagger);
         log.debug("Detected spec version: {}", OpenApiVersionDetector.getVersionString(swagger));
 
-        if (specVersion == OpenApiVersionDetector.SpecVersion.UNKNOWN) {
+        if (context.getVersion() == OpenApiVersionDetector.SpecVersion.UNKNOWN) {
             issues.add(QualityIssue.builder()
                     .category("format")
                     .message("Unknown or unsupported specification format. Expected Swagger 2.0 or OpenAPI 3.x")
@@ -34,21 +92,29 @@ public class ValidationService {
                     .build());
         }
 
-        int descriptionScore = checkDescriptions(swagger, issues);
-        int examplesScore = checkExamples(swagger, issues);
-        int responsesScore = checkResponses(swagger, issues);
-        int schemasScore = checkSchemas(swagger, issues);
-        int metadataScore = checkMetadata(swagger, issues);
+        List<RuleVisitor> visitors;
+        if (shouldSplit(context)) {
+            visitors = ParallelSpecWalker.walk(context, rules, pool, sliceSize);
+        } else {
+            visitors = new ArrayList<>(rules.size());
+            for (QualityRule rule : rules) {
+                visitors.add(rule.newVisitor(context));
+            }
+            SpecWalker.walk(context, visitors);
+        }
+
+        long weightedSum = 0;
+        int[] scores = new int[visitors.size()];
+        for (int i = 0; i < visitors.size(); i++) {
+            scores[i] = visitors.get(i).finish(issues);
+            weightedSum += (long) scores[i] * weights[i];
+        }
 
-        int totalScore =
-                (descriptionScore * WEIGHT_DESCRIPTIONS +
-                 examplesScore * WEIGHT_EXAMPLES +
-                 responsesScore * WEIGHT_RESPONSES +
-                 schemasScore * WEIGHT_SCHEMAS +
-                 metadataScore * WEIGHT_METADATA) / 100;
+        int totalScore = totalWeight > 0 ? (int) (weightedSum / totalWeight) : 0;
 
-        log.debug("Quality score calculated: {} (desc={}, ex={}, resp={}, schema={}, meta={})",
-                totalScore, descriptionScore, examplesScore, responsesScore, schemasScore, metadataScore);
+        if (log.isDebugEnabled()) {
+            log.debug("Quality score calculated: {} ({})", totalScore, describe(scores));
+        }
 
         return QualityScore.builder()
                 .score(totalScore)
@@ -56,170 +122,66 @@ public class ValidationService {
                 .build();
     }
 
-    private int checkDescriptions(JsonNode swagger, List<QualityIssue> issues) {
-        int total = 0;
-        int withDescription = 0;
-
-        JsonNode paths = swagger.get("paths");
-        if (paths != null) {
-            var pathIterator = paths.fields();
-            while (pathIterator.hasNext()) {
-                var pathEntry = pathIterator.next();
-                String path = pathEntry.getKey();
-                JsonNode pathItem = pathEntry.getValue();
-
-                var methodIterator = pathItem.fields();
-                while (methodIterator.hasNext()) {
-                    var methodEntry = methodIterator.next();
-                    String method = methodEntry.getKey();
-                    if (method.startsWith("$") || method.equals("parameters")) continue;
-
-                    total++;
-                    JsonNode operation = methodEntry.getValue();
-
-                    if (hasText(operation.get("description")) || hasText(operation.get("summary"))) {
-                        withDescription++;
-                    } else {
-                        issues.add(QualityIssue.builder()
-                                .category("descriptions")
-                                .message("Missing description")
-                                .path(method.toUpperCase() + " " + path)
-                                .build());
-                    }
-                }
-            }
+    /**
+     * Identifies the loaded rule set, including each rule's revision and the
+     * effective weights. Scores computed under a different version are stale.
+     * Rules may change their revision at runtime (lint rule sets reload), so
+     * the version is re-derived whenever a revision changes.
+     */
+    public String getRulesVersion() {
+        int[] revisions = new int[rules.size()];
+        for (int i = 0; i < revisions.length; i++) {
+            revisions[i] = rules.get(i).revision();
         }
-
-        return total > 0 ? (withDescription * 100) / total : 0;
+        RulesVersion cached = rulesVersion;
+        if (cached != null && Arrays.equals(cached.revisions(), revisions)) {
+            return cached.hash();
+        }
+        String hash = computeRulesVersion(revisions);
+        rulesVersion = new RulesVersion(revisions, hash);
+        return hash;
     }
 
-    private int checkExamples(JsonNode swagger, List<QualityIssue> issues) {
-        JsonNode schemas = OpenApiVersionDetector.getSchemas(swagger);
-        if (schemas == null) return 50;
-
-        String schemaPath = OpenApiVersionDetector.isSwagger2(swagger) ? "definitions" : "components/schemas";
-
-        int total = 0;
-        int withExamples = 0;
-
-        var schemaIterator = schemas.fields();
-        while (schemaIterator.hasNext()) {
-            var entry = schemaIterator.next();
-            total++;
-            if (entry.getValue().has("example") || entry.getValue().has("examples")) {
-                withExamples++;
-            }
+    private String computeRulesVersion(int[] revisions) {
+        var sb = new StringBuilder();
+        for (int i = 0; i < rules.size(); i++) {
+            QualityRule rule = rules.get(i);
+            sb.append(rule.getClass().getName()).append(':').append(rule.category())
+                    .append(':').append(revisions[i]).append(':').append(weights[i]).append(';');
         }
-
-        if (total > 0 && withExamples < total) {
-            issues.add(QualityIssue.builder()
-                    .category("examples")
-                    .message(String.format("%d of %d schemas missing examples", total - withExamples, total))
-                    .path(schemaPath)
-                    .build());
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
-
-        return total > 0 ? (withExamples * 100) / total : 50;
     }
 
-    private int checkResponses(JsonNode swagger, List<QualityIssue> issues) {
-        int total = 0;
-        int withErrorResponses = 0;
-
-        JsonNode paths = swagger.get("paths");
-        if (paths == null) return 0;
-
-        var pathIterator = paths.fields();
-        while (pathIterator.hasNext()) {
-            var pathEntry = pathIterator.next();
-            String path = pathEntry.getKey();
-            JsonNode pathItem = pathEntry.getValue();
-
-            var methodIterator = pathItem.fields();
-            while (methodIterator.hasNext()) {
-                var methodEntry = methodIterator.next();
-                String method = methodEntry.getKey();
-                if (method.startsWith("$") || method.equals("parameters")) continue;
-
-                total++;
-                JsonNode responses = methodEntry.getValue().get("responses");
-
-                if (responses != null) {
-                    boolean has4xx = false;
-                    boolean has5xx = false;
-
-                    var respIterator = responses.fieldNames();
-                    while (respIterator.hasNext()) {
-                        String code = respIterator.next();
-                        if (code.startsWith("4")) has4xx = true;
-                        if (code.startsWith("5")) has5xx = true;
-                    }
-
-                    if (has4xx && has5xx) {
-                        withErrorResponses++;
-                    } else {
-                        issues.add(QualityIssue.builder()
-                                .category("responses")
-                                .message("Missing error responses (4xx/5xx)")
-                                .path(method.toUpperCase() + " " + path)
-                                .build());
-                    }
-                }
-            }
+    private boolean shouldSplit(SpecContext context) {
+        if (!parallelizable) {
+            return false;
         }
-
-        return total > 0 ? (withErrorResponses * 100) / total : 0;
+        int entries = (context.getSchemas() != null ? context.getSchemas().size() : 0)
+                + (context.getPaths() != null ? context.getPaths().size() : 0);
+        return entries >= parallelThreshold;
     }
 
-    private int checkSchemas(JsonNode swagger, List<QualityIssue> issues) {
-        JsonNode schemas = OpenApiVersionDetector.getSchemas(swagger);
-        if (schemas != null && schemas.size() > 0) {
-            return 100;
+    @PreDestroy
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdownNow();
         }
-
-        JsonNode paths = swagger.get("paths");
-        if (paths != null && paths.toString().contains("\"type\"")) {
-            issues.add(QualityIssue.builder()
-                    .category("schemas")
-                    .message("Consider using $ref for reusable schemas")
-                    .path("paths")
-                    .build());
-            return 50;
-        }
-
-        return 0;
     }
 
-    private int checkMetadata(JsonNode swagger, List<QualityIssue> issues) {
-        int score = 0;
-        JsonNode info = swagger.get("info");
-
-        if (info == null) {
-            issues.add(QualityIssue.builder()
-                    .category("metadata")
-                    .message("Missing info section")
-                    .path("info")
-                    .build());
-            return 0;
+    private String describe(int[] scores) {
+        var sb = new StringBuilder();
+        for (int i = 0; i < scores.length; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(rules.get(i).category()).append('=').append(scores[i]);
         }
-
-        if (hasText(info.get("title"))) score += 25;
-        if (hasText(info.get("description"))) score += 25;
-        if (hasText(info.get("version"))) score += 25;
-        if (info.has("contact") || hasText(info.get("contact"))) score += 25;
-
-        if (score < 100) {
-            issues.add(QualityIssue.builder()
-                    .category("metadata")
-                    .message("Incomplete info section")
-                    .path("info")
-                    .build());
-        }
-
-        return score;
+        return sb.toString();
     }
 
-    private boolean hasText(JsonNode node) {
-        return node != null && !node.isNull() && !node.asText().isBlank();
+    private record RulesVersion(int[] revisions, String hash) {
     }
 }
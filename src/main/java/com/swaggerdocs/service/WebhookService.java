@@ -0,0 +1,456 @@
+package com.swaggerdocs.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swaggerdocs.config.WebhookConfig;
+import com.swaggerdocs.config.WorkerThreads;
+import com.swaggerdocs.event.SwaggerSavedEvent;
+import com.swaggerdocs.model.WebhookBatch;
+import com.swaggerdocs.model.WebhookEvent;
+import com.swaggerdocs.model.WebhookStats;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Posts breaking changes found at ingest to the configured webhook targets.
+ *
+ * The save only offers the event to a bounded in-memory queue per target.
+ * Each target delivers on its own threads, so a slow or hung target holds up
+ * nobody else: the first queued event waits {@code batch-delay} for others
+ * and up to {@code batch-size} events go out in one request. A failed batch
+ * is written to the spool directory and retried with exponential backoff and
+ * jitter until it is acknowledged, is rejected with a client error, or runs
+ * out of attempts, when it moves to {@code dead/}. A full queue hands a batch
+ * to the spool on the saving thread. Events still queued at shutdown are
+ * spooled too, and the spool is picked up again on startup. Pending retries
+ * keep only the batch id, so memory stays bounded by the queues; without a
+ * spool, events that fit neither the queue nor the retry allowance of the
+ * same size are dropped and counted.
+ */
+@Slf4j
+@Service
+public class WebhookService {
+
+    static final String DELIVERY_HEADER = "X-SwaggerDocs-Delivery";
+    static final String ATTEMPT_HEADER = "X-SwaggerDocs-Attempt";
+    static final String SIGNATURE_HEADER = "X-SwaggerDocs-Signature";
+    private static final String DEAD = "dead";
+
+    private final ObjectMapper objectMapper;
+    private final WebhookConfig config;
+    private final HttpClient httpClient;
+    private final List<Target> targets = new ArrayList<>();
+    private final Path spool;
+
+    public WebhookService(ObjectMapper objectMapper, WebhookConfig config, WorkerThreads workerThreads) {
+        this.objectMapper = objectMapper;
+        this.config = config;
+        this.spool = config.getSpoolPath() != null ? Path.of(config.getSpoolPath()) : null;
+        Set<String> names = new HashSet<>();
+        for (WebhookConfig.TargetConfig target : config.getTargets()) {
+            if (target.getName() == null || !target.getName().matches("^[a-zA-Z0-9_-]+$") || !names.add(target.getName())) {
+                throw new IllegalStateException("Webhook target names must be unique and contain only letters, "
+                        + "numbers, hyphens and underscores: " + target.getName());
+            }
+            if (target.getUrl() == null || target.getUrl().isBlank()) {
+                throw new IllegalStateException("Webhook target " + target.getName() + " has no url");
+            }
+            targets.add(new Target(target, workerThreads));
+        }
+        this.httpClient = HttpClient.newBuilder().connectTimeout(config.getTimeout()).build();
+    }
+
+    @PostConstruct
+    public void init() {
+        for (Target target : targets) {
+            target.recover();
+        }
+    }
+
+    @EventListener
+    public void onSaved(SwaggerSavedEvent event) {
+        if (targets.isEmpty() || event.result().getBreakingChanges() == null
+                || event.result().getBreakingChanges().isEmpty()) {
+            return;
+        }
+        WebhookEvent webhookEvent = WebhookEvent.builder()
+                .appName(event.appName())
+                .team(event.metadata().getTeam())
+                .version(event.result().getVersion())
+                .breakingChanges(event.result().getBreakingChanges())
+                .viewUrl(event.result().getViewUrl())
+                .occurredAt(event.metadata().getUpdatedAt() != null ? event.metadata().getUpdatedAt() : Instant.now())
+                .build();
+        for (Target target : targets) {
+            if (target.accepts(webhookEvent.getTeam())) {
+                target.enqueue(webhookEvent);
+            }
+        }
+    }
+
+    public List<WebhookStats> getStats() {
+        return targets.stream().map(Target::stats).toList();
+    }
+
+    /**
+     * Delay before the given attempt: doubling from the initial backoff up to
+     * the maximum, randomised over its upper half so retries of many batches
+     * do not arrive together.
+     */
+    long backoffMillis(int attempt) {
+        long initial = config.getInitialBackoff().toMillis();
+        long max = config.getMaxBackoff().toMillis();
+        long base = initial << Math.min(Math.max(attempt - 1, 0), 30);
+        base = Math.min(base <= 0 ? max : base, max);
+        return base / 2 + ThreadLocalRandom.current().nextLong(base / 2 + 1);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Target target : targets) {
+            target.shutdown();
+        }
+    }
+
+    private static WebhookBatch newBatch(List<WebhookEvent> events) {
+        return WebhookBatch.builder().id(UUID.randomUUID().toString()).events(events).build();
+    }
+
+    private record SpoolEntry(int attempts, WebhookBatch batch) {
+    }
+
+    private class Target {
+
+        private final WebhookConfig.TargetConfig target;
+        private final Set<String> teams = new HashSet<>();
+        private final ScheduledExecutorService lane;
+        private final BlockingQueue<WebhookEvent> queue;
+        /** Events of retries held in memory because they could not be spooled. */
+        private final AtomicLong heldEvents = new AtomicLong();
+        private final AtomicBoolean flushScheduled = new AtomicBoolean();
+        private final Set<String> spooled = ConcurrentHashMap.newKeySet();
+        private final AtomicLong deliveredEvents = new AtomicLong();
+        private final AtomicLong deliveredBatches = new AtomicLong();
+        private final AtomicLong failedAttempts = new AtomicLong();
+        private final AtomicLong droppedEvents = new AtomicLong();
+        private final AtomicLong latencyTotal = new AtomicLong();
+        private final AtomicLong maxLatency = new AtomicLong();
+        private volatile long lastRequestMs;
+        private volatile String lastError;
+
+        Target(WebhookConfig.TargetConfig target, WorkerThreads workerThreads) {
+            this.target = target;
+            target.getTeams().forEach(team -> teams.add(team.toLowerCase(Locale.ROOT)));
+            this.queue = new ArrayBlockingQueue<>(Math.max(1, config.getQueueCapacity()));
+            this.lane = Executors.newScheduledThreadPool(Math.max(1, config.getThreads()),
+                    workerThreads.factory("webhook-" + target.getName() + "-"));
+        }
+
+        boolean accepts(String team) {
+            return teams.isEmpty() || team != null && teams.contains(team.toLowerCase(Locale.ROOT));
+        }
+
+        void enqueue(WebhookEvent event) {
+            if (!queue.offer(event)) {
+                overflow(event);
+                return;
+            }
+            if (flushScheduled.compareAndSet(false, true)) {
+                schedule(this::flush, config.getBatchDelay().toMillis());
+            }
+        }
+
+        /**
+         * Moves the oldest queued events and this one to the spool as one
+         * batch, so the queue has room again without blocking the save for
+         * longer than a file write or holding more events in memory.
+         */
+        private void overflow(WebhookEvent event) {
+            if (spool == null) {
+                dropOverflow(List.of(event));
+                return;
+            }
+            List<WebhookEvent> events = new ArrayList<>();
+            queue.drainTo(events, Math.max(1, config.getBatchSize()) - 1);
+            events.add(event);
+            WebhookBatch batch = newBatch(events);
+            if (writeSpool(batch, 0)) {
+                schedule(() -> deliverSpooled(batch.getId()), 0);
+            } else {
+                dropOverflow(events);
+            }
+        }
+
+        private void dropOverflow(List<WebhookEvent> events) {
+            droppedEvents.addAndGet(events.size());
+            lastError = "Queue full";
+            log.warn("Webhook {} queue is full, dropped {} events", target.getName(), events.size());
+        }
+
+        private void flush() {
+            List<WebhookEvent> events = new ArrayList<>();
+            while (queue.drainTo(events, Math.max(1, config.getBatchSize())) > 0) {
+                deliver(newBatch(events), 0);
+                events = new ArrayList<>();
+            }
+            flushScheduled.set(false);
+            // An event offered while the flag was still set would otherwise wait for the next one
+            if (!queue.isEmpty() && flushScheduled.compareAndSet(false, true)) {
+                schedule(this::flush, 0);
+            }
+        }
+
+        private void deliver(WebhookBatch batch, int previousAttempts) {
+            int attempt = previousAttempts + 1;
+            String error;
+            boolean retryable = true;
+            try {
+                byte[] body = objectMapper.writeValueAsBytes(batch);
+                HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(target.getUrl()))
+                        .timeout(config.getTimeout())
+                        .header("Content-Type", "application/json")
+                        .header(DELIVERY_HEADER, batch.getId())
+                        .header(ATTEMPT_HEADER, String.valueOf(attempt))
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+                if (target.getSecret() != null && !target.getSecret().isBlank()) {
+                    request.header(SIGNATURE_HEADER, "sha256=" + sign(body));
+                }
+                long start = System.nanoTime();
+                HttpResponse<Void> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding());
+                int status = response.statusCode();
+                if (status >= 200 && status < 300) {
+                    lastRequestMs = (System.nanoTime() - start) / 1_000_000;
+                    delivered(batch);
+                    return;
+                }
+                error = "HTTP " + status;
+                // Other client errors will not go away by sending the same batch again
+                retryable = status >= 500 || status == 408 || status == 429;
+            } catch (IOException | IllegalArgumentException e) {
+                error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                writeSpool(batch, previousAttempts);
+                return;
+            }
+
+            failedAttempts.incrementAndGet();
+            lastError = error;
+            if (!retryable || attempt >= config.getMaxAttempts()) {
+                log.warn("Webhook {} gave up on batch {} of {} events after {} attempts: {}",
+                        target.getName(), batch.getId(), batch.getEvents().size(), attempt, error);
+                deadLetter(batch, attempt);
+                return;
+            }
+            log.debug("Webhook {} attempt {} of batch {} failed: {}", target.getName(), attempt, batch.getId(), error);
+            retryLater(batch, attempt);
+        }
+
+        private void retryLater(WebhookBatch batch, int attempts) {
+            long delay = backoffMillis(Math.max(attempts, 1));
+            if (writeSpool(batch, attempts)) {
+                schedule(() -> deliverSpooled(batch.getId()), delay);
+                return;
+            }
+            int size = batch.getEvents().size();
+            if (heldEvents.addAndGet(size) > config.getQueueCapacity()) {
+                heldEvents.addAndGet(-size);
+                log.warn("Webhook {} has too many retries in memory, dropped batch {} of {} events",
+                        target.getName(), batch.getId(), size);
+                deadLetter(batch, attempts);
+                return;
+            }
+            schedule(() -> {
+                heldEvents.addAndGet(-size);
+                deliver(batch, attempts);
+            }, delay);
+        }
+
+        private void deliverSpooled(String batchId) {
+            SpoolEntry entry;
+            try {
+                entry = objectMapper.readValue(spoolFile(batchId).toFile(), SpoolEntry.class);
+            } catch (IOException e) {
+                log.warn("Webhook {} could not read spooled batch {}: {}", target.getName(), batchId, e.getMessage());
+                spooled.remove(batchId);
+                return;
+            }
+            deliver(entry.batch(), entry.attempts());
+        }
+
+        private void schedule(Runnable task, long delayMillis) {
+            try {
+                lane.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // Shutting down; spooled batches are picked up on the next start
+            }
+        }
+
+        private void delivered(WebhookBatch batch) {
+            long now = System.currentTimeMillis();
+            for (WebhookEvent event : batch.getEvents()) {
+                long latency = Math.max(0, now - event.getOccurredAt().toEpochMilli());
+                latencyTotal.addAndGet(latency);
+                maxLatency.accumulateAndGet(latency, Math::max);
+            }
+            deliveredEvents.addAndGet(batch.getEvents().size());
+            deliveredBatches.incrementAndGet();
+            if (spooled.remove(batch.getId())) {
+                deleteQuietly(spoolFile(batch.getId()));
+            }
+        }
+
+        private void deadLetter(WebhookBatch batch, int attempts) {
+            droppedEvents.addAndGet(batch.getEvents().size());
+            spooled.remove(batch.getId());
+            if (spool == null) {
+                return;
+            }
+            try {
+                Path dead = directory().resolve(DEAD);
+                Files.createDirectories(dead);
+                write(dead.resolve(batch.getId() + ".json"), new SpoolEntry(attempts, batch));
+                deleteQuietly(spoolFile(batch.getId()));
+            } catch (IOException e) {
+                log.warn("Webhook {} could not keep dead batch {}: {}", target.getName(), batch.getId(), e.getMessage());
+            }
+        }
+
+        private boolean writeSpool(WebhookBatch batch, int attempts) {
+            if (spool == null) {
+                return false;
+            }
+            try {
+                Files.createDirectories(directory());
+                write(spoolFile(batch.getId()), new SpoolEntry(attempts, batch));
+                spooled.add(batch.getId());
+                return true;
+            } catch (IOException e) {
+                log.warn("Webhook {} could not spool batch {}: {}", target.getName(), batch.getId(), e.getMessage());
+                return false;
+            }
+        }
+
+        /**
+         * Reschedules the batches spooled by an earlier run.
+         */
+        void recover() {
+            if (spool == null || !Files.isDirectory(directory())) {
+                return;
+            }
+            try (Stream<Path> files = Files.list(directory())) {
+                for (Path file : files.filter(f -> f.getFileName().toString().endsWith(".json")).toList()) {
+                    String batchId = file.getFileName().toString().replaceFirst("\\.json$", "");
+                    spooled.add(batchId);
+                    schedule(() -> deliverSpooled(batchId), backoffMillis(1));
+                }
+            } catch (IOException e) {
+                log.warn("Webhook {} could not read its spool: {}", target.getName(), e.getMessage());
+            }
+            if (!spooled.isEmpty()) {
+                log.info("Webhook {} resumed {} spooled batches", target.getName(), spooled.size());
+            }
+        }
+
+        void shutdown() {
+            lane.shutdownNow();
+            spoolQueued();
+        }
+
+        private void spoolQueued() {
+            List<WebhookEvent> events = new ArrayList<>();
+            while (queue.drainTo(events, Math.max(1, config.getBatchSize())) > 0) {
+                writeSpool(newBatch(events), 0);
+                events = new ArrayList<>();
+            }
+        }
+
+        WebhookStats stats() {
+            long delivered = deliveredEvents.get();
+            return WebhookStats.builder()
+                    .name(target.getName())
+                    .url(target.getUrl())
+                    .queueDepth(queue.size())
+                    .spooledBatches(spooled.size())
+                    .deliveredEvents(delivered)
+                    .deliveredBatches(deliveredBatches.get())
+                    .failedAttempts(failedAttempts.get())
+                    .droppedEvents(droppedEvents.get())
+                    .averageLatencyMs(delivered == 0 ? 0 : latencyTotal.get() / delivered)
+                    .maxLatencyMs(maxLatency.get())
+                    .lastRequestMs(lastRequestMs)
+                    .lastError(lastError)
+                    .build();
+        }
+
+        private String sign(byte[] body) {
+            try {
+                Mac mac = Mac.getInstance("HmacSHA256");
+                mac.init(new SecretKeySpec(target.getSecret().getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+                return HexFormat.of().formatHex(mac.doFinal(body));
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 unavailable", e);
+            }
+        }
+
+        private Path directory() {
+            return spool.resolve(target.getName());
+        }
+
+        private Path spoolFile(String batchId) {
+            return directory().resolve(batchId + ".json");
+        }
+
+        private void write(Path file, SpoolEntry entry) throws IOException {
+            Path staging = Files.createTempFile(file.getParent(), ".spool", null);
+            try {
+                objectMapper.writeValue(staging.toFile(), entry);
+                Files.move(staging, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(staging);
+            }
+        }
+
+        private void deleteQuietly(Path file) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Webhook {} could not delete {}: {}", target.getName(), file, e.getMessage());
+            }
+        }
+    }
+}
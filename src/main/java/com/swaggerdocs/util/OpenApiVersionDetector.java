@@ -72,9 +72,16 @@ public class OpenApiVersionDetector {
      * - OpenAPI 3.x: components/schemas
      */
     public JsonNode getSchemas(JsonNode spec) {
+        return getSchemas(spec, detectVersion(spec));
+    }
+
+    /**
+     * Gets the schemas node for an already detected spec version.
+     */
+    public JsonNode getSchemas(JsonNode spec, SpecVersion version) {
         if (spec == null) return null;
 
-        if (isSwagger2(spec)) {
+        if (version == SpecVersion.SWAGGER_2_0) {
             return spec.get("definitions");
         } else {
             JsonNode components = spec.get("components");
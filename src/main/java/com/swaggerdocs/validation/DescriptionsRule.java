@@ -0,0 +1,68 @@
+package com.swaggerdocs.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.swaggerdocs.model.QualityScore.QualityIssue;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@Order(100)
+public class DescriptionsRule implements QualityRule {
+
+    @Override
+    public String category() {
+        return "descriptions";
+    }
+
+    @Override
+    public int defaultWeight() {
+        return 25;
+    }
+
+    @Override
+    public boolean isParallelizable() {
+        return true;
+    }
+
+    @Override
+    public RuleVisitor newVisitor(SpecContext context) {
+        return new Visitor();
+    }
+
+    private static class Visitor implements RuleVisitor {
+        private final List<QualityIssue> issues = new ArrayList<>();
+        private int total;
+        private int withDescription;
+
+        @Override
+        public void visitOperation(String path, String method, JsonNode operation) {
+            total++;
+            if (Nodes.hasText(operation.get("description")) || Nodes.hasText(operation.get("summary"))) {
+                withDescription++;
+            } else {
+                issues.add(QualityIssue.builder()
+                        .category("descriptions")
+                        .message("Missing description")
+                        .path(method.toUpperCase() + " " + path)
+                        .build());
+            }
+        }
+
+        @Override
+        public void merge(RuleVisitor next) {
+            Visitor other = (Visitor) next;
+            issues.addAll(other.issues);
+            total += other.total;
+            withDescription += other.withDescription;
+        }
+
+        @Override
+        public int finish(List<QualityIssue> result) {
+            result.addAll(issues);
+            return total > 0 ? (withDescription * 100) / total : 0;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.swaggerdocs.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.swaggerdocs.model.QualityScore.QualityIssue;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Order(200)
+public class ExamplesRule implements QualityRule {
+
+    @Override
+    public String category() {
+        return "examples";
+    }
+
+    @Override
+    public int defaultWeight() {
+        return 20;
+    }
+
+    @Override
+    public boolean isParallelizable() {
+        return true;
+    }
+
+    @Override
+    public RuleVisitor newVisitor(SpecContext context) {
+        return new Visitor(context.getSchemaPath());
+    }
+
+    private static class Visitor implements RuleVisitor {
+        private final String schemaPath;
+        private int total;
+        private int withExamples;
+
+        Visitor(String schemaPath) {
+            this.schemaPath = schemaPath;
+        }
+
+        @Override
+        public void visitSchema(String name, JsonNode schema) {
+            total++;
+            if (schema.has("example") || schema.has("examples")) {
+                withExamples++;
+            }
+        }
+
+        @Override
+        public void merge(RuleVisitor next) {
+            Visitor other = (Visitor) next;
+            total += other.total;
+            withExamples += other.withExamples;
+        }
+
+        @Override
+        public int finish(List<QualityIssue> issues) {
+            if (total > 0 && withExamples < total) {
+                issues.add(QualityIssue.builder()
+                        .category("examples")
+                        .message(String.format("%d of %d schemas missing examples", total - withExamples, total))
+                        .path(schemaPath)
+                        .build());
+            }
+            return total > 0 ? (withExamples * 100) / total : 50;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.swaggerdocs.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.swaggerdocs.model.QualityScore.QualityIssue;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Order(500)
+public class MetadataRule implements QualityRule {
+
+    @Override
+    public String category() {
+        return "metadata";
+    }
+
+    @Override
+    public int defaultWeight() {
+        return 15;
+    }
+
+    @Override
+    public boolean isParallelizable() {
+        return true;
+    }
+
+    @Override
+    public RuleVisitor newVisitor(SpecContext context) {
+        return new Visitor();
+    }
+
+    private static class Visitor implements RuleVisitor {
+        private JsonNode info;
+
+        @Override
+        public void visitInfo(JsonNode info) {
+            this.info = info;
+        }
+
+        @Override
+        public void merge(RuleVisitor next) {
+            // Slices never see the info section; it is visited once up front
+        }
+
+        @Override
+        public int finish(List<QualityIssue> issues) {
+            if (info == null) {
+                issues.add(QualityIssue.builder()
+                        .category("metadata")
+                        .message("Missing info section")
+                        .path("info")
+                        .build());
+                return 0;
+            }
+
+            int score = 0;
+            if (Nodes.hasText(info.get("title"))) score += 25;
+            if (Nodes.hasText(info.get("description"))) score += 25;
+            if (Nodes.hasText(info.get("version"))) score += 25;
+            if (info.has("contact") || Nodes.hasText(info.get("contact"))) score += 25;
+
+            if (score < 100) {
+                issues.add(QualityIssue.builder()
+                        .category("metadata")
+                        .message("Incomplete info section")
+                        .path("info")
+                        .build());
+            }
+            return score;
+        }
+    }
+}
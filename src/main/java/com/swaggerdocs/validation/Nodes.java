@@ -0,0 +1,13 @@
+package com.swaggerdocs.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+final class Nodes {
+
+    private Nodes() {
+    }
+
+    static boolean hasText(JsonNode node) {
+        return node != null && !node.isNull() && !node.asText().isBlank();
+    }
+}
@@ -0,0 +1,114 @@
+package com.swaggerdocs.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork-join variant of {@link SpecWalker} for very large specs.
+ *
+ * Schemas and path items are laid out in document order and split recursively
+ * into slices of at most {@code sliceSize} entries. Each slice is walked by its
+ * own set of visitors, and sibling slices are merged left to right, so the
+ * merged visitors hold exactly the state one sequential walk would produce.
+ * All rules must be {@link QualityRule#isParallelizable() parallelizable}.
+ */
+public final class ParallelSpecWalker {
+
+    private ParallelSpecWalker() {
+    }
+
+    public static List<RuleVisitor> walk(SpecContext context, List<QualityRule> rules,
+                                         ForkJoinPool pool, int sliceSize) {
+        List<RuleVisitor> visitors = newVisitors(context, rules);
+        JsonNode info = context.getSpec().get("info");
+        for (RuleVisitor visitor : visitors) {
+            visitor.visitInfo(info);
+        }
+
+        List<Entry> entries = entries(context);
+        if (!entries.isEmpty()) {
+            var task = new SliceTask(context, rules, entries, 0, entries.size(), Math.max(1, sliceSize));
+            merge(visitors, pool.invoke(task));
+        }
+        return visitors;
+    }
+
+    private static List<Entry> entries(SpecContext context) {
+        JsonNode schemas = context.getSchemas();
+        JsonNode paths = context.getPaths();
+        List<Entry> entries = new ArrayList<>((schemas != null ? schemas.size() : 0) + (paths != null ? paths.size() : 0));
+
+        if (schemas != null) {
+            schemas.fields().forEachRemaining(e -> entries.add(new Entry(true, e.getKey(), e.getValue())));
+        }
+        if (paths != null) {
+            paths.fields().forEachRemaining(e -> entries.add(new Entry(false, e.getKey(), e.getValue())));
+        }
+        return entries;
+    }
+
+    private static List<RuleVisitor> newVisitors(SpecContext context, List<QualityRule> rules) {
+        List<RuleVisitor> visitors = new ArrayList<>(rules.size());
+        for (QualityRule rule : rules) {
+            visitors.add(rule.newVisitor(context));
+        }
+        return visitors;
+    }
+
+    private static void merge(List<RuleVisitor> into, List<RuleVisitor> next) {
+        for (int i = 0; i < into.size(); i++) {
+            into.get(i).merge(next.get(i));
+        }
+    }
+
+    private record Entry(boolean schema, String key, JsonNode node) {
+    }
+
+    private static final class SliceTask extends RecursiveTask<List<RuleVisitor>> {
+        private final SpecContext context;
+        private final List<QualityRule> rules;
+        private final List<Entry> entries;
+        private final int from;
+        private final int to;
+        private final int sliceSize;
+
+        private SliceTask(SpecContext context, List<QualityRule> rules, List<Entry> entries,
+                          int from, int to, int sliceSize) {
+            this.context = context;
+            this.rules = rules;
+            this.entries = entries;
+            this.from = from;
+            this.to = to;
+            this.sliceSize = sliceSize;
+        }
+
+        @Override
+        protected List<RuleVisitor> compute() {
+            if (to - from <= sliceSize) {
+                List<RuleVisitor> visitors = newVisitors(context, rules);
+                for (int i = from; i < to; i++) {
+                    Entry entry = entries.get(i);
+                    if (entry.schema()) {
+                        SpecWalker.walkSchema(entry.key(), entry.node(), visitors);
+                    } else {
+                        SpecWalker.walkPathItem(entry.key(), entry.node(), visitors);
+                    }
+                }
+                return visitors;
+            }
+
+            int mid = (from + to) >>> 1;
+            var left = new SliceTask(context, rules, entries, from, mid, sliceSize);
+            var right = new SliceTask(context, rules, entries, mid, to, sliceSize);
+            left.fork();
+            List<RuleVisitor> rightVisitors = right.compute();
+            List<RuleVisitor> leftVisitors = left.join();
+            merge(leftVisitors, rightVisitors);
+            return leftVisitors;
+        }
+    }
+}
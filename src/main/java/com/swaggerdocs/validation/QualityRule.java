@@ -0,0 +1,40 @@
+package com.swaggerdocs.validation;
+
+/**
+ * A quality scoring rule. Rules are discovered as Spring beans, or through
+ * {@link java.util.ServiceLoader} for rules shipped in external jars, and all
+ * of them are evaluated during a single traversal of the spec.
+ */
+public interface QualityRule {
+
+    /**
+     * Category reported on issues and used as the key for weight overrides
+     * ({@code swaggerdocs.validation.weights.<category>}).
+     */
+    String category();
+
+    int defaultWeight();
+
+    /**
+     * Creates the per-evaluation state for one spec. Rules themselves are shared
+     * and must stay stateless.
+     */
+    RuleVisitor newVisitor(SpecContext context);
+
+    /**
+     * Revision of the rule's logic. Bump it whenever the rule would score the
+     * same spec differently, so persisted scores are recomputed.
+     */
+    default int revision() {
+        return 1;
+    }
+
+    /**
+     * Whether visitors of this rule implement {@link RuleVisitor#merge}, allowing
+     * large specs to be evaluated in parallel slices. A single rule without merge
+     * support keeps the whole evaluation sequential.
+     */
+    default boolean isParallelizable() {
+        return false;
+    }
+}
@@ -0,0 +1,81 @@
+package com.swaggerdocs.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.swaggerdocs.model.QualityScore.QualityIssue;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@Order(300)
+public class ResponsesRule implements QualityRule {
+
+    @Override
+    public String category() {
+        return "responses";
+    }
+
+    @Override
+    public int defaultWeight() {
+        return 20;
+    }
+
+    @Override
+    public boolean isParallelizable() {
+        return true;
+    }
+
+    @Override
+    public RuleVisitor newVisitor(SpecContext context) {
+        return new Visitor();
+    }
+
+    private static class Visitor implements RuleVisitor {
+        private final List<QualityIssue> issues = new ArrayList<>();
+        private int total;
+        private int withErrorResponses;
+
+        @Override
+        public void visitOperation(String path, String method, JsonNode operation) {
+            total++;
+            JsonNode responses = operation.get("responses");
+            if (responses == null) return;
+
+            boolean has4xx = false;
+            boolean has5xx = false;
+
+            var respIterator = responses.fieldNames();
+            while (respIterator.hasNext()) {
+                String code = respIterator.next();
+                if (code.startsWith("4")) has4xx = true;
+                if (code.startsWith("5")) has5xx = true;
+            }
+
+            if (has4xx && has5xx) {
+                withErrorResponses++;
+            } else {
+                issues.add(QualityIssue.builder()
+                        .category("responses")
+                        .message("Missing error responses (4xx/5xx)")
+                        .path(method.toUpperCase() + " " + path)
+                        .build());
+            }
+        }
+
+        @Override
+        public void merge(RuleVisitor next) {
+            Visitor other = (Visitor) next;
+            issues.addAll(other.issues);
+            total += other.total;
+            withErrorResponses += other.withErrorResponses;
+        }
+
+        @Override
+        public int finish(List<QualityIssue> result) {
+            result.addAll(issues);
+            return total > 0 ? (withErrorResponses * 100) / total : 0;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.swaggerdocs.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.swaggerdocs.model.QualityScore.QualityIssue;
+
+import java.util.List;
+
+/**
+ * Receives the nodes a rule subscribes to while {@link SpecWalker} traverses a spec.
+ * Callbacks arrive in document order: info, then schemas, then path items with
+ * their operations.
+ */
+public interface RuleVisitor {
+
+    /**
+     * Called once, with {@code null} when the spec has no info section.
+     */
+    default void visitInfo(JsonNode info) {
+    }
+
+    default void visitSchema(String name, JsonNode schema) {
+    }
+
+    default void visitPathItem(String path, JsonNode pathItem) {
+    }
+
+    default void visitOperation(String path, String method, JsonNode operation) {
+    }
+
+    /**
+     * Folds in the state of a visitor of the same rule that saw the next, disjoint
+     * slice of schemas and path items. Only called for rules that report
+     * {@link QualityRule#isParallelizable()}; merging slices in document order
+     * must give the same result as one sequential traversal.
+     */
+    default void merge(RuleVisitor next) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support merging");
+    }
+
+    /**
+     * Called after the traversal. Appends the issues found and returns a score from 0 to 100.
+     */
+    int finish(List<QualityIssue> issues);
+}
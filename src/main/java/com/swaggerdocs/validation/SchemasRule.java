@@ -0,0 +1,93 @@
+package com.swaggerdocs.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.swaggerdocs.model.QualityScore.QualityIssue;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Order(400)
+public class SchemasRule implements QualityRule {
+
+    @Override
+    public String category() {
+        return "schemas";
+    }
+
+    @Override
+    public int defaultWeight() {
+        return 20;
+    }
+
+    @Override
+    public boolean isParallelizable() {
+        return true;
+    }
+
+    @Override
+    public RuleVisitor newVisitor(SpecContext context) {
+        return new Visitor(context.hasSchemas());
+    }
+
+    private static class Visitor implements RuleVisitor {
+        private final boolean hasSchemas;
+        private boolean inlineTypes;
+
+        Visitor(boolean hasSchemas) {
+            this.hasSchemas = hasSchemas;
+        }
+
+        @Override
+        public void visitPathItem(String path, JsonNode pathItem) {
+            // Only relevant without reusable schemas; stop searching at the first hit
+            if (!hasSchemas && !inlineTypes) {
+                inlineTypes = containsType(pathItem);
+            }
+        }
+
+        @Override
+        public void merge(RuleVisitor next) {
+            inlineTypes |= ((Visitor) next).inlineTypes;
+        }
+
+        @Override
+        public int finish(List<QualityIssue> issues) {
+            if (hasSchemas) {
+                return 100;
+            }
+            if (inlineTypes) {
+                issues.add(QualityIssue.builder()
+                        .category("schemas")
+                        .message("Consider using $ref for reusable schemas")
+                        .path("paths")
+                        .build());
+                return 50;
+            }
+            return 0;
+        }
+
+        private boolean containsType(JsonNode node) {
+            if (node.isTextual()) {
+                return node.asText().equals("type");
+            }
+            if (node.isObject()) {
+                var fields = node.fields();
+                while (fields.hasNext()) {
+                    var field = fields.next();
+                    if (field.getKey().equals("type") || containsType(field.getValue())) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            for (JsonNode child : node) {
+                if (containsType(child)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.swaggerdocs.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.swaggerdocs.util.OpenApiVersionDetector;
+import com.swaggerdocs.util.OpenApiVersionDetector.SpecVersion;
+import lombok.Getter;
+
+/**
+ * Facts about a spec that rules commonly need, resolved once per evaluation.
+ */
+@Getter
+public class SpecContext {
+    private final JsonNode spec;
+    private final SpecVersion version;
+    private final JsonNode schemas;
+    private final JsonNode paths;
+    private final String schemaPath;
+
+    public SpecContext(JsonNode spec) {
+        this.spec = spec;
+        this.version = OpenApiVersionDetector.detectVersion(spec);
+        this.schemas = OpenApiVersionDetector.getSchemas(spec, version);
+        this.paths = spec.get("paths");
+        this.schemaPath = version == SpecVersion.SWAGGER_2_0 ? "definitions" : "components/schemas";
+    }
+
+    public boolean hasSchemas() {
+        return schemas != null && schemas.size() > 0;
+    }
+}
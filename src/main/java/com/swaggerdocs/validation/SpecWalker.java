@@ -0,0 +1,62 @@
+package com.swaggerdocs.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+
+/**
+ * Traverses a spec once and dispatches every node to all subscribed visitors.
+ */
+public final class SpecWalker {
+
+    private SpecWalker() {
+    }
+
+    public static void walk(SpecContext context, List<RuleVisitor> visitors) {
+        JsonNode info = context.getSpec().get("info");
+        for (RuleVisitor visitor : visitors) {
+            visitor.visitInfo(info);
+        }
+
+        JsonNode schemas = context.getSchemas();
+        if (schemas != null) {
+            var schemaIterator = schemas.fields();
+            while (schemaIterator.hasNext()) {
+                var entry = schemaIterator.next();
+                walkSchema(entry.getKey(), entry.getValue(), visitors);
+            }
+        }
+
+        JsonNode paths = context.getPaths();
+        if (paths != null) {
+            var pathIterator = paths.fields();
+            while (pathIterator.hasNext()) {
+                var pathEntry = pathIterator.next();
+                walkPathItem(pathEntry.getKey(), pathEntry.getValue(), visitors);
+            }
+        }
+    }
+
+    static void walkSchema(String name, JsonNode schema, List<RuleVisitor> visitors) {
+        for (RuleVisitor visitor : visitors) {
+            visitor.visitSchema(name, schema);
+        }
+    }
+
+    static void walkPathItem(String path, JsonNode pathItem, List<RuleVisitor> visitors) {
+        for (RuleVisitor visitor : visitors) {
+            visitor.visitPathItem(path, pathItem);
+        }
+
+        var methodIterator = pathItem.fields();
+        while (methodIterator.hasNext()) {
+            var methodEntry = methodIterator.next();
+            String method = methodEntry.getKey();
+            if (method.startsWith("$") || method.equals("parameters")) continue;
+
+            for (RuleVisitor visitor : visitors) {
+                visitor.visitOperation(path, method, methodEntry.getValue());
+            }
+        }
+    }
+}
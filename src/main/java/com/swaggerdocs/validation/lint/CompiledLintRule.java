@@ -0,0 +1,78 @@
+package com.swaggerdocs.validation.lint;
+
+import com.swaggerdocs.model.LintRuleStats;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lint rule with its selectors and functions compiled, plus the counters
+ * used to find slow or noisy rules.
+ */
+final class CompiledLintRule {
+
+    final String name;
+    final String source;
+    final String message;
+    final List<String> given;
+    final JsonPathSelector.Step[][] selectors;
+    final String[] fields;
+    final LintFunctions.Check[] checks;
+
+    final LongAdder matches = new LongAdder();
+    final LongAdder violations = new LongAdder();
+    final LongAdder nanos = new LongAdder();
+
+    private CompiledLintRule(String name, String source, String message, List<String> given,
+                             JsonPathSelector.Step[][] selectors, String[] fields, LintFunctions.Check[] checks) {
+        this.name = name;
+        this.source = source;
+        this.message = message;
+        this.given = given;
+        this.selectors = selectors;
+        this.fields = fields;
+        this.checks = checks;
+    }
+
+    /**
+     * @throws IllegalArgumentException if a selector or function cannot be compiled
+     */
+    static CompiledLintRule compile(String name, String source, LintRuleDefinition definition) {
+        if (definition.getGiven() == null || definition.getGiven().isEmpty()) {
+            throw new IllegalArgumentException("Missing 'given'");
+        }
+        if (definition.getThen() == null || definition.getThen().isEmpty()) {
+            throw new IllegalArgumentException("Missing 'then'");
+        }
+
+        var selectors = new JsonPathSelector.Step[definition.getGiven().size()][];
+        for (int i = 0; i < selectors.length; i++) {
+            selectors[i] = JsonPathSelector.compile(definition.getGiven().get(i));
+        }
+
+        int count = definition.getThen().size();
+        var fields = new String[count];
+        var checks = new LintFunctions.Check[count];
+        for (int i = 0; i < count; i++) {
+            var then = definition.getThen().get(i);
+            fields[i] = then.getField();
+            checks[i] = LintFunctions.compile(then.getFunction(),
+                    then.getFunctionOptions() != null ? then.getFunctionOptions() : Map.of());
+        }
+
+        String message = definition.getMessage() != null ? definition.getMessage() : definition.getDescription();
+        return new CompiledLintRule(name, source, message, List.copyOf(definition.getGiven()), selectors, fields, checks);
+    }
+
+    LintRuleStats stats() {
+        return LintRuleStats.builder()
+                .name(name)
+                .source(source)
+                .given(given)
+                .matches(matches.sum())
+                .violations(violations.sum())
+                .totalMicros(nanos.sum() / 1000)
+                .build();
+    }
+}
@@ -0,0 +1,102 @@
+package com.swaggerdocs.validation.lint;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiles the JSONPath subset used by lint rules into a list of steps:
+ * {@code $}, {@code .name}, {@code ['name']}, {@code [n]}, {@code .*},
+ * {@code [*]} and recursive descent ({@code ..name}, {@code ..*}).
+ * Filter expressions are rejected when the rule is loaded.
+ */
+final class JsonPathSelector {
+
+    enum Kind { CHILD, INDEX, WILDCARD }
+
+    /**
+     * One step of a selector. A descendant step may skip any number of levels
+     * before matching.
+     */
+    record Step(Kind kind, String name, int index, boolean descendant) {
+
+        boolean matches(String key, int arrayIndex) {
+            return switch (kind) {
+                case WILDCARD -> true;
+                case CHILD -> key != null && key.equals(name);
+                case INDEX -> key == null && arrayIndex == index;
+            };
+        }
+    }
+
+    private JsonPathSelector() {
+    }
+
+    static Step[] compile(String expression) {
+        if (expression == null || !expression.startsWith("$")) {
+            throw new IllegalArgumentException("Selector must start with '$': " + expression);
+        }
+
+        List<Step> steps = new ArrayList<>();
+        boolean descendant = false;
+        int i = 1;
+        while (i < expression.length()) {
+            char c = expression.charAt(i);
+
+            if (c == '.' && !descendant && expression.startsWith("..", i)) {
+                // Recursive descent applies to the step that follows, dotted or bracketed
+                descendant = true;
+                i += 2;
+                if (i < expression.length() && expression.charAt(i) == '[') {
+                    continue;
+                }
+                i = dotted(expression, i, descendant, steps);
+            } else if (c == '.' && !descendant) {
+                i = dotted(expression, i + 1, false, steps);
+            } else if (c == '[') {
+                i = bracketed(expression, i, descendant, steps);
+            } else {
+                throw unsupported(expression, i);
+            }
+            descendant = false;
+        }
+        return steps.toArray(Step[]::new);
+    }
+
+    private static int dotted(String expression, int start, boolean descendant, List<Step> steps) {
+        int end = start;
+        while (end < expression.length() && expression.charAt(end) != '.' && expression.charAt(end) != '[') {
+            end++;
+        }
+        String name = expression.substring(start, end);
+        if (name.isEmpty()) {
+            throw unsupported(expression, start);
+        }
+        steps.add(name.equals("*")
+                ? new Step(Kind.WILDCARD, null, -1, descendant)
+                : new Step(Kind.CHILD, name, -1, descendant));
+        return end;
+    }
+
+    private static int bracketed(String expression, int start, boolean descendant, List<Step> steps) {
+        int close = expression.indexOf(']', start);
+        if (close < 0) {
+            throw unsupported(expression, start);
+        }
+        String inner = expression.substring(start + 1, close).trim();
+        if (inner.equals("*")) {
+            steps.add(new Step(Kind.WILDCARD, null, -1, descendant));
+        } else if (inner.matches("\\d+")) {
+            steps.add(new Step(Kind.INDEX, null, Integer.parseInt(inner), descendant));
+        } else if (inner.length() >= 2 && (inner.charAt(0) == '\'' || inner.charAt(0) == '"')
+                && inner.charAt(inner.length() - 1) == inner.charAt(0)) {
+            steps.add(new Step(Kind.CHILD, inner.substring(1, inner.length() - 1), -1, descendant));
+        } else {
+            throw unsupported(expression, start);
+        }
+        return close + 1;
+    }
+
+    private static IllegalArgumentException unsupported(String expression, int position) {
+        return new IllegalArgumentException("Unsupported selector syntax at position " + position + ": " + expression);
+    }
+}
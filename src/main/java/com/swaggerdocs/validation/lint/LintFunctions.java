@@ -0,0 +1,133 @@
+package com.swaggerdocs.validation.lint;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Built-in lint functions, compiled once per rule with their options resolved
+ * (regular expressions compiled, enumerations turned into sets).
+ */
+final class LintFunctions {
+
+    /**
+     * Checks a target node; {@code null} means the field is absent. Returns a
+     * description of the failure, or {@code null} when the node passes.
+     */
+    @FunctionalInterface
+    interface Check {
+        String check(JsonNode target);
+    }
+
+    private static final Map<String, String> CASINGS = Map.of(
+            "flat", "^[a-z][a-z0-9]*$",
+            "camel", "^[a-z][a-z0-9]*(?:[A-Z][a-z0-9]*)*$",
+            "pascal", "^[A-Z][a-z0-9]*(?:[A-Z][a-z0-9]*)*$",
+            "kebab", "^[a-z][a-z0-9]*(?:-[a-z0-9]+)*$",
+            "cobol", "^[A-Z][A-Z0-9]*(?:-[A-Z0-9]+)*$",
+            "snake", "^[a-z][a-z0-9]*(?:_[a-z0-9]+)*$",
+            "macro", "^[A-Z][A-Z0-9]*(?:_[A-Z0-9]+)*$"
+    );
+
+    private LintFunctions() {
+    }
+
+    static Check compile(String function, Map<String, Object> options) {
+        if (function == null) {
+            throw new IllegalArgumentException("Missing function");
+        }
+        return switch (function) {
+            case "truthy" -> target -> isTruthy(target) ? null : "must be present and not empty";
+            case "falsy" -> target -> isTruthy(target) ? "must be absent or empty" : null;
+            case "defined" -> target -> target != null ? null : "must be defined";
+            case "undefined" -> target -> target == null ? null : "must not be defined";
+            case "pattern" -> pattern(options);
+            case "casing" -> casing(options);
+            case "enumeration" -> enumeration(options);
+            case "length" -> length(options);
+            default -> throw new IllegalArgumentException("Unknown function: " + function);
+        };
+    }
+
+    private static Check pattern(Map<String, Object> options) {
+        Pattern match = compileOption(options, "match");
+        Pattern notMatch = compileOption(options, "notMatch");
+        if (match == null && notMatch == null) {
+            throw new IllegalArgumentException("pattern requires 'match' or 'notMatch'");
+        }
+        return target -> {
+            if (target == null || !target.isValueNode()) return null;
+            String text = target.asText();
+            if (match != null && !match.matcher(text).find()) {
+                return "\"" + text + "\" must match " + match.pattern();
+            }
+            if (notMatch != null && notMatch.matcher(text).find()) {
+                return "\"" + text + "\" must not match " + notMatch.pattern();
+            }
+            return null;
+        };
+    }
+
+    private static Check casing(Map<String, Object> options) {
+        Object type = options.get("type");
+        String regex = type != null ? CASINGS.get(type.toString()) : null;
+        if (regex == null) {
+            throw new IllegalArgumentException("casing requires 'type', one of " + CASINGS.keySet());
+        }
+        Pattern pattern = Pattern.compile(regex);
+        return target -> {
+            if (target == null || !target.isTextual()) return null;
+            return pattern.matcher(target.asText()).matches() ? null : "\"" + target.asText() + "\" must be " + type + " case";
+        };
+    }
+
+    private static Check enumeration(Map<String, Object> options) {
+        if (!(options.get("values") instanceof List<?> values)) {
+            throw new IllegalArgumentException("enumeration requires a 'values' list");
+        }
+        Set<String> allowed = values.stream().map(String::valueOf).collect(Collectors.toUnmodifiableSet());
+        return target -> {
+            if (target == null || !target.isValueNode()) return null;
+            return allowed.contains(target.asText()) ? null : "\"" + target.asText() + "\" must be one of " + values;
+        };
+    }
+
+    private static Check length(Map<String, Object> options) {
+        Integer min = intOption(options, "min");
+        Integer max = intOption(options, "max");
+        if (min == null && max == null) {
+            throw new IllegalArgumentException("length requires 'min' or 'max'");
+        }
+        return target -> {
+            if (target == null) return null;
+            int length = target.isTextual() ? target.asText().length() : target.size();
+            if (min != null && length < min) return "length " + length + " is below " + min;
+            if (max != null && length > max) return "length " + length + " exceeds " + max;
+            return null;
+        };
+    }
+
+    private static boolean isTruthy(JsonNode node) {
+        if (node == null || node.isNull()) return false;
+        if (node.isBoolean()) return node.asBoolean();
+        if (node.isTextual()) return !node.asText().isEmpty();
+        if (node.isNumber()) return node.asDouble() != 0;
+        return true;
+    }
+
+    private static Pattern compileOption(Map<String, Object> options, String key) {
+        Object value = options.get(key);
+        return value != null ? Pattern.compile(value.toString()) : null;
+    }
+
+    private static Integer intOption(Map<String, Object> options, String key) {
+        Object value = options.get(key);
+        if (value == null) return null;
+        if (value instanceof Number number) return number.intValue();
+        throw new IllegalArgumentException("'" + key + "' must be a number");
+    }
+}
@@ -0,0 +1,131 @@
+package com.swaggerdocs.validation.lint;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.swaggerdocs.model.QualityScore.QualityIssue;
+import com.swaggerdocs.validation.QualityRule;
+import com.swaggerdocs.validation.RuleVisitor;
+import com.swaggerdocs.validation.SpecContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Evaluates the organization's declarative lint rules as part of quality
+ * scoring. Its default weight is 0, so violations are reported as issues
+ * without affecting the score unless a weight is configured for "lint".
+ */
+@Component
+@Order(600)
+@RequiredArgsConstructor
+public class LintRule implements QualityRule {
+
+    private static final String CATEGORY = "lint";
+
+    private final LintRuleLoader loader;
+
+    @Override
+    public String category() {
+        return CATEGORY;
+    }
+
+    @Override
+    public int defaultWeight() {
+        return 0;
+    }
+
+    @Override
+    public int revision() {
+        return loader.getRuleSet().revision();
+    }
+
+    @Override
+    public boolean isParallelizable() {
+        return true;
+    }
+
+    @Override
+    public RuleVisitor newVisitor(SpecContext context) {
+        return new Visitor(loader.getRuleSet(), context);
+    }
+
+    /**
+     * The document outside of paths and schemas is walked from the root when
+     * info is visited; schemas and path items are walked as they are visited,
+     * starting from the automaton states reached at their container.
+     */
+    private static class Visitor implements RuleVisitor {
+        private final LintRuleSet ruleSet;
+        private final SpecContext context;
+        private final List<QualityIssue> issues = new ArrayList<>();
+        private final BitSet violated = new BitSet();
+        private final LintRuleSet.Sink sink = this::report;
+        private int[] schemaStates;
+        private int[] pathStates;
+
+        Visitor(LintRuleSet ruleSet, SpecContext context) {
+            this.ruleSet = ruleSet;
+            this.context = context;
+        }
+
+        @Override
+        public void visitInfo(JsonNode info) {
+            if (ruleSet.size() == 0) return;
+            ruleSet.walk(context.getSpec(), null, ruleSet.initialStates(), new StringBuilder(),
+                    context.getPaths(), context.getSchemas(), sink);
+        }
+
+        @Override
+        public void visitSchema(String name, JsonNode schema) {
+            if (ruleSet.size() == 0) return;
+            if (schemaStates == null) {
+                schemaStates = ruleSet.advance(ruleSet.initialStates(), context.getSchemaPath().split("/"));
+            }
+            walkEntry(schemaStates, "/" + context.getSchemaPath(), name, schema);
+        }
+
+        @Override
+        public void visitPathItem(String path, JsonNode pathItem) {
+            if (ruleSet.size() == 0) return;
+            if (pathStates == null) {
+                pathStates = ruleSet.advance(ruleSet.initialStates(), "paths");
+            }
+            walkEntry(pathStates, "/paths", path, pathItem);
+        }
+
+        private void walkEntry(int[] containerStates, String containerPointer, String key, JsonNode node) {
+            int[] states = ruleSet.advance(containerStates, key);
+            if (states.length == 0) return;
+            var pointer = new StringBuilder(containerPointer);
+            LintRuleSet.appendToken(pointer, key);
+            ruleSet.walk(node, key, states, pointer, null, null, sink);
+        }
+
+        private void report(int ruleIndex, String pointer, String failure) {
+            violated.set(ruleIndex);
+            CompiledLintRule rule = ruleSet.rule(ruleIndex);
+            issues.add(QualityIssue.builder()
+                    .category(CATEGORY)
+                    .message(rule.name + ": " + (rule.message != null ? rule.message + " (" + failure + ")" : failure))
+                    .path(pointer)
+                    .build());
+        }
+
+        @Override
+        public void merge(RuleVisitor next) {
+            Visitor other = (Visitor) next;
+            issues.addAll(other.issues);
+            violated.or(other.violated);
+        }
+
+        @Override
+        public int finish(List<QualityIssue> result) {
+            result.addAll(issues);
+            int total = ruleSet.size();
+            return total == 0 ? 100 : (total - violated.cardinality()) * 100 / total;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.swaggerdocs.validation.lint;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A lint rule as written in a rule set file. The format follows Spectral:
+ * {@code given} selects nodes with JSONPath and every {@code then} applies a
+ * function to the node or one of its fields. Unknown keys such as
+ * {@code severity} or {@code recommended} are accepted and ignored.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class LintRuleDefinition {
+    private String description;
+    private String message;
+
+    @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+    private List<String> given;
+
+    @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+    private List<Then> then;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Then {
+        /**
+         * Field of the matched node to check; {@code @key} checks the node's own key.
+         */
+        private String field;
+        private String function;
+        @Builder.Default
+        private Map<String, Object> functionOptions = new LinkedHashMap<>();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class RuleSet {
+        private Map<String, LintRuleDefinition> rules = new LinkedHashMap<>();
+    }
+}
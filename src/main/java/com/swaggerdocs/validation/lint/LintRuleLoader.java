@@ -0,0 +1,173 @@
+package com.swaggerdocs.validation.lint;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.swaggerdocs.config.LintConfig;
+import com.swaggerdocs.config.StorageConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads lint rule sets from a directory and keeps them current. Files are
+ * polled and only recompiled when their content changes; a file that fails to
+ * parse keeps its previously loaded rules, and a rule that fails to compile is
+ * skipped without affecting the rest of its file.
+ */
+@Slf4j
+@Component
+public class LintRuleLoader {
+
+    private static final String DEFAULT_DIRECTORY = ".lint";
+
+    private final Path directory;
+    private final long reloadIntervalMs;
+    private final ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory());
+    private final Map<Path, LoadedFile> files = new HashMap<>();
+
+    private volatile LintRuleSet ruleSet = LintRuleSet.EMPTY;
+    private ScheduledExecutorService scheduler;
+
+    @Autowired
+    public LintRuleLoader(LintConfig config, StorageConfig storageConfig) {
+        this(config.getDirectory() != null
+                        ? Path.of(config.getDirectory())
+                        : Path.of(storageConfig.getPath()).resolve(DEFAULT_DIRECTORY),
+                config.getReloadIntervalMs());
+    }
+
+    public LintRuleLoader(Path directory, long reloadIntervalMs) {
+        this.directory = directory;
+        this.reloadIntervalMs = reloadIntervalMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        reload();
+        if (reloadIntervalMs > 0) {
+            var threadFactory = new CustomizableThreadFactory("lint-reload-");
+            threadFactory.setDaemon(true);
+            scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+            scheduler.scheduleWithFixedDelay(this::reloadQuietly, reloadIntervalMs, reloadIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public LintRuleSet getRuleSet() {
+        return ruleSet;
+    }
+
+    /**
+     * Re-reads the directory and swaps in a new rule set if any file changed.
+     *
+     * @return whether the rule set changed
+     */
+    public synchronized boolean reload() {
+        List<Path> current = listRuleFiles();
+        boolean changed = files.keySet().retainAll(current);
+
+        for (Path file : current) {
+            byte[] content;
+            try {
+                content = Files.readAllBytes(file);
+            } catch (IOException e) {
+                log.warn("Failed to read lint rule set {}: {}", file, e.getMessage());
+                continue;
+            }
+            LoadedFile previous = files.get(file);
+            if (previous != null && Arrays.equals(previous.content, content)) {
+                continue;
+            }
+            try {
+                files.put(file, new LoadedFile(content, compile(file, content)));
+                changed = true;
+            } catch (IOException e) {
+                log.warn("Failed to parse lint rule set {}{}: {}", file,
+                        previous != null ? " (keeping previous version)" : "", e.getMessage());
+            }
+        }
+
+        if (changed) {
+            List<CompiledLintRule> rules = new ArrayList<>();
+            int revision = 1;
+            for (Path file : current) {
+                LoadedFile loaded = files.get(file);
+                if (loaded != null) {
+                    rules.addAll(loaded.rules);
+                    revision = 31 * revision + file.getFileName().hashCode();
+                    revision = 31 * revision + Arrays.hashCode(loaded.content);
+                }
+            }
+            ruleSet = new LintRuleSet(rules, revision);
+            log.info("Loaded {} lint rules from {} files in {}", rules.size(), files.size(), directory);
+        }
+        return changed;
+    }
+
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("Lint rule reload failed: {}", e.getMessage());
+        }
+    }
+
+    private List<CompiledLintRule> compile(Path file, byte[] content) throws IOException {
+        var definitions = yamlMapper.readValue(content, LintRuleDefinition.RuleSet.class);
+        String source = file.getFileName().toString();
+        List<CompiledLintRule> rules = new ArrayList<>();
+        if (definitions == null || definitions.getRules() == null) {
+            return rules;
+        }
+        definitions.getRules().forEach((name, definition) -> {
+            try {
+                rules.add(CompiledLintRule.compile(name, source, definition));
+            } catch (IllegalArgumentException e) {
+                log.warn("Skipping lint rule {} in {}: {}", name, source, e.getMessage());
+            }
+        });
+        return rules;
+    }
+
+    private List<Path> listRuleFiles() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (var entries = Files.list(directory)) {
+            return entries.filter(Files::isRegularFile)
+                    .filter(p -> {
+                        String name = p.getFileName().toString();
+                        return name.endsWith(".yaml") || name.endsWith(".yml") || name.endsWith(".json");
+                    })
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            log.warn("Failed to list lint rule sets in {}: {}", directory, e.getMessage());
+            return new ArrayList<>(files.keySet());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private record LoadedFile(byte[] content, List<CompiledLintRule> rules) {
+    }
+}
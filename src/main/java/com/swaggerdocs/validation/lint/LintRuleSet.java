@@ -0,0 +1,205 @@
+package com.swaggerdocs.validation.lint;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.swaggerdocs.model.LintRuleStats;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable, compiled set of lint rules.
+ *
+ * The selectors of all rules form one automaton: a state is a selector and
+ * the index of its next step, packed into an int. Traversal carries the set
+ * of live states down the tree, so every node is visited at most once for
+ * all rules together, and subtrees where no selector can match are skipped.
+ */
+public final class LintRuleSet {
+
+    static final LintRuleSet EMPTY = new LintRuleSet(List.of(), 0);
+
+    private static final int STEP_BITS = 8;
+    private static final int STEP_MASK = (1 << STEP_BITS) - 1;
+
+    /**
+     * Receives rule violations found during a traversal.
+     */
+    @FunctionalInterface
+    interface Sink {
+        void violation(int ruleIndex, String pointer, String failure);
+    }
+
+    private final List<CompiledLintRule> rules;
+    private final JsonPathSelector.Step[][] selectors;
+    private final int[] selectorRules;
+    private final int[] initial;
+    private final int revision;
+
+    LintRuleSet(List<CompiledLintRule> rules, int revision) {
+        this.rules = List.copyOf(rules);
+        this.revision = revision;
+
+        List<JsonPathSelector.Step[]> allSelectors = new ArrayList<>();
+        List<Integer> owners = new ArrayList<>();
+        for (int r = 0; r < rules.size(); r++) {
+            for (JsonPathSelector.Step[] selector : rules.get(r).selectors) {
+                if (selector.length > STEP_MASK) {
+                    throw new IllegalArgumentException("Selector of " + rules.get(r).name + " is too long");
+                }
+                allSelectors.add(selector);
+                owners.add(r);
+            }
+        }
+        this.selectors = allSelectors.toArray(JsonPathSelector.Step[][]::new);
+        this.selectorRules = owners.stream().mapToInt(Integer::intValue).toArray();
+        this.initial = new int[selectors.length];
+        for (int s = 0; s < selectors.length; s++) {
+            initial[s] = s << STEP_BITS;
+        }
+    }
+
+    public int size() {
+        return rules.size();
+    }
+
+    /**
+     * Changes whenever the content of the rule set files changes.
+     */
+    public int revision() {
+        return revision;
+    }
+
+    public List<LintRuleStats> stats() {
+        return rules.stream().map(CompiledLintRule::stats).toList();
+    }
+
+    CompiledLintRule rule(int index) {
+        return rules.get(index);
+    }
+
+    int[] initialStates() {
+        return initial;
+    }
+
+    /**
+     * Advances the states along a fixed path of object keys, or returns an
+     * empty array once no selector can match below it.
+     */
+    int[] advance(int[] states, String... keys) {
+        int[] current = states;
+        for (String key : keys) {
+            if (current.length == 0) break;
+            current = advance(current, key, -1);
+        }
+        return current;
+    }
+
+    /**
+     * Evaluates the node and its subtree. Boundary nodes are evaluated but not
+     * descended into; their children are walked separately.
+     */
+    void walk(JsonNode node, String key, int[] states, StringBuilder pointer,
+              JsonNode boundary, JsonNode otherBoundary, Sink sink) {
+        for (int state : states) {
+            int selector = state >>> STEP_BITS;
+            if ((state & STEP_MASK) == selectors[selector].length) {
+                fire(selectorRules[selector], node, key, pointer, sink);
+            }
+        }
+
+        if (!node.isContainerNode() || node == boundary || node == otherBoundary) {
+            return;
+        }
+
+        int length = pointer.length();
+        if (node.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                var field = fields.next();
+                int[] next = advance(states, field.getKey(), -1);
+                if (next.length > 0) {
+                    appendToken(pointer, field.getKey());
+                    walk(field.getValue(), field.getKey(), next, pointer, boundary, otherBoundary, sink);
+                    pointer.setLength(length);
+                }
+            }
+        } else {
+            for (int i = 0; i < node.size(); i++) {
+                int[] next = advance(states, null, i);
+                if (next.length > 0) {
+                    pointer.append('/').append(i);
+                    walk(node.get(i), null, next, pointer, boundary, otherBoundary, sink);
+                    pointer.setLength(length);
+                }
+            }
+        }
+    }
+
+    private int[] advance(int[] states, String key, int index) {
+        int[] next = null;
+        int count = 0;
+        for (int state : states) {
+            int selector = state >>> STEP_BITS;
+            int step = state & STEP_MASK;
+            JsonPathSelector.Step[] steps = selectors[selector];
+            if (step == steps.length) continue;
+
+            if (steps[step].descendant()) {
+                if (next == null) next = new int[states.length * 2];
+                count = add(next, count, state);
+            }
+            if (steps[step].matches(key, index)) {
+                if (next == null) next = new int[states.length * 2];
+                count = add(next, count, state + 1);
+            }
+        }
+        if (next == null) return new int[0];
+        return count == next.length ? next : Arrays.copyOf(next, count);
+    }
+
+    private static int add(int[] states, int count, int state) {
+        for (int i = 0; i < count; i++) {
+            if (states[i] == state) return count;
+        }
+        states[count] = state;
+        return count + 1;
+    }
+
+    private void fire(int ruleIndex, JsonNode node, String key, StringBuilder pointer, Sink sink) {
+        CompiledLintRule rule = rules.get(ruleIndex);
+        long start = System.nanoTime();
+        rule.matches.increment();
+
+        for (int i = 0; i < rule.checks.length; i++) {
+            String field = rule.fields[i];
+            JsonNode target;
+            if (field == null) {
+                target = node;
+            } else if (field.equals("@key")) {
+                target = key != null ? TextNode.valueOf(key) : null;
+            } else {
+                target = node.isObject() ? node.get(field) : null;
+            }
+
+            String failure = rule.checks[i].check(target);
+            if (failure != null) {
+                rule.violations.increment();
+                String path = field == null || field.equals("@key") ? pointer.toString() : pointer + "/" + escape(field);
+                sink.violation(ruleIndex, path.isEmpty() ? "/" : path, failure);
+            }
+        }
+        rule.nanos.add(System.nanoTime() - start);
+    }
+
+    static void appendToken(StringBuilder pointer, String key) {
+        pointer.append('/').append(escape(key));
+    }
+
+    private static String escape(String key) {
+        return key.indexOf('~') < 0 && key.indexOf('/') < 0 ? key : key.replace("~", "~0").replace("/", "~1");
+    }
+}
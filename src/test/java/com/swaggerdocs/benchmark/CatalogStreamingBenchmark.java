@@ -0,0 +1,76 @@
+package com.swaggerdocs.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swaggerdocs.config.JacksonConfig;
+import com.swaggerdocs.controller.JsonStreams;
+import com.swaggerdocs.model.SwaggerEntry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing a 10k-entry catalog listing: buffering the whole body versus
+ * streaming it through {@link JsonStreams}. Run with the GC profiler to
+ * compare allocation per listing:
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark="CatalogStreamingBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogStreamingBenchmark {
+
+    private static final int APPS = 10_000;
+
+    private ObjectMapper mapper;
+    private JsonStreams streams;
+    private List<SwaggerEntry> entries;
+
+    @Setup
+    public void setUp() {
+        mapper = new JacksonConfig().objectMapper();
+        streams = new JsonStreams(mapper);
+        entries = new ArrayList<>(APPS);
+        Instant now = Instant.now();
+        for (int i = 0; i < APPS; i++) {
+            entries.add(SwaggerEntry.builder()
+                    .appName("app-" + i)
+                    .team("team-" + (i % 40))
+                    .environment(i % 3 == 0 ? "prod" : "staging")
+                    .qualityScore(i % 101)
+                    .updatedAt(now.minusSeconds(i * 60L))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public int buffered() throws IOException {
+        byte[] body = mapper.writeValueAsBytes(entries);
+        OutputStream.nullOutputStream().write(body);
+        return body.length;
+    }
+
+    @Benchmark
+    public ResponseEntity<?> streamed() throws IOException {
+        var response = streams.respond(MediaType.APPLICATION_JSON_VALUE, ResponseEntity.ok(), entries::forEach);
+        response.getBody().writeTo(OutputStream.nullOutputStream());
+        return response;
+    }
+
+    @Benchmark
+    public ResponseEntity<?> streamedNdjson() throws IOException {
+        var response = streams.respond(MediaType.APPLICATION_NDJSON_VALUE, ResponseEntity.ok(), entries::forEach);
+        response.getBody().writeTo(OutputStream.nullOutputStream());
+        return response;
+    }
+}
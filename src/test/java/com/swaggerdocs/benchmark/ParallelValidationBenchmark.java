@@ -0,0 +1,60 @@
+package com.swaggerdocs.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swaggerdocs.config.ValidationConfig;
+import com.swaggerdocs.model.QualityScore;
+import com.swaggerdocs.service.ValidationService;
+import com.swaggerdocs.validation.DescriptionsRule;
+import com.swaggerdocs.validation.ExamplesRule;
+import com.swaggerdocs.validation.MetadataRule;
+import com.swaggerdocs.validation.ResponsesRule;
+import com.swaggerdocs.validation.SchemasRule;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of fork-join validation with pool size on a spec with 10k operations
+ * and inlined models. {@code parallelism = 0} is the sequential baseline.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ParallelValidationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelValidationBenchmark {
+
+    private static final int PATH_COUNT = 5000;
+
+    @Param({"0", "1", "2", "4", "8", "16"})
+    private int parallelism;
+
+    private JsonNode spec;
+    private ValidationService service;
+
+    @Setup
+    public void setUp() {
+        spec = SpecFixtures.withPaths(new ObjectMapper(), PATH_COUNT, false);
+
+        var config = new ValidationConfig();
+        config.getParallel().setEnabled(parallelism > 0);
+        config.getParallel().setParallelism(parallelism);
+        service = new ValidationService(List.of(new DescriptionsRule(), new ExamplesRule(),
+                new ResponsesRule(), new SchemasRule(), new MetadataRule()), config);
+    }
+
+    @TearDown
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    @Benchmark
+    public QualityScore calculateQuality() {
+        return service.calculateQuality(spec);
+    }
+}
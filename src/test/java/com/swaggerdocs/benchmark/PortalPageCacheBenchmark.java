@@ -0,0 +1,97 @@
+package com.swaggerdocs.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swaggerdocs.SwaggerDocsApplication;
+import com.swaggerdocs.controller.PortalPageCache;
+import com.swaggerdocs.model.SwaggerSubmission;
+import com.swaggerdocs.service.SwaggerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Synthetic portal load: the catalog index, a docs page and a history page
+ * of a catalog of {@value #APPS} apps, requested over and over with the
+ * rendered-page cache on and off. Each request goes through the full
+ * dispatcher, so a miss pays for the controller and Thymeleaf and a hit only
+ * for the lookup and the copy of the stored bytes.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark="PortalPageCacheBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PortalPageCacheBenchmark {
+
+    private static final int APPS = 200;
+
+    @Param({"true", "false"})
+    public boolean cached;
+
+    private Path storage;
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+
+    @Setup
+    public void setUp() throws Exception {
+        storage = Files.createTempDirectory("portal-bench");
+        context = SpringApplication.run(SwaggerDocsApplication.class,
+                "--swaggerdocs.storage.path=" + storage,
+                "--swaggerdocs.portal.cache.enabled=" + cached,
+                "--server.port=0",
+                "--logging.level.root=WARN");
+        ObjectMapper mapper = context.getBean(ObjectMapper.class);
+        SwaggerService swaggerService = context.getBean(SwaggerService.class);
+        for (int i = 0; i < APPS; i++) {
+            SwaggerSubmission submission = new SwaggerSubmission();
+            submission.setAppName("app-" + i);
+            submission.setTeam("team-" + (i % 12));
+            submission.setEnvironment(i % 3 == 0 ? "prod" : "staging");
+            submission.setSwagger(SpecFixtures.withPaths(mapper, 40, true));
+            swaggerService.processSubmission(submission);
+        }
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+                .addFilters(context.getBean(PortalPageCache.class))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        context.close();
+        FileSystemUtils.deleteRecursively(storage);
+    }
+
+    @Benchmark
+    public MvcResult index() throws Exception {
+        return mockMvc.perform(get("/").param("sort", "score,desc")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult indexGzip() throws Exception {
+        return mockMvc.perform(get("/").param("sort", "score,desc").header("Accept-Encoding", "gzip")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult docs() throws Exception {
+        return mockMvc.perform(get("/docs/app-7").param("view", "redoc")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult history() throws Exception {
+        return mockMvc.perform(get("/docs/app-7/history")).andReturn();
+    }
+}
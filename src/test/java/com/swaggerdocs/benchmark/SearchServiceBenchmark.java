@@ -0,0 +1,51 @@
+package com.swaggerdocs.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swaggerdocs.model.SearchResult;
+import com.swaggerdocs.service.SearchService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search latency over a catalog of 2000 generated apps with 10 to 29 paths
+ * each: an exact identifier, a two-term query and a prefix spanning many terms.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=SearchServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchServiceBenchmark {
+
+    private static final int APPS = 2000;
+
+    @Param({"getResource7", "field3 model12", "resource1*"})
+    private String query;
+
+    private SearchService service;
+
+    @Setup
+    public void setUp() {
+        var mapper = new ObjectMapper();
+        service = new SearchService();
+        for (int i = 0; i < APPS; i++) {
+            service.index("app-" + i, "team-" + (i % 40), SpecFixtures.withPaths(mapper, 10 + i % 20, true));
+        }
+        System.out.println("Index: " + service.stats());
+    }
+
+    @Benchmark
+    public List<SearchResult> search() {
+        return service.search(query, null, null, 20);
+    }
+
+    @Benchmark
+    public List<SearchResult> searchTeam() {
+        return service.search(query, "team-7", null, 20);
+    }
+}
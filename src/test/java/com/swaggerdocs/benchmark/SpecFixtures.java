@@ -0,0 +1,91 @@
+package com.swaggerdocs.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Generates synthetic OpenAPI 3 specs of a given approximate size for benchmarks.
+ */
+public final class SpecFixtures {
+
+    // Roughly 800 generated paths per serialized megabyte
+    private static final int PATHS_PER_MB = 800;
+
+    private SpecFixtures() {
+    }
+
+    public static ObjectNode ofSizeMb(ObjectMapper mapper, int sizeMb) {
+        return withPaths(mapper, sizeMb * PATHS_PER_MB, true);
+    }
+
+    /**
+     * @param componentSchemas whether models live under components/schemas and are
+     *                         referenced with $ref, or are inlined in every response
+     */
+    public static ObjectNode ofSizeMb(ObjectMapper mapper, int sizeMb, boolean componentSchemas) {
+        return withPaths(mapper, sizeMb * PATHS_PER_MB, componentSchemas);
+    }
+
+    public static ObjectNode withPaths(ObjectMapper mapper, int pathCount, boolean componentSchemas) {
+        ObjectNode spec = mapper.createObjectNode();
+        spec.put("openapi", "3.0.0");
+        spec.putObject("info")
+                .put("title", "Generated API")
+                .put("version", "1.0.0")
+                .put("description", "Synthetic spec for benchmarks");
+
+        ObjectNode paths = spec.putObject("paths");
+        ObjectNode schemas = mapper.createObjectNode();
+        if (componentSchemas) {
+            spec.putObject("components").set("schemas", schemas);
+        }
+
+        for (int i = 0; i < pathCount; i++) {
+            ObjectNode pathItem = paths.putObject("/resource" + i + "/{id}");
+            for (String method : new String[]{"get", "put"}) {
+                ObjectNode operation = pathItem.putObject(method);
+                if (i % 4 != 0) {
+                    operation.put("summary", "Operation " + i + " " + method);
+                }
+                operation.put("operationId", method + "Resource" + i);
+                operation.putArray("tags").add("tag" + (i % 50));
+                operation.putArray("parameters").addObject()
+                        .put("name", "id").put("in", "path").put("required", true)
+                        .putObject("schema").put("type", "string");
+
+                ObjectNode responses = operation.putObject("responses");
+                ObjectNode mediaType = responses.putObject("200").put("description", "OK")
+                        .putObject("content").putObject("application/json");
+                if (componentSchemas) {
+                    mediaType.putObject("schema").put("$ref", "#/components/schemas/Model" + i);
+                } else {
+                    mediaType.set("schema", model(mapper, i));
+                }
+                responses.putObject("404").put("description", "Not found");
+                if (i % 3 == 0) {
+                    responses.putObject("500").put("description", "Server error");
+                }
+            }
+
+            if (componentSchemas) {
+                schemas.set("Model" + i, model(mapper, i));
+            }
+        }
+        return spec;
+    }
+
+    private static ObjectNode model(ObjectMapper mapper, int index) {
+        ObjectNode schema = mapper.createObjectNode();
+        schema.put("type", "object");
+        ObjectNode properties = schema.putObject("properties");
+        for (int j = 0; j < 8; j++) {
+            properties.putObject("field" + j)
+                    .put("type", j % 2 == 0 ? "string" : "integer")
+                    .put("description", "Field " + j + " of model " + index);
+        }
+        if (index % 2 == 0) {
+            schema.putObject("example").put("field0", "value");
+        }
+        return schema;
+    }
+}
@@ -0,0 +1,44 @@
+package com.swaggerdocs.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swaggerdocs.model.QualityScore;
+import com.swaggerdocs.service.ValidationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Quality scoring latency on generated specs of 1, 5 and 20 MB, with models
+ * either under components/schemas or inlined in the paths.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ValidationServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationServiceBenchmark {
+
+    @Param({"1", "5", "20"})
+    private int sizeMb;
+
+    @Param({"true", "false"})
+    private boolean componentSchemas;
+
+    private JsonNode spec;
+    private ValidationService service;
+
+    @Setup
+    public void setUp() {
+        spec = SpecFixtures.ofSizeMb(new ObjectMapper(), sizeMb, componentSchemas);
+        service = new ValidationService();
+    }
+
+    @Benchmark
+    public QualityScore calculateQuality() {
+        return service.calculateQuality(spec);
+    }
+}
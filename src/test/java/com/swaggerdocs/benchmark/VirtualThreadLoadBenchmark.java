@@ -0,0 +1,132 @@
+package com.swaggerdocs.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.swaggerdocs.SwaggerDocsApplication;
+import com.swaggerdocs.model.SwaggerSubmission;
+import com.swaggerdocs.service.SwaggerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mixed traffic against a running server, once with Tomcat and the worker
+ * pools on platform threads and once on virtual threads: most clients read
+ * specs and portal pages of a catalog of {@value #APPS} apps while a few
+ * submit new versions, each submission a file write and a git commit.
+ * Requests go over HTTP from concurrent clients, so time spent waiting for a
+ * thread or blocked on storage shows in the scores.
+ *
+ * Virtual threads need Java 21:
+ * mvn -Pjava21,benchmark test-compile exec:exec -Dbenchmark="VirtualThreadLoadBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class VirtualThreadLoadBenchmark {
+
+    private static final int APPS = 200;
+
+    @Param({"false", "true"})
+    public boolean virtual;
+
+    private Path storage;
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private ObjectMapper mapper;
+    private ObjectNode spec;
+    private String baseUrl;
+    private final AtomicLong submissions = new AtomicLong();
+
+    @Setup
+    public void setUp() throws Exception {
+        storage = Files.createTempDirectory("virtual-bench");
+        context = SpringApplication.run(SwaggerDocsApplication.class,
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--swaggerdocs.storage.path=" + storage.resolve("storage"),
+                "--swaggerdocs.export.path=" + storage.resolve("export"),
+                "--swaggerdocs.jobs.path=" + storage.resolve("jobs"),
+                "--swaggerdocs.webhooks.spool-path=" + storage.resolve("webhooks"),
+                // Measure queueing for the git lock, not early refusals
+                "--swaggerdocs.admission.max-queued=256",
+                "--swaggerdocs.admission.max-queued-per-team=256",
+                "--swaggerdocs.admission.max-wait=60s",
+                // Pooled client connections stay open, so a server-side close never races a POST on them
+                "--server.tomcat.max-keep-alive-requests=-1",
+                "--server.tomcat.keep-alive-timeout=-1",
+                "--server.port=0",
+                "--logging.level.root=WARN");
+        mapper = context.getBean(ObjectMapper.class);
+        spec = SpecFixtures.withPaths(mapper, 40, true);
+        SwaggerService swaggerService = context.getBean(SwaggerService.class);
+        for (int i = 0; i < APPS; i++) {
+            swaggerService.processSubmission(submission(i, "1.0.0"));
+        }
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port;
+        client = HttpClient.newHttpClient();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        context.close();
+        FileSystemUtils.deleteRecursively(storage);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(96)
+    public int readSpec() throws Exception {
+        return get("/api/swaggers/app-" + ThreadLocalRandom.current().nextInt(APPS) + "/raw");
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(24)
+    public int portalPage() throws Exception {
+        return get("/docs/app-" + ThreadLocalRandom.current().nextInt(APPS));
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(8)
+    public int submit() throws Exception {
+        long n = submissions.incrementAndGet();
+        String body = mapper.writeValueAsString(submission((int) (n % APPS), "1.0." + n));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/swaggers"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private int get(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private SwaggerSubmission submission(int app, String version) {
+        ObjectNode copy = spec.deepCopy();
+        copy.with("info").put("version", version);
+        SwaggerSubmission submission = new SwaggerSubmission();
+        submission.setAppName("app-" + app);
+        submission.setTeam("team-" + (app % 12));
+        submission.setSwagger(copy);
+        return submission;
+    }
+}
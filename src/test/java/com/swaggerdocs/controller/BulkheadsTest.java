@@ -0,0 +1,238 @@
+package com.swaggerdocs.controller;
+
+import com.swaggerdocs.config.BulkheadConfig;
+import com.swaggerdocs.config.WorkerThreads;
+import com.swaggerdocs.exception.SubmissionRejectedException;
+import com.swaggerdocs.model.BulkheadStats;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigUtils;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+import org.springframework.web.servlet.config.annotation.DelegatingWebMvcConfiguration;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class BulkheadsTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicBoolean interrupted = new AtomicBoolean();
+    private final AtomicReference<String> streamedOn = new AtomicReference<>();
+    private volatile CompletableFuture<AutoCloseable> admission;
+    private Bulkheads bulkheads;
+    private GenericWebApplicationContext context;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        BulkheadConfig config = new BulkheadConfig();
+        config.setSubmission(new BulkheadConfig.Pool(1, 1, Duration.ofSeconds(10)));
+        config.setRead(new BulkheadConfig.Pool(1, 0, Duration.ofSeconds(10)));
+        bulkheads = new Bulkheads(config, new WorkerThreads(false));
+
+        // A web context rather than a standalone setup, so the async support Bulkheads configures applies
+        context = new GenericWebApplicationContext(new MockServletContext());
+        AnnotationConfigUtils.registerAnnotationConfigProcessors(context);
+        context.registerBean(DelegatingWebMvcConfiguration.class);
+        context.registerBean(Bulkheads.class, () -> bulkheads);
+        context.registerBean(GlobalExceptionHandler.class);
+        context.registerBean(BlockingController.class, BlockingController::new);
+        context.refresh();
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        context.close();
+        bulkheads.shutdown();
+    }
+
+    @Test
+    void shouldRefuseRequestsBeyondThreadsAndQueue() throws Exception {
+        MvcResult running = mockMvc.perform(get("/submit")).andExpect(request().asyncStarted()).andReturn();
+        MvcResult queued = mockMvc.perform(get("/submit")).andExpect(request().asyncStarted()).andReturn();
+        await(() -> bulkheads.getStats().get(0).getActiveThreads() == 1);
+
+        mockMvc.perform(get("/submit"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+
+        // Other pools are not affected
+        MvcResult read = mockMvc.perform(get("/read")).andExpect(request().asyncStarted()).andReturn();
+        mockMvc.perform(asyncDispatch(read)).andExpect(status().isOk()).andExpect(content().string("read"));
+
+        BulkheadStats submission = bulkheads.getStats().get(0);
+        assertThat(submission.getName()).isEqualTo("submission");
+        assertThat(submission.getActiveThreads()).isEqualTo(1);
+        assertThat(submission.getQueued()).isEqualTo(1);
+        assertThat(submission.getQueueCapacity()).isEqualTo(1);
+        assertThat(submission.getRejected()).isEqualTo(1);
+
+        release.countDown();
+        mockMvc.perform(asyncDispatch(running)).andExpect(status().isOk()).andExpect(content().string("submitted"));
+        mockMvc.perform(asyncDispatch(queued)).andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldLetTimedOutWorkFinishAndKeepItsSlotUntilThen() throws Exception {
+        MvcResult first = mockMvc.perform(get("/submit")).andExpect(request().asyncStarted()).andReturn();
+        MvcResult late = mockMvc.perform(get("/submit-late")).andExpect(request().asyncStarted()).andReturn();
+        mockMvc.perform(get("/submit")).andExpect(status().isServiceUnavailable());
+
+        timeOut(first);
+        timeOut(late);
+        mockMvc.perform(asyncDispatch(first)).andExpect(status().isServiceUnavailable());
+        mockMvc.perform(asyncDispatch(late)).andExpect(status().isOk()).andExpect(content().string("still running"));
+        assertThat(bulkheads.getStats().get(0).getTimedOut()).isEqualTo(2);
+
+        // The work goes on, so its slots are still taken
+        mockMvc.perform(get("/submit")).andExpect(status().isServiceUnavailable());
+
+        release.countDown();
+        await(() -> bulkheads.getStats().get(0).getActiveThreads() == 0 && bulkheads.getStats().get(0).getQueued() == 0);
+        assertThat(interrupted).isFalse();
+        mockMvc.perform(get("/submit")).andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void shouldWriteStreamedBodiesWithinTheReadPool() throws Exception {
+        MvcResult streaming = mockMvc.perform(get("/stream")).andExpect(request().asyncStarted()).andReturn();
+        await(() -> streamedOn.get() != null);
+
+        mockMvc.perform(get("/stream"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isServiceUnavailable());
+        mockMvc.perform(get("/read")).andExpect(status().isServiceUnavailable());
+
+        release.countDown();
+        mockMvc.perform(asyncDispatch(streaming)).andExpect(status().isOk());
+        assertThat(streaming.getResponse().getContentAsString()).isEqualTo("streamed");
+        assertThat(streamedOn.get()).startsWith("read-bulkhead-");
+        assertThat(bulkheads.getStats().get(2).getRejected()).isEqualTo(2);
+
+        MvcResult read = mockMvc.perform(get("/read")).andExpect(request().asyncStarted()).andReturn();
+        mockMvc.perform(asyncDispatch(read)).andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldQueueWorkOnlyOnceAdmittedAndGiveBackItsAdmission() throws Exception {
+        MvcResult running = mockMvc.perform(get("/submit")).andExpect(request().asyncStarted()).andReturn();
+        MvcResult queued = mockMvc.perform(get("/submit")).andExpect(request().asyncStarted()).andReturn();
+
+        // Waiting for admission takes no pool slot; admitted into a full pool, it is refused
+        AtomicBoolean closed = new AtomicBoolean();
+        admission = new CompletableFuture<>();
+        MvcResult refused = mockMvc.perform(get("/admitted")).andExpect(request().asyncStarted()).andReturn();
+        assertThat(bulkheads.getStats().get(0).getRejected()).isZero();
+        admission.complete(() -> closed.set(true));
+        mockMvc.perform(asyncDispatch(refused)).andExpect(status().isServiceUnavailable());
+        assertThat(closed).isTrue();
+
+        release.countDown();
+        mockMvc.perform(asyncDispatch(running)).andExpect(status().isOk());
+        mockMvc.perform(asyncDispatch(queued)).andExpect(status().isOk());
+        await(() -> bulkheads.getStats().get(0).getActiveThreads() == 0);
+
+        closed.set(false);
+        admission = new CompletableFuture<>();
+        MvcResult admitted = mockMvc.perform(get("/admitted")).andExpect(request().asyncStarted()).andReturn();
+        admission.complete(() -> closed.set(true));
+        mockMvc.perform(asyncDispatch(admitted)).andExpect(status().isOk()).andExpect(content().string("submitted"));
+        assertThat(closed).isTrue();
+
+        admission = CompletableFuture.failedFuture(new SubmissionRejectedException("Submission queue is full", 3));
+        MvcResult rejected = mockMvc.perform(get("/admitted")).andExpect(request().asyncStarted()).andReturn();
+        mockMvc.perform(asyncDispatch(rejected))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "3"));
+    }
+
+    /**
+     * The mock container does not time requests out by itself.
+     */
+    private static void timeOut(MvcResult result) throws Exception {
+        MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 100 && !condition.getAsBoolean(); i++) {
+            Thread.sleep(50);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    @RestController
+    class BlockingController {
+
+        @GetMapping("/submit")
+        DeferredResult<String> submit() {
+            return bulkheads.submission(this::blocked);
+        }
+
+        @GetMapping("/submit-late")
+        DeferredResult<String> submitLate() {
+            return bulkheads.submission(this::blocked, running -> running.isDone() ? "done" : "still running");
+        }
+
+        @GetMapping("/admitted")
+        DeferredResult<String> admitted() {
+            return bulkheads.submission(admission, this::blocked, null);
+        }
+
+        @GetMapping("/read")
+        DeferredResult<String> read() {
+            return bulkheads.read(() -> "read");
+        }
+
+        @GetMapping("/stream")
+        ResponseEntity<StreamingResponseBody> stream() {
+            return ResponseEntity.ok(out -> {
+                streamedOn.set(Thread.currentThread().getName());
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                out.write("streamed".getBytes(StandardCharsets.UTF_8));
+            });
+        }
+
+        private String blocked() throws InterruptedException {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+                throw e;
+            }
+            return "submitted";
+        }
+    }
+}
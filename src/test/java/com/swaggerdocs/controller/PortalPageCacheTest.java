@@ -0,0 +1,160 @@
+package com.swaggerdocs.controller;
+
+import com.swaggerdocs.config.PortalConfig;
+import com.swaggerdocs.event.SwaggerSavedEvent;
+import com.swaggerdocs.model.SwaggerMetadata;
+import com.swaggerdocs.model.ValidationResult;
+import com.swaggerdocs.service.QualityService;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PortalPageCacheTest {
+
+    private QualityService qualityService;
+    private PortalPageCache cache;
+    private final AtomicInteger renders = new AtomicInteger();
+    private int status = 200;
+    private boolean uncacheable;
+
+    @BeforeEach
+    void setUp() {
+        qualityService = mock(QualityService.class);
+        cache = new PortalPageCache(qualityService, new PortalConfig());
+    }
+
+    @Test
+    void shouldServeRepeatedViewsAndGzipVariantWithoutRendering() throws Exception {
+        MockHttpServletResponse first = get("/docs/orders-api?view=redoc", null);
+        MockHttpServletResponse plain = get("/docs/orders-api?view=redoc", null);
+        MockHttpServletResponse zipped = get("/docs/orders-api?view=redoc", "br, gzip;q=0.8");
+
+        assertThat(renders).hasValue(1);
+        assertThat(first.getContentAsString()).isEqualTo("<html>render 1</html>");
+        assertThat(plain.getContentAsString()).isEqualTo("<html>render 1</html>");
+        assertThat(plain.getContentType()).startsWith("text/html");
+        assertThat(zipped.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(zipped.getHeader("Vary")).isEqualTo("Accept-Encoding");
+        assertThat(gunzip(zipped.getContentAsByteArray())).isEqualTo("<html>render 1</html>");
+
+        // Other parameters are another page
+        get("/docs/orders-api?view=swagger-ui", null);
+        assertThat(renders).hasValue(2);
+    }
+
+    @Test
+    void shouldRenderIndexAgainAfterAnySaveOrRescore() throws Exception {
+        get("/", null);
+        cache.onSaved(saved("orders-api", "abc1234"));
+        assertThat(get("/", null).getContentAsString()).isEqualTo("<html>render 2</html>");
+
+        when(qualityService.getCatalogRevision()).thenReturn(7L);
+        assertThat(get("/", null).getContentAsString()).isEqualTo("<html>render 3</html>");
+        assertThat(get("/", "gzip").getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(renders).hasValue(3);
+    }
+
+    @Test
+    void shouldRenderAppPagesAgainOnlyWhenThatAppChanges() throws Exception {
+        get("/docs/orders-api", null);
+        get("/docs/orders-api/history", null);
+        get("/docs/users-api", null);
+
+        // Another app's save and catalog-wide re-scores leave the page alone
+        cache.onSaved(saved("users-api", "abc1234"));
+        when(qualityService.getCatalogRevision()).thenReturn(7L);
+        when(qualityService.getScoreRevision("users-api")).thenReturn(3L);
+        assertThat(get("/docs/orders-api", null).getContentAsString()).isEqualTo("<html>render 1</html>");
+        assertThat(get("/docs/orders-api/history", null).getContentAsString()).isEqualTo("<html>render 2</html>");
+        assertThat(get("/docs/users-api", null).getContentAsString()).isEqualTo("<html>render 4</html>");
+
+        cache.onSaved(saved("orders-api", "def5678"));
+        assertThat(get("/docs/orders-api", null).getContentAsString()).isEqualTo("<html>render 5</html>");
+        assertThat(get("/docs/orders-api/history", null).getContentAsString()).isEqualTo("<html>render 6</html>");
+
+        when(qualityService.getScoreRevision("orders-api")).thenReturn(4L);
+        assertThat(get("/docs/orders-api", null).getContentAsString()).isEqualTo("<html>render 7</html>");
+        assertThat(renders).hasValue(7);
+    }
+
+    @Test
+    void shouldNotStorePendingPagesRedirectsOrOtherPaths() throws Exception {
+        uncacheable = true;
+        get("/docs/orders-api", null);
+        get("/docs/orders-api", null);
+        assertThat(renders).hasValue(2);
+
+        uncacheable = false;
+        status = 302;
+        get("/docs/unknown-api", null);
+        get("/docs/unknown-api", null);
+        assertThat(renders).hasValue(4);
+
+        status = 200;
+        get("/api/swaggers", null);
+        get("/api/swaggers", null);
+        assertThat(renders).hasValue(6);
+    }
+
+    @Test
+    void shouldHonourZeroQualityForGzip() {
+        assertThat(PortalPageCache.acceptsGzip(request("/", "gzip;q=0"))).isFalse();
+        assertThat(PortalPageCache.acceptsGzip(request("/", "deflate, GZIP"))).isTrue();
+        assertThat(PortalPageCache.acceptsGzip(request("/", "identity"))).isFalse();
+    }
+
+    private static SwaggerSavedEvent saved(String appName, String version) {
+        return new SwaggerSavedEvent(SwaggerMetadata.builder().appName(appName).build(),
+                ValidationResult.builder().version(version).build());
+    }
+
+    private MockHttpServletResponse get(String uri, String acceptEncoding) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        cache.doFilter(request(uri, acceptEncoding), response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                int render = renders.incrementAndGet();
+                if (uncacheable) {
+                    req.setAttribute(PortalPageCache.UNCACHEABLE, true);
+                }
+                resp.setStatus(status);
+                resp.setContentType("text/html;charset=UTF-8");
+                resp.getWriter().write("<html>render " + render + "</html>");
+            }
+        }));
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String uri, String acceptEncoding) {
+        String[] parts = uri.split("\\?", 2);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", parts[0]);
+        if (parts.length > 1) {
+            request.setQueryString(parts[1]);
+        }
+        if (acceptEncoding != null) {
+            request.addHeader("Accept-Encoding", acceptEncoding);
+        }
+        return request;
+    }
+
+    private static String gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -9,7 +9,15 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -35,7 +43,7 @@ class SwaggerControllerTest {
         swagger.putObject("paths");
         submission.setSwagger(swagger);
 
-        mockMvc.perform(post("/api/swaggers")
+        dispatch(post("/api/swaggers")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(submission)))
                 .andExpect(status().isOk())
@@ -44,16 +52,264 @@ class SwaggerControllerTest {
                 .andExpect(jsonPath("$.viewUrl").exists());
     }
 
+    @Test
+    void shouldValidateWithoutStoringAndEnforceQualityGate() throws Exception {
+        SwaggerSubmission submission = new SwaggerSubmission();
+        submission.setAppName("dry-run-api");
+        submission.setTeam("test-team");
+
+        ObjectNode swagger = objectMapper.createObjectNode();
+        swagger.put("openapi", "3.0.0");
+        swagger.putObject("info").put("title", "Dry Run API");
+        swagger.putObject("paths");
+        submission.setSwagger(swagger);
+        String body = objectMapper.writeValueAsString(submission);
+
+        dispatch(post("/api/swaggers/validate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("VALID"))
+                .andExpect(jsonPath("$.version").doesNotExist());
+
+        dispatch(post("/api/swaggers/validate")
+                .param("minScore", "100")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.status").value("FAILED_QUALITY_GATE"));
+
+        dispatch(get("/api/swaggers/dry-run-api"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void shouldListApps() throws Exception {
-        mockMvc.perform(get("/api/swaggers"))
+        MvcResult result = mockMvc.perform(get("/api/swaggers"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
+                .andExpect(header().exists("X-Total-Count"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$").isArray());
     }
 
+    @Test
+    void shouldStreamVersionsAsNdjsonAndProjectFields() throws Exception {
+        // The storage outlives test runs, so the history must start empty
+        String appName = "streamed-api-" + System.currentTimeMillis();
+        SwaggerSubmission submission = new SwaggerSubmission();
+        submission.setAppName(appName);
+        submission.setTeam("test-team");
+        ObjectNode swagger = objectMapper.createObjectNode();
+        swagger.put("openapi", "3.0.0");
+        swagger.putObject("paths");
+        submission.setSwagger(swagger);
+        for (int i = 0; i < 2; i++) {
+            swagger.putObject("info").put("version", "1.0." + i);
+            dispatch(post("/api/swaggers")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(submission)))
+                    .andExpect(status().isOk());
+        }
+
+        MvcResult result = mockMvc.perform(get("/api/swaggers/{app}/versions", appName)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.split("\n")).hasSize(2).allMatch(line -> line.matches("\"[0-9a-f]{7}\""));
+        mockMvc.perform(get("/api/swaggers/missing-api/versions"))
+                .andExpect(status().isNotFound());
+
+        dispatch(get("/api/swaggers/{app}", appName).param("fields", "metadata,versions"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.metadata.appName").value(appName))
+                .andExpect(jsonPath("$.versions.length()").value(2))
+                .andExpect(jsonPath("$.swagger").doesNotExist())
+                .andExpect(jsonPath("$.quality").doesNotExist());
+    }
+
+    @Test
+    void shouldRejectUnknownSortField() throws Exception {
+        mockMvc.perform(get("/api/swaggers").param("sort", "owner").param("size", "10"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldReturn404ForNonExistentApp() throws Exception {
-        mockMvc.perform(get("/api/swaggers/non-existent-app"))
+        dispatch(get("/api/swaggers/non-existent-app"))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    void shouldFeedSavedSubmissionsToPollsAndStreams() throws Exception {
+        String appName = "feed-api-" + System.currentTimeMillis();
+        MvcResult stream = mockMvc.perform(get("/api/changes/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult poll = mockMvc.perform(get("/api/changes").param("timeout", "PT10S"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        SwaggerSubmission submission = new SwaggerSubmission();
+        submission.setAppName(appName);
+        submission.setTeam("test-team");
+        ObjectNode swagger = objectMapper.createObjectNode();
+        swagger.put("openapi", "3.0.0");
+        swagger.putObject("info").put("title", "Feed API").put("version", "1.0.0");
+        swagger.putObject("paths");
+        submission.setSwagger(swagger);
+        dispatch(post("/api/swaggers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(submission)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(asyncDispatch(poll))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].appName").value(appName))
+                .andExpect(jsonPath("$[0].breakingChanges").value(0));
+
+        String events = "";
+        for (int i = 0; i < 100 && !events.contains(appName); i++) {
+            Thread.sleep(50);
+            events = stream.getResponse().getContentAsString();
+        }
+        assertThat(events).contains("event:" + ChangeFeedController.EVENT_NAME).contains(appName);
+
+        mockMvc.perform(get("/api/changes").param("timeout", "PT5M"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldProcessAsyncSubmissionsAsPollableJobs() throws Exception {
+        SwaggerSubmission submission = new SwaggerSubmission();
+        submission.setAppName("async-api-" + System.currentTimeMillis());
+        submission.setTeam("test-team");
+        ObjectNode swagger = objectMapper.createObjectNode();
+        swagger.put("openapi", "3.0.0");
+        swagger.putObject("info").put("title", "Async API").put("version", "1.0.0");
+        swagger.putObject("paths");
+        submission.setSwagger(swagger);
+
+        MvcResult accepted = dispatch(post("/api/swaggers")
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(submission)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andExpect(jsonPath("$.id").exists())
+                .andReturn();
+        String location = accepted.getResponse().getHeader("Location");
+
+        String job = "";
+        for (int i = 0; i < 100 && !job.contains("SUCCEEDED"); i++) {
+            Thread.sleep(50);
+            job = dispatch(get(location)).andReturn().getResponse().getContentAsString();
+        }
+        dispatch(get(location))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCEEDED"))
+                .andExpect(jsonPath("$.result.status").value("ACCEPTED"))
+                .andExpect(jsonPath("$.result.version").exists());
+
+        dispatch(get("/api/swaggers/jobs/unknown-job"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldStoreBatchInOneCommitAndReportFailuresPerItem() throws Exception {
+        String suffix = "-" + System.currentTimeMillis();
+        ObjectNode swagger = objectMapper.createObjectNode();
+        swagger.put("openapi", "3.0.0");
+        swagger.putObject("info").put("title", "Batch API").put("version", "1.0.0");
+        swagger.putObject("paths");
+        var batch = objectMapper.createArrayNode();
+        for (String appName : List.of("batch-a" + suffix, "batch-b" + suffix, "not valid!", "batch-a" + suffix)) {
+            batch.addObject().put("appName", appName).put("team", "test-team").set("swagger", swagger);
+        }
+
+        MvcResult result = dispatch(post("/api/swaggers/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.saved").value(2))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.items[0].status").value("SAVED"))
+                .andExpect(jsonPath("$.items[1].result.status").value("ACCEPTED"))
+                .andExpect(jsonPath("$.items[2].status").value("FAILED"))
+                .andExpect(jsonPath("$.items[2].error").value(startsWith("appName: ")))
+                .andExpect(jsonPath("$.items[3].error").value(containsString("more than once")))
+                .andReturn();
+        String version = objectMapper.readTree(result.getResponse().getContentAsString()).get("version").asText();
+
+        // One commit holds both apps
+        dispatch(get("/api/swaggers/{app}", "batch-a" + suffix))
+                .andExpect(jsonPath("$.versions[0]").value(version));
+        dispatch(get("/api/swaggers/{app}", "batch-b" + suffix))
+                .andExpect(jsonPath("$.versions[0]").value(version));
+
+        String ndjson = objectMapper.writeValueAsString(batch.get(1)) + "\n"
+                + objectMapper.writeValueAsString(batch.get(2)).replace("not valid!", "batch-c" + suffix) + "\n";
+        dispatch(post("/api/swaggers/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.saved").value(2));
+
+        dispatch(post("/api/swaggers/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(batch.get(2)))))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.version").doesNotExist());
+
+        mockMvc.perform(post("/api/swaggers/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"appName\": "))
+                .andExpect(status().isBadRequest());
+
+        // Refused at the first submission over the limit, before the rest is read
+        mockMvc.perform(post("/api/swaggers/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + "{},".repeat(501) + "{\"appName\": "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("at most 500")));
+
+        // Admitted under one team, so a batch cannot take the slots of others
+        var mixed = objectMapper.createArrayNode();
+        mixed.add(batch.get(0));
+        mixed.addObject().put("appName", "batch-d" + suffix).put("team", "other-team").set("swagger", swagger);
+        mockMvc.perform(post("/api/swaggers/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(mixed)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("mixes teams")));
+    }
+
+    @Test
+    void shouldReturn404ForMissingStaticExport() throws Exception {
+        mockMvc.perform(get("/static-docs/non-existent-app/0000000/index.html"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/static-docs/non-existent-app"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/docs/non-existent-app"));
+    }
+
+    /**
+     * Performs the request and follows its async dispatches, as handlers hand
+     * their work to a bulkhead and answer from there.
+     */
+    private ResultActions dispatch(RequestBuilder request) throws Exception {
+        ResultActions actions = mockMvc.perform(request);
+        while (actions.andReturn().getRequest().isAsyncStarted()) {
+            actions = mockMvc.perform(asyncDispatch(actions.andReturn()));
+        }
+        return actions;
+    }
 }
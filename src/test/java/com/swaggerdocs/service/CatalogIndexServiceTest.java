@@ -0,0 +1,149 @@
+package com.swaggerdocs.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swaggerdocs.config.ValidationConfig;
+import com.swaggerdocs.model.CatalogPage;
+import com.swaggerdocs.model.CatalogQuery;
+import com.swaggerdocs.model.QualityScore;
+import com.swaggerdocs.model.SwaggerEntry;
+import com.swaggerdocs.model.SwaggerMetadata;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CatalogIndexServiceTest {
+
+    private static final Instant T0 = Instant.parse("2024-03-01T10:00:00Z");
+
+    @TempDir
+    Path tempDir;
+
+    private ObjectMapper objectMapper;
+    private GitStorageService storage;
+    private QualityService quality;
+    private CatalogIndexService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        objectMapper = new ObjectMapper();
+        objectMapper.findAndRegisterModules();
+        storage = new GitStorageService(tempDir.toString(), objectMapper);
+        storage.init();
+        save("a-api", "payments", "prod", 0);
+        save("b-api", "payments", "dev", 1);
+        save("c-api", "search", "prod", 2);
+        save("d-api", "Search", "prod", 3);
+        save("e-api", null, "prod", 4);
+
+        quality = new QualityService(storage, new ValidationService(), objectMapper, new ValidationConfig());
+        quality.init();
+        quality.refreshCatalog().get(10, TimeUnit.SECONDS);
+        score("a-api", 90);
+        score("b-api", 40);
+        score("c-api", 70);
+        score("d-api", 70);
+        score("e-api", 55);
+
+        service = new CatalogIndexService(storage, quality);
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        quality.shutdown();
+    }
+
+    @Test
+    void shouldPageSortedCatalog() {
+        CatalogPage first = service.query(CatalogQuery.builder().sort("score,desc").size(2).build());
+        CatalogPage second = service.query(CatalogQuery.builder().sort("score,desc").size(2).page(1).build());
+
+        // Equal scores keep name order in both directions
+        assertThat(names(first)).containsExactly("a-api", "c-api");
+        assertThat(names(second)).containsExactly("d-api", "e-api");
+        assertThat(first.getTotal()).isEqualTo(5);
+        assertThat(first.getTotalPages()).isEqualTo(3);
+        assertThat(names(service.query(CatalogQuery.builder().build())))
+                .containsExactly("a-api", "b-api", "c-api", "d-api", "e-api");
+        assertThat(names(service.query(CatalogQuery.builder().sort("team").build())))
+                .containsExactly("a-api", "b-api", "c-api", "d-api", "e-api");
+        assertThat(service.query(CatalogQuery.builder().size(2).page(5).build()).getItems()).isEmpty();
+    }
+
+    @Test
+    void shouldFilterByTeamEnvironmentScoreAndDate() {
+        assertThat(names(service.query(CatalogQuery.builder().team("SEARCH").build())))
+                .containsExactly("c-api", "d-api");
+        assertThat(names(service.query(CatalogQuery.builder().environment("dev").build())))
+                .containsExactly("b-api");
+        assertThat(names(service.query(CatalogQuery.builder().minScore(50).maxScore(80).sort("score").build())))
+                .containsExactly("e-api", "c-api", "d-api");
+        assertThat(names(service.query(CatalogQuery.builder().minScore(50).maxScore(80).sort("score,desc").build())))
+                .containsExactly("c-api", "d-api", "e-api");
+        assertThat(names(service.query(CatalogQuery.builder().minScore(50).maxScore(80).build())))
+                .containsExactly("c-api", "d-api", "e-api");
+
+        var since = T0.plus(Duration.ofHours(2));
+        assertThat(names(service.query(CatalogQuery.builder().updatedSince(since).sort("updatedAt,desc").build())))
+                .containsExactly("e-api", "d-api", "c-api");
+        assertThat(names(service.query(CatalogQuery.builder().updatedSince(since).sort("updatedAt").team("search").build())))
+                .containsExactly("c-api", "d-api");
+        assertThat(service.query(CatalogQuery.builder().team("unknown").build()).getTotal()).isZero();
+
+        assertThatThrownBy(() -> service.query(CatalogQuery.builder().sort("owner").build()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.query(CatalogQuery.builder().sort("name,up").build()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldReflectSavesAndNewScores() {
+        assertThat(names(service.query(CatalogQuery.builder().sort("score,desc").size(1).build())))
+                .containsExactly("a-api");
+
+        save("f-api", "search", "prod", 5);
+        service.update(metadata("f-api", "search", "prod", 5), "abc1234");
+        score("f-api", 95);
+        score("a-api", 10);
+
+        assertThat(names(service.query(CatalogQuery.builder().sort("score,desc").size(1).build())))
+                .containsExactly("f-api");
+        assertThat(names(service.query(CatalogQuery.builder().sort("score").size(1).build())))
+                .containsExactly("a-api");
+        assertThat(names(service.query(CatalogQuery.builder().team("search").build())))
+                .containsExactly("c-api", "d-api", "f-api");
+    }
+
+    private List<String> names(CatalogPage page) {
+        return page.getItems().stream().map(SwaggerEntry::getAppName).toList();
+    }
+
+    private void score(String appName, int score) {
+        quality.record(appName, QualityScore.builder().score(score).issues(List.of()).build());
+    }
+
+    private void save(String appName, String team, String environment, int hours) {
+        var swagger = objectMapper.createObjectNode().put("openapi", "3.0.0");
+        swagger.putObject("info").put("title", appName);
+        storage.save(appName, swagger, metadata(appName, team, environment, hours));
+    }
+
+    private SwaggerMetadata metadata(String appName, String team, String environment, int hours) {
+        return SwaggerMetadata.builder()
+                .appName(appName)
+                .team(team)
+                .environment(environment)
+                .updatedAt(T0.plus(Duration.ofHours(hours)))
+                .build();
+    }
+}
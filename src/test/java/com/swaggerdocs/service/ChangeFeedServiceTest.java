@@ -0,0 +1,171 @@
+package com.swaggerdocs.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.swaggerdocs.config.FeedConfig;
+import com.swaggerdocs.config.ValidationConfig;
+import com.swaggerdocs.config.WorkerThreads;
+import com.swaggerdocs.event.SwaggerSavedEvent;
+import com.swaggerdocs.model.BreakingChange;
+import com.swaggerdocs.model.ChangeEvent;
+import com.swaggerdocs.model.QualityScore;
+import com.swaggerdocs.model.SwaggerMetadata;
+import com.swaggerdocs.model.ValidationResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ChangeFeedServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ObjectMapper objectMapper;
+    private GitStorageService storage;
+    private QualityService quality;
+    private CatalogIndexService catalog;
+    private ChangeFeedService service;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.findAndRegisterModules();
+        storage = new GitStorageService(tempDir.toString(), objectMapper);
+        storage.init();
+        quality = new QualityService(storage, new ValidationService(), objectMapper, new ValidationConfig());
+        quality.init();
+        catalog = new CatalogIndexService(storage, quality);
+        catalog.init();
+
+        FeedConfig config = new FeedConfig();
+        config.setBufferSize(2);
+        service = new ChangeFeedService(catalog, config, new WorkerThreads(false));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        quality.shutdown();
+    }
+
+    @Test
+    void shouldKeepIdsIncreasingWithinTheSameMillisecond() {
+        Instant now = Instant.now();
+        save("a-api", now, 1);
+        save("b-api", now, 0);
+
+        List<ChangeEvent> events = service.eventsAfter(0);
+
+        assertThat(events).extracting(ChangeEvent::getAppName, ChangeEvent::getBreakingChanges, ChangeEvent::isReplayed)
+                .containsExactly(tuple("a-api", 1, false), tuple("b-api", 0, false));
+        assertThat(events.get(0).getId()).isGreaterThanOrEqualTo(now.toEpochMilli());
+        assertThat(events.get(1).getId()).isEqualTo(events.get(0).getId() + 1);
+        assertThat(service.getLatestId()).isEqualTo(events.get(1).getId());
+        assertThat(service.eventsAfter(events.get(0).getId())).extracting(ChangeEvent::getAppName).containsExactly("b-api");
+        assertThat(service.eventsAfter(service.getLatestId())).isEmpty();
+    }
+
+    @Test
+    void shouldReplayEvictedEventsFromTheCatalog() {
+        Instant start = Instant.now().plusSeconds(1);
+        String first = save("a-api", start, 0);
+        save("b-api", start.plusSeconds(1), 0);
+        save("c-api", start.plusSeconds(2), 0);
+        // b-api again: its first event is evicted, but the buffered one covers it
+        save("b-api", start.plusSeconds(3), 2);
+
+        List<ChangeEvent> events = service.eventsAfter(start.toEpochMilli() - 1);
+
+        assertThat(events).extracting(ChangeEvent::getAppName, ChangeEvent::isReplayed, ChangeEvent::getBreakingChanges)
+                .containsExactly(
+                        tuple("a-api", true, null),
+                        tuple("c-api", false, 0),
+                        tuple("b-api", false, 2));
+        assertThat(events.get(0).getVersion()).isEqualTo(first);
+        assertThat(events.get(0).getId()).isEqualTo(start.toEpochMilli());
+        // Resuming after the replayed event does not replay it again
+        assertThat(service.eventsAfter(events.get(0).getId())).extracting(ChangeEvent::getAppName)
+                .containsExactly("c-api", "b-api");
+    }
+
+    @Test
+    void shouldWakeListenersOnFeedThreads() throws Exception {
+        CompletableFuture<String> thread = new CompletableFuture<>();
+        Runnable listener = () -> thread.complete(Thread.currentThread().getName());
+        service.register(listener);
+
+        save("a-api", Instant.now(), 0);
+
+        assertThat(thread.get(5, TimeUnit.SECONDS)).startsWith("change-feed-");
+        service.unregister(listener);
+    }
+
+    @Test
+    void shouldReplayVersionsResolvedFromHistoryAfterRestart() {
+        Instant start = Instant.now();
+        String a = save("a-api", start, 0);
+        save("b-api", start.plusSeconds(1), 0);
+        String b = save("b-api", start.plusSeconds(2), 0);
+
+        CatalogIndexService restartedCatalog = new CatalogIndexService(storage, quality);
+        restartedCatalog.init();
+        ChangeFeedService restarted = new ChangeFeedService(restartedCatalog, new FeedConfig(), new WorkerThreads(false));
+        try {
+            assertThat(restarted.eventsAfter(0))
+                    .extracting(ChangeEvent::getAppName, ChangeEvent::getVersion, ChangeEvent::isReplayed)
+                    .containsExactly(tuple("a-api", a, true), tuple("b-api", b, true));
+        } finally {
+            restarted.shutdown();
+        }
+    }
+
+    @Test
+    void shouldKeepWakingListenersWhileDeliveriesBlock() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        // More stalled clients than feed threads
+        for (int i = 0; i < 4; i++) {
+            service.deliver(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        CompletableFuture<Void> woken = new CompletableFuture<>();
+        Runnable listener = () -> woken.complete(null);
+        service.register(listener);
+
+        save("a-api", Instant.now(), 0);
+
+        woken.get(5, TimeUnit.SECONDS);
+        release.countDown();
+        service.unregister(listener);
+    }
+
+    private String save(String appName, Instant updatedAt, int breakingChanges) {
+        ObjectNode spec = objectMapper.createObjectNode().put("openapi", "3.0.0");
+        spec.putObject("info").put("title", appName).put("version", updatedAt.toString());
+        SwaggerMetadata metadata = SwaggerMetadata.builder().appName(appName).team("team").updatedAt(updatedAt).build();
+        String version = storage.save(appName, spec, metadata);
+        catalog.update(metadata, version);
+        service.onSaved(new SwaggerSavedEvent(metadata, ValidationResult.builder()
+                .version(version)
+                .quality(QualityScore.builder().score(80).build())
+                .breakingChanges(Collections.nCopies(breakingChanges, new BreakingChange()))
+                .build()));
+        return version;
+    }
+}
@@ -16,6 +16,10 @@ import org.junit.jupiter.api.io.TempDir;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -101,6 +105,96 @@ class GitStorageServiceTest {
         assertThat(metadata).isEmpty();
     }
 
+    @Test
+    void shouldResolveBlobIdsAtTaggedRevision() {
+        ObjectNode swagger = objectMapper.createObjectNode();
+        swagger.put("openapi", "3.0.0");
+        service.save("tagged-api", swagger, SwaggerMetadata.builder()
+                .appName("tagged-api").team("team").updatedAt(Instant.now()).build());
+
+        service.createTag("release-1");
+        var baselineBlob = service.getBlobId("tagged-api", "release-1");
+
+        swagger.put("openapi", "3.1.0");
+        service.save("tagged-api", swagger, SwaggerMetadata.builder()
+                .appName("tagged-api").team("team").updatedAt(Instant.now()).build());
+
+        assertThat(service.listTags()).containsExactly("release-1");
+        assertThat(baselineBlob).isPresent();
+        assertThat(service.getBlobIds("HEAD")).containsOnlyKeys("tagged-api");
+        assertThat(service.getBlobIds("HEAD").get("tagged-api")).isNotEqualTo(baselineBlob.get());
+        assertThat(service.getSwaggerByBlobId(baselineBlob.get()))
+                .hasValueSatisfying(node -> assertThat(node.get("openapi").asText()).isEqualTo("3.0.0"));
+    }
+
+    @Test
+    void shouldServeCurrentSwaggerFromCacheUntilNextSave() {
+        ObjectNode swagger = objectMapper.createObjectNode();
+        swagger.put("openapi", "3.0.0");
+        service.save("cached-api", swagger, SwaggerMetadata.builder()
+                .appName("cached-api").team("team").updatedAt(Instant.now()).build());
+
+        var first = service.getCurrentSwagger("cached-api");
+        assertThat(first).isPresent();
+        assertThat(service.getCurrentSwagger("cached-api").get()).isSameAs(first.get());
+
+        swagger.put("openapi", "3.1.0");
+        service.save("cached-api", swagger, SwaggerMetadata.builder()
+                .appName("cached-api").team("team").updatedAt(Instant.now()).build());
+
+        assertThat(service.getBlobId("cached-api", "HEAD")).isEqualTo(service.getBlobIds("HEAD").values().stream().findFirst());
+        assertThat(service.getCurrentSwagger("cached-api"))
+                .hasValueSatisfying(node -> assertThat(node.get("openapi").asText()).isEqualTo("3.1.0"));
+        assertThat(service.getCurrentSwagger("non-existent")).isEmpty();
+    }
+
+    @Test
+    void shouldCommitConcurrentSavesOfDifferentAppsSeparately() throws Exception {
+        ObjectNode swagger = objectMapper.createObjectNode();
+        swagger.put("openapi", "3.0.0");
+        var pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> versions = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                String appName = "parallel-" + i;
+                versions.add(pool.submit(() -> service.save(appName, swagger, SwaggerMetadata.builder()
+                        .appName(appName).team("team").updatedAt(Instant.now()).build())));
+            }
+            List<String> saved = new ArrayList<>();
+            for (Future<String> version : versions) {
+                saved.add(version.get());
+            }
+            // Each app has exactly its own commit
+            assertThat(saved).doesNotHaveDuplicates();
+            for (int i = 0; i < 8; i++) {
+                assertThat(service.getVersionHistory("parallel-" + i)).containsExactly(saved.get(i));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldSaveSeveralAppsInOneCommit() {
+        ObjectNode swagger = objectMapper.createObjectNode();
+        swagger.put("openapi", "3.0.0");
+        service.save("app-a", swagger, SwaggerMetadata.builder()
+                .appName("app-a").team("team").updatedAt(Instant.now()).build());
+
+        swagger.put("openapi", "3.1.0");
+        String version = service.saveAll(List.of(
+                new GitStorageService.SpecWrite("app-a", swagger, SwaggerMetadata.builder()
+                        .appName("app-a").team("team").commitHash("def456").updatedAt(Instant.now()).build()),
+                new GitStorageService.SpecWrite("app-b", swagger, SwaggerMetadata.builder()
+                        .appName("app-b").team("team").commitHash("def456").updatedAt(Instant.now()).build())));
+
+        assertThat(service.getVersionHistory("app-a")).hasSize(2).first().isEqualTo(version);
+        assertThat(service.getVersionHistory("app-b")).containsExactly(version);
+        assertThat(service.getCurrentSwagger("app-a"))
+                .hasValueSatisfying(node -> assertThat(node.get("openapi").asText()).isEqualTo("3.1.0"));
+        assertThat(service.getBlobIds("HEAD")).containsOnlyKeys("app-a", "app-b");
+    }
+
     @Nested
     class RemoteSyncTests {
 
@@ -0,0 +1,124 @@
+package com.swaggerdocs.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonPatchServiceTest {
+
+    private JsonPatchService service;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        service = new JsonPatchService(objectMapper);
+    }
+
+    @Test
+    void shouldProduceEmptyPatchForIdenticalSpecs() throws Exception {
+        ObjectNode swagger = createBaseSwagger();
+        swagger.with("paths").putObject("/users").putObject("get");
+
+        assertThat(patch(swagger, swagger.deepCopy())).isEmpty();
+    }
+
+    @Test
+    void shouldEscapePathKeysAsJsonPointer() throws Exception {
+        ObjectNode oldSwagger = createBaseSwagger();
+        oldSwagger.with("paths").putObject("/users/{id}").putObject("get");
+
+        ObjectNode newSwagger = createBaseSwagger();
+        newSwagger.with("paths").putObject("/users/{id}");
+
+        ArrayNode ops = patch(oldSwagger, newSwagger);
+
+        assertThat(ops).hasSize(1);
+        assertThat(ops.get(0).get("op").asText()).isEqualTo("remove");
+        assertThat(ops.get(0).get("path").asText()).isEqualTo("/paths/~1users~1{id}/get");
+    }
+
+    @Test
+    void shouldReplaceChangedValuesAndAddNewKeys() throws Exception {
+        ObjectNode oldSwagger = createBaseSwagger();
+        ObjectNode newSwagger = createBaseSwagger();
+        newSwagger.with("info").put("title", "Renamed API");
+        newSwagger.with("info").put("description", "Now documented");
+
+        ArrayNode ops = patch(oldSwagger, newSwagger);
+
+        assertThat(ops).hasSize(2);
+        assertThat(ops.get(0).get("op").asText()).isEqualTo("replace");
+        assertThat(ops.get(0).get("path").asText()).isEqualTo("/info/title");
+        assertThat(ops.get(1).get("op").asText()).isEqualTo("add");
+        assertThat(ops.get(1).get("value").asText()).isEqualTo("Now documented");
+    }
+
+    @Test
+    void shouldTransformSourceIntoTargetWhenApplied() throws Exception {
+        ObjectNode oldSwagger = createBaseSwagger();
+        var get = oldSwagger.with("paths").putObject("/orders").putObject("get");
+        get.putArray("tags").add("orders").add("legacy").add("internal");
+        get.putArray("parameters").addObject().put("name", "page").put("in", "query");
+
+        ObjectNode newSwagger = createBaseSwagger();
+        var newGet = newSwagger.with("paths").putObject("/orders").putObject("get");
+        newGet.putArray("tags").add("orders");
+        var params = newGet.putArray("parameters");
+        params.addObject().put("name", "page").put("in", "query").put("required", true);
+        params.addObject().put("name", "size").put("in", "query");
+        newSwagger.with("paths").putObject("/orders/{id}").putObject("delete");
+
+        ArrayNode ops = patch(oldSwagger, newSwagger);
+
+        assertThat(apply(oldSwagger.deepCopy(), ops)).isEqualTo(newSwagger);
+    }
+
+    private ArrayNode patch(JsonNode source, JsonNode target) throws Exception {
+        var out = new ByteArrayOutputStream();
+        service.writePatch(source, target, out);
+        return (ArrayNode) objectMapper.readTree(out.toByteArray());
+    }
+
+    private JsonNode apply(JsonNode document, ArrayNode ops) {
+        for (JsonNode op : ops) {
+            String path = op.get("path").asText();
+            int split = path.lastIndexOf('/');
+            JsonNode parent = document.at(path.substring(0, split));
+            String key = path.substring(split + 1).replace("~1", "/").replace("~0", "~");
+
+            switch (op.get("op").asText()) {
+                case "remove" -> {
+                    if (parent.isArray()) ((ArrayNode) parent).remove(Integer.parseInt(key));
+                    else ((ObjectNode) parent).remove(key);
+                }
+                case "add", "replace" -> {
+                    if (parent.isArray()) {
+                        int index = Integer.parseInt(key);
+                        if (index < parent.size()) ((ArrayNode) parent).set(index, op.get("value"));
+                        else ((ArrayNode) parent).add(op.get("value"));
+                    } else {
+                        ((ObjectNode) parent).set(key, op.get("value"));
+                    }
+                }
+                default -> throw new IllegalStateException("Unexpected op " + op);
+            }
+        }
+        return document;
+    }
+
+    private ObjectNode createBaseSwagger() {
+        ObjectNode swagger = objectMapper.createObjectNode();
+        swagger.put("openapi", "3.0.0");
+        swagger.putObject("info").put("title", "Test API");
+        swagger.putObject("paths");
+        return swagger;
+    }
+}
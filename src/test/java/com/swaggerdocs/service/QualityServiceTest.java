@@ -0,0 +1,142 @@
+package com.swaggerdocs.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.swaggerdocs.config.ValidationConfig;
+import com.swaggerdocs.model.QualityScore;
+import com.swaggerdocs.model.SwaggerEntry;
+import com.swaggerdocs.model.SwaggerMetadata;
+import com.swaggerdocs.validation.DescriptionsRule;
+import com.swaggerdocs.validation.ExamplesRule;
+import com.swaggerdocs.validation.MetadataRule;
+import com.swaggerdocs.validation.ResponsesRule;
+import com.swaggerdocs.validation.SchemasRule;
+import org.eclipse.jgit.api.Git;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QualityServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private GitStorageService storage;
+    private ObjectMapper objectMapper;
+    private final List<QualityService> services = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.findAndRegisterModules();
+        storage = new GitStorageService(tempDir.toString(), objectMapper);
+        storage.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(QualityService::shutdown);
+    }
+
+    @Test
+    void shouldPersistScoreRecordedAtIngestOutsideOfGit() throws Exception {
+        var validation = new ValidationService();
+        var service = start(validation);
+        save("users-api", swagger(true));
+        QualityScore quality = validation.calculateQuality(storage.getSwagger("users-api").orElseThrow());
+
+        service.record("users-api", quality);
+
+        String blobId = storage.getBlobId("users-api", "HEAD").orElseThrow();
+        assertThat(tempDir.resolve(".cache/quality").resolve(validation.getRulesVersion()).resolve(blobId + ".json"))
+                .exists();
+        assertThat(start(validation).getQuality("users-api")).contains(quality);
+        try (var git = Git.open(tempDir.toFile())) {
+            assertThat(git.status().call().isClean()).isTrue();
+        }
+    }
+
+    @Test
+    void shouldScoreInBackgroundInsteadOfOnRead() throws Exception {
+        var service = start(new ValidationService());
+        save("users-api", swagger(false));
+
+        assertThat(service.getQuality("users-api")).isEmpty();
+
+        Optional<QualityScore> quality = Optional.empty();
+        for (int i = 0; i < 100 && quality.isEmpty(); i++) {
+            Thread.sleep(50);
+            quality = service.getQuality("users-api");
+        }
+        assertThat(quality).isPresent();
+    }
+
+    @Test
+    void shouldRescoreCatalogWhenRulesVersionChanges() throws Exception {
+        save("users-api", swagger(false));
+        save("orders-api", swagger(true));
+
+        var defaults = new ValidationService();
+        start(defaults);
+
+        var config = new ValidationConfig();
+        config.setWeights(Map.of("descriptions", 0, "examples", 0, "responses", 0, "schemas", 0));
+        var metadataOnly = new ValidationService(List.of(new DescriptionsRule(), new ExamplesRule(),
+                new ResponsesRule(), new SchemasRule(), new MetadataRule()), config);
+        assertThat(metadataOnly.getRulesVersion()).isNotEqualTo(defaults.getRulesVersion());
+
+        var service = start(metadataOnly);
+        List<SwaggerEntry> entries = service.applyCatalogScores(storage.listApps());
+
+        assertThat(entries).extracting(SwaggerEntry::getQualityScore).containsOnly(100);
+        Path scores = tempDir.resolve(".cache/quality");
+        for (int i = 0; i < 100 && Files.exists(scores.resolve(defaults.getRulesVersion())); i++) {
+            Thread.sleep(50);
+        }
+        assertThat(scores.resolve(defaults.getRulesVersion())).doesNotExist();
+        assertThat(scores.resolve(metadataOnly.getRulesVersion())).exists();
+    }
+
+    private QualityService start(ValidationService validation) throws Exception {
+        var service = new QualityService(storage, validation, objectMapper, new ValidationConfig());
+        services.add(service);
+        service.init();
+        service.refreshCatalog().get(10, TimeUnit.SECONDS);
+        return service;
+    }
+
+    private void save(String appName, ObjectNode swagger) {
+        storage.save(appName, swagger, SwaggerMetadata.builder()
+                .appName(appName)
+                .updatedAt(Instant.now())
+                .build());
+    }
+
+    private ObjectNode swagger(boolean described) {
+        ObjectNode swagger = objectMapper.createObjectNode();
+        swagger.put("openapi", "3.0.0");
+        var info = swagger.putObject("info");
+        info.put("title", "Test API");
+        info.put("description", "Complete info section");
+        info.put("version", "1.0.0");
+        info.put("contact", "team@example.com");
+        var get = swagger.putObject("paths").putObject("/users").putObject("get");
+        if (described) {
+            get.put("summary", "List users");
+        }
+        get.putObject("responses").putObject("200").put("description", "OK");
+        return swagger;
+    }
+}
@@ -0,0 +1,148 @@
+package com.swaggerdocs.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.swaggerdocs.model.BreakingChange;
+import com.swaggerdocs.model.ReleaseReportEntry;
+import com.swaggerdocs.model.ReleaseReportEntry.Status;
+import com.swaggerdocs.model.SwaggerMetadata;
+import org.eclipse.jgit.api.Git;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReleaseReportServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private GitStorageService storage;
+    private ReleaseReportService service;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.findAndRegisterModules();
+        storage = new GitStorageService(tempDir.toString(), objectMapper);
+        storage.init();
+        service = new ReleaseReportService(storage, new DiffService());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void shouldReportEachAppAgainstBaselineTag() {
+        save("stable-api", swagger("/users", "/orders"));
+        save("breaking-api", swagger("/users", "/orders"));
+        save("changed-api", swagger("/users"));
+        save("removed-api", swagger("/users"));
+        storage.createTag("release-1");
+
+        save("breaking-api", swagger("/users"));
+        save("changed-api", swagger("/users", "/orders"));
+        save("new-api", swagger("/users"));
+        deleteApp("removed-api");
+
+        List<ReleaseReportEntry> report = new ArrayList<>();
+        service.generateReport("release-1", report::add);
+
+        Map<String, ReleaseReportEntry> byApp = report.stream()
+                .collect(Collectors.toMap(ReleaseReportEntry::getAppName, e -> e));
+
+        assertThat(byApp).hasSize(5);
+        assertThat(byApp.get("stable-api").getStatus()).isEqualTo(Status.UNCHANGED);
+        assertThat(byApp.get("breaking-api").getStatus()).isEqualTo(Status.BREAKING);
+        assertThat(byApp.get("breaking-api").getBreakingChanges()).isEqualTo(1);
+        assertThat(byApp.get("changed-api").getStatus()).isEqualTo(Status.CHANGED);
+        assertThat(byApp.get("new-api").getStatus()).isEqualTo(Status.ADDED);
+        assertThat(byApp.get("removed-api").getStatus()).isEqualTo(Status.REMOVED);
+    }
+
+    @Test
+    void shouldRejectUnknownTag() {
+        save("some-api", swagger("/users"));
+
+        assertThatThrownBy(() -> service.generateReport("missing", entry -> { }))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldCancelQueuedDiffsWhenTheSinkFails() throws Exception {
+        // Distinct specs, so no diff is answered from the cache
+        int apps = Runtime.getRuntime().availableProcessors() + 10;
+        for (int i = 0; i < apps; i++) {
+            save("app-" + i, swagger("/users", "/app-" + i));
+        }
+        storage.createTag("release-1");
+        for (int i = 0; i < apps; i++) {
+            save("app-" + i, swagger("/users", "/app-" + i, "/orders"));
+        }
+
+        // The first diff completes at once, the rest hold their thread until released
+        var calls = new AtomicInteger();
+        var release = new CountDownLatch(1);
+        service.shutdown();
+        service = new ReleaseReportService(storage, new DiffService() {
+            @Override
+            public List<BreakingChange> findBreakingChanges(JsonNode oldSwagger, JsonNode newSwagger) {
+                if (calls.incrementAndGet() > 1) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return List.of();
+            }
+        });
+
+        assertThatThrownBy(() -> service.generateReport("release-1", entry -> {
+            throw new IllegalStateException("Client went away");
+        })).isInstanceOf(IllegalStateException.class);
+
+        release.countDown();
+        Thread.sleep(200);
+        assertThat(calls.get()).isLessThanOrEqualTo(Runtime.getRuntime().availableProcessors() + 1);
+    }
+
+    private ObjectNode swagger(String... paths) {
+        ObjectNode swagger = objectMapper.createObjectNode();
+        swagger.put("openapi", "3.0.0");
+        for (String path : paths) {
+            swagger.with("paths").putObject(path).putObject("get");
+        }
+        return swagger;
+    }
+
+    private void save(String appName, ObjectNode swagger) {
+        storage.save(appName, swagger, SwaggerMetadata.builder()
+                .appName(appName).team("team").updatedAt(Instant.now()).build());
+    }
+
+    private void deleteApp(String appName) {
+        try (Git git = Git.open(tempDir.toFile())) {
+            git.rm().addFilepattern(appName).call();
+            git.commit().setMessage("Remove " + appName).call();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
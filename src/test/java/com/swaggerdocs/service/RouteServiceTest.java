@@ -0,0 +1,119 @@
+package com.swaggerdocs.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.swaggerdocs.model.RouteConflict;
+import com.swaggerdocs.model.RouteConflict.ConflictType;
+import com.swaggerdocs.model.RouteMatch;
+import com.swaggerdocs.model.SwaggerMetadata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class RouteServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ObjectMapper objectMapper;
+    private GitStorageService storage;
+    private RouteService service;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.findAndRegisterModules();
+        storage = new GitStorageService(tempDir.toString(), objectMapper);
+        storage.init();
+        service = new RouteService();
+    }
+
+    @Test
+    void shouldResolveConcreteRequestsUnderBasePath() throws Exception {
+        storage.save("orders-api", spec("https://api.example.com/v2/", "get:/orders/{orderId}/items", "get:/orders/export"),
+                SwaggerMetadata.builder().appName("orders-api").team("commerce").updatedAt(Instant.now()).build());
+
+        var indexer = new SpecIndexer(storage, List.of(service));
+        indexer.init();
+        indexer.awaitBuild().get(10, TimeUnit.SECONDS);
+        indexer.shutdown();
+
+        List<RouteMatch> matches = service.lookup("GET", "/v2/orders/123/items?expand=true");
+        assertThat(matches).extracting(RouteMatch::getAppName).containsExactly("orders-api");
+        assertThat(matches.get(0).getTemplate()).isEqualTo("/v2/orders/{orderId}/items");
+        assertThat(matches.get(0).getParameters()).isEqualTo(Map.of("orderId", "123"));
+
+        assertThat(service.lookup("POST", "/v2/orders/123/items")).isEmpty();
+        assertThat(service.lookup(null, "/orders/123/items")).isEmpty();
+    }
+
+    @Test
+    void shouldPreferLiteralSegmentsOverParameters() {
+        service.index("orders-api", null, spec(null, "get:/orders/{id}"));
+        service.index("exports-api", null, spec(null, "get:/orders/export"));
+
+        assertThat(service.lookup("get", "/orders/export"))
+                .extracting(RouteMatch::getAppName)
+                .containsExactly("exports-api", "orders-api");
+        assertThat(service.lookup("get", "/orders/42"))
+                .extracting(RouteMatch::getAppName)
+                .containsExactly("orders-api");
+    }
+
+    @Test
+    void shouldReportConflictsAndOverlapsWithOtherApps() {
+        service.index("orders-api", null, spec(null, "get:/orders/{id}", "post:/orders"));
+        service.index("legacy-api", null, spec("/", "get:/orders/{orderId}", "get:/orders/export", "post:/legacy"));
+
+        List<RouteConflict> conflicts = service.findConflicts("new-api", spec(null, "get:/orders/{key}", "delete:/orders/{id}"));
+
+        assertThat(conflicts)
+                .extracting(RouteConflict::getType, RouteConflict::getOtherApp, RouteConflict::getOtherTemplate)
+                .containsExactlyInAnyOrder(
+                        tuple(ConflictType.CONFLICT, "orders-api", "/orders/{id}"),
+                        tuple(ConflictType.CONFLICT, "legacy-api", "/orders/{orderId}"),
+                        tuple(ConflictType.OVERLAP, "legacy-api", "/orders/export"));
+
+        // A spec never conflicts with its own previous version
+        assertThat(service.findConflicts("orders-api", spec(null, "post:/orders"))).isEmpty();
+        assertThat(service.findAllConflicts())
+                .extracting(RouteConflict::getType)
+                .containsExactlyInAnyOrder(ConflictType.CONFLICT, ConflictType.OVERLAP);
+    }
+
+    @Test
+    void shouldDropRoutesRemovedFromUpdatedApp() {
+        service.index("orders-api", null, spec(null, "get:/orders/{id}", "get:/orders/{id}/items"));
+        service.index("orders-api", null, spec(null, "get:/orders/{id}"));
+
+        assertThat(service.lookup("get", "/orders/1/items")).isEmpty();
+        assertThat(service.lookup("get", "/orders/1")).hasSize(1);
+
+        service.index("orders-api", null, spec(null));
+        assertThat(service.lookup(null, "/orders/1")).isEmpty();
+    }
+
+    private ObjectNode spec(String serverUrl, String... routes) {
+        ObjectNode spec = objectMapper.createObjectNode();
+        spec.put("openapi", "3.0.0");
+        if (serverUrl != null) {
+            spec.putArray("servers").addObject().put("url", serverUrl);
+        }
+        ObjectNode paths = spec.putObject("paths");
+        for (String route : routes) {
+            String[] parts = route.split(":", 2);
+            ObjectNode pathItem = paths.has(parts[1]) ? (ObjectNode) paths.get(parts[1]) : paths.putObject(parts[1]);
+            pathItem.putObject(parts[0]).putObject("responses");
+        }
+        return spec;
+    }
+}
@@ -0,0 +1,104 @@
+package com.swaggerdocs.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.swaggerdocs.model.BreakingChange;
+import com.swaggerdocs.model.SchemaReferenceGraph;
+import com.swaggerdocs.model.SwaggerMetadata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SchemaGraphServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private GitStorageService storage;
+    private SchemaGraphService service;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.findAndRegisterModules();
+        storage = new GitStorageService(tempDir.toString(), objectMapper);
+        storage.init();
+        service = new SchemaGraphService(storage);
+    }
+
+    @Test
+    void shouldFindOperationsReachingSchemaTransitively() {
+        SchemaReferenceGraph graph = service.build(createOrdersSwagger());
+
+        assertThat(graph.getReferencedBy().get("Money")).containsExactly("LineItem");
+        assertThat(graph.affectedOperations("Money"))
+                .containsExactlyInAnyOrder("GET /orders/{id}", "POST /orders", "GET /invoices");
+        assertThat(graph.affectedOperations("Order")).containsExactlyInAnyOrder("GET /orders/{id}", "POST /orders");
+    }
+
+    @Test
+    void shouldFollowSharedComponentReferences() {
+        ObjectNode swagger = createOrdersSwagger();
+        swagger.with("components").with("responses").putObject("Error")
+                .putObject("content").putObject("application/json")
+                .putObject("schema").put("$ref", "#/components/schemas/Problem");
+        swagger.with("components").with("schemas").putObject("Problem").put("type", "object");
+        ((ObjectNode) swagger.at("/paths/~1orders/post")).putObject("responses")
+                .putObject("400").put("$ref", "#/components/responses/Error");
+
+        assertThat(service.build(swagger).affectedOperations("Problem")).containsExactly("POST /orders");
+    }
+
+    @Test
+    void shouldAnnotateRemovedPropertiesWithAffectedOperations() {
+        ObjectNode oldSwagger = createOrdersSwagger();
+        storage.save("orders-api", oldSwagger, SwaggerMetadata.builder()
+                .appName("orders-api").team("team").updatedAt(Instant.now()).build());
+
+        List<BreakingChange> changes = List.of(
+                BreakingChange.builder()
+                        .type(BreakingChange.ChangeType.RESPONSE_FIELD_REMOVED)
+                        .path("components/schemas/Money/currency")
+                        .build(),
+                BreakingChange.builder()
+                        .type(BreakingChange.ChangeType.ENDPOINT_REMOVED)
+                        .path("/invoices")
+                        .build());
+
+        service.annotateImpact(changes, "orders-api", "current", oldSwagger);
+
+        assertThat(changes.get(0).getAffectedOperations())
+                .containsExactlyInAnyOrder("GET /orders/{id}", "POST /orders", "GET /invoices");
+        assertThat(changes.get(1).getAffectedOperations()).isNull();
+        assertThat(service.getGraph("orders-api", null)).isPresent();
+    }
+
+    private ObjectNode createOrdersSwagger() {
+        ObjectNode swagger = objectMapper.createObjectNode();
+        swagger.put("openapi", "3.0.0");
+        var schemas = swagger.putObject("components").putObject("schemas");
+        schemas.putObject("Money").with("properties").putObject("currency").put("type", "string");
+        schemas.putObject("LineItem").with("properties").putObject("price").put("$ref", "#/components/schemas/Money");
+        schemas.putObject("Order").with("properties").putObject("items")
+                .put("type", "array").putObject("items").put("$ref", "#/components/schemas/LineItem");
+
+        var paths = swagger.putObject("paths");
+        paths.putObject("/orders/{id}").putObject("get").putObject("responses").putObject("200")
+                .putObject("content").putObject("application/json")
+                .putObject("schema").put("$ref", "#/components/schemas/Order");
+        paths.putObject("/orders").putObject("post").putObject("requestBody")
+                .putObject("content").putObject("application/json")
+                .putObject("schema").put("$ref", "#/components/schemas/Order");
+        paths.putObject("/invoices").putObject("get").putObject("responses").putObject("200")
+                .putObject("content").putObject("application/json")
+                .putObject("schema").put("$ref", "#/components/schemas/LineItem");
+        return swagger;
+    }
+}
@@ -0,0 +1,128 @@
+package com.swaggerdocs.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.swaggerdocs.model.SchemaMatch;
+import com.swaggerdocs.model.SharedSchema;
+import com.swaggerdocs.model.SwaggerMetadata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class SchemaIndexServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ObjectMapper objectMapper;
+    private SchemaIndexService service;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.findAndRegisterModules();
+        service = new SchemaIndexService();
+    }
+
+    @Test
+    void shouldFindIdenticalSchemasUnderOtherNamesAndVersions() throws Exception {
+        var storage = new GitStorageService(tempDir.toString(), objectMapper);
+        storage.init();
+        storage.save("orders-api", openApi("Money", money(true)), metadata("orders-api"));
+        storage.save("legacy-api", swagger2("Amount", money(true)), metadata("legacy-api"));
+        storage.save("billing-api", openApi("Money", money(false)), metadata("billing-api"));
+
+        var indexer = new SpecIndexer(storage, List.of(service));
+        indexer.init();
+        indexer.awaitBuild().get(10, TimeUnit.SECONDS);
+        indexer.shutdown();
+
+        assertThat(service.findSimilar("orders-api", "Money", 1.0, 10)).hasValueSatisfying(matches ->
+                assertThat(matches)
+                        .extracting(SchemaMatch::getAppName, SchemaMatch::getSchemaName, SchemaMatch::isIdentical)
+                        .containsExactly(
+                                tuple("legacy-api", "Amount", true),
+                                // Same properties, but none required
+                                tuple("billing-api", "Money", false)));
+
+        List<SharedSchema> shared = service.findShared(2);
+        assertThat(shared).hasSize(1);
+        assertThat(shared.get(0).getSchemas()).extracting(SchemaMatch::getAppName)
+                .containsExactly("legacy-api", "orders-api");
+        assertThat(service.findSimilar("orders-api", "Unknown", 0.5, 10)).isEmpty();
+    }
+
+    @Test
+    void shouldRankSimilarSchemasByPropertyOverlap() {
+        service.index("orders-api", null, openApi("Address", address("street", "city", "zip", "country")));
+        service.index("users-api", null, openApi("PostalAddress", address("street", "city", "zip", "state")));
+        service.index("geo-api", null, openApi("Location", address("street", "city", "lat")));
+
+        var matches = service.findSimilar("orders-api", "Address", 0.5, 10).orElseThrow();
+
+        // 3 shared of 5 distinct features
+        assertThat(matches).extracting(SchemaMatch::getAppName).containsExactly("users-api");
+        assertThat(matches.get(0).getSimilarity()).isEqualTo(0.6);
+        assertThat(matches.get(0).isIdentical()).isFalse();
+        assertThat(service.findSimilar("orders-api", "Address", 0.1, 10).orElseThrow())
+                .extracting(SchemaMatch::getAppName)
+                .containsExactly("users-api", "geo-api");
+    }
+
+    @Test
+    void shouldForgetSchemasRemovedOnSave() {
+        service.index("orders-api", null, openApi("Money", money(true)));
+        service.index("billing-api", null, openApi("Money", money(true)));
+        assertThat(service.findShared(2)).hasSize(1);
+
+        service.index("billing-api", null, openApi("Invoice", address("number")));
+
+        assertThat(service.findShared(2)).isEmpty();
+        assertThat(service.findSimilar("billing-api", "Money", 0.0, 10)).isEmpty();
+        assertThat(service.findSimilar("orders-api", "Money", 0.0, 10).orElseThrow()).isEmpty();
+    }
+
+    private ObjectNode money(boolean required) {
+        ObjectNode schema = objectMapper.createObjectNode().put("type", "object").put("description", "An amount");
+        var properties = schema.putObject("properties");
+        properties.putObject("amount").put("type", "number").put("format", "double");
+        properties.putObject("currency").put("type", "string").put("description", "ISO 4217");
+        if (required) {
+            schema.putArray("required").add("amount").add("currency");
+        }
+        return schema;
+    }
+
+    private ObjectNode address(String... fields) {
+        ObjectNode schema = objectMapper.createObjectNode().put("type", "object");
+        var properties = schema.putObject("properties");
+        for (String field : fields) {
+            properties.putObject(field).put("type", "string");
+        }
+        return schema;
+    }
+
+    private ObjectNode openApi(String name, ObjectNode schema) {
+        ObjectNode spec = objectMapper.createObjectNode().put("openapi", "3.0.0");
+        spec.putObject("components").putObject("schemas").set(name, schema);
+        return spec;
+    }
+
+    private ObjectNode swagger2(String name, ObjectNode schema) {
+        ObjectNode spec = objectMapper.createObjectNode().put("swagger", "2.0");
+        spec.putObject("definitions").set(name, schema);
+        return spec;
+    }
+
+    private SwaggerMetadata metadata(String appName) {
+        return SwaggerMetadata.builder().appName(appName).team("team").updatedAt(Instant.now()).build();
+    }
+}
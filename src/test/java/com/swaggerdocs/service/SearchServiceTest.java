@@ -0,0 +1,129 @@
+package com.swaggerdocs.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.swaggerdocs.model.SearchHit;
+import com.swaggerdocs.model.SearchResult;
+import com.swaggerdocs.model.SwaggerMetadata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SearchServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ObjectMapper objectMapper;
+    private GitStorageService storage;
+    private SearchService service;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.findAndRegisterModules();
+        storage = new GitStorageService(tempDir.toString(), objectMapper);
+        storage.init();
+        service = new SearchService();
+    }
+
+    @Test
+    void shouldBuildIndexFromStoredHeads() throws Exception {
+        save("customers-api", "crm", customersSpec());
+        save("billing-api", "finance", billingSpec());
+
+        var indexer = new SpecIndexer(storage, List.of(service));
+        indexer.init();
+        indexer.awaitBuild().get(10, TimeUnit.SECONDS);
+        indexer.shutdown();
+
+        List<SearchResult> byPath = service.search("/customers/{id}", null, "path", 10);
+        assertThat(byPath).extracting(SearchResult::getAppName).containsExactly("customers-api");
+        assertThat(byPath.get(0).getHits()).extracting(SearchHit::getText)
+                .containsExactly("/customers/{id}", "/customers/{id}/invoices");
+
+        assertThat(service.search("invoice*", null, null, 10))
+                .extracting(SearchResult::getAppName)
+                .containsExactly("billing-api", "customers-api");
+        assertThat(service.search("invoice*", "crm", null, 10))
+                .extracting(SearchResult::getAppName)
+                .containsExactly("customers-api");
+    }
+
+    @Test
+    void shouldMatchPrefixesAndIdentifierParts() {
+        service.index("customers-api", "crm", customersSpec());
+
+        assertThat(service.search("by cust*", null, "operation", 10).get(0).getHits())
+                .extracting(SearchHit::getText)
+                .containsExactly("getCustomerById");
+        assertThat(service.search("customer by", null, "operation", 10)).hasSize(1);
+        assertThat(service.search("getCustomerById", null, null, 10)).hasSize(1);
+        assertThat(service.search("email", null, "property", 10).get(0).getHits())
+                .extracting(SearchHit::getLocation)
+                .containsExactly("components/schemas/Customer/properties/email");
+        assertThat(service.search("customer shipment", null, null, 10)).isEmpty();
+
+        assertThatThrownBy(() -> service.search("a", null, null, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.search("customer", null, "header", 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldReplaceTermsOfUpdatedApp() {
+        service.index("customers-api", "crm", customersSpec());
+        int termsBefore = service.stats().getTerms();
+
+        ObjectNode updated = customersSpec();
+        ((ObjectNode) updated.get("paths")).remove("/customers/{id}/invoices");
+        service.index("customers-api", "crm", updated);
+
+        assertThat(service.search("invoices", null, null, 10)).isEmpty();
+        assertThat(service.search("customers", null, "path", 10)).hasSize(1);
+        assertThat(service.stats().getApps()).isEqualTo(1);
+        assertThat(service.stats().getTerms()).isLessThan(termsBefore);
+        assertThat(service.stats().getEstimatedBytes()).isPositive();
+    }
+
+    private void save(String appName, String team, ObjectNode swagger) {
+        storage.save(appName, swagger, SwaggerMetadata.builder()
+                .appName(appName).team(team).updatedAt(Instant.now()).build());
+    }
+
+    private ObjectNode customersSpec() {
+        ObjectNode spec = objectMapper.createObjectNode();
+        spec.put("openapi", "3.0.0");
+        spec.putObject("info").put("title", "Customers");
+        ObjectNode paths = spec.putObject("paths");
+        paths.putObject("/customers/{id}").putObject("get")
+                .put("operationId", "getCustomerById")
+                .put("summary", "Fetch a customer")
+                .putArray("tags").add("customers");
+        paths.putObject("/customers/{id}/invoices").putObject("get")
+                .put("operationId", "listCustomerInvoices")
+                .put("description", "Lists the invoices sent to a customer");
+        spec.putObject("components").putObject("schemas").putObject("Customer")
+                .putObject("properties").putObject("email").put("type", "string");
+        return spec;
+    }
+
+    private ObjectNode billingSpec() {
+        ObjectNode spec = objectMapper.createObjectNode();
+        spec.put("openapi", "3.0.0");
+        spec.putObject("info").put("title", "Billing");
+        ObjectNode paths = spec.putObject("paths");
+        paths.putObject("/invoices").putObject("post")
+                .put("operationId", "createInvoice")
+                .put("summary", "Create an invoice");
+        paths.putObject("/invoices/{id}").putObject("get")
+                .put("operationId", "getInvoice");
+        return spec;
+    }
+}
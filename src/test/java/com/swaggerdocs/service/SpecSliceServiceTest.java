@@ -0,0 +1,128 @@
+package com.swaggerdocs.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.swaggerdocs.model.SwaggerMetadata;
+import com.swaggerdocs.model.TagSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class SpecSliceServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ObjectMapper objectMapper;
+    private GitStorageService storage;
+    private SpecSliceService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        objectMapper = new ObjectMapper();
+        objectMapper.findAndRegisterModules();
+        storage = new GitStorageService(tempDir.toString(), objectMapper);
+        storage.init();
+        storage.save("shop-api", (ObjectNode) objectMapper.readTree("""
+                {
+                  "openapi": "3.0.0",
+                  "info": {"title": "Shop", "version": "1.0.0"},
+                  "servers": [{"url": "https://shop.example.com"}],
+                  "tags": [{"name": "orders", "description": "Order handling"}, {"name": "users"}],
+                  "paths": {
+                    "/orders": {
+                      "get": {"tags": ["orders"], "responses": {"200": {"$ref": "#/components/responses/OrderList"}}}
+                    },
+                    "/orders/{id}": {
+                      "parameters": [{"$ref": "#/components/parameters/Id"}],
+                      "get": {"tags": ["orders"], "responses": {"200": {"description": "ok",
+                        "content": {"application/json": {"schema": {"$ref": "#/components/schemas/Order"}}}}}},
+                      "delete": {"tags": ["admin"], "responses": {"204": {"description": "gone"}}}
+                    },
+                    "/ordersarchive": {"get": {"responses": {"200": {"description": "ok"}}}},
+                    "/users/{id}": {
+                      "get": {"tags": ["users"], "responses": {"200": {"description": "ok",
+                        "content": {"application/json": {"schema": {"$ref": "#/components/schemas/User"}}}}}}
+                    }
+                  },
+                  "components": {
+                    "schemas": {
+                      "Order": {"type": "object", "properties": {"items": {"type": "array", "items": {"$ref": "#/components/schemas/LineItem"}}}},
+                      "LineItem": {"type": "object", "properties": {"price": {"$ref": "#/components/schemas/Money"}}},
+                      "Money": {"type": "object", "properties": {"amount": {"type": "number"}}},
+                      "User": {"type": "object", "properties": {"name": {"type": "string"}}}
+                    },
+                    "responses": {
+                      "OrderList": {"description": "orders", "content": {"application/json": {"schema": {"type": "array",
+                        "items": {"$ref": "#/components/schemas/Order"}}}}}
+                    },
+                    "parameters": {"Id": {"name": "id", "in": "path", "required": true, "schema": {"type": "string"}}},
+                    "securitySchemes": {"bearer": {"type": "http", "scheme": "bearer"}}
+                  }
+                }
+                """), SwaggerMetadata.builder().appName("shop-api").updatedAt(Instant.now()).build());
+        service = new SpecSliceService(storage);
+    }
+
+    @Test
+    void shouldSliceTagWithTransitivelyReferencedComponents() {
+        JsonNode slice = service.slice("shop-api", null, "orders", null, null).orElseThrow();
+
+        assertThat(slice.fieldNames()).toIterable()
+                .containsExactly("openapi", "info", "servers", "tags", "paths", "components");
+        assertThat(slice.get("paths").fieldNames()).toIterable().containsExactly("/orders", "/orders/{id}");
+        // Shared path parameters stay, operations of other tags go
+        assertThat(slice.at("/paths/~1orders~1{id}").fieldNames()).toIterable().containsExactly("parameters", "get");
+        assertThat(slice.at("/components/schemas").fieldNames()).toIterable()
+                .containsExactlyInAnyOrder("Order", "LineItem", "Money");
+        assertThat(slice.at("/components/parameters/Id").isObject()).isTrue();
+        assertThat(slice.at("/components/responses/OrderList").isObject()).isTrue();
+        assertThat(slice.at("/components/securitySchemes/bearer").isObject()).isTrue();
+        assertThat(slice.get("tags")).hasSize(1);
+
+        // Cut once per blob and selector; the cached spec is left untouched
+        assertThat(service.slice("shop-api", "current", "orders", null, null).orElseThrow()).isSameAs(slice);
+        assertThat(storage.getSwagger("shop-api").orElseThrow().at("/components/schemas").size()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldSliceByPathPrefixAndPointer() {
+        JsonNode byPrefix = service.slice("shop-api", null, null, "/orders", null).orElseThrow();
+        assertThat(byPrefix.get("paths").fieldNames()).toIterable().containsExactly("/orders", "/orders/{id}");
+        assertThat(byPrefix.at("/paths/~1orders~1{id}/delete").isObject()).isTrue();
+
+        JsonNode byPointer = service.slice("shop-api", null, null, null, "/components/schemas/LineItem").orElseThrow();
+        assertThat(byPointer.get("paths").isEmpty()).isTrue();
+        assertThat(byPointer.has("tags")).isFalse();
+        assertThat(byPointer.at("/components/schemas").fieldNames()).toIterable()
+                .containsExactlyInAnyOrder("LineItem", "Money");
+
+        assertThat(service.slice("shop-api", null, null, null, "/components/schemas/Missing")).isEmpty();
+        assertThat(service.slice("shop-api", null, "unknown", null, null)).isEmpty();
+        assertThat(service.slice("other-api", null, "orders", null, null)).isEmpty();
+        assertThatThrownBy(() -> service.slice("shop-api", null, "orders", "/orders", null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldSummarizeTagsInDeclarationOrder() {
+        assertThat(service.getTags("shop-api", null).orElseThrow())
+                .extracting(TagSummary::getName, TagSummary::getOperations)
+                .containsExactly(
+                        tuple("orders", 2),
+                        tuple("users", 1),
+                        tuple("admin", 1),
+                        tuple(SpecSliceService.UNTAGGED, 1));
+
+        JsonNode untagged = service.slice("shop-api", null, SpecSliceService.UNTAGGED, null, null).orElseThrow();
+        assertThat(untagged.get("paths").fieldNames()).toIterable().containsExactly("/ordersarchive");
+    }
+}
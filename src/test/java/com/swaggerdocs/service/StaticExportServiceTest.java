@@ -0,0 +1,116 @@
+package com.swaggerdocs.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.swaggerdocs.config.ExportConfig;
+import com.swaggerdocs.event.SwaggerSavedEvent;
+import com.swaggerdocs.model.SwaggerMetadata;
+import com.swaggerdocs.model.ValidationResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StaticExportServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ObjectMapper objectMapper;
+    private GitStorageService storage;
+    private StaticExportService service;
+    private Path exportDir;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.findAndRegisterModules();
+        storage = new GitStorageService(tempDir.resolve("storage").toString(), objectMapper);
+        storage.init();
+        exportDir = tempDir.resolve("export");
+
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+
+        ExportConfig config = new ExportConfig();
+        config.setPath(exportDir.toString());
+        service = new StaticExportService(storage, templateEngine, objectMapper, config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void shouldExportSelfContainedBundleWithInlinedSpec() throws Exception {
+        ObjectNode spec = spec("Orders </script><script>alert(1)</script>");
+        String version = storage.save("orders-api", spec, metadata("orders-api"));
+
+        service.onSaved(new SwaggerSavedEvent(metadata("orders-api"), ValidationResult.builder().version(version).build()));
+        awaitExport("orders-api", version);
+
+        Path bundle = exportDir.resolve("orders-api").resolve(version);
+        String html = Files.readString(bundle.resolve(StaticExportService.INDEX));
+        assertThat(html)
+                .contains("\\u003c/script>\\u003cscript>alert(1)\\u003c/script>")
+                .doesNotContain("alert(1)</script>")
+                .contains("../../assets/swagger-ui/");
+        assertThat(objectMapper.readTree(bundle.resolve(StaticExportService.SPEC).toFile())).isEqualTo(spec);
+
+        String assets = html.replaceAll("(?s).*href=\"\\.\\./\\.\\./(assets/swagger-ui/[^/]+)/swagger-ui\\.css\".*", "$1");
+        assertThat(exportDir.resolve(assets).resolve("swagger-ui.css")).isRegularFile();
+        assertThat(exportDir.resolve(assets).resolve("swagger-ui-bundle.js")).isRegularFile();
+        // Nothing left over from staging
+        try (var files = Files.list(exportDir.resolve("orders-api"))) {
+            assertThat(files).containsExactly(bundle);
+        }
+    }
+
+    @Test
+    void shouldPointLatestAtExportedHeadOnly() throws Exception {
+        String first = storage.save("users-api", spec("Users"), metadata("users-api"));
+        service.schedule("users-api", first).get(10, TimeUnit.SECONDS);
+        assertThat(service.getLatestVersion("users-api")).contains(first);
+
+        String second = storage.save("users-api", spec("Users v2"), metadata("users-api"));
+        // Not exported yet: no redirect to the stale bundle, and the export is queued
+        assertThat(service.getLatestVersion("users-api")).isEmpty();
+        awaitExport("users-api", second);
+        assertThat(service.getLatestVersion("users-api")).contains(second);
+
+        assertThat(service.getLatestVersion("unknown-api")).isEmpty();
+        service.schedule("users-api", "0000000").get(10, TimeUnit.SECONDS);
+        assertThat(exportDir.resolve("users-api").resolve("0000000")).doesNotExist();
+    }
+
+    private void awaitExport(String appName, String version) throws InterruptedException {
+        for (int i = 0; i < 200 && !service.isExported(appName, version); i++) {
+            Thread.sleep(50);
+        }
+        assertThat(service.isExported(appName, version)).isTrue();
+    }
+
+    private ObjectNode spec(String title) {
+        ObjectNode spec = objectMapper.createObjectNode().put("openapi", "3.0.0");
+        spec.putObject("info").put("title", title).put("version", "1.0.0");
+        spec.putObject("paths").putObject("/orders").putObject("get").put("summary", "List orders");
+        return spec;
+    }
+
+    private SwaggerMetadata metadata(String appName) {
+        return SwaggerMetadata.builder().appName(appName).team("team").updatedAt(Instant.now()).build();
+    }
+}
@@ -0,0 +1,194 @@
+package com.swaggerdocs.service;
+
+import com.swaggerdocs.config.AdmissionConfig;
+import com.swaggerdocs.exception.SubmissionRejectedException;
+import com.swaggerdocs.model.AdmissionStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class SubmissionAdmissionServiceTest {
+
+    private AdmissionConfig config;
+    private final List<SubmissionAdmissionService> services = new ArrayList<>();
+    private final List<String> admitted = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        config = new AdmissionConfig();
+        config.setMaxConcurrent(1);
+        config.setMaxWait(Duration.ofSeconds(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(SubmissionAdmissionService::shutdown);
+    }
+
+    @Test
+    void shouldHandFreedSlotsToTeamsInTurn() throws Exception {
+        SubmissionAdmissionService service = start();
+        SubmissionAdmissionService.Permit held = service.acquire("monorepo").join();
+
+        submit(service, "monorepo", "monorepo-1");
+        submit(service, "monorepo", "monorepo-2");
+        submit(service, "monorepo", "monorepo-3");
+        submit(service, "payments", "payments-1");
+        assertThat(service.getStats().getQueuedByTeam()).isEqualTo(Map.of("monorepo", 3, "payments", 1));
+        assertThat(admitted).isEmpty();
+
+        held.close();
+        await(() -> admitted.size() == 4);
+
+        // The team that submitted last is only behind one submission of the busy team
+        assertThat(admitted).containsExactly("monorepo-1", "payments-1", "monorepo-2", "monorepo-3");
+        AdmissionStats stats = service.getStats();
+        assertThat(stats.getAdmitted()).isEqualTo(5);
+        assertThat(stats.getInFlight()).isZero();
+        assertThat(stats.getQueued()).isZero();
+    }
+
+    @Test
+    void shouldRefuseWhenQueueOrTeamShareIsFull() throws Exception {
+        config.setMaxQueued(2);
+        config.setMaxQueuedPerTeam(1);
+        SubmissionAdmissionService service = start();
+        SubmissionAdmissionService.Permit held = service.acquire("monorepo").join();
+
+        submit(service, "monorepo", "monorepo-1");
+        assertThat(refusal(service.acquire("Monorepo"))).hasMessageContaining("team");
+        submit(service, "payments", "payments-1");
+        SubmissionRejectedException queueFull = refusal(service.acquire("identity"));
+        assertThat(queueFull).hasMessageContaining("queue is full");
+        assertThat(queueFull.getRetryAfterSeconds()).isPositive();
+
+        AdmissionStats stats = service.getStats();
+        assertThat(stats.getRejectedTeamQueueFull()).isEqualTo(1);
+        assertThat(stats.getRejectedQueueFull()).isEqualTo(1);
+        assertThat(stats.getRejectedByTeam()).isEqualTo(Map.of("monorepo", 1L, "identity", 1L));
+
+        held.close();
+        await(() -> admitted.size() == 2);
+    }
+
+    @Test
+    void shouldRefuseWhenWaitWouldExceedMaxWait() throws Exception {
+        config.setMaxWait(Duration.ofMillis(200));
+        SubmissionAdmissionService service = start();
+
+        // No latency recorded yet: waits, then is refused after max-wait
+        SubmissionAdmissionService.Permit held = service.acquire("monorepo").join();
+        long start = System.nanoTime();
+        CompletableFuture<SubmissionAdmissionService.Permit> waiting = service.acquire("payments");
+        assertThat(waiting).isNotDone();
+        refusal(waiting);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(200));
+        assertThat(service.getStats().getQueued()).isZero();
+        Thread.sleep(300);
+        held.close();
+        held.close();
+
+        // Submissions now take 300ms on average, so one waiting slot is already too long
+        held = service.acquire("monorepo").join();
+        CompletableFuture<SubmissionAdmissionService.Permit> refused = service.acquire("payments");
+        assertThat(refused).isCompletedExceptionally();
+        assertThat(refusal(refused).getRetryAfterSeconds()).isEqualTo(1);
+        held.close();
+
+        AdmissionStats stats = service.getStats();
+        assertThat(stats.getRejectedWaitTooLong()).isEqualTo(2);
+        assertThat(stats.getAverageLatencyMs()).isGreaterThanOrEqualTo(250);
+        assertThat(stats.getInFlight()).isZero();
+    }
+
+    @Test
+    void shouldGiveUpThePlaceOfACancelledWaiter() throws Exception {
+        SubmissionAdmissionService service = start();
+        SubmissionAdmissionService.Permit held = service.acquire("monorepo").join();
+        CompletableFuture<SubmissionAdmissionService.Permit> cancelled = service.acquire("payments");
+        submit(service, "identity", "identity-1");
+        assertThat(service.getStats().getQueued()).isEqualTo(2);
+
+        cancelled.cancel(false);
+        assertThat(service.getStats().getQueued()).isEqualTo(1);
+
+        held.close();
+        await(() -> admitted.size() == 1);
+        assertThat(admitted).containsExactly("identity-1");
+        assertThat(service.getStats().getInFlight()).isZero();
+    }
+
+    @Test
+    void shouldAdmitBatchesForSeveralSlotsWithoutStarvingThem() throws Exception {
+        config.setMaxConcurrent(2);
+        SubmissionAdmissionService service = start();
+        SubmissionAdmissionService.Permit held = service.acquire("monorepo").join();
+        CompletableFuture<Void> batchDone = new CompletableFuture<>();
+
+        submit(service, "release", "batch", 50, batchDone);
+        // A slot is free, but the batch needs both and its turn comes first
+        submit(service, "payments", "payments-1");
+        assertThat(service.getStats().getQueued()).isEqualTo(2);
+
+        held.close();
+        await(() -> admitted.size() == 1);
+        assertThat(admitted).containsExactly("batch");
+        assertThat(service.getStats().getInFlight()).isEqualTo(2);
+        assertThat(service.getStats().getQueued()).isEqualTo(1);
+
+        batchDone.complete(null);
+        await(() -> admitted.size() == 2);
+        assertThat(admitted).containsExactly("batch", "payments-1");
+        await(() -> service.getStats().getInFlight() == 0);
+    }
+
+    private SubmissionAdmissionService start() {
+        SubmissionAdmissionService service = new SubmissionAdmissionService(config);
+        services.add(service);
+        return service;
+    }
+
+    /**
+     * Queues a submission that records its admission and is done at once.
+     */
+    private void submit(SubmissionAdmissionService service, String team, String name) {
+        submit(service, team, name, 1, CompletableFuture.completedFuture(null));
+    }
+
+    /**
+     * Like the above for work taking {@code slots}, holding them until {@code done}.
+     */
+    private void submit(SubmissionAdmissionService service, String team, String name, int slots,
+                        CompletableFuture<Void> done) {
+        service.acquire(team, slots).thenAccept(permit -> {
+            admitted.add(name);
+            done.thenRun(permit::close);
+        });
+    }
+
+    private static SubmissionRejectedException refusal(CompletableFuture<?> admission) {
+        Throwable error = catchThrowable(() -> admission.get(5, TimeUnit.SECONDS));
+        assertThat(error).isInstanceOf(ExecutionException.class).hasCauseInstanceOf(SubmissionRejectedException.class);
+        return (SubmissionRejectedException) error.getCause();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 100 && !condition.getAsBoolean(); i++) {
+            Thread.sleep(50);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,247 @@
+package com.swaggerdocs.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swaggerdocs.config.JobConfig;
+import com.swaggerdocs.config.WorkerThreads;
+import com.swaggerdocs.exception.JobQueueFullException;
+import com.swaggerdocs.model.BatchResult;
+import com.swaggerdocs.model.SubmissionJob;
+import com.swaggerdocs.model.SwaggerSubmission;
+import com.swaggerdocs.model.ValidationResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SubmissionJobServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ObjectMapper objectMapper;
+    private JobConfig config;
+    private final List<SubmissionJobService> services = new ArrayList<>();
+    private final List<String> processed = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.findAndRegisterModules();
+        config = new JobConfig();
+        config.setPath(tempDir.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        services.forEach(SubmissionJobService::shutdown);
+    }
+
+    @Test
+    void shouldRunJobsOfOneAppInOrderAndOtherAppsAlongside() throws Exception {
+        SubmissionJobService service = start(blockingOn("slow-api"));
+
+        SubmissionJob first = service.submit(submission("slow-api", "1"));
+        SubmissionJob second = service.submit(submission("slow-api", "2"));
+        SubmissionJob other = service.submit(submission("fast-api", "1"));
+
+        assertThat(first.getStatus()).isEqualTo(SubmissionJob.Status.QUEUED);
+        await(() -> status(service, other) == SubmissionJob.Status.SUCCEEDED);
+        assertThat(status(service, first)).isEqualTo(SubmissionJob.Status.RUNNING);
+        assertThat(status(service, second)).isEqualTo(SubmissionJob.Status.QUEUED);
+
+        release.countDown();
+        await(() -> status(service, second) == SubmissionJob.Status.SUCCEEDED);
+        assertThat(processed).containsSubsequence("slow-api/1", "slow-api/2");
+        assertThat(service.getJob(second.getId()).orElseThrow().getResult().getVersion()).isEqualTo("slow-api/2");
+    }
+
+    @Test
+    void shouldRefuseSubmissionsBeyondCapacityAndRecordFailures() throws Exception {
+        config.setQueueCapacity(2);
+        SwaggerService swaggerService = mock(SwaggerService.class);
+        when(swaggerService.processSubmission(any())).thenAnswer(invocation -> {
+            SwaggerSubmission submission = invocation.getArgument(0);
+            if (submission.getAppName().equals("broken-api")) {
+                throw new IllegalStateException("push rejected");
+            }
+            release.await();
+            return ValidationResult.builder().status("ACCEPTED").build();
+        });
+        SubmissionJobService service = start(swaggerService);
+
+        service.submit(submission("slow-api", "1"));
+        SubmissionJob broken = service.submit(submission("broken-api", "1"));
+        await(() -> status(service, broken) == SubmissionJob.Status.FAILED);
+        assertThat(service.getJob(broken.getId()).orElseThrow().getError()).isEqualTo("push rejected");
+
+        service.submit(submission("slow-api", "2"));
+        assertThatThrownBy(() -> service.submit(submission("slow-api", "3")))
+                .isInstanceOf(JobQueueFullException.class);
+    }
+
+    @Test
+    void shouldRecordErrorsAndKeepRunningTheAppsLaterJobs() throws Exception {
+        config.setQueueCapacity(2);
+        SwaggerService swaggerService = mock(SwaggerService.class);
+        when(swaggerService.processSubmission(any())).thenAnswer(invocation -> {
+            SwaggerSubmission submission = invocation.getArgument(0);
+            if (submission.getEnvironment().equals("1")) {
+                throw new StackOverflowError();
+            }
+            return ValidationResult.builder().status("ACCEPTED").build();
+        });
+        SubmissionJobService service = start(swaggerService);
+
+        SubmissionJob failed = service.submit(submission("orders-api", "1"));
+        SubmissionJob next = service.submit(submission("orders-api", "2"));
+
+        await(() -> status(service, next) == SubmissionJob.Status.SUCCEEDED);
+        assertThat(service.getJob(failed.getId()).orElseThrow().getError()).isEqualTo("java.lang.StackOverflowError");
+        SubmissionJob third = service.submit(submission("orders-api", "3"));
+        await(() -> status(service, third) == SubmissionJob.Status.SUCCEEDED);
+        // Every slot was given back, the failed job's too
+        service.submit(submission("orders-api", "4"));
+        service.submit(submission("orders-api", "5"));
+    }
+
+    @Test
+    void shouldFollowSubmissionsThatOutliveTheirRequest() throws Exception {
+        SubmissionJobService service = start(recording());
+        CompletableFuture<ValidationResult> running = new CompletableFuture<>();
+        CompletableFuture<BatchResult> batch = new CompletableFuture<>();
+
+        SubmissionJob single = service.track("orders-api", running);
+        SubmissionJob batchJob = service.trackBatch(batch);
+        assertThat(status(service, single)).isEqualTo(SubmissionJob.Status.RUNNING);
+
+        running.complete(ValidationResult.builder().status("ACCEPTED").version("abc1234").build());
+        batch.completeExceptionally(new CompletionException(new IllegalStateException("push rejected")));
+
+        assertThat(service.getJob(single.getId())).hasValueSatisfying(job -> {
+            assertThat(job.getStatus()).isEqualTo(SubmissionJob.Status.SUCCEEDED);
+            assertThat(job.getResult().getVersion()).isEqualTo("abc1234");
+        });
+        assertThat(service.getJob(batchJob.getId())).hasValueSatisfying(job -> {
+            assertThat(job.getStatus()).isEqualTo(SubmissionJob.Status.FAILED);
+            assertThat(job.getError()).isEqualTo("push rejected");
+        });
+    }
+
+    @Test
+    void shouldResumeAcceptedJobsAfterRestart() throws Exception {
+        SubmissionJobService crashed = start(blockingOn("slow-api"));
+        SubmissionJob blocker = crashed.submit(submission("slow-api", "1"));
+        SubmissionJob waiting = crashed.submit(submission("slow-api", "2"));
+        await(() -> status(crashed, blocker) == SubmissionJob.Status.RUNNING);
+        try (var files = Files.list(tempDir)) {
+            assertThat(files.map(f -> f.getFileName().toString())).contains(waiting.getId() + ".job.json");
+        }
+
+        // A new instance over the same directory picks up both, in order
+        processed.clear();
+        SubmissionJobService restarted = start(recording());
+        await(() -> status(restarted, waiting) == SubmissionJob.Status.SUCCEEDED);
+        assertThat(processed).containsExactly("slow-api/1", "slow-api/2");
+
+        SubmissionJobService reread = start(recording());
+        assertThat(reread.getJob(waiting.getId())).hasValueSatisfying(job ->
+                assertThat(job.getResult().getVersion()).isEqualTo("slow-api/2"));
+        assertThat(reread.getJob("../" + waiting.getId())).isEmpty();
+        assertThat(reread.getJob("unknown")).isEmpty();
+    }
+
+    @Test
+    void shouldServeEvictedResultsFromDiskUntilTheyExpire() throws Exception {
+        config.setMaxFinished(1);
+        config.setRetention(Duration.ofSeconds(2));
+        config.setSweepInterval(Duration.ofMillis(100));
+        SubmissionJobService service = start(recording());
+
+        SubmissionJob first = service.submit(submission("orders-api", "1"));
+        SubmissionJob second = service.submit(submission("orders-api", "2"));
+        await(() -> status(service, second) == SubmissionJob.Status.SUCCEEDED);
+
+        // Out of memory, but still on disk
+        assertThat(service.getJob(first.getId())).hasValueSatisfying(job ->
+                assertThat(job.getResult().getVersion()).isEqualTo("orders-api/1"));
+
+        await(() -> service.getJob(first.getId()).isEmpty() && service.getJob(second.getId()).isEmpty());
+        try (var files = Files.list(tempDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private SubmissionJobService start(SwaggerService swaggerService) throws Exception {
+        SubmissionJobService service = new SubmissionJobService(swaggerService, objectMapper, config, new WorkerThreads(false));
+        service.init();
+        services.add(service);
+        return service;
+    }
+
+    private SwaggerService recording() {
+        SwaggerService swaggerService = mock(SwaggerService.class);
+        when(swaggerService.processSubmission(any())).thenAnswer(invocation -> {
+            SwaggerSubmission submission = invocation.getArgument(0);
+            String key = submission.getAppName() + "/" + submission.getEnvironment();
+            processed.add(key);
+            return ValidationResult.builder().status("ACCEPTED").version(key).build();
+        });
+        return swaggerService;
+    }
+
+    private SwaggerService blockingOn(String appName) {
+        SwaggerService swaggerService = mock(SwaggerService.class);
+        when(swaggerService.processSubmission(any())).thenAnswer(invocation -> {
+            SwaggerSubmission submission = invocation.getArgument(0);
+            String key = submission.getAppName() + "/" + submission.getEnvironment();
+            if (submission.getAppName().equals(appName)) {
+                release.await();
+            }
+            processed.add(key);
+            return ValidationResult.builder().status("ACCEPTED").version(key).build();
+        });
+        return swaggerService;
+    }
+
+    private SubmissionJob.Status status(SubmissionJobService service, SubmissionJob job) {
+        return service.getJob(job.getId()).map(SubmissionJob::getStatus).orElse(null);
+    }
+
+    /**
+     * The environment carries a sequence number, so the order of processing shows.
+     */
+    private SwaggerSubmission submission(String appName, String sequence) {
+        SwaggerSubmission submission = new SwaggerSubmission();
+        submission.setAppName(appName);
+        submission.setTeam("team");
+        submission.setEnvironment(sequence);
+        submission.setSwagger(objectMapper.createObjectNode().put("openapi", "3.0.0"));
+        return submission;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 100 && !condition.getAsBoolean(); i++) {
+            Thread.sleep(50);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -2,21 +2,41 @@ package com.swaggerdocs.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.swaggerdocs.config.BatchConfig;
+import com.swaggerdocs.event.SwaggerSavedEvent;
+import com.swaggerdocs.model.BatchItemResult;
+import com.swaggerdocs.model.BatchResult;
 import com.swaggerdocs.model.QualityScore;
+import com.swaggerdocs.model.SpecStats;
+import com.swaggerdocs.model.SwaggerInfo;
+import com.swaggerdocs.model.SwaggerMetadata;
 import com.swaggerdocs.model.SwaggerSubmission;
+import com.swaggerdocs.model.SwaggerSummary;
 import com.swaggerdocs.model.ValidationResult;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,13 +51,43 @@ class SwaggerServiceTest {
     @Mock
     private DiffService diffService;
 
+    @Mock
+    private SchemaGraphService schemaGraphService;
+
+    @Mock
+    private QualityService qualityService;
+
+    @Mock
+    private TrendService trendService;
+
+    @Mock
+    private SpecIndexer specIndexer;
+
+    @Mock
+    private RouteService routeService;
+
+    @Mock
+    private CatalogIndexService catalogIndexService;
+
+    @Mock
+    private SpecStatsService specStatsService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private SwaggerService service;
     private ObjectMapper objectMapper;
 
     @BeforeEach
     void setUp() {
         objectMapper = new ObjectMapper();
-        service = new SwaggerService(gitStorageService, validationService, diffService, "http://localhost:8080");
+        service = new SwaggerService(gitStorageService, validationService, diffService, schemaGraphService, qualityService, trendService, specIndexer, routeService, catalogIndexService, specStatsService, eventPublisher,
+                Validation.buildDefaultValidatorFactory().getValidator(), new BatchConfig(), "http://localhost:8080");
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
     }
 
     @Test
@@ -63,6 +113,7 @@ class SwaggerServiceTest {
         assertThat(result.getVersion()).isEqualTo("abc1234");
         assertThat(result.getQuality().getScore()).isEqualTo(85);
         assertThat(result.getViewUrl()).contains("test-api");
+        verify(eventPublisher).publishEvent(any(SwaggerSavedEvent.class));
     }
 
     @Test
@@ -95,4 +146,98 @@ class SwaggerServiceTest {
         assertThat(result.getStatus()).isEqualTo("ACCEPTED_WITH_WARNINGS");
         assertThat(result.getBreakingChanges()).hasSize(1);
     }
+
+    @Test
+    void shouldValidateAgainstCurrentVersionWithoutWriting() {
+        SwaggerSubmission submission = new SwaggerSubmission();
+        submission.setAppName("gated-api");
+        submission.setTeam("test-team");
+        submission.setSwagger(objectMapper.createObjectNode().put("openapi", "3.0.0"));
+
+        ObjectNode current = objectMapper.createObjectNode();
+        when(gitStorageService.getCurrentSwagger("gated-api")).thenReturn(Optional.of(current));
+        when(validationService.calculateQuality(any())).thenReturn(
+                QualityScore.builder().score(60).issues(Collections.emptyList()).build()
+        );
+        when(diffService.findBreakingChanges(eq(current), any())).thenReturn(Collections.emptyList());
+
+        assertThat(service.validateSubmission(submission, null).getStatus()).isEqualTo("VALID");
+        assertThat(service.validateSubmission(submission, 60).getStatus()).isEqualTo("VALID");
+        ValidationResult gated = service.validateSubmission(submission, 80);
+        assertThat(gated.getStatus()).isEqualTo("FAILED_QUALITY_GATE");
+        assertThat(gated.getVersion()).isNull();
+
+        verify(gitStorageService, never()).save(any(), any(), any());
+        verifyNoInteractions(qualityService, trendService, specIndexer);
+        assertThatThrownBy(() -> service.validateSubmission(submission, 101))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldLoadOnlyRequestedFieldsAndSummaryWithoutSpec() {
+        var metadata = SwaggerMetadata.builder().appName("docs-api").team("docs").build();
+        when(gitStorageService.exists("docs-api")).thenReturn(true);
+        when(gitStorageService.getMetadata("docs-api")).thenReturn(Optional.of(metadata));
+        when(gitStorageService.getVersionHistory("docs-api", 5)).thenReturn(List.of("abc1234"));
+        when(specStatsService.getStats("docs-api")).thenReturn(Optional.of(SpecStats.builder().operations(12).build()));
+
+        SwaggerInfo info = service.getApp("docs-api", Set.of("metadata")).orElseThrow();
+        assertThat(info.getMetadata()).isEqualTo(metadata);
+        assertThat(info.getSwagger()).isNull();
+        assertThat(info.getVersions()).isNull();
+
+        SwaggerSummary summary = service.getSummary("docs-api").orElseThrow();
+        assertThat(summary.getVersions()).containsExactly("abc1234");
+        assertThat(summary.getStats().getOperations()).isEqualTo(12);
+
+        verify(gitStorageService, never()).getCurrentSwagger(any());
+        verify(gitStorageService, never()).getSwagger(any());
+        verify(gitStorageService, never()).getVersionHistory("docs-api");
+        assertThat(service.getSummary("missing-api")).isEmpty();
+        assertThatThrownBy(() -> service.getApp("docs-api", Set.of("body")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldSaveBatchInOneCommitAndFailOnlyBrokenItems() {
+        ObjectNode good = objectMapper.createObjectNode().put("openapi", "3.0.0");
+        ObjectNode broken = objectMapper.createObjectNode().put("openapi", "broken");
+        when(gitStorageService.getSwagger(any())).thenReturn(Optional.empty());
+        when(validationService.calculateQuality(good)).thenReturn(
+                QualityScore.builder().score(90).issues(Collections.emptyList()).build());
+        when(validationService.calculateQuality(broken)).thenThrow(new IllegalStateException("cannot score"));
+        when(diffService.findBreakingChanges(any(), any())).thenReturn(Collections.emptyList());
+        when(gitStorageService.saveAll(any())).thenReturn("abc1234");
+
+        BatchResult result = service.processBatch(List.of(
+                submission("orders-api", good),
+                submission("broken-api", broken),
+                submission("users-api", good),
+                submission("orders-api", good),
+                submission("", good)));
+
+        assertThat(result.getVersion()).isEqualTo("abc1234");
+        assertThat(result.getSaved()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getItems()).extracting(BatchItemResult::getAppName, BatchItemResult::getStatus)
+                .containsExactly(
+                        tuple("orders-api", BatchItemResult.Status.SAVED),
+                        tuple("broken-api", BatchItemResult.Status.FAILED),
+                        tuple("users-api", BatchItemResult.Status.SAVED),
+                        tuple("orders-api", BatchItemResult.Status.FAILED),
+                        tuple("", BatchItemResult.Status.FAILED));
+        assertThat(result.getItems().get(1).getError()).isEqualTo("cannot score");
+        assertThat(result.getItems().get(2).getResult().getVersion()).isEqualTo("abc1234");
+        verify(gitStorageService).saveAll(argThat(writes -> writes.size() == 2));
+        verify(gitStorageService, never()).save(any(), any(), any());
+        verify(eventPublisher, times(2)).publishEvent(any(SwaggerSavedEvent.class));
+    }
+
+    private SwaggerSubmission submission(String appName, ObjectNode swagger) {
+        SwaggerSubmission submission = new SwaggerSubmission();
+        submission.setAppName(appName);
+        submission.setTeam("test-team");
+        submission.setSwagger(swagger);
+        return submission;
+    }
 }
@@ -0,0 +1,180 @@
+package com.swaggerdocs.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swaggerdocs.model.QualityStats;
+import com.swaggerdocs.model.SwaggerMetadata;
+import com.swaggerdocs.model.TrendPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TrendServiceTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+    @TempDir
+    Path tempDir;
+
+    private GitStorageService storage;
+    private ObjectMapper objectMapper;
+    private final List<TrendService> services = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.findAndRegisterModules();
+        storage = new GitStorageService(tempDir.toString(), objectMapper);
+        storage.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(TrendService::shutdown);
+    }
+
+    @Test
+    void shouldBackfillFromMetadataHistory() throws Exception {
+        save("users-api", "identity", 0, 40);
+        save("orders-api", "commerce", 1, 70);
+        save("users-api", "identity", 2, 60);
+        save("users-api", "identity", 3, 80);
+
+        TrendService service = start();
+
+        assertThat(service.getAppTrend("users-api", Instant.EPOCH, T0.plus(Duration.ofDays(10))))
+                .extracting(TrendPoint::getScore)
+                .containsExactly(40, 60, 80);
+        assertThat(Files.exists(tempDir.resolve(".cache/trends/backfill.done"))).isTrue();
+
+        // A second start reads the segments back instead of scanning history again
+        save("orders-api", "commerce", 4, 90);
+        TrendService restarted = start();
+        assertThat(restarted.getAppTrend("orders-api", Instant.EPOCH, T0.plus(Duration.ofDays(10))))
+                .extracting(TrendPoint::getScore)
+                .containsExactly(70);
+    }
+
+    @Test
+    void shouldRedoBackfillCutShortBeforeItsMarker() throws Exception {
+        save("users-api", "identity", 0, 40);
+        save("users-api", "identity", 1, 60);
+        start();
+        Path trends = tempDir.resolve(".cache/trends");
+        assertThat(Files.exists(trends.resolve("backfill-000000.bin"))).isTrue();
+
+        // As if the process died after the segments but before the marker
+        Files.delete(trends.resolve("backfill.done"));
+        TrendService restarted = start();
+
+        assertThat(restarted.getAppTrend("users-api", Instant.EPOCH, T0.plus(Duration.ofDays(10))))
+                .extracting(TrendPoint::getScore)
+                .containsExactly(40, 60);
+        assertThat(Files.exists(trends.resolve("backfill.done"))).isTrue();
+    }
+
+    @Test
+    void shouldRedoBackfillAgainstTheCommitOfTheFirstAttempt() throws Exception {
+        save("users-api", "identity", 0, 40);
+        save("users-api", "identity", 1, 60);
+        String firstHead = storage.getCommitId("HEAD").orElseThrow();
+        TrendService service = start();
+
+        // A later save is recorded as it happens and lands in the tail
+        save("users-api", "identity", 2, 80);
+        service.record(metadata("users-api", "identity", T0.plus(Duration.ofDays(2)), 80));
+
+        // As if the process died mid-backfill: the bound is saved, the marker is not
+        Path trends = tempDir.resolve(".cache/trends");
+        Files.delete(trends.resolve("backfill.done"));
+        Files.writeString(trends.resolve("backfill.pending"), firstHead);
+        TrendService restarted = start();
+
+        assertThat(restarted.getAppTrend("users-api", Instant.EPOCH, T0.plus(Duration.ofDays(10))))
+                .extracting(TrendPoint::getScore)
+                .containsExactly(40, 60, 80);
+        assertThat(Files.exists(trends.resolve("backfill.pending"))).isFalse();
+    }
+
+    @Test
+    void shouldPersistRecordedSamplesAcrossCompaction() throws Exception {
+        TrendService service = start();
+        int samples = 4100;
+        for (int i = 0; i < samples; i++) {
+            service.record(metadata("users-api", "identity", T0.plusSeconds(i), i % 101));
+        }
+
+        TrendService restarted = start();
+
+        List<TrendPoint> points = restarted.getAppTrend("users-api", Instant.EPOCH, T0.plus(Duration.ofDays(1)));
+        assertThat(points).hasSize(samples);
+        assertThat(points.get(samples - 1).getScore()).isEqualTo((samples - 1) % 101);
+        try (var files = Files.list(tempDir.resolve(".cache/trends"))) {
+            assertThat(files.map(p -> p.getFileName().toString())).contains("segment-000000.bin", "tail.log");
+        }
+    }
+
+    @Test
+    void shouldAggregateTeamsOverWindowAndBuckets() throws Exception {
+        TrendService service = start();
+        int[] identityScores = {10, 20, 30, 40, 50, 60, 70, 80, 90, 100};
+        for (int i = 0; i < identityScores.length; i++) {
+            service.record(metadata(i % 2 == 0 ? "users-api" : "auth-api", "identity", T0.plus(Duration.ofDays(i)), identityScores[i]));
+        }
+        service.record(metadata("orders-api", "commerce", T0, 55));
+        service.record(metadata("orders-api", "commerce", T0.plus(Duration.ofDays(40)), 99));
+
+        List<QualityStats> stats = service.getTeamStats(T0, T0.plus(Duration.ofDays(30)));
+
+        assertThat(stats).extracting(QualityStats::getTeam).containsExactly("commerce", "identity");
+        QualityStats identity = stats.get(1);
+        assertThat(identity.getApps()).isEqualTo(2);
+        assertThat(identity.getSamples()).isEqualTo(10);
+        assertThat(identity.getAverage()).isEqualTo(55.0);
+        assertThat(identity.getP50()).isEqualTo(50);
+        assertThat(identity.getP90()).isEqualTo(90);
+        assertThat(stats.get(0).getSamples()).isEqualTo(1);
+
+        List<QualityStats> weekly = service.getTeamTrend("identity", T0, T0.plus(Duration.ofDays(14)), Duration.ofDays(7));
+        assertThat(weekly).hasSize(2);
+        assertThat(weekly.get(0).getStart()).isEqualTo(T0);
+        assertThat(weekly.get(0).getSamples()).isEqualTo(7);
+        assertThat(weekly.get(1).getMax()).isEqualTo(100);
+
+        assertThatThrownBy(() -> service.getTeamTrend("identity", Instant.EPOCH, T0, Duration.ofMinutes(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private TrendService start() throws Exception {
+        var service = new TrendService(storage);
+        services.add(service);
+        service.init();
+        service.awaitBackfill().get(10, TimeUnit.SECONDS);
+        return service;
+    }
+
+    private void save(String appName, String team, int day, int score) {
+        var swagger = objectMapper.createObjectNode().put("openapi", "3.0.0").put("x-revision", day);
+        storage.save(appName, swagger, metadata(appName, team, T0.plus(Duration.ofDays(day)), score));
+    }
+
+    private SwaggerMetadata metadata(String appName, String team, Instant updatedAt, int score) {
+        return SwaggerMetadata.builder()
+                .appName(appName)
+                .team(team)
+                .updatedAt(updatedAt)
+                .qualityScore(score)
+                .build();
+    }
+}
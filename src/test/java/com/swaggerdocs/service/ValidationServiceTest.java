@@ -1,11 +1,26 @@
 package com.swaggerdocs.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.swaggerdocs.config.ValidationConfig;
 import com.swaggerdocs.model.QualityScore;
+import com.swaggerdocs.model.QualityScore.QualityIssue;
+import com.swaggerdocs.validation.DescriptionsRule;
+import com.swaggerdocs.validation.ExamplesRule;
+import com.swaggerdocs.validation.MetadataRule;
+import com.swaggerdocs.validation.QualityRule;
+import com.swaggerdocs.validation.ResponsesRule;
+import com.swaggerdocs.validation.RuleVisitor;
+import com.swaggerdocs.validation.SchemasRule;
+import com.swaggerdocs.validation.SpecContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class ValidationServiceTest {
@@ -188,4 +203,151 @@ class ValidationServiceTest {
         assertThat(score.getIssues())
                 .noneMatch(i -> i.getCategory().equals("format"));
     }
+
+    @Test
+    void shouldSuggestReusableSchemasForInlineTypes() {
+        ObjectNode swagger = objectMapper.createObjectNode();
+        swagger.put("openapi", "3.0.0");
+        swagger.putObject("info").put("title", "Inline");
+        swagger.putObject("paths").putObject("/users").putObject("get")
+                .putObject("responses").putObject("200")
+                .putObject("content").putObject("application/json")
+                .putObject("schema").put("type", "array");
+
+        QualityScore score = service.calculateQuality(swagger);
+
+        assertThat(score.getIssues())
+                .anyMatch(i -> i.getCategory().equals("schemas"));
+    }
+
+    @Test
+    void shouldApplyConfiguredWeights() {
+        ObjectNode swagger = objectMapper.createObjectNode();
+        swagger.put("openapi", "3.0.0");
+        var info = swagger.putObject("info");
+        info.put("title", "Metadata only");
+        info.put("description", "Complete info section");
+        info.put("version", "1.0.0");
+        info.put("contact", "team@example.com");
+
+        var config = new ValidationConfig();
+        config.setWeights(Map.of("descriptions", 0, "examples", 0, "responses", 0, "schemas", 0));
+        var metadataOnly = new ValidationService(
+                List.of(new DescriptionsRule(), new ExamplesRule(), new ResponsesRule(),
+                        new SchemasRule(), new MetadataRule()), config);
+
+        assertThat(metadataOnly.calculateQuality(swagger).getScore()).isEqualTo(100);
+    }
+
+    @Test
+    void shouldEvaluatePluggedInRules() {
+        QualityRule operationIds = new QualityRule() {
+            @Override
+            public String category() {
+                return "operation-ids";
+            }
+
+            @Override
+            public int defaultWeight() {
+                return 100;
+            }
+
+            @Override
+            public RuleVisitor newVisitor(SpecContext context) {
+                return new RuleVisitor() {
+                    private int missing;
+
+                    @Override
+                    public void visitOperation(String path, String method, JsonNode operation) {
+                        if (!operation.has("operationId")) missing++;
+                    }
+
+                    @Override
+                    public int finish(List<QualityIssue> issues) {
+                        if (missing > 0) {
+                            issues.add(QualityIssue.builder().category(category()).message("Missing operationId").build());
+                        }
+                        return missing == 0 ? 100 : 0;
+                    }
+                };
+            }
+        };
+
+        ObjectNode swagger = objectMapper.createObjectNode();
+        swagger.put("openapi", "3.0.0");
+        swagger.putObject("paths").putObject("/users").putObject("get");
+
+        var custom = new ValidationService(List.of(operationIds), new ValidationConfig());
+        QualityScore score = custom.calculateQuality(swagger);
+
+        assertThat(score.getScore()).isZero();
+        assertThat(score.getIssues()).extracting(QualityIssue::getCategory).containsExactly("operation-ids");
+    }
+
+    @Test
+    void shouldMatchSequentialResultsWhenSplitAcrossThreads() {
+        var splitConfig = new ValidationConfig();
+        splitConfig.getParallel().setThreshold(1);
+        splitConfig.getParallel().setParallelism(4);
+
+        for (long seed = 0; seed < 200; seed++) {
+            var random = new Random(seed);
+            splitConfig.getParallel().setSliceSize(1 + random.nextInt(8));
+            var parallel = new ValidationService(
+                    List.of(new DescriptionsRule(), new ExamplesRule(), new ResponsesRule(),
+                            new SchemasRule(), new MetadataRule()), splitConfig);
+            JsonNode swagger = randomSwagger(random);
+
+            QualityScore expected = service.calculateQuality(swagger);
+            QualityScore actual = parallel.calculateQuality(swagger);
+
+            assertThat(actual.getScore()).as("score for seed %d", seed).isEqualTo(expected.getScore());
+            assertThat(actual.getIssues()).as("issues for seed %d", seed).containsExactlyElementsOf(expected.getIssues());
+            parallel.shutdown();
+        }
+    }
+
+    private JsonNode randomSwagger(Random random) {
+        ObjectNode swagger = objectMapper.createObjectNode();
+        boolean swagger2 = random.nextBoolean();
+        swagger.put(swagger2 ? "swagger" : "openapi", swagger2 ? "2.0" : "3.0.0");
+
+        if (random.nextInt(4) > 0) {
+            var info = swagger.putObject("info");
+            info.put("title", "Random API");
+            if (random.nextBoolean()) info.put("description", "Generated");
+            if (random.nextBoolean()) info.put("version", "1.0.0");
+            if (random.nextBoolean()) info.put("contact", "team@example.com");
+        }
+
+        if (random.nextBoolean()) {
+            var schemas = swagger2 ? swagger.putObject("definitions")
+                    : swagger.putObject("components").putObject("schemas");
+            for (int i = random.nextInt(20); i > 0; i--) {
+                var schema = schemas.putObject("Schema" + i);
+                schema.put("type", "object");
+                if (random.nextBoolean()) schema.putObject("example").put("id", i);
+            }
+        }
+
+        var paths = swagger.putObject("paths");
+        String[] methods = {"get", "post", "put", "delete"};
+        for (int i = random.nextInt(40); i > 0; i--) {
+            var pathItem = paths.putObject("/resource" + i);
+            if (random.nextInt(5) == 0) pathItem.putArray("parameters");
+            for (String method : methods) {
+                if (random.nextBoolean()) continue;
+                var operation = pathItem.putObject(method);
+                if (random.nextBoolean()) operation.put("summary", "Operation " + i);
+                if (random.nextBoolean()) operation.put("description", "Does things");
+                var responses = operation.putObject("responses");
+                var ok = responses.putObject("200");
+                ok.put("description", "OK");
+                if (random.nextBoolean()) ok.putObject("schema").put("type", "string");
+                if (random.nextBoolean()) ok.putObject("examples").put("application/json", "{}");
+                if (random.nextBoolean()) responses.putObject(random.nextBoolean() ? "404" : "500").put("description", "Error");
+            }
+        }
+        return swagger;
+    }
 }
@@ -0,0 +1,285 @@
+package com.swaggerdocs.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import com.swaggerdocs.config.WebhookConfig;
+import com.swaggerdocs.config.WorkerThreads;
+import com.swaggerdocs.event.SwaggerSavedEvent;
+import com.swaggerdocs.model.BreakingChange;
+import com.swaggerdocs.model.SwaggerMetadata;
+import com.swaggerdocs.model.ValidationResult;
+import com.swaggerdocs.model.WebhookStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WebhookServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ObjectMapper objectMapper;
+    private HttpServer server;
+    private final BlockingQueue<Request> requests = new LinkedBlockingQueue<>();
+    /** Statuses answered in turn; 204 once used up. */
+    private final BlockingQueue<Integer> statuses = new LinkedBlockingQueue<>();
+    private final AtomicInteger received = new AtomicInteger();
+    private final CountDownLatch hang = new CountDownLatch(1);
+    private WebhookService service;
+
+    record Request(JsonNode body, Map<String, List<String>> headers, byte[] raw) {
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        objectMapper = new ObjectMapper();
+        objectMapper.findAndRegisterModules();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/hook", exchange -> {
+            byte[] raw = exchange.getRequestBody().readAllBytes();
+            received.incrementAndGet();
+            requests.add(new Request(objectMapper.readTree(raw), exchange.getRequestHeaders(), raw));
+            Integer status = statuses.poll();
+            exchange.sendResponseHeaders(status != null ? status : 204, -1);
+            exchange.close();
+        });
+        server.createContext("/hang", exchange -> {
+            try {
+                hang.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+        hang.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    void shouldBatchBreakingChangesOfMatchingTeamsAndSign() throws Exception {
+        service = start(config(target("platform", "secret", "Payments")));
+
+        service.onSaved(saved("orders-api", "payments", 2));
+        service.onSaved(saved("billing-api", "payments", 1));
+        service.onSaved(saved("users-api", "identity", 1));
+        service.onSaved(saved("ledger-api", "payments", 0));
+
+        Request request = requests.poll(5, TimeUnit.SECONDS);
+        assertThat(request).isNotNull();
+        assertThat(request.body().path("events")).extracting(event -> event.path("appName").asText())
+                .containsExactly("orders-api", "billing-api");
+        assertThat(request.body().path("events").get(0).path("breakingChanges")).hasSize(2);
+        assertThat(request.headers().get("X-swaggerdocs-delivery").get(0)).isEqualTo(request.body().path("id").asText());
+        assertThat(request.headers().get("X-swaggerdocs-signature").get(0)).isEqualTo("sha256=" + hmac("secret", request.raw()));
+
+        await(() -> service.getStats().get(0).getDeliveredEvents() == 2);
+        WebhookStats stats = service.getStats().get(0);
+        assertThat(stats.getDeliveredBatches()).isEqualTo(1);
+        assertThat(stats.getQueueDepth()).isZero();
+        assertThat(requests.poll(300, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void shouldRetryFailedBatchFromTheSpoolWithTheSameId() throws Exception {
+        statuses.add(503);
+        statuses.add(500);
+        WebhookConfig config = config(target("platform", null));
+        config.setInitialBackoff(Duration.ofMillis(400));
+        service = start(config);
+
+        service.onSaved(saved("orders-api", "payments", 1));
+
+        Request first = requests.poll(5, TimeUnit.SECONDS);
+        Path spooled = tempDir.resolve("spool/platform").resolve(first.body().path("id").asText() + ".json");
+        await(() -> Files.exists(spooled));
+        Request second = requests.poll(5, TimeUnit.SECONDS);
+        Request third = requests.poll(5, TimeUnit.SECONDS);
+
+        assertThat(List.of(first, second, third)).extracting(r -> r.body().path("id").asText()).containsOnly(first.body().path("id").asText());
+        assertThat(third.headers().get("X-swaggerdocs-attempt").get(0)).isEqualTo("3");
+        await(() -> service.getStats().get(0).getDeliveredEvents() == 1);
+        assertThat(service.getStats().get(0).getFailedAttempts()).isEqualTo(2);
+        assertThat(service.getStats().get(0).getLastError()).isEqualTo("HTTP 500");
+        assertThat(spooled).doesNotExist();
+    }
+
+    @Test
+    void shouldResumeSpoolAfterRestartAndDeadLetterRejectedBatches() throws Exception {
+        WebhookConfig config = config(target("platform", null));
+        config.setInitialBackoff(Duration.ofMinutes(10));
+        statuses.add(500);
+        service = start(config);
+        service.onSaved(saved("orders-api", "payments", 1));
+        assertThat(requests.poll(5, TimeUnit.SECONDS)).isNotNull();
+        await(() -> service.getStats().get(0).getSpooledBatches() == 1);
+        service.shutdown();
+
+        config.setInitialBackoff(Duration.ofMillis(20));
+        service = start(config);
+        Request resumed = requests.poll(5, TimeUnit.SECONDS);
+        assertThat(resumed).isNotNull();
+        assertThat(resumed.headers().get("X-swaggerdocs-attempt").get(0)).isEqualTo("2");
+        await(() -> service.getStats().get(0).getDeliveredEvents() == 1);
+
+        statuses.add(400);
+        service.onSaved(saved("billing-api", "payments", 1));
+        await(() -> service.getStats().get(0).getDroppedEvents() == 1);
+        try (var dead = Files.list(tempDir.resolve("spool/platform/dead"))) {
+            assertThat(dead).hasSize(1);
+        }
+        assertThat(received).hasValue(3);
+    }
+
+    @Test
+    void shouldSpoolOverflowAsOneBatchWithoutLosingEvents() throws Exception {
+        WebhookConfig config = config(target("platform", null));
+        config.setQueueCapacity(2);
+        config.setBatchDelay(Duration.ofSeconds(1));
+        service = start(config);
+
+        for (String app : List.of("a-api", "b-api", "c-api", "d-api", "e-api")) {
+            service.onSaved(saved(app, "payments", 1));
+        }
+
+        Request overflow = requests.poll(5, TimeUnit.SECONDS);
+        assertThat(overflow.body().path("events")).extracting(event -> event.path("appName").asText())
+                .containsExactly("a-api", "b-api", "c-api");
+        Request flushed = requests.poll(5, TimeUnit.SECONDS);
+        assertThat(flushed.body().path("events")).extracting(event -> event.path("appName").asText())
+                .containsExactly("d-api", "e-api");
+        await(() -> service.getStats().get(0).getSpooledBatches() == 0);
+        assertThat(service.getStats().get(0).getDroppedEvents()).isZero();
+    }
+
+    @Test
+    void shouldDropOverflowWithoutSpool() throws Exception {
+        WebhookConfig config = config(target("platform", null));
+        config.setSpoolPath(null);
+        config.setQueueCapacity(2);
+        service = start(config);
+
+        for (String app : List.of("a-api", "b-api", "c-api")) {
+            service.onSaved(saved(app, "payments", 1));
+        }
+
+        await(() -> service.getStats().get(0).getDeliveredEvents() == 2);
+        assertThat(service.getStats().get(0).getDroppedEvents()).isEqualTo(1);
+        assertThat(service.getStats().get(0).getLastError()).isEqualTo("Queue full");
+    }
+
+    @Test
+    void shouldNotHoldUpOtherTargetsBehindAHungOne() throws Exception {
+        WebhookConfig.TargetConfig hung = target("hung", null);
+        hung.setUrl(hung.getUrl().replace("/hook", "/hang"));
+        WebhookConfig config = config(hung, target("platform", null));
+        config.setThreads(1);
+        config.setTimeout(Duration.ofSeconds(30));
+        service = start(config);
+
+        service.onSaved(saved("orders-api", "payments", 1));
+        service.onSaved(saved("billing-api", "payments", 1));
+
+        await(() -> service.getStats().get(1).getDeliveredEvents() == 2);
+        assertThat(service.getStats().get(0).getDeliveredEvents()).isZero();
+    }
+
+    @Test
+    void shouldJitterBackoffWithinBounds() {
+        WebhookConfig config = config();
+        config.setInitialBackoff(Duration.ofSeconds(1));
+        config.setMaxBackoff(Duration.ofSeconds(30));
+        service = new WebhookService(objectMapper, config, new WorkerThreads(false));
+
+        for (int i = 0; i < 50; i++) {
+            assertThat(service.backoffMillis(1)).isBetween(500L, 1000L);
+            assertThat(service.backoffMillis(3)).isBetween(2000L, 4000L);
+            assertThat(service.backoffMillis(40)).isBetween(15_000L, 30_000L);
+        }
+    }
+
+    private WebhookService start(WebhookConfig config) {
+        WebhookService webhooks = new WebhookService(objectMapper, config, new WorkerThreads(false));
+        webhooks.init();
+        return webhooks;
+    }
+
+    private WebhookConfig config(WebhookConfig.TargetConfig... targets) {
+        WebhookConfig config = new WebhookConfig();
+        config.setTargets(List.of(targets));
+        config.setSpoolPath(tempDir.resolve("spool").toString());
+        config.setBatchDelay(Duration.ofMillis(100));
+        config.setInitialBackoff(Duration.ofMillis(20));
+        config.setTimeout(Duration.ofSeconds(2));
+        return config;
+    }
+
+    private WebhookConfig.TargetConfig target(String name, String secret, String... teams) {
+        WebhookConfig.TargetConfig target = new WebhookConfig.TargetConfig();
+        target.setName(name);
+        target.setUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/hook");
+        target.setSecret(secret);
+        target.setTeams(List.of(teams));
+        return target;
+    }
+
+    private SwaggerSavedEvent saved(String appName, String team, int breakingChanges) {
+        SwaggerMetadata metadata = SwaggerMetadata.builder().appName(appName).team(team).updatedAt(Instant.now()).build();
+        BreakingChange change = BreakingChange.builder()
+                .type(BreakingChange.ChangeType.ENDPOINT_REMOVED)
+                .path("/orders")
+                .description("Endpoint removed")
+                .build();
+        return new SwaggerSavedEvent(metadata, ValidationResult.builder()
+                .version("abc1234")
+                .breakingChanges(Collections.nCopies(breakingChanges, change))
+                .build());
+    }
+
+    private static String hmac(String secret, byte[] body) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return HexFormat.of().formatHex(mac.doFinal(body));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 100 && !condition.getAsBoolean(); i++) {
+            Thread.sleep(50);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,171 @@
+package com.swaggerdocs.validation.lint;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.swaggerdocs.config.ValidationConfig;
+import com.swaggerdocs.model.LintRuleStats;
+import com.swaggerdocs.model.QualityScore;
+import com.swaggerdocs.model.QualityScore.QualityIssue;
+import com.swaggerdocs.service.ValidationService;
+import com.swaggerdocs.validation.DescriptionsRule;
+import com.swaggerdocs.validation.MetadataRule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LintRuleTest {
+
+    private static final String RULES = """
+            rules:
+              operation-id-camel-case:
+                description: operationId must be camelCase
+                severity: warn
+                given: "$.paths[*][*].operationId"
+                then:
+                  function: casing
+                  functionOptions:
+                    type: camel
+              request-id-header:
+                message: Operations must accept X-Request-Id
+                given: "$.paths.*.*"
+                then:
+                  field: parameters
+                  function: truthy
+              schema-names-pascal:
+                given: "$.components.schemas.*"
+                then:
+                  field: "@key"
+                  function: casing
+                  functionOptions:
+                    type: pascal
+              no-todo-descriptions:
+                given: "$..description"
+                then:
+                  function: pattern
+                  functionOptions:
+                    notMatch: TODO
+            """;
+
+    @TempDir
+    Path tempDir;
+
+    private ObjectMapper objectMapper;
+    private LintRuleLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        loader = new LintRuleLoader(tempDir, 0);
+    }
+
+    @Test
+    void shouldCompileSupportedSelectorsAndRejectFilters() {
+        assertThat(JsonPathSelector.compile("$.paths[*]['get'].responses[0]")).hasSize(5);
+        assertThat(JsonPathSelector.compile("$..parameters[*]")[0].descendant()).isTrue();
+        assertThat(JsonPathSelector.compile("$..['x-internal']")[0].name()).isEqualTo("x-internal");
+
+        assertThatThrownBy(() -> JsonPathSelector.compile("$..parameters[?(@.in == 'header')]"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> JsonPathSelector.compile("paths"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldReportViolationsWithPointers() throws Exception {
+        Files.writeString(tempDir.resolve("org.yaml"), RULES);
+        loader.reload();
+
+        QualityScore score = service(new ValidationConfig()).calculateQuality(spec());
+
+        assertThat(score.getIssues())
+                .filteredOn(i -> i.getCategory().equals("lint"))
+                .extracting(QualityIssue::getPath)
+                .containsExactly(
+                        "/info/description",
+                        "/components/schemas/order_item",
+                        "/paths/~1orders/get/operationId",
+                        "/paths/~1orders/post/parameters");
+        assertThat(score.getIssues())
+                .anyMatch(i -> i.getMessage().startsWith("request-id-header: Operations must accept X-Request-Id"));
+
+        List<LintRuleStats> stats = loader.getRuleSet().stats();
+        assertThat(stats).extracting(LintRuleStats::getName).contains("operation-id-camel-case");
+        assertThat(stats).filteredOn(s -> s.getName().equals("operation-id-camel-case"))
+                .extracting(LintRuleStats::getMatches).containsExactly(2L);
+    }
+
+    @Test
+    void shouldMatchSequentialResultsWhenSplitAcrossThreads() throws Exception {
+        Files.writeString(tempDir.resolve("org.yaml"), RULES);
+        loader.reload();
+
+        var splitConfig = new ValidationConfig();
+        splitConfig.getParallel().setThreshold(1);
+        splitConfig.getParallel().setSliceSize(1);
+
+        ObjectNode spec = spec();
+        QualityScore sequential = service(new ValidationConfig()).calculateQuality(spec);
+        QualityScore parallel = service(splitConfig).calculateQuality(spec);
+
+        assertThat(parallel.getIssues()).containsExactlyElementsOf(sequential.getIssues());
+    }
+
+    @Test
+    void shouldHotReloadAndKeepRulesOfUnparseableFiles() throws Exception {
+        var service = service(new ValidationConfig());
+        String before = service.getRulesVersion();
+        assertThat(loader.getRuleSet().size()).isZero();
+
+        Files.writeString(tempDir.resolve("org.yaml"), RULES);
+        assertThat(loader.reload()).isTrue();
+        assertThat(loader.getRuleSet().size()).isEqualTo(4);
+        assertThat(service.getRulesVersion()).isNotEqualTo(before);
+        assertThat(loader.reload()).isFalse();
+
+        Files.writeString(tempDir.resolve("org.yaml"), "rules: [unterminated");
+        loader.reload();
+        assertThat(loader.getRuleSet().size()).isEqualTo(4);
+
+        Files.writeString(tempDir.resolve("org.yaml"), """
+                rules:
+                  broken:
+                    given: "$..x[?(@.y)]"
+                    then:
+                      function: truthy
+                  contact-required:
+                    given: "$.info"
+                    then:
+                      field: contact
+                      function: truthy
+                """);
+        loader.reload();
+        assertThat(loader.getRuleSet().stats()).extracting(LintRuleStats::getName).containsExactly("contact-required");
+    }
+
+    private ValidationService service(ValidationConfig config) {
+        return new ValidationService(List.of(new DescriptionsRule(), new MetadataRule(), new LintRule(loader)), config);
+    }
+
+    private ObjectNode spec() {
+        ObjectNode spec = objectMapper.createObjectNode();
+        spec.put("openapi", "3.0.0");
+        spec.putObject("info").put("title", "Orders").put("description", "TODO: describe");
+
+        var schemas = spec.putObject("components").putObject("schemas");
+        schemas.putObject("Order").put("type", "object").put("description", "An order");
+        schemas.putObject("order_item").put("type", "object");
+
+        var orders = spec.putObject("paths").putObject("/orders");
+        orders.putObject("get").put("operationId", "List_Orders")
+                .putArray("parameters").addObject().put("name", "X-Request-Id").put("in", "header");
+        orders.putObject("post").put("operationId", "createOrder").put("description", "Creates an order");
+        return spec;
+    }
+}